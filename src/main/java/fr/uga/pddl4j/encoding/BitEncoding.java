@@ -71,9 +71,17 @@ final class BitEncoding implements Serializable {
     private static final Logger LOGGER = LogManager.getLogger(BitEncoding.class);
 
     /**
-     * The default constructor with a private access to prevent instance creation.
+     * The context of the encoding.
      */
-    private BitEncoding() {
+    private final EncodingContext context;
+
+    /**
+     * Creates a new instance working on a specified encoding context.
+     *
+     * @param context the context of the encoding.
+     */
+    BitEncoding(final EncodingContext context) {
+        this.context = context;
     }
 
     /**
@@ -84,11 +92,11 @@ final class BitEncoding implements Serializable {
      * @param map       the map that associates to a specified expression its index.
      * @return the list of operators encoded into bit set.
      */
-    static List<BitOp> encodeOperators(final List<IntOp> operators, final Map<IntExp, Integer> map)
+    List<BitOp> encodeOperators(final List<IntOp> operators, final Map<IntExp, Integer> map)
         throws UnexpectedExpressionException {
 
         // Normalize the operators
-        BitEncoding.normalize(operators);
+        this.normalize(operators);
 
         final List<BitOp> ops = new ArrayList<>(operators.size());
         for (IntOp op : operators) {
@@ -103,7 +111,7 @@ final class BitEncoding implements Serializable {
             }
 
             // Initialize the preconditions of the operator
-            bOp.setPreconditions(BitEncoding.encode(op.getPreconditions(), map));
+            bOp.setPreconditions(this.encode(op.getPreconditions(), map));
 
             // Initialize the effects of the operator
             final List<IntExp> effects = op.getEffects().getChildren();
@@ -115,8 +123,8 @@ final class BitEncoding implements Serializable {
                 final List<IntExp> children = ei.getChildren();
                 if (connective.equals(Connective.WHEN)) {
                     final CondBitExp condBitExp = new CondBitExp();
-                    condBitExp.setCondition(BitEncoding.encode(children.get(0), map));
-                    condBitExp.setEffects(BitEncoding.encode(children.get(1), map));
+                    condBitExp.setCondition(this.encode(children.get(0), map));
+                    condBitExp.setEffects(this.encode(children.get(1), map));
                     bOp.getCondEffects().add(condBitExp);
                 } else if (connective.equals(Connective.ATOM)) {
                     final Integer index = map.get(ei);
@@ -133,7 +141,7 @@ final class BitEncoding implements Serializable {
                         hasUnConditionalEffects = true;
                     }
                 } else {
-                    throw new UnexpectedExpressionException(Encoder.toString(ei));
+                    throw new UnexpectedExpressionException(this.context.toString(ei));
                 }
             }
             if (hasUnConditionalEffects) {
@@ -153,47 +161,47 @@ final class BitEncoding implements Serializable {
      * @return a list of <code>BitExp</code> that represents the goal as a disjunction of
      * <code>BitExp</code>.
      */
-    static BitExp encodeGoal(IntExp goal, final Map<IntExp, Integer> map) throws UnexpectedExpressionException {
+    BitExp encodeGoal(IntExp goal, final Map<IntExp, Integer> map) throws UnexpectedExpressionException {
         if (goal.getConnective().equals(Connective.FALSE)) {
             return null;
         }
 
         BitExp newGoal;
-        BitEncoding.toDNF(goal);
-        Encoder.codedGoal = new ArrayList<>(goal.getChildren().size());
+        this.toDNF(goal);
+        this.context.codedGoal = new ArrayList<>(goal.getChildren().size());
         for (IntExp exp : goal.getChildren()) {
             if (exp.getConnective().equals(Connective.ATOM)) {
                 IntExp and = new IntExp(Connective.AND);
                 and.getChildren().add(exp);
-                Encoder.codedGoal.add(BitEncoding.encode(and, map));
+                this.context.codedGoal.add(this.encode(and, map));
             } else {
-                Encoder.codedGoal.add(BitEncoding.encode(exp, map));
+                this.context.codedGoal.add(this.encode(exp, map));
             }
         }
-        if (Encoder.codedGoal.size() > 1) {
+        if (this.context.codedGoal.size() > 1) {
             // Create a new dummy fact to encode the goal
-            final int dummyPredicateIndex = Encoder.tableOfPredicates.size();
-            Encoder.tableOfPredicates.add(Constants.DUMMY_GOAL);
-            Encoder.tableOfTypedPredicates.add(new ArrayList<>());
+            final int dummyPredicateIndex = this.context.tableOfPredicates.size();
+            this.context.tableOfPredicates.add(Constants.DUMMY_GOAL);
+            this.context.tableOfTypedPredicates.add(new ArrayList<>());
             IntExp dummyGoal = new IntExp(Connective.ATOM);
             dummyGoal.setPredicate(dummyPredicateIndex);
             dummyGoal.setArguments(new int[0]);
-            final int dummyGoalIndex = Encoder.tableOfRelevantFacts.size();
-            Encoder.tableOfRelevantFacts.add(dummyGoal);
+            final int dummyGoalIndex = this.context.tableOfRelevantFacts.size();
+            this.context.tableOfRelevantFacts.add(dummyGoal);
             map.put(dummyGoal, dummyGoalIndex);
             newGoal = new BitExp();
             newGoal.getPositive().set(dummyGoalIndex);
             final CondBitExp condEffect = new CondBitExp(newGoal);
             // for each disjunction create a dummy action
-            for (BitExp dis : Encoder.codedGoal) {
+            for (BitExp dis : this.context.codedGoal) {
                 final BitOp op = new BitOp(Constants.DUMMY_OPERATOR, 0);
                 op.setDummy(true);
                 op.setPreconditions(dis);
                 op.getCondEffects().add(condEffect);
-                Encoder.operators.add(op);
+                this.context.operators.add(op);
             }
         } else {
-            newGoal = Encoder.codedGoal.get(0);
+            newGoal = this.context.codedGoal.get(0);
         }
         return newGoal;
     }
@@ -206,7 +214,7 @@ final class BitEncoding implements Serializable {
      * @param map  the map that associates to a specified expression its index.
      * @return the <code>BitExp</code> that represents the initial encoded.
      */
-    static BitExp encodeInit(final Set<IntExp> init, final Map<IntExp, Integer> map) {
+    BitExp encodeInit(final Set<IntExp> init, final Map<IntExp, Integer> map) {
         final BitExp bitInit = new BitExp();
         for (final IntExp fact : init) {
             if (fact.getConnective().equals(Connective.ATOM)) {
@@ -232,7 +240,7 @@ final class BitEncoding implements Serializable {
      * @param map the map that associate to a specified expression its index.
      * @return the expression in bit set representation.
      */
-    private static BitExp encode(final IntExp exp, final Map<IntExp, Integer> map)
+    private BitExp encode(final IntExp exp, final Map<IntExp, Integer> map)
         throws UnexpectedExpressionException {
         final BitExp bitExp = new BitExp();
         if (exp.getConnective().equals(Connective.ATOM)) {
@@ -261,12 +269,12 @@ final class BitEncoding implements Serializable {
                 } else if (ei.getConnective().equals(Connective.TRUE)) {
                     // do nothing
                 } else {
-                    throw new UnexpectedExpressionException(Encoder.toString(exp));
+                    throw new UnexpectedExpressionException(this.context.toString(exp));
                 }
             }
         } else {
-            LOGGER.error(Encoder.toString(exp));
-            throw new UnexpectedExpressionException(Encoder.toString(exp));
+            LOGGER.error(this.context.toString(exp));
+            throw new UnexpectedExpressionException(this.context.toString(exp));
         }
         return bitExp;
     }
@@ -279,13 +287,13 @@ final class BitEncoding implements Serializable {
      *
      * @param operators the list of operators to normalize.
      */
-    private static void normalize(final List<IntOp> operators) throws UnexpectedExpressionException {
+    private void normalize(final List<IntOp> operators) throws UnexpectedExpressionException {
         final List<IntOp> tmpOps = new ArrayList<>(operators.size() + 100);
         for (IntOp op : operators) {
-            BitEncoding.toCNF(op.getEffects());
-            BitEncoding.simplify(op.getEffects());
+            this.toCNF(op.getEffects());
+            this.simplify(op.getEffects());
             final IntExp precond = op.getPreconditions();
-            BitEncoding.toDNF(precond);
+            this.toDNF(precond);
             for (final IntExp ei : precond.getChildren()) {
                 final String name = op.getName();
                 final int arity = op.getArity();
@@ -313,7 +321,7 @@ final class BitEncoding implements Serializable {
      *
      * @param exp the expression.
      */
-    private static void simplify(IntExp exp) {
+    private void simplify(IntExp exp) {
         boolean simplified;
         int i = 0;
         do {
@@ -341,12 +349,12 @@ final class BitEncoding implements Serializable {
      *
      * @param exp the expression to transform in CNF.
      */
-    private static void toCNF(final IntExp exp) throws UnexpectedExpressionException {
+    private void toCNF(final IntExp exp) throws UnexpectedExpressionException {
         switch (exp.getConnective()) {
             case WHEN:
                 final IntExp antecedent = exp.getChildren().get(0);
                 final IntExp consequence = exp.getChildren().get(1);
-                BitEncoding.toDNF(antecedent);
+                this.toDNF(antecedent);
                 exp.setConnective(Connective.AND);
                 exp.getChildren().clear();
                 for (IntExp ei : antecedent.getChildren()) {
@@ -361,7 +369,7 @@ final class BitEncoding implements Serializable {
                 int i = 0;
                 while (i < children.size()) {
                     final IntExp ei = children.get(i);
-                    BitEncoding.toCNF(ei);
+                    this.toCNF(ei);
                     exp.getChildren().remove(i);
                     for (IntExp ej : ei.getChildren()) {
                         exp.getChildren().add(i, ej);
@@ -378,7 +386,7 @@ final class BitEncoding implements Serializable {
                 exp.getChildren().add(copy);
                 break;
             default:
-                throw new UnexpectedExpressionException(Encoder.toString(exp));
+                throw new UnexpectedExpressionException(this.context.toString(exp));
         }
     }
 
@@ -387,14 +395,14 @@ final class BitEncoding implements Serializable {
      *
      * @param exp the expression to transform in DNF.
      */
-    private static void toDNF(final IntExp exp) throws UnexpectedExpressionException {
+    private void toDNF(final IntExp exp) throws UnexpectedExpressionException {
         switch (exp.getConnective()) {
             case OR:
                 List<IntExp> children = exp.getChildren();
                 int index = 0;
                 while (index < children.size()) {
                     final IntExp ei = children.get(index);
-                    BitEncoding.toDNF(ei);
+                    this.toDNF(ei);
                     if (ei.getConnective().equals(Connective.OR)) {
                         children.remove(index);
                         for (IntExp ej : ei.getChildren()) {
@@ -407,7 +415,7 @@ final class BitEncoding implements Serializable {
             case AND:
                 children = exp.getChildren();
                 for (IntExp child : children) {
-                    BitEncoding.toDNF(child);
+                    this.toDNF(child);
                 }
                 IntExp dnf = exp.getChildren().get(0);
                 for (int i = 1; i < exp.getChildren().size(); i++) {
@@ -454,7 +462,7 @@ final class BitEncoding implements Serializable {
                 exp.getChildren().add(and);
                 break;
             default:
-                throw new UnexpectedExpressionException(Encoder.toString(exp));
+                throw new UnexpectedExpressionException(this.context.toString(exp));
         }
     }
 }
@@ -25,6 +25,8 @@ import fr.uga.pddl4j.util.BitState;
 import fr.uga.pddl4j.util.CondBitExp;
 import fr.uga.pddl4j.util.IntExp;
 import fr.uga.pddl4j.util.Plan;
+import fr.uga.pddl4j.util.SuccessorGenerator;
+import fr.uga.pddl4j.util.UnconditionalOperators;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -112,6 +114,17 @@ public class CodedProblem implements Serializable {
      */
     private BitExp init;
 
+    /**
+     * The successor generator of the problem. It is computed on demand from the operators.
+     */
+    private transient SuccessorGenerator successorGenerator;
+
+    /**
+     * The unconditional operators of the problem used by the relaxation heuristics. They are
+     * computed on demand from the operators and the relevant facts.
+     */
+    private transient UnconditionalOperators unconditionalOperators;
+
     /**
      * The default constructor with a private package access to prevent instance creation.
      */
@@ -336,6 +349,7 @@ public class CodedProblem implements Serializable {
      */
     final void setRelevantFacts(final List<IntExp> relavants) {
         this.relevantFacts = relavants;
+        this.unconditionalOperators = null;
     }
 
     /**
@@ -354,6 +368,38 @@ public class CodedProblem implements Serializable {
      */
     final void setOperators(final List<BitOp> operators) {
         this.operators = operators;
+        this.successorGenerator = null;
+        this.unconditionalOperators = null;
+    }
+
+    /**
+     * Returns the successor generator of the problem, i.e., the structure used to enumerate
+     * efficiently the operators applicable in a state. The successor generator is built the first
+     * time this method is called and then shared by all the callers.
+     *
+     * @return the successor generator of the problem.
+     * @see SuccessorGenerator
+     */
+    public final synchronized SuccessorGenerator getSuccessorGenerator() {
+        if (this.successorGenerator == null) {
+            this.successorGenerator = new SuccessorGenerator(this.operators);
+        }
+        return this.successorGenerator;
+    }
+
+    /**
+     * Returns the unconditional operators of the problem, i.e., the operators split by conditional
+     * effect used by the relaxation heuristics. The unconditional operators are built the first time
+     * this method is called and then shared by all the heuristics of the problem.
+     *
+     * @return the unconditional operators of the problem.
+     * @see UnconditionalOperators
+     */
+    public final synchronized UnconditionalOperators getUnconditionalOperators() {
+        if (this.unconditionalOperators == null) {
+            this.unconditionalOperators = new UnconditionalOperators(this.operators, this.relevantFacts.size());
+        }
+        return this.unconditionalOperators;
     }
 
     /**
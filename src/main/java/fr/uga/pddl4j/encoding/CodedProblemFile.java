@@ -0,0 +1,609 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import fr.uga.pddl4j.parser.Connective;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+import fr.uga.pddl4j.util.IntExp;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class implements a compact binary file format used to save a coded problem once encoded and to load it
+ * without parsing and encoding again its domain and its problem.
+ * <p>
+ * The file starts with a magic number and a version number followed by the tables of the problem (types,
+ * constants, predicates, functions, domains, signatures, inertia and relevant facts), the initial state and the
+ * goal. The operators come last: a table of offsets gives the position of each operator in the file so that the
+ * file can be memory-mapped and the operators decoded only when they are accessed. The bit sets are stored as
+ * arrays of 64-bit words. Since a memory-mapped buffer is indexed by an <code>int</code>, the files are limited
+ * to 2 GB.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 12.04.2019
+ * @see CodedProblem
+ * @since 3.8.3
+ */
+public final class CodedProblemFile {
+
+    /**
+     * The magic number of the files, i.e., the characters <code>P4JC</code>.
+     */
+    public static final int MAGIC = 0x50344A43;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Creates a new coded problem file.
+     */
+    private CodedProblemFile() {
+    }
+
+    /**
+     * Saves a coded problem in a specified file.
+     *
+     * @param problem the coded problem to save.
+     * @param file    the file.
+     * @throws IOException if an I/O error occurs while writing the file.
+     */
+    public static void save(final CodedProblem problem, final File file) throws IOException {
+        // The operators are written first in memory to compute their offsets
+        final List<BitOp> operators = problem.getOperators();
+        final long[] offsets = new long[operators.size()];
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream ops = new DataOutputStream(bytes);
+        for (int i = 0; i < operators.size(); i++) {
+            offsets[i] = ops.size();
+            CodedProblemFile.write(operators.get(i), ops);
+        }
+        ops.flush();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(CodedProblemFile.MAGIC);
+            out.writeInt(CodedProblemFile.VERSION);
+            CodedProblemFile.writeStrings(problem.getTypes(), out);
+            CodedProblemFile.writeStrings(problem.getConstants(), out);
+            CodedProblemFile.writeStrings(problem.getPredicates(), out);
+            CodedProblemFile.writeStrings(problem.getFunctions(), out);
+            CodedProblemFile.writeSets(problem.getDomains(), out);
+            CodedProblemFile.writeSets(problem.getInferredDomains(), out);
+            CodedProblemFile.writeLists(problem.getPredicatesSignatures(), out);
+            CodedProblemFile.writeLists(problem.getFunctionsSignatures(), out);
+            final List<Inertia> inertia = problem.getInertia();
+            out.writeInt(inertia == null ? -1 : inertia.size());
+            if (inertia != null) {
+                for (Inertia i : inertia) {
+                    out.writeByte(i.ordinal());
+                }
+            }
+            final List<IntExp> facts = problem.getRelevantFacts();
+            out.writeInt(facts.size());
+            for (IntExp fact : facts) {
+                CodedProblemFile.write(fact, out);
+            }
+            CodedProblemFile.writeNullable(problem.getInit(), out);
+            CodedProblemFile.writeNullable(problem.getGoal(), out);
+            out.writeInt(offsets.length);
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+            bytes.writeTo(out);
+        }
+    }
+
+    /**
+     * Loads a coded problem from a specified file. The file is memory-mapped and the operators of the problem
+     * returned are decoded from the file the first time they are accessed.
+     *
+     * @param file the file.
+     * @return the coded problem loaded.
+     * @throws IOException if an I/O error occurs while reading the file, if the file is not a coded problem file
+     *                     of a supported version or if the file is larger than 2 GB.
+     */
+    public static CodedProblem load(final File file) throws IOException {
+        final ByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("coded problem file larger than 2 GB: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 8 || buffer.getInt() != CodedProblemFile.MAGIC) {
+            throw new IOException("not a coded problem file: " + file);
+        }
+        final int version = buffer.getInt();
+        if (version != CodedProblemFile.VERSION) {
+            throw new IOException("unsupported coded problem file version: " + version);
+        }
+        final CodedProblem problem = new CodedProblem();
+        problem.setTypes(CodedProblemFile.readStrings(buffer));
+        problem.setConstants(CodedProblemFile.readStrings(buffer));
+        problem.setPredicates(CodedProblemFile.readStrings(buffer));
+        problem.setFunctions(CodedProblemFile.readStrings(buffer));
+        problem.setDomains(CodedProblemFile.readSets(buffer));
+        problem.setInferredDomains(CodedProblemFile.readSets(buffer));
+        problem.setPredicatesSignatures(CodedProblemFile.readLists(buffer));
+        problem.setFunctionsSignatures(CodedProblemFile.readLists(buffer));
+        final int nbInertia = buffer.getInt();
+        if (nbInertia >= 0) {
+            final Inertia[] values = Inertia.values();
+            final List<Inertia> inertia = new ArrayList<>(nbInertia);
+            for (int i = 0; i < nbInertia; i++) {
+                inertia.add(values[buffer.get()]);
+            }
+            problem.setInertia(inertia);
+        }
+        final int nbFacts = buffer.getInt();
+        final List<IntExp> facts = new ArrayList<>(nbFacts);
+        for (int i = 0; i < nbFacts; i++) {
+            facts.add(CodedProblemFile.readIntExp(buffer));
+        }
+        problem.setRelevantFacts(facts);
+        problem.setInit(CodedProblemFile.readNullableBitExp(buffer));
+        problem.setGoal(CodedProblemFile.readNullableBitExp(buffer));
+        final int nbOperators = buffer.getInt();
+        final int[] offsets = new int[nbOperators];
+        final long size = buffer.remaining() - (long) nbOperators * Long.BYTES;
+        for (int i = 0; i < nbOperators; i++) {
+            final long offset = buffer.getLong();
+            if (offset < 0 || offset >= size) {
+                throw new IOException("invalid operator offset in coded problem file: " + file);
+            }
+            offsets[i] = (int) offset;
+        }
+        problem.setOperators(new OperatorList(buffer.slice(), offsets));
+        return problem;
+    }
+
+    /**
+     * The list of the operators of a coded problem loaded from a file. The operators are decoded from the buffer
+     * of the file the first time they are accessed. The list can be accessed concurrently without locking: two
+     * threads may decode the same operator at the same time, but each one reads its own view of the buffer and
+     * only one of the decoded operators is kept. The list is serialized as an <code>ArrayList</code> of the
+     * decoded operators since the buffer of the file cannot be serialized.
+     */
+    private static final class OperatorList extends AbstractList<BitOp> implements RandomAccess, Serializable {
+
+        /**
+         * The serial id of the class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The buffer that contains the operators.
+         */
+        private final transient ByteBuffer buffer;
+
+        /**
+         * The offsets of the operators in the buffer.
+         */
+        private final transient int[] offsets;
+
+        /**
+         * The operators already decoded.
+         */
+        private final transient AtomicReferenceArray<BitOp> operators;
+
+        /**
+         * Creates a new list of operators.
+         *
+         * @param buffer  the buffer that contains the operators.
+         * @param offsets the offsets of the operators in the buffer.
+         */
+        private OperatorList(final ByteBuffer buffer, final int[] offsets) {
+            this.buffer = buffer;
+            this.offsets = offsets;
+            this.operators = new AtomicReferenceArray<>(offsets.length);
+        }
+
+        /**
+         * Returns the operator at a specified index.
+         *
+         * @param index the index of the operator.
+         * @return the operator at the specified index.
+         */
+        @Override
+        public BitOp get(final int index) {
+            final BitOp op = this.operators.get(index);
+            if (op != null) {
+                return op;
+            }
+            final ByteBuffer view = this.buffer.duplicate();
+            view.position(this.offsets[index]);
+            final BitOp decoded = CodedProblemFile.readBitOp(view);
+            return this.operators.compareAndSet(index, null, decoded) ? decoded : this.operators.get(index);
+        }
+
+        /**
+         * Returns the number of operators.
+         *
+         * @return the number of operators.
+         */
+        @Override
+        public int size() {
+            return this.offsets.length;
+        }
+
+        /**
+         * Replaces the list by an <code>ArrayList</code> of its operators when it is serialized.
+         *
+         * @return the list to serialize in place of this list.
+         */
+        private Object writeReplace() {
+            return new ArrayList<>(this);
+        }
+    }
+
+    /**
+     * Writes an operator.
+     *
+     * @param op  the operator.
+     * @param out the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void write(final BitOp op, final DataOutputStream out) throws IOException {
+        out.writeUTF(op.getName());
+        final int arity = op.getArity();
+        out.writeInt(arity);
+        for (int i = 0; i < arity; i++) {
+            out.writeInt(op.getTypeOfParameters(i));
+            out.writeInt(op.getValueOfParameter(i));
+        }
+        out.writeDouble(op.getCost());
+        out.writeDouble(op.getDuration());
+        out.writeBoolean(op.isDummy());
+        CodedProblemFile.write(op.getPreconditions(), out);
+        final List<CondBitExp> effects = op.getCondEffects();
+        out.writeInt(effects.size());
+        for (CondBitExp effect : effects) {
+            CodedProblemFile.write(effect.getCondition(), out);
+            CodedProblemFile.write(effect.getEffects(), out);
+        }
+    }
+
+    /**
+     * Reads an operator.
+     *
+     * @param buffer the buffer.
+     * @return the operator read.
+     */
+    private static BitOp readBitOp(final ByteBuffer buffer) {
+        final String name = CodedProblemFile.readString(buffer);
+        final int arity = buffer.getInt();
+        final BitOp op = new BitOp(name, arity);
+        for (int i = 0; i < arity; i++) {
+            final int type = buffer.getInt();
+            if (type >= 0) {
+                op.setTypeOfParameter(i, type);
+            }
+            final int value = buffer.getInt();
+            if (value >= 0) {
+                op.setValueOfParameter(i, value);
+            }
+        }
+        op.setCost(buffer.getDouble());
+        op.setDuration(buffer.getDouble());
+        op.setDummy(buffer.get() != 0);
+        op.setPreconditions(CodedProblemFile.readBitExp(buffer));
+        final int nbEffects = buffer.getInt();
+        for (int i = 0; i < nbEffects; i++) {
+            final BitExp condition = CodedProblemFile.readBitExp(buffer);
+            final BitExp effects = CodedProblemFile.readBitExp(buffer);
+            op.addCondBitEffect(new CondBitExp(condition, effects));
+        }
+        return op;
+    }
+
+    /**
+     * Writes an expression that can be <code>null</code>.
+     *
+     * @param exp the expression.
+     * @param out the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeNullable(final BitExp exp, final DataOutputStream out) throws IOException {
+        out.writeBoolean(exp != null);
+        if (exp != null) {
+            CodedProblemFile.write(exp, out);
+        }
+    }
+
+    /**
+     * Reads an expression that can be <code>null</code>.
+     *
+     * @param buffer the buffer.
+     * @return the expression read.
+     */
+    private static BitExp readNullableBitExp(final ByteBuffer buffer) {
+        return buffer.get() != 0 ? CodedProblemFile.readBitExp(buffer) : null;
+    }
+
+    /**
+     * Writes a bit expression.
+     *
+     * @param exp the expression.
+     * @param out the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void write(final BitExp exp, final DataOutputStream out) throws IOException {
+        CodedProblemFile.write(exp.getPositive(), out);
+        CodedProblemFile.write(exp.getNegative(), out);
+    }
+
+    /**
+     * Reads a bit expression.
+     *
+     * @param buffer the buffer.
+     * @return the expression read.
+     */
+    private static BitExp readBitExp(final ByteBuffer buffer) {
+        final BitVector positive = CodedProblemFile.readBitVector(buffer);
+        final BitVector negative = CodedProblemFile.readBitVector(buffer);
+        return new BitExp(positive, negative);
+    }
+
+    /**
+     * Writes a bit vector as an array of 64-bit words.
+     *
+     * @param vector the bit vector.
+     * @param out    the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void write(final BitVector vector, final DataOutputStream out) throws IOException {
+        final long[] words = vector.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a bit vector stored as an array of 64-bit words.
+     *
+     * @param buffer the buffer.
+     * @return the bit vector read.
+     */
+    private static BitVector readBitVector(final ByteBuffer buffer) {
+        final int nbWords = buffer.getInt();
+        final BitVector vector = new BitVector(nbWords * Long.SIZE);
+        for (int w = 0; w < nbWords; w++) {
+            long word = buffer.getLong();
+            while (word != 0) {
+                vector.set(w * Long.SIZE + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Writes an integer expression.
+     *
+     * @param exp the expression.
+     * @param out the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void write(final IntExp exp, final DataOutputStream out) throws IOException {
+        out.writeInt(exp.getConnective().ordinal());
+        out.writeInt(exp.getPredicate());
+        final int[] args = exp.getArguments();
+        out.writeInt(args == null ? -1 : args.length);
+        if (args != null) {
+            for (int arg : args) {
+                out.writeInt(arg);
+            }
+        }
+        out.writeInt(exp.getVariable());
+        out.writeInt(exp.getType());
+        out.writeDouble(exp.getValue());
+        out.writeInt(exp.getChildren().size());
+        for (IntExp child : exp.getChildren()) {
+            CodedProblemFile.write(child, out);
+        }
+    }
+
+    /**
+     * Reads an integer expression.
+     *
+     * @param buffer the buffer.
+     * @return the expression read.
+     */
+    private static IntExp readIntExp(final ByteBuffer buffer) {
+        final IntExp exp = new IntExp(Connective.values()[buffer.getInt()]);
+        exp.setPredicate(buffer.getInt());
+        final int nbArgs = buffer.getInt();
+        if (nbArgs >= 0) {
+            final int[] args = new int[nbArgs];
+            for (int i = 0; i < nbArgs; i++) {
+                args[i] = buffer.getInt();
+            }
+            exp.setArguments(args);
+        }
+        exp.setVariable(buffer.getInt());
+        exp.setType(buffer.getInt());
+        exp.setValue(buffer.getDouble());
+        final int nbChildren = buffer.getInt();
+        for (int i = 0; i < nbChildren; i++) {
+            exp.getChildren().add(CodedProblemFile.readIntExp(buffer));
+        }
+        return exp;
+    }
+
+    /**
+     * Writes a list of strings that can be <code>null</code>.
+     *
+     * @param strings the list of strings.
+     * @param out     the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeStrings(final List<String> strings, final DataOutputStream out) throws IOException {
+        out.writeInt(strings == null ? -1 : strings.size());
+        if (strings != null) {
+            for (String str : strings) {
+                out.writeUTF(str);
+            }
+        }
+    }
+
+    /**
+     * Reads a list of strings that can be <code>null</code>.
+     *
+     * @param buffer the buffer.
+     * @return the list of strings read.
+     */
+    private static List<String> readStrings(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+        final List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(CodedProblemFile.readString(buffer));
+        }
+        return strings;
+    }
+
+    /**
+     * Reads a string written with <code>DataOutputStream.writeUTF()</code>. The strings of the problems are
+     * symbols of the PDDL language, i.e., they do not contain null or supplementary characters, so that their
+     * modified UTF-8 encoding is also their UTF-8 encoding.
+     *
+     * @param buffer the buffer.
+     * @return the string read.
+     */
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a list of sets of integers that can be <code>null</code> and contain <code>null</code> sets.
+     *
+     * @param sets the list of sets.
+     * @param out  the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeSets(final List<Set<Integer>> sets, final DataOutputStream out) throws IOException {
+        out.writeInt(sets == null ? -1 : sets.size());
+        if (sets != null) {
+            for (Set<Integer> set : sets) {
+                out.writeInt(set == null ? -1 : set.size());
+                if (set != null) {
+                    for (Integer i : set) {
+                        out.writeInt(i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a list of sets of integers that can be <code>null</code> and contain <code>null</code> sets.
+     *
+     * @param buffer the buffer.
+     * @return the list of sets read.
+     */
+    private static List<Set<Integer>> readSets(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+        final List<Set<Integer>> sets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int setSize = buffer.getInt();
+            Set<Integer> set = null;
+            if (setSize >= 0) {
+                set = new LinkedHashSet<>();
+                for (int j = 0; j < setSize; j++) {
+                    set.add(buffer.getInt());
+                }
+            }
+            sets.add(set);
+        }
+        return sets;
+    }
+
+    /**
+     * Writes a list of lists of integers that can be <code>null</code>.
+     *
+     * @param lists the list of lists.
+     * @param out   the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeLists(final List<List<Integer>> lists, final DataOutputStream out) throws IOException {
+        out.writeInt(lists == null ? -1 : lists.size());
+        if (lists != null) {
+            for (List<Integer> list : lists) {
+                out.writeInt(list.size());
+                for (Integer i : list) {
+                    out.writeInt(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a list of lists of integers that can be <code>null</code>.
+     *
+     * @param buffer the buffer.
+     * @return the list of lists read.
+     */
+    private static List<List<Integer>> readLists(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+        final List<List<Integer>> lists = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int listSize = buffer.getInt();
+            final List<Integer> list = new ArrayList<>(listSize);
+            for (int j = 0; j < listSize; j++) {
+                list.add(buffer.getInt());
+            }
+            lists.add(list);
+        }
+        return lists;
+    }
+}
@@ -27,7 +27,6 @@ import fr.uga.pddl4j.parser.Problem;
 import fr.uga.pddl4j.parser.RequireKey;
 import fr.uga.pddl4j.util.BitExp;
 import fr.uga.pddl4j.util.BitOp;
-import fr.uga.pddl4j.util.CondBitExp;
 import fr.uga.pddl4j.util.IntExp;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,7 +38,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -132,91 +131,9 @@ public final class Encoder implements Serializable {
     private static final Logger LOGGER = LogManager.getLogger(Encoder.class);
 
     /**
-     * The table of types.
+     * The default log level of the encoding.
      */
-    static List<String> tableOfTypes;
-
-    /**
-     * The table of inferred domains based on unary inertia encoding.
-     */
-    static List<Set<Integer>> tableOfInferredDomains;
-
-    /**
-     * The domain of associated to the type.
-     */
-    static List<Set<Integer>> tableOfDomains;
-
-    /**
-     * The table of constants.
-     */
-    static List<String> tableOfConstants;
-
-    /**
-     * The table of predicates.
-     */
-    static List<String> tableOfPredicates;
-
-    /**
-     * The table that contains the types of the arguments of the predicates.
-     */
-    static List<List<Integer>> tableOfTypedPredicates;
-
-    /**
-     * The table of the functions.
-     */
-    static List<String> tableOfFunctions;
-
-    /**
-     * The table that contains the types of the arguments of the functions.
-     */
-    static List<List<Integer>> tableOfTypedFunctions;
-
-    /**
-     * The table that defines for each predicates its type of inertia.
-     */
-    static List<Inertia> tableOfInertia;
-
-    /**
-     * The log level of the planner.
-     */
-    static int logLevel;
-
-    /**
-     * The table that contains the ground inertia.
-     */
-    static Map<IntExp, Inertia> tableOfGroundInertia;
-
-    /**
-     * The list of predicates tables used to count the occurrence of a specified predicate in the
-     * initial state.
-     */
-    static List<List<IntMatrix>> predicatesTables;
-
-    /**
-     * The table of the relevant facts.
-     */
-    static List<IntExp> tableOfRelevantFacts;
-
-    /**
-     * The list of instantiated operator encoded into bit sets.
-     */
-    static List<BitOp> operators;
-
-    /**
-     * The goal.
-     */
-    static BitExp goal;
-
-    /**
-     * The encoded goal.
-     */
-    static List<BitExp> codedGoal;
-
-
-    /**
-     * The initial state.
-     */
-    static BitExp init;
+    private static volatile int logLevel;
 
     /**
      * Creates a new planner.
@@ -225,16 +142,16 @@ public final class Encoder implements Serializable {
     }
 
     /**
-     * Returns the log level of the planner.
+     * Returns the default log level of the encoding.
      *
-     * @return the log level of the planner.
+     * @return the default log level of the encoding.
      */
     public static int getLogLevel() {
         return Encoder.logLevel;
     }
 
     /**
-     * Set the log level of the planner. By default:
+     * Set the default log level of the encoding, i.e., the log level used by <code>encode(domain, problem)</code>:
      * <ul>
      * <li> 0 - nothing </li>
      * <li> 1 - 1 + info on problem constants, types and predicates</li>
@@ -247,7 +164,7 @@ public final class Encoder implements Serializable {
      * <li> 8 - 1 + various debugging information</li>
      * </ul>
      *
-     * @param level the log level of the planner.
+     * @param level the default log level of the encoding.
      * @throws IllegalArgumentException if <code>level &#60; 0</code>.
      */
     public static void setLogLevel(final int level) {
@@ -258,9 +175,9 @@ public final class Encoder implements Serializable {
     }
 
     /**
-     * Instantiate, simplify and encode the problem in a compact representation. (see On the
-     * Instantiation of ADL Operators Involving Arbitrary First-Order Formulas. Koehler, J. and
-     * Hoffmann, J.):
+     * Instantiate, simplify and encode the problem in a compact representation with the default log level. (see
+     * On the Instantiation of ADL Operators Involving Arbitrary First-Order Formulas. Koehler, J. and Hoffmann,
+     * J.):
      *
      * @param domain  the domain to encode.
      * @param problem the problem to encode.
@@ -268,6 +185,91 @@ public final class Encoder implements Serializable {
      * @throws IllegalArgumentException if the problem to encode is not ADL and ACTION_COSTS.
      */
     public static CodedProblem encode(final Domain domain, final Problem problem) throws FatalException {
+        return Encoder.encode(domain, problem, Encoder.logLevel);
+    }
+
+    /**
+     * Instantiate, simplify and encode the problem in a compact representation with a specified log level. (see On
+     * the Instantiation of ADL Operators Involving Arbitrary First-Order Formulas. Koehler, J. and Hoffmann, J.).
+     * All the tables built during the encoding are stored in a context dedicated to this call. Hence, this method
+     * can be called concurrently by several threads on different domains and problems.
+     *
+     * @param domain   the domain to encode.
+     * @param problem  the problem to encode.
+     * @param logLevel the log level of the encoding.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL and ACTION_COSTS or if
+     *                                  <code>logLevel &#60; 0</code>.
+     * @see #setLogLevel(int)
+     */
+    public static CodedProblem encode(final Domain domain, final Problem problem, final int logLevel)
+        throws FatalException {
+        return Encoder.encode(domain, problem, null, logLevel);
+    }
+
+    /**
+     * Instantiate, simplify and encode the problem in a compact representation with the default log level. The
+     * initial state of the problem is not read from the problem but from a specified initial state encoded while
+     * the problem was parsed.
+     *
+     * @param domain  the domain to encode.
+     * @param problem the problem to encode.
+     * @param init    the initial state of the problem streamed by the parser.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL and ACTION_COSTS or if the initial
+     *                                  state was not streamed from the specified domain and problem.
+     * @see StreamedInitialState
+     */
+    public static CodedProblem encode(final Domain domain, final Problem problem, final StreamedInitialState init)
+        throws FatalException {
+        return Encoder.encode(domain, problem, init, Encoder.logLevel);
+    }
+
+    /**
+     * Instantiate, simplify and encode the problem in a compact representation with a specified log level. The
+     * initial state of the problem is read from the problem if the specified streamed initial state is
+     * <code>null</code>.
+     *
+     * @param domain   the domain to encode.
+     * @param problem  the problem to encode.
+     * @param init     the initial state of the problem streamed by the parser or <code>null</code>.
+     * @param logLevel the log level of the encoding.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL and ACTION_COSTS, if
+     *                                  <code>logLevel &#60; 0</code> or if the initial state was not streamed
+     *                                  from the specified domain and problem.
+     * @see StreamedInitialState
+     */
+    public static CodedProblem encode(final Domain domain, final Problem problem, final StreamedInitialState init,
+                                      final int logLevel) throws FatalException {
+        return Encoder.encode(domain, problem, init, logLevel, InstantiationMode.SEQUENTIAL);
+    }
+
+    /**
+     * Instantiate, simplify and encode the problem in a compact representation with a specified log level and a
+     * specified mode of instantiation of the operators. The initial state of the problem is read from the problem if
+     * the specified streamed initial state is <code>null</code>. The mode only applies to this call, so that
+     * concurrent calls can use different modes.
+     *
+     * @param domain   the domain to encode.
+     * @param problem  the problem to encode.
+     * @param init     the initial state of the problem streamed by the parser or <code>null</code>.
+     * @param logLevel the log level of the encoding.
+     * @param mode     the mode of instantiation of the operators.
+     * @return the problem encoded.
+     * @throws IllegalArgumentException if the problem to encode is not ADL and ACTION_COSTS, if
+     *                                  <code>logLevel &#60; 0</code> or if the initial state was not streamed
+     *                                  from the specified domain and problem.
+     * @throws NullPointerException if <code>mode == null</code>.
+     * @see StreamedInitialState
+     * @see InstantiationMode
+     */
+    public static CodedProblem encode(final Domain domain, final Problem problem, final StreamedInitialState init,
+                                      final int logLevel, final InstantiationMode mode) throws FatalException {
+        Objects.requireNonNull(mode);
+        if (logLevel < 0) {
+            throw new IllegalArgumentException("level < 0");
+        }
 
         // Check that the domain and the problem are ADL otherwise the encoding is not
         // implemented for the moment.
@@ -294,6 +296,16 @@ public final class Encoder implements Serializable {
         }
 
 
+        // The context that contains all the tables built during the encoding
+        final EncodingContext context = new EncodingContext(logLevel);
+        context.parallelInstantiation = mode.equals(InstantiationMode.PARALLEL);
+        context.reachabilityInstantiation = mode.equals(InstantiationMode.REACHABILITY);
+        final IntEncoding intEncoding = new IntEncoding(context);
+        final PreInstantiation preInstantiation = new PreInstantiation(context);
+        final Instantiation instantiation = new Instantiation(context);
+        final PostInstantiation postInstantiation = new PostInstantiation(context);
+        final BitEncoding bitEncoding = new BitEncoding(context);
+
         // *****************************************************************************************
         // Step 1: Standardization
         // *****************************************************************************************
@@ -308,50 +320,57 @@ public final class Encoder implements Serializable {
         // *****************************************************************************************
 
         // Encode the types declared in the domain
-        IntEncoding.encodeTypes(domain);
+        intEncoding.encodeTypes(domain);
         // Encode the constants declared in the domain and the objects of the problem
-        IntEncoding.encodeConstants(domain, problem);
+        intEncoding.encodeConstants(domain, problem);
         // Encode the type of the form (either t1 t2...) declared in the domain and the problem
-        IntEncoding.encodeEitherTypes(domain, problem);
+        intEncoding.encodeEitherTypes(domain, problem);
         // Encode the predicates defined in the domain.
-        IntEncoding.encodePredicates(domain);
+        intEncoding.encodePredicates(domain);
         // Encode the functions defined in the domain.
-        IntEncoding.encodeFunctions(domain);
+        intEncoding.encodeFunctions(domain);
         // Encode operators in integer representation
-        List<IntOp> intOps = IntEncoding.encodeOperators(domain.getOperators());
+        List<IntOp> intOps = intEncoding.encodeOperators(domain.getOperators());
         // Encode the initial state in integer representation
-        final Set<IntExp> intInit = IntEncoding.encodeInit(problem.getInit());
+        final Set<IntExp> intInit;
+        if (init == null) {
+            intInit = intEncoding.encodeInit(problem.getInit());
+        } else if (init.isEncodedWith(context)) {
+            intInit = init.getFacts();
+        } else {
+            throw new IllegalArgumentException("initial state not streamed from the problem to encode");
+        }
         // Create Map containing functions and associed cost from encoded initial state
-        final Map<IntExp, Double> intInitFunctionCost = IntEncoding.encodeFunctionCostInit(intInit);
+        final Map<IntExp, Double> intInitFunctionCost = intEncoding.encodeFunctionCostInit(intInit);
         // Create Set containing integer representation of initial state without functions and associed cost
-        final Set<IntExp> intInitPredicates = IntEncoding.removeFunctionCost(intInit);
+        final Set<IntExp> intInitPredicates = intEncoding.removeFunctionCost(intInit);
 
         // Encode the goal in integer representation
-        final IntExp intGoal = IntEncoding.encodeGoal(problem.getGoal());
+        final IntExp intGoal = intEncoding.encodeGoal(problem.getGoal());
 
         final StringBuilder stringBuilder = new StringBuilder();
 
         // Just for logging
-        if (Encoder.logLevel == 1 || Encoder.logLevel == 2) {
-            Encoder.printTableOfConstants(stringBuilder);
+        if (context.logLevel == 1 || context.logLevel == 2) {
+            context.printTableOfConstants(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfPredicates(stringBuilder);
+            context.printTableOfPredicates(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfTypes(stringBuilder);
+            context.printTableOfTypes(stringBuilder);
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
         }
 
         // Just for logging
-        if (Encoder.logLevel == 2) {
+        if (context.logLevel == 2) {
             stringBuilder.append("\nCoded initial state:\n").append("(and");
             for (IntExp f : intInitPredicates) {
-                stringBuilder.append(" ").append(Encoder.toString(f));
+                stringBuilder.append(" ").append(context.toString(f));
             }
-            stringBuilder.append(")").append("\n\nCoded goal state:\n").append(Encoder.toString(intGoal));
+            stringBuilder.append(")").append("\n\nCoded goal state:\n").append(context.toString(intGoal));
             stringBuilder.append(")").append("\n\nCoded operators:\n\n");
             for (IntOp op : intOps) {
-                stringBuilder.append(Encoder.toString(op)).append(System.lineSeparator());
+                stringBuilder.append(context.toString(op)).append(System.lineSeparator());
             }
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
@@ -362,36 +381,36 @@ public final class Encoder implements Serializable {
         // *****************************************************************************************
 
         // Computed inertia from the encode operators
-        PreInstantiation.extractInertia(intOps);
+        preInstantiation.extractInertia(intOps);
         // Infer the type from the unary inertia
-        PreInstantiation.inferTypesFromInertia(intInitPredicates);
+        preInstantiation.inferTypesFromInertia(intInitPredicates);
         // Simply the encoded operators with the inferred types.
-        intOps = PreInstantiation.simplifyOperatorsWithInferedTypes(intOps);
+        intOps = preInstantiation.simplifyOperatorsWithInferedTypes(intOps);
         // Create the predicates tables used to count the occurrences of the predicates in the
         // initial state
-        PreInstantiation.createPredicatesTables(intInitPredicates);
+        preInstantiation.createPredicatesTables(intInitPredicates);
 
         // Just for logging
-        if (Encoder.logLevel == 3 || Encoder.logLevel == 4) {
-            Encoder.printTableOfInertia(stringBuilder);
+        if (context.logLevel == 3 || context.logLevel == 4) {
+            context.printTableOfInertia(stringBuilder);
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
         }
         // Just for logging
-        if (Encoder.logLevel == 4) {
+        if (context.logLevel == 4) {
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfConstants(stringBuilder);
+            context.printTableOfConstants(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfTypes(stringBuilder);
+            context.printTableOfTypes(stringBuilder);
             stringBuilder.append(System.lineSeparator()).append("\nPre-instantiation initial state:\n").append("(and");
             for (IntExp f : intInitPredicates) {
-                stringBuilder.append(" ").append(Encoder.toString(f));
+                stringBuilder.append(" ").append(context.toString(f));
             }
-            stringBuilder.append(")").append("\n\nPre-instantiation goal state:\n").append(Encoder.toString(intGoal));
+            stringBuilder.append(")").append("\n\nPre-instantiation goal state:\n").append(context.toString(intGoal));
             stringBuilder.append("\n\nPre-instantiation operators with infered types (").append(intOps.size())
                 .append(" ops):\n");
             for (IntOp op : intOps) {
-                stringBuilder.append(Encoder.toString(op));
+                stringBuilder.append(context.toString(op));
             }
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
@@ -402,31 +421,35 @@ public final class Encoder implements Serializable {
         // *****************************************************************************************
 
         // Instantiate the operators
-        intOps = Instantiation.instantiateOperators(intOps);
+        if (context.reachabilityInstantiation) {
+            intOps = instantiation.instantiateReachableOperators(intOps, intInitPredicates);
+        } else {
+            intOps = instantiation.instantiateOperators(intOps);
+        }
         // Expand the quantified expression in the goal
-        Instantiation.expandQuantifiedExpression(intGoal);
+        instantiation.expandQuantifiedExpression(intGoal);
         // The tables of predicates are no more needed
-        Encoder.predicatesTables = null;
+        context.predicatesTables = null;
 
         // Just for logging
-        if (Encoder.logLevel == 5) {
+        if (context.logLevel == 5) {
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfConstants(stringBuilder);
+            context.printTableOfConstants(stringBuilder);
             stringBuilder.append(System.lineSeparator());
-            Encoder.printTableOfTypes(stringBuilder);
+            context.printTableOfTypes(stringBuilder);
             stringBuilder.append(System.lineSeparator());
             stringBuilder.append("\nPre-instantiation initial state:\n").append("(and");
             for (IntExp f : intInitPredicates) {
-                stringBuilder.append(" ").append(Encoder.toString(f));
+                stringBuilder.append(" ").append(context.toString(f));
             }
             stringBuilder.append(")").append("\n\nPre-instantiation goal state:\n").append("(and");
             for (final IntExp g : intGoal.getChildren()) {
-                stringBuilder.append(" ").append(Encoder.toString(g));
+                stringBuilder.append(" ").append(context.toString(g));
             }
             stringBuilder.append("\n\nPre-instantiation operators with inferred types (").append(intOps.size())
                 .append(" ops):\n\n");
             for (final IntOp op : intOps) {
-                stringBuilder.append(Encoder.toString(op)).append("\n");
+                stringBuilder.append(context.toString(op)).append("\n");
             }
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
@@ -437,22 +460,22 @@ public final class Encoder implements Serializable {
         // *****************************************************************************************
 
         // Extract the ground inertia from the instantiated operators
-        PostInstantiation.extractGroundInertia(intOps);
+        postInstantiation.extractGroundInertia(intOps);
         // Simplify the operators with the ground inertia information previously extracted
-        PostInstantiation.simplyOperatorsWithGroundInertia(intOps, intInitPredicates);
+        postInstantiation.simplyOperatorsWithGroundInertia(intOps, intInitPredicates);
         // Extract the relevant facts from the simplified and instantiated operators
-        PostInstantiation.extractRelevantFacts(intOps, intInitPredicates);
+        postInstantiation.extractRelevantFacts(intOps, intInitPredicates);
         // Simplify the goal with ground inertia information
-        PostInstantiation.simplifyGoalWithGroundInertia(intGoal, intInitPredicates);
+        postInstantiation.simplifyGoalWithGroundInertia(intGoal, intInitPredicates);
         // Extract increase and add value to BitOp cost
-        PostInstantiation.simplifyIncrease(intOps, intInitFunctionCost);
+        postInstantiation.simplifyIncrease(intOps, intInitFunctionCost);
 
         // The table of ground inertia are no more needed
-        Encoder.tableOfGroundInertia = null;
+        context.tableOfGroundInertia = null;
 
         // Just for logging
-        if (Encoder.logLevel == 6) {
-            Encoder.printRelevantFactsTable(stringBuilder);
+        if (context.logLevel == 6) {
+            context.printRelevantFactsTable(stringBuilder);
             LOGGER.trace(stringBuilder);
             stringBuilder.setLength(0);
         }
@@ -464,50 +487,50 @@ public final class Encoder implements Serializable {
 
         // Create a map of the relevant facts with their index to speedup the bit set encoding of
         // the operators
-        final Map<IntExp, Integer> map = new LinkedHashMap<>(Encoder.tableOfRelevantFacts.size());
+        final Map<IntExp, Integer> map = new LinkedHashMap<>(context.tableOfRelevantFacts.size());
         int index = 0;
-        for (IntExp fact : Encoder.tableOfRelevantFacts) {
+        for (IntExp fact : context.tableOfRelevantFacts) {
             map.put(fact, index);
             index++;
         }
 
         // Creates the list of bit operators
-        Encoder.operators = new ArrayList<>(Constants.DEFAULT_OPERATORS_TABLE_SIZE);
+        context.operators = new ArrayList<>(Constants.DEFAULT_OPERATORS_TABLE_SIZE);
         // Encode the goal in bit set representation
         if (!intGoal.getChildren().isEmpty() || intGoal.getConnective().equals(Connective.ATOM)) {
             try {
-                Encoder.goal = BitEncoding.encodeGoal(intGoal, map);
+                context.goal = bitEncoding.encodeGoal(intGoal, map);
             } catch (UnexpectedExpressionException uee) {
                 LOGGER.error("Error with unexpected expression", uee);
                 return null;
             }
         } else {
-            Encoder.goal = new BitExp();
+            context.goal = new BitExp();
         }
 
         // Encode the initial state in bit set representation
-        Encoder.init = BitEncoding.encodeInit(intInitPredicates, map);
+        context.init = bitEncoding.encodeInit(intInitPredicates, map);
         // Encode the operators in bit set representation
         try {
-            Encoder.operators.addAll(0, BitEncoding.encodeOperators(intOps, map));
+            context.operators.addAll(0, bitEncoding.encodeOperators(intOps, map));
         } catch (UnexpectedExpressionException uee) {
             LOGGER.error("Error with unexpected expression", uee);
             return null;
         }
 
         // Just for logging
-        if (Encoder.logLevel == 7) {
+        if (context.logLevel == 7) {
             stringBuilder.append("\nfinal operators:");
-            for (BitOp op : Encoder.operators) {
-                stringBuilder.append(Encoder.toString(op));
+            for (BitOp op : context.operators) {
+                stringBuilder.append(context.toString(op));
             }
 
-            stringBuilder.append("\nfinal initial state:").append(Encoder.toString(Encoder.init))
+            stringBuilder.append("\nfinal initial state:").append(context.toString(context.init))
                 .append("\nfinal goal state:");
-            if (Encoder.goal == null) { // Goal null
+            if (context.goal == null) { // Goal null
                 stringBuilder.append("goal can be simplified to FALSE");
-            } else if (!Encoder.goal.isEmpty()) { // Goal not Null and not empty
-                stringBuilder.append(Encoder.toString(Encoder.goal));
+            } else if (!context.goal.isEmpty()) { // Goal not Null and not empty
+                stringBuilder.append(context.toString(context.goal));
             } else { // Goal not Null and empty
                 stringBuilder.append("goal can be simplified to TRUE");
             }
@@ -516,196 +539,47 @@ public final class Encoder implements Serializable {
         }
 
         final CodedProblem codedProblem = new CodedProblem();
-        codedProblem.setGoal(Encoder.goal);
-        codedProblem.setInit(Encoder.init);
-        codedProblem.setOperators(Encoder.operators);
-        codedProblem.setConstants(Encoder.tableOfConstants);
-        codedProblem.setDomains(Encoder.tableOfDomains);
-        codedProblem.setFunctions(Encoder.tableOfFunctions);
-        codedProblem.setInertia(Encoder.tableOfInertia);
-        codedProblem.setInferredDomains(Encoder.tableOfInferredDomains);
-        codedProblem.setPredicates(Encoder.tableOfPredicates);
-        codedProblem.setRelevantFacts(Encoder.tableOfRelevantFacts);
-        codedProblem.setFunctionsSignatures(Encoder.tableOfTypedFunctions);
-        codedProblem.setPredicatesSignatures(Encoder.tableOfTypedPredicates);
-        codedProblem.setTypes(Encoder.tableOfTypes);
+        codedProblem.setGoal(context.goal);
+        codedProblem.setInit(context.init);
+        codedProblem.setOperators(context.operators);
+        codedProblem.setConstants(context.tableOfConstants);
+        codedProblem.setDomains(context.tableOfDomains);
+        codedProblem.setFunctions(context.tableOfFunctions);
+        codedProblem.setInertia(context.tableOfInertia);
+        codedProblem.setInferredDomains(context.tableOfInferredDomains);
+        codedProblem.setPredicates(context.tableOfPredicates);
+        codedProblem.setRelevantFacts(context.tableOfRelevantFacts);
+        codedProblem.setFunctionsSignatures(context.tableOfTypedFunctions);
+        codedProblem.setPredicatesSignatures(context.tableOfTypedPredicates);
+        codedProblem.setTypes(context.tableOfTypes);
         return codedProblem;
 
     }
 
-    // *********************************************************************************************
-    // Methods for printing the different structures used during encoding
-    // *********************************************************************************************
-
-    /**
-     * Print the table of types.
-     */
-    static void printTableOfTypes(StringBuilder stringBuilder) {
-        stringBuilder.append("Types table:\n");
-        for (int i = 0; i < Encoder.tableOfTypes.size(); i++) {
-            stringBuilder.append(i).append(": ").append(Encoder.tableOfTypes.get(i)).append(":");
-            Set<Integer> domain = Encoder.tableOfDomains.get(i);
-            for (Integer constant : domain) {
-                stringBuilder.append(" ").append(constant);
-            }
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the table of constants.
-     */
-    static void printTableOfConstants(StringBuilder stringBuilder) {
-        stringBuilder.append("Constants table:\n");
-        for (int i = 0; i < Encoder.tableOfConstants.size(); i++) {
-            stringBuilder.append(i).append(": ").append(Encoder.tableOfConstants.get(i)).append("\n");
-        }
-    }
-
-    /**
-     * Print the table of predicates.
-     */
-    static void printTableOfPredicates(StringBuilder stringBuilder) {
-        stringBuilder.append("Predicates table:\n");
-        for (int i = 0; i < Encoder.tableOfPredicates.size(); i++) {
-            String predicate = Encoder.tableOfPredicates.get(i);
-            stringBuilder.append(i).append(": ").append(predicate).append(" :");
-            for (int j = 0; j < Encoder.tableOfTypedPredicates.get(i).size(); j++) {
-                stringBuilder.append(" ")
-                    .append(Encoder.tableOfTypes.get(Encoder.tableOfTypedPredicates.get(i).get(j)));
-            }
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the table of functions.
-     */
-    static void printTableOfFunctions(StringBuilder stringBuilder) {
-        stringBuilder.append("Functions table:\n");
-        for (int i = 0; i < Encoder.tableOfFunctions.size(); i++) {
-            String predicate = Encoder.tableOfFunctions.get(i);
-            stringBuilder.append(i).append(": ").append(predicate).append(":");
-            for (int j = 0; j < Encoder.tableOfTypedFunctions.get(i).size(); j++) {
-                stringBuilder.append(" ").append(Encoder.tableOfTypes.get(Encoder.tableOfTypedFunctions.get(i).get(j)));
-            }
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the table of inertia.
-     */
-    static void printTableOfInertia(StringBuilder stringBuilder) {
-        stringBuilder.append("Inertias table:\n");
-        for (int i = 0; i < Encoder.tableOfPredicates.size(); i++) {
-            String predicate = Encoder.tableOfPredicates.get(i);
-            stringBuilder.append(i).append(": ").append(predicate).append(" : ").append(Encoder.tableOfInertia.get(i));
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Print the relevant facts table.
-     */
-    static void printRelevantFactsTable(StringBuilder stringBuilder) {
-        stringBuilder.append("selected the following facts as relevant:\n");
-        for (int i = 0; i < Encoder.tableOfRelevantFacts.size(); i++) {
-            stringBuilder.append(i).append(": ").append(Encoder.toString(Encoder.tableOfRelevantFacts.get(i)));
-            stringBuilder.append("\n");
-        }
-    }
-
     /**
-     * Print the goal.
-     */
-    static void printGoal(StringBuilder stringBuilder) {
-        stringBuilder.append("Goal state is:\n");
-        for (BitExp exp : Encoder.codedGoal) {
-            stringBuilder.append(Encoder.toString(exp));
-            stringBuilder.append("\n");
-        }
-    }
-
-    /**
-     * Returns a short string representation of the specified operator, i.e., only its name and the
-     * value of its parameters.
+     * The modes of instantiation of the operators during the encoding.
      *
-     * @param op the operator.
-     * @return a string representation of the specified operator.
-     */
-    static String toShortString(final IntOp op) {
-        return StringEncoder.toShortString(op, Encoder.tableOfConstants);
+     * @author D. Pellier
+     * @version 1.0 - 26.04.2019
+     * @since 3.8.3
+     */
+    public enum InstantiationMode {
+
+        /**
+         * The operators are instantiated sequentially from the cross product of the domains of their parameters.
+         */
+        SEQUENTIAL,
+        /**
+         * The instantiation of each operator is split into one task per value of its first parameter and the tasks
+         * are executed by the common fork-join pool. The instantiated operators are returned in the same order as
+         * in the sequential mode, so that the indices of the operators are the same whatever the mode used.
+         */
+        PARALLEL,
+        /**
+         * Only the operators reachable from the initial state in the delete relaxation of the problem are
+         * instantiated. The parameters of the operators are bound by joining their preconditions against the facts
+         * reached rather than by enumerating the cross product of their domains.
+         */
+        REACHABILITY,
     }
-
-    /**
-     * Returns a string representation of the specified operator.
-     *
-     * @param op the operator to print.
-     * @return a string representation of the specified operator.
-     */
-    static String toString(final IntOp op) {
-        return StringEncoder.toString(op, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions);
-    }
-
-    /**
-     * Returns a string representation of the specified operator.
-     *
-     * @param op the operator to print.
-     * @return a string representation of the specified operator.
-     */
-    static String toString(final BitOp op) {
-        return StringEncoder.toString(op, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions, Encoder.tableOfRelevantFacts);
-    }
-
-    /**
-     * Returns a string representation of an expression.
-     *
-     * @param exp the expression.
-     * @return a string representation of the specified expression.
-     */
-    static String toString(final IntExp exp) {
-        return StringEncoder.toString(exp, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions);
-    }
-
-    /**
-     * Returns a string representation of a bit expression.
-     *
-     * @param exp the expression.
-     * @return a string representation of the specified expression.
-     */
-    static String toString(BitExp exp) {
-        return StringEncoder.toString(exp, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions, Encoder.tableOfRelevantFacts);
-    }
-
-    /**
-     * Returns a string representation of a conditional bit expression.
-     *
-     * @param exp the conditional expression.
-     * @return a string representation of the specified expression.
-     */
-    static String toString(CondBitExp exp) {
-        return StringEncoder.toString(exp, Encoder.tableOfConstants,
-            Encoder.tableOfTypes, Encoder.tableOfPredicates,
-            Encoder.tableOfFunctions, Encoder.tableOfRelevantFacts);
-    }
-
-    /**
-     * Print the table of inertia.
-     */
-    static void printTableOfGroundInertia(StringBuilder stringBuilder) {
-        stringBuilder.append("Ground inertia table:");
-        for (Entry<IntExp, Inertia> e : Encoder.tableOfGroundInertia.entrySet()) {
-            stringBuilder.append(Encoder.toString(e.getKey())).append(": ").append(e.getValue());
-        }
-    }
-
 }
@@ -24,9 +24,14 @@ import fr.uga.pddl4j.util.IntExp;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * This class contains the methods needed to instantiate the operators.
@@ -42,32 +47,387 @@ final class Instantiation implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The default constructor with a private access to prevent instance creation.
+     * The context of the encoding.
      */
-    private Instantiation() {
+    private final EncodingContext context;
+
+    /**
+     * Creates a new instance working on a specified encoding context.
+     *
+     * @param context the context of the encoding.
+     */
+    Instantiation(final EncodingContext context) {
+        this.context = context;
     }
 
     /**
-     * Instantiates a specified list of operators.
+     * Instantiates a specified list of operators. If the parallel instantiation is enabled in the context of the
+     * encoding, the operators are instantiated with the method <code>instantiateOperatorsInParallel()</code>.
      *
      * @param operators the list of operators to instantiate.
      * @return the list of instantiated operators.
      */
-    static List<IntOp> instantiateOperators(final List<IntOp> operators) {
+    List<IntOp> instantiateOperators(final List<IntOp> operators) {
+        if (this.context.parallelInstantiation) {
+            return this.instantiateOperatorsInParallel(operators);
+        }
+        final List<IntOp> instOps = new ArrayList<>(1000);
+        for (IntOp op : operators) {
+            if (this.isInstantiable(op)) {
+                instOps.addAll(this.instantiate(op));
+            }
+        }
+        return instOps;
+    }
+
+    /**
+     * Instantiates a specified list of operators in parallel. The instantiation of each operator is split into one
+     * task per value of its first parameter and the tasks are executed by the common fork-join pool. The results of
+     * the tasks are concatenated in the order of the operators and of the values, so that the list returned is the
+     * same as the one returned by the sequential instantiation.
+     *
+     * @param operators the list of operators to instantiate.
+     * @return the list of instantiated operators.
+     */
+    List<IntOp> instantiateOperatorsInParallel(final List<IntOp> operators) {
+        final List<ForkJoinTask<List<IntOp>>> tasks = new ArrayList<>();
+        for (IntOp op : operators) {
+            if (this.isInstantiable(op) && this.prepare(op)) {
+                if (op.getArity() == 0) {
+                    final List<IntOp> instOps = new ArrayList<>(1);
+                    this.instantiate(op, 0, Integer.MAX_VALUE, instOps);
+                    tasks.add(ForkJoinTask.adapt(() -> instOps));
+                } else {
+                    for (Integer value : this.context.tableOfDomains.get(op.getTypeOfParameters(0))) {
+                        tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                            final List<IntOp> instOps = new ArrayList<>(100);
+                            this.instantiate(op, 0, value, Integer.MAX_VALUE, instOps);
+                            return instOps;
+                        }));
+                    }
+                }
+            }
+        }
         final List<IntOp> instOps = new ArrayList<>(1000);
+        for (ForkJoinTask<List<IntOp>> task : tasks) {
+            instOps.addAll(task.invoke());
+        }
+        return instOps;
+    }
+
+    /**
+     * Instantiates only the operators of a specified list that are reachable from a specified initial state in the
+     * delete relaxation of the problem. Rather than enumerating the cross product of the domains of the parameters,
+     * the parameters of each operator are bound by joining its positive precondition atoms against the facts reached
+     * so far. Each new instantiated operator adds the positive atoms of its effects, including the consequents of its
+     * conditional effects, to the reached facts, and the computation stops when a fixpoint is reached. Negative
+     * preconditions, disjunctions and the antecedents of conditional effects are ignored during the join, so that
+     * the operators returned are a superset of the operators applicable in a reachable state.
+     * <p>
+     * The join is evaluated semi-naively: at each round, only the bindings where at least one precondition atom
+     * matches a fact reached during the previous round are enumerated. The atoms before this atom are matched
+     * against the facts reached before the previous round and the atoms after it against all the facts reached, so
+     * that a binding is never enumerated twice.
+     * </p>
+     *
+     * @param operators the list of operators to instantiate.
+     * @param init      the initial state.
+     * @return the list of instantiated operators.
+     */
+    List<IntOp> instantiateReachableOperators(final List<IntOp> operators, final Set<IntExp> init) {
+        final int nbConstants = this.context.tableOfConstants.size();
+        final List<IntOp> lifted = new ArrayList<>(operators.size());
+        final List<List<IntExp>> atoms = new ArrayList<>(operators.size());
+        // The bindings already instantiated for each operator
+        final List<IntMatrix> bindings = new ArrayList<>(operators.size());
         for (IntOp op : operators) {
-            // If an operator has a parameter with a empty domain the operator must be removed
-            boolean toInstantiate = true;
+            if (this.isInstantiable(op) && this.prepare(op)) {
+                lifted.add(op);
+                final List<IntExp> opAtoms = new ArrayList<>();
+                final IntExp precond = op.getPreconditions();
+                if (precond.getConnective().equals(Connective.ATOM)) {
+                    opAtoms.add(precond);
+                } else if (precond.getConnective().equals(Connective.AND)) {
+                    for (IntExp child : precond.getChildren()) {
+                        if (child.getConnective().equals(Connective.ATOM)) {
+                            opAtoms.add(child);
+                        }
+                    }
+                }
+                atoms.add(opAtoms);
+                bindings.add(new IntMatrix(nbConstants, op.getArity()));
+            }
+        }
+        // The facts reached indexed by predicates
+        final Map<Integer, IntMatrix> reached = new HashMap<>();
+        final Map<Integer, List<int[]>> facts = new HashMap<>();
+        // The index of the first fact reached during the previous round for each predicate
+        final Map<Integer, Integer> delta = new HashMap<>();
+        final List<IntExp> newFacts = new ArrayList<>();
+        for (IntExp fact : init) {
+            if (fact.getConnective().equals(Connective.ATOM)) {
+                newFacts.add(fact);
+            }
+        }
+        final List<IntOp> instOps = new ArrayList<>(1000);
+        boolean firstRound = true;
+        while (this.addReachedFacts(newFacts, reached, facts, delta)) {
+            newFacts.clear();
+            for (int i = 0; i < lifted.size(); i++) {
+                final IntOp op = lifted.get(i);
+                final List<IntExp> opAtoms = atoms.get(i);
+                final int[] binding = new int[op.getArity()];
+                Arrays.fill(binding, -1);
+                final List<int[]> candidates = new ArrayList<>();
+                if (opAtoms.isEmpty()) {
+                    // The operators without positive precondition atoms are reachable from the initial state
+                    if (firstRound) {
+                        this.bindFreeParameters(op, 0, binding, candidates);
+                    }
+                } else {
+                    for (int pivot = 0; pivot < opAtoms.size(); pivot++) {
+                        if (delta.containsKey(opAtoms.get(pivot).getPredicate())) {
+                            this.join(op, opAtoms, 0, pivot, binding, facts, delta, candidates);
+                        }
+                    }
+                }
+                final IntMatrix opBindings = bindings.get(i);
+                for (int[] candidate : candidates) {
+                    if (opBindings.get(candidate) == 0) {
+                        opBindings.put(candidate, 1);
+                        final IntOp instOp = this.instantiate(op, candidate);
+                        if (instOp != null) {
+                            instOps.add(instOp);
+                            this.extractPositiveEffects(instOp.getEffects(), newFacts);
+                        }
+                    }
+                }
+            }
+            firstRound = false;
+        }
+        return instOps;
+    }
+
+    /**
+     * Adds a list of facts to the facts reached. The facts not already reached are appended to the lists of
+     * arguments of their predicates and become the delta of the next round of the join.
+     *
+     * @param newFacts the facts to add.
+     * @param reached  the arguments of the facts reached indexed by predicates.
+     * @param facts    the list of the arguments of the facts reached indexed by predicates.
+     * @param delta    the index in <code>facts</code> of the first fact added for each predicate. The map is
+     *                 cleared before the facts are added.
+     * @return <code>true</code> if at least one of the facts was not already reached, <code>false</code> otherwise.
+     */
+    private boolean addReachedFacts(final List<IntExp> newFacts, final Map<Integer, IntMatrix> reached,
+                                    final Map<Integer, List<int[]>> facts, final Map<Integer, Integer> delta) {
+        delta.clear();
+        final int nbConstants = this.context.tableOfConstants.size();
+        for (IntExp fact : newFacts) {
+            final int predicate = fact.getPredicate();
+            final int[] args = fact.getArguments();
+            final IntMatrix known = reached.computeIfAbsent(predicate, p -> new IntMatrix(nbConstants, args.length));
+            if (known.get(args) == 0) {
+                known.put(args, 1);
+                final List<int[]> predFacts = facts.computeIfAbsent(predicate, p -> new ArrayList<>());
+                delta.putIfAbsent(predicate, predFacts.size());
+                predFacts.add(args);
+            }
+        }
+        return !delta.isEmpty();
+    }
+
+    /**
+     * Extracts the positive atoms of a specified effect. The consequents of the conditional effects are considered
+     * as unconditional effects.
+     *
+     * @param exp   the effect.
+     * @param atoms the list where the positive atoms are added.
+     */
+    private void extractPositiveEffects(final IntExp exp, final List<IntExp> atoms) {
+        switch (exp.getConnective()) {
+            case ATOM:
+                atoms.add(exp);
+                break;
+            case AND:
+                for (IntExp child : exp.getChildren()) {
+                    this.extractPositiveEffects(child, atoms);
+                }
+                break;
+            case WHEN:
+                this.extractPositiveEffects(exp.getChildren().get(1), atoms);
+                break;
+            default:
+                // do nothing
+        }
+    }
+
+    /**
+     * Enumerates the bindings of the parameters of an operator that match a list of atoms against the facts reached.
+     * The atom at the index <code>pivot</code> is matched against the facts reached during the previous round, the
+     * atoms before it against the facts reached before and the atoms after it against all the facts reached. The
+     * parameters that do not appear in the atoms are bound to all the values of their domain. Two parameters are
+     * never bound to the same value.
+     *
+     * @param op       the operator.
+     * @param atoms    the positive precondition atoms of the operator.
+     * @param index    the index of the atom to match.
+     * @param pivot    the index of the atom matched against the facts reached during the previous round.
+     * @param binding  the current binding of the parameters, <code>-1</code> for the unbound parameters.
+     * @param facts    the arguments of the facts reached indexed by predicates.
+     * @param delta    the index of the first fact reached during the previous round for each predicate.
+     * @param bindings the list where the complete bindings are added.
+     */
+    private void join(final IntOp op, final List<IntExp> atoms, final int index, final int pivot,
+                      final int[] binding, final Map<Integer, List<int[]>> facts, final Map<Integer, Integer> delta,
+                      final List<int[]> bindings) {
+        if (index == atoms.size()) {
+            this.bindFreeParameters(op, 0, binding, bindings);
+            return;
+        }
+        final IntExp atom = atoms.get(index);
+        final List<int[]> candidates = facts.get(atom.getPredicate());
+        if (candidates == null) {
+            return;
+        }
+        final int first = delta.getOrDefault(atom.getPredicate(), candidates.size());
+        final int from = index == pivot ? first : 0;
+        final int to = index < pivot ? first : candidates.size();
+        final int[] args = atom.getArguments();
+        final int[] assigned = new int[args.length];
+        for (int f = from; f < to; f++) {
+            final int[] fact = candidates.get(f);
+            int nbAssigned = 0;
+            boolean match = true;
             int i = 0;
-            while (i < op.getArity() && toInstantiate) {
-                toInstantiate = !Encoder.tableOfDomains.get(op.getTypeOfParameters(i)).isEmpty();
+            while (i < args.length && match) {
+                if (args[i] >= 0) {
+                    match = args[i] == fact[i];
+                } else {
+                    final int param = -args[i] - 1;
+                    if (binding[param] == -1) {
+                        match = this.canBind(op, param, fact[i], binding);
+                        if (match) {
+                            binding[param] = fact[i];
+                            assigned[nbAssigned++] = param;
+                        }
+                    } else {
+                        match = binding[param] == fact[i];
+                    }
+                }
                 i++;
             }
-            if (toInstantiate) {
-                instOps.addAll(Instantiation.instantiate(op));
+            if (match) {
+                this.join(op, atoms, index + 1, pivot, binding, facts, delta, bindings);
+            }
+            for (int j = 0; j < nbAssigned; j++) {
+                binding[assigned[j]] = -1;
             }
         }
-        return instOps;
+    }
+
+    /**
+     * Binds the parameters of an operator still unbound to all the values of their domain.
+     *
+     * @param op       the operator.
+     * @param param    the index of the parameter to bind.
+     * @param binding  the current binding of the parameters, <code>-1</code> for the unbound parameters.
+     * @param bindings the list where the complete bindings are added.
+     */
+    private void bindFreeParameters(final IntOp op, final int param, final int[] binding,
+                                    final List<int[]> bindings) {
+        if (param == binding.length) {
+            bindings.add(Arrays.copyOf(binding, binding.length));
+        } else if (binding[param] != -1) {
+            this.bindFreeParameters(op, param + 1, binding, bindings);
+        } else {
+            for (Integer value : this.context.tableOfDomains.get(op.getTypeOfParameters(param))) {
+                if (this.canBind(op, param, value, binding)) {
+                    binding[param] = value;
+                    this.bindFreeParameters(op, param + 1, binding, bindings);
+                    binding[param] = -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns if a parameter of an operator can be bound to a specified value, i.e., if the value belongs to the
+     * domain of the parameter and is not already bound to another parameter.
+     *
+     * @param op      the operator.
+     * @param param   the index of the parameter.
+     * @param value   the value.
+     * @param binding the current binding of the parameters.
+     * @return <code>true</code> if the parameter can be bound to the value, <code>false</code> otherwise.
+     */
+    private boolean canBind(final IntOp op, final int param, final int value, final int[] binding) {
+        if (!this.context.tableOfDomains.get(op.getTypeOfParameters(param)).contains(value)) {
+            return false;
+        }
+        for (int b : binding) {
+            if (b == value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Instantiates a specified operator with a specified binding of its parameters.
+     *
+     * @param op      the operator.
+     * @param binding the values of the parameters.
+     * @return the operator instantiated or <code>null</code> if its preconditions or its effects are simplified to
+     *          <code>FALSE</code>.
+     */
+    private IntOp instantiate(final IntOp op, final int[] binding) {
+        IntOp instOp = new IntOp(op);
+        int index = 0;
+        while (index < binding.length && instOp != null) {
+            instOp = this.instantiate(instOp, index, binding[index]);
+            index++;
+        }
+        if (instOp != null && this.simplifyInstantiatedOperator(instOp)) {
+            return instOp;
+        }
+        return null;
+    }
+
+    /**
+     * Returns if a specified operator can be instantiated, i.e., if none of its parameters has an empty domain.
+     *
+     * @param op the operator.
+     * @return <code>true</code> if the operator can be instantiated, <code>false</code> otherwise.
+     */
+    private boolean isInstantiable(final IntOp op) {
+        // If an operator has a parameter with a empty domain the operator must be removed
+        boolean toInstantiate = true;
+        int i = 0;
+        while (i < op.getArity() && toInstantiate) {
+            toInstantiate = !this.context.tableOfDomains.get(op.getTypeOfParameters(i)).isEmpty();
+            i++;
+        }
+        return toInstantiate;
+    }
+
+    /**
+     * Expands the quantified expressions and simplifies the preconditions and the effects of a specified operator
+     * before its instantiation.
+     *
+     * @param operator the operator.
+     * @return <code>false</code> if the preconditions or the effects of the operator are simplified to
+     *          <code>FALSE</code>, <code>true</code> otherwise.
+     */
+    private boolean prepare(final IntOp operator) {
+        this.expandQuantifiedExpression(operator.getPreconditions());
+        this.simplify(operator.getPreconditions());
+        if (!operator.getPreconditions().getConnective().equals(Connective.FALSE)) {
+            this.expandQuantifiedExpression(operator.getEffects());
+            this.simplify(operator.getEffects());
+            return !operator.getEffects().getConnective().equals(Connective.FALSE);
+        }
+        return false;
     }
 
     /**
@@ -77,16 +437,10 @@ final class Instantiation implements Serializable {
      * @param bound    the bound of actions to instantiate.
      * @return the list of operators instantiated corresponding the specified operator.
      */
-    static List<IntOp> instantiate(final IntOp operator, final int bound) {
+    List<IntOp> instantiate(final IntOp operator, final int bound) {
         final List<IntOp> instOps = new ArrayList<>(100);
-        Instantiation.expandQuantifiedExpression(operator.getPreconditions());
-        Instantiation.simplify(operator.getPreconditions());
-        if (!operator.getPreconditions().getConnective().equals(Connective.FALSE)) {
-            Instantiation.expandQuantifiedExpression(operator.getEffects());
-            Instantiation.simplify(operator.getEffects());
-            if (!operator.getEffects().getConnective().equals(Connective.FALSE)) {
-                Instantiation.instantiate(operator, 0, bound, instOps);
-            }
+        if (this.prepare(operator)) {
+            this.instantiate(operator, 0, bound, instOps);
         }
         return instOps;
     }
@@ -97,8 +451,8 @@ final class Instantiation implements Serializable {
      * @param operator the operator to instantiate.
      * @return the list of operators instantiated corresponding the specified operator.
      */
-    static List<IntOp> instantiate(final IntOp operator) {
-        return Instantiation.instantiate(operator, Integer.MAX_VALUE);
+    List<IntOp> instantiate(final IntOp operator) {
+        return this.instantiate(operator, Integer.MAX_VALUE);
     }
 
     /**
@@ -117,56 +471,106 @@ final class Instantiation implements Serializable {
      * @param operators the list of operators already instantiated.
      * @see IntOp
      */
-    private static void instantiate(final IntOp op, final int index, final int bound, final List<IntOp> operators) {
+    private void instantiate(final IntOp op, final int index, final int bound, final List<IntOp> operators) {
         if (bound == operators.size()) {
             return;
         }
-        final int arity = op.getArity();
-        if (index == arity) {
-            final IntExp precond = op.getPreconditions();
-            Instantiation.simplify(precond);
-            if (!precond.getConnective().equals(Connective.FALSE)) {
-                final IntExp effect = op.getEffects();
-                Instantiation.simplify(effect);
-                if (!effect.getConnective().equals(Connective.FALSE)) {
-                    operators.add(op);
-                }
+        if (index == op.getArity()) {
+            if (this.simplifyInstantiatedOperator(op)) {
+                operators.add(op);
             }
         } else {
-            final Set<Integer> values = Encoder.tableOfDomains.get(op.getTypeOfParameters(index));
+            final Set<Integer> values = this.context.tableOfDomains.get(op.getTypeOfParameters(index));
             for (Integer value : values) {
-                if (!op.isAlreadyInstantiatedWith(value)) {
-                    final int varIndex = -index - 1;
-                    final IntExp precond = new IntExp(op.getPreconditions());
-                    Instantiation.substitute(precond, varIndex, value);
-                    if (!precond.getConnective().equals(Connective.FALSE)) {
-                        final IntExp effects = new IntExp(op.getEffects());
-                        Instantiation.substitute(effects, varIndex, value);
-                        if (!effects.getConnective().equals(Connective.FALSE)) {
-                            final IntOp copy = new IntOp(op.getName(), arity);
-                            copy.setPreconditions(precond);
-                            copy.setEffects(effects);
-                            for (int i = 0; i < arity; i++) {
-                                copy.setTypeOfParameter(i, op.getTypeOfParameters(i));
-                            }
-                            for (int i = 0; i < index; i++) {
-                                copy.setValueOfParameter(i, op.getValueOfParameter(i));
-                            }
-                            copy.setValueOfParameter(index, value);
-                            Instantiation.instantiate(copy, index + 1, bound, operators);
-                        }
-                    }
-                }
+                this.instantiate(op, index, value, bound, operators);
             }
         }
     }
 
+    /**
+     * Instantiates the parameter of a specified operator with a specified value and then instantiates recursively
+     * its next parameters. The operator is not modified: the value is substituted in a copy of the operator.
+     *
+     * @param op        the operator.
+     * @param index     the index of the parameter to instantiate.
+     * @param value     the value of the parameter.
+     * @param bound     the bound of actions to instantiate.
+     * @param operators the list of operators already instantiated.
+     */
+    private void instantiate(final IntOp op, final int index, final int value, final int bound,
+                             final List<IntOp> operators) {
+        if (bound == operators.size()) {
+            return;
+        }
+        final IntOp copy = this.instantiate(op, index, value);
+        if (copy != null) {
+            this.instantiate(copy, index + 1, bound, operators);
+        }
+    }
+
+    /**
+     * Returns a copy of a specified operator where the parameter at a specified index is instantiated with a
+     * specified value. The method returns <code>null</code> if the value is already used by another parameter of the
+     * operator or if the preconditions or the effects of the copy are simplified to <code>FALSE</code>.
+     *
+     * @param op    the operator.
+     * @param index the index of the parameter to instantiate.
+     * @param value the value of the parameter.
+     * @return the copy of the operator instantiated or <code>null</code>.
+     */
+    private IntOp instantiate(final IntOp op, final int index, final int value) {
+        if (op.isAlreadyInstantiatedWith(value)) {
+            return null;
+        }
+        final int arity = op.getArity();
+        final int varIndex = -index - 1;
+        final IntExp precond = new IntExp(op.getPreconditions());
+        this.substitute(precond, varIndex, value);
+        if (precond.getConnective().equals(Connective.FALSE)) {
+            return null;
+        }
+        final IntExp effects = new IntExp(op.getEffects());
+        this.substitute(effects, varIndex, value);
+        if (effects.getConnective().equals(Connective.FALSE)) {
+            return null;
+        }
+        final IntOp copy = new IntOp(op.getName(), arity);
+        copy.setPreconditions(precond);
+        copy.setEffects(effects);
+        for (int i = 0; i < arity; i++) {
+            copy.setTypeOfParameter(i, op.getTypeOfParameters(i));
+        }
+        for (int i = 0; i < index; i++) {
+            copy.setValueOfParameter(i, op.getValueOfParameter(i));
+        }
+        copy.setValueOfParameter(index, value);
+        return copy;
+    }
+
+    /**
+     * Simplifies the preconditions and the effects of an operator whose parameters are all instantiated.
+     *
+     * @param op the operator.
+     * @return <code>true</code> if neither the preconditions nor the effects of the operator are simplified to
+     *          <code>FALSE</code>, <code>false</code> otherwise.
+     */
+    private boolean simplifyInstantiatedOperator(final IntOp op) {
+        final IntExp precond = op.getPreconditions();
+        this.simplify(precond);
+        if (!precond.getConnective().equals(Connective.FALSE)) {
+            final IntExp effect = op.getEffects();
+            this.simplify(effect);
+            return !effect.getConnective().equals(Connective.FALSE);
+        }
+        return false;
+    }
+
     /**
      * Expands the quantified expressions contained in a specified expression.
      *
      * @param exp the expression.
      */
-    static void expandQuantifiedExpression(final IntExp exp) {
+    void expandQuantifiedExpression(final IntExp exp) {
         switch (exp.getConnective()) {
             case AND:
                 Iterator<IntExp> i = exp.getChildren().iterator();
@@ -174,11 +578,11 @@ final class Instantiation implements Serializable {
                     final IntExp ei = i.next();
                     // Remove quantified expression where the domain of the quantified variable is empty
                     if ((ei.getConnective().equals(Connective.FORALL) || ei.getConnective().equals(Connective.EXISTS))
-                        && Encoder.tableOfDomains.get(ei.getType()).isEmpty()) {
+                        && this.context.tableOfDomains.get(ei.getType()).isEmpty()) {
                         i.remove();
                         continue;
                     }
-                    Instantiation.expandQuantifiedExpression(ei);
+                    this.expandQuantifiedExpression(ei);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
@@ -191,11 +595,11 @@ final class Instantiation implements Serializable {
                     final IntExp ei = i.next();
                     // Remove quantified expression where the domain of the quantified variable is empty
                     if ((ei.getConnective().equals(Connective.FORALL) || ei.getConnective().equals(Connective.EXISTS))
-                        && Encoder.tableOfDomains.get(ei.getType()).isEmpty()) {
+                        && this.context.tableOfDomains.get(ei.getType()).isEmpty()) {
                         i.remove();
                         continue;
                     }
-                    Instantiation.expandQuantifiedExpression(ei);
+                    this.expandQuantifiedExpression(ei);
                     // If a child expression is TRUE, the whole disjunction becomes TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -203,7 +607,7 @@ final class Instantiation implements Serializable {
                 }
                 break;
             case FORALL:
-                Set<Integer> constants = Encoder.tableOfDomains.get(exp.getType());
+                Set<Integer> constants = this.context.tableOfDomains.get(exp.getType());
                 IntExp qExp = exp.getChildren().get(0);
                 int var = exp.getVariable();
                 exp.setConnective(Connective.AND);
@@ -212,17 +616,17 @@ final class Instantiation implements Serializable {
                 while (it.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     int cons = it.next();
                     IntExp copy = new IntExp(qExp);
-                    Instantiation.substitute(copy, var, cons);
+                    this.substitute(copy, var, cons);
                     exp.getChildren().add(copy);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (copy.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
                     }
                 }
-                Instantiation.expandQuantifiedExpression(exp);
+                this.expandQuantifiedExpression(exp);
                 break;
             case EXISTS:
-                constants = Encoder.tableOfDomains.get(exp.getType());
+                constants = this.context.tableOfDomains.get(exp.getType());
                 qExp = exp.getChildren().get(0);
                 var = exp.getVariable();
                 exp.setConnective(Connective.OR);
@@ -231,14 +635,14 @@ final class Instantiation implements Serializable {
                 while (it.hasNext() && exp.getConnective().equals(Connective.OR)) {
                     int cons = it.next();
                     IntExp copy = new IntExp(qExp);
-                    Instantiation.substitute(copy, var, cons);
+                    this.substitute(copy, var, cons);
                     exp.getChildren().add(copy);
                     // If a child expression is TRUE, the whole disjunction becomes TRUE.
                     if (copy.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
                     }
                 }
-                Instantiation.expandQuantifiedExpression(exp);
+                this.expandQuantifiedExpression(exp);
                 break;
 
             case AT_START:
@@ -248,24 +652,24 @@ final class Instantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(0));
+                this.expandQuantifiedExpression(exp.getChildren().get(0));
                 break;
             case SOMETIME_AFTER:
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
             case WHEN:
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(0));
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(1));
+                this.expandQuantifiedExpression(exp.getChildren().get(0));
+                this.expandQuantifiedExpression(exp.getChildren().get(1));
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(0));
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(1));
-                Instantiation.expandQuantifiedExpression(exp.getChildren().get(3));
+                this.expandQuantifiedExpression(exp.getChildren().get(0));
+                this.expandQuantifiedExpression(exp.getChildren().get(1));
+                this.expandQuantifiedExpression(exp.getChildren().get(3));
                 break;
             case ATOM:
-                Instantiation.simplyAtom(exp);
+                this.simplyAtom(exp);
                 break;
             case EQUAL_ATOM:
             case FN_HEAD:
@@ -319,7 +723,7 @@ final class Instantiation implements Serializable {
      *
      * @param exp the expression to simplify.
      */
-    private static void simplify(final IntExp exp) {
+    private void simplify(final IntExp exp) {
         switch (exp.getConnective()) {
             case ATOM:
                 break;
@@ -343,7 +747,7 @@ final class Instantiation implements Serializable {
                 int i = 0;
                 while (i < exp.getChildren().size() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = exp.getChildren().get(i);
-                    Instantiation.simplify(ei);
+                    this.simplify(ei);
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         // If a child expression is FALSE, the whole conjunction becomes FALSE.
                         exp.setConnective(Connective.FALSE);
@@ -421,7 +825,7 @@ final class Instantiation implements Serializable {
                 i = 0;
                 while (i < exp.getChildren().size() && exp.getConnective().equals(Connective.OR)) {
                     final IntExp ei = exp.getChildren().get(i);
-                    Instantiation.simplify(ei);
+                    this.simplify(ei);
                     // If a child expression is TRUE, the whole disjunction is TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -512,11 +916,11 @@ final class Instantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                Instantiation.simplify(exp.getChildren().get(0));
+                this.simplify(exp.getChildren().get(0));
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
-                Instantiation.simplify(neg);
+                this.simplify(neg);
                 if (neg.getConnective().equals(Connective.TRUE)) {
                     exp.setConnective(Connective.FALSE);
                 } else if (neg.getConnective().equals(Connective.FALSE)) {
@@ -543,19 +947,19 @@ final class Instantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                Instantiation.simplify(exp.getChildren().get(0));
-                Instantiation.simplify(exp.getChildren().get(1));
+                this.simplify(exp.getChildren().get(0));
+                this.simplify(exp.getChildren().get(1));
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    Instantiation.simplify(exp.getChildren().get(0));
+                    this.simplify(exp.getChildren().get(0));
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                Instantiation.simplify(exp.getChildren().get(0));
-                Instantiation.simplify(exp.getChildren().get(1));
-                Instantiation.simplify(exp.getChildren().get(3));
+                this.simplify(exp.getChildren().get(0));
+                this.simplify(exp.getChildren().get(1));
+                this.simplify(exp.getChildren().get(3));
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -577,7 +981,7 @@ final class Instantiation implements Serializable {
      * @param var  the variable.
      * @param cons the constant.
      */
-    private static void substitute(final IntExp exp, final int var, final int cons) {
+    private void substitute(final IntExp exp, final int var, final int cons) {
         switch (exp.getConnective()) {
             case ATOM:
                 boolean updated = false;
@@ -589,7 +993,7 @@ final class Instantiation implements Serializable {
                     }
                 }
                 if (updated) {
-                    Instantiation.simplyAtom(exp);
+                    this.simplyAtom(exp);
                 }
                 break;
             case FN_HEAD:
@@ -624,7 +1028,7 @@ final class Instantiation implements Serializable {
                 Iterator<IntExp> i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = i.next();
-                    Instantiation.substitute(ei, var, cons);
+                    this.substitute(ei, var, cons);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
@@ -635,7 +1039,7 @@ final class Instantiation implements Serializable {
                 i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.OR)) {
                     final IntExp ei = i.next();
-                    Instantiation.substitute(ei, var, cons);
+                    this.substitute(ei, var, cons);
                     // If a child expression is TRUE, the whole disjunction is TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -644,7 +1048,7 @@ final class Instantiation implements Serializable {
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
-                Instantiation.substitute(neg, var, cons);
+                this.substitute(neg, var, cons);
                 if (neg.getConnective().equals(Connective.TRUE)) {
                     exp.setConnective(Connective.FALSE);
                 } else if (neg.getConnective().equals(Connective.FALSE)) {
@@ -671,8 +1075,8 @@ final class Instantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                Instantiation.substitute(exp.getChildren().get(0), var, cons);
-                Instantiation.substitute(exp.getChildren().get(1), var, cons);
+                this.substitute(exp.getChildren().get(0), var, cons);
+                this.substitute(exp.getChildren().get(1), var, cons);
                 break;
             case FORALL:
             case EXISTS:
@@ -683,18 +1087,18 @@ final class Instantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                Instantiation.substitute(exp.getChildren().get(0), var, cons);
+                this.substitute(exp.getChildren().get(0), var, cons);
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    Instantiation.substitute(exp.getChildren().get(0), var, cons);
+                    this.substitute(exp.getChildren().get(0), var, cons);
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                Instantiation.substitute(exp.getChildren().get(0), var, cons);
-                Instantiation.substitute(exp.getChildren().get(1), var, cons);
-                Instantiation.substitute(exp.getChildren().get(3), var, cons);
+                this.substitute(exp.getChildren().get(0), var, cons);
+                this.substitute(exp.getChildren().get(1), var, cons);
+                this.substitute(exp.getChildren().get(3), var, cons);
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -722,7 +1126,7 @@ final class Instantiation implements Serializable {
      *
      * @param exp the atomic expression to simplify.
      */
-    private static void simplyAtom(final IntExp exp) {
+    private void simplyAtom(final IntExp exp) {
         final int predicate = exp.getPredicate();
         // Compute the mask i.e., the vector used to indicate where the constant are located in the
         // atomic expression.
@@ -740,10 +1144,10 @@ final class Instantiation implements Serializable {
         int j = 0;
         int max = 1;
         final int[] index = new int[indexSize];
-        final List<Integer> predArg = Encoder.tableOfTypedPredicates.get(predicate);
+        final List<Integer> predArg = this.context.tableOfTypedPredicates.get(predicate);
         for (int i = 0; i < mask.length; i++) {
             if (mask[i] == 0) {
-                max *= Encoder.tableOfDomains.get(predArg.get(i)).size();
+                max *= this.context.tableOfDomains.get(predArg.get(i)).size();
             } else {
                 index[j] = args[i];
                 j++;
@@ -752,11 +1156,11 @@ final class Instantiation implements Serializable {
         }
         // Get the number of unifying ground instances of the specified expression that are
         // contained in the initial state.
-        final int n = Encoder.predicatesTables.get(predicate).get(PreInstantiation.toInt(mask)).get(index);
+        final int n = this.context.predicatesTables.get(predicate).get(PreInstantiation.toInt(mask)).get(index);
         // CASE 1: If the expression is a positive inertia and the number of unifying ground
         // instances of the specified expression that are contained in the initial state is equal to
         // 0 then the expression is simplified to FALSE.
-        final Inertia inertia = Encoder.tableOfInertia.get(predicate);
+        final Inertia inertia = this.context.tableOfInertia.get(predicate);
         if ((inertia.equals(Inertia.POSITIVE) || inertia.equals(Inertia.INERTIA)) && n == 0) {
             exp.setConnective(Connective.FALSE);
         } else if ((inertia.equals(Inertia.NEGATIVE) || inertia.equals(Inertia.INERTIA)) && max == n) {
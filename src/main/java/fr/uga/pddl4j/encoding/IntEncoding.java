@@ -54,9 +54,22 @@ final class IntEncoding implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The default constructor with a private access to prevent instance creation.
+     * The context of the encoding.
      */
-    private IntEncoding() {
+    private final EncodingContext context;
+
+    /**
+     * The index of the constants of the table of constants of the context.
+     */
+    private Map<String, Integer> indexOfConstants;
+
+    /**
+     * Creates a new instance working on a specified encoding context.
+     *
+     * @param context the context of the encoding.
+     */
+    IntEncoding(final EncodingContext context) {
+        this.context = context;
     }
 
     /**
@@ -66,39 +79,39 @@ final class IntEncoding implements Serializable {
      * @param domain  the domain.
      * @param problem the problem.
      */
-    static void encodeEitherTypes(final Domain domain, final Problem problem) {
+    void encodeEitherTypes(final Domain domain, final Problem problem) {
         // Collect the types from the predicates declaration
         for (NamedTypedList predicate : domain.getPredicates()) {
-            IntEncoding.encodeTypes(predicate.getArguments());
+            this.encodeTypes(predicate.getArguments());
         }
         // Collect the types from the functions declaration
         for (NamedTypedList function : domain.getFunctions()) {
-            IntEncoding.encodeTypes(function.getArguments());
+            this.encodeTypes(function.getArguments());
         }
         // Collect the types from the constraints declaration of the domain
         if (domain.getConstraints() != null) {
-            IntEncoding.encodeTypes(domain.getConstraints());
+            this.encodeTypes(domain.getConstraints());
         }
         // Collect the types from the derived predicates
         for (DerivedPredicate axiom : domain.getDerivesPredicates()) {
-            IntEncoding.encodeTypes(axiom.getHead().getArguments());
-            IntEncoding.encodeTypes(axiom.getBody());
+            this.encodeTypes(axiom.getHead().getArguments());
+            this.encodeTypes(axiom.getBody());
         }
         // Collect the type from the operators
         for (Op op : domain.getOperators()) {
-            IntEncoding.encodeTypes(op.getParameters());
+            this.encodeTypes(op.getParameters());
             if (op.getDuration() != null) {
-                IntEncoding.encodeTypes(op.getDuration());
+                this.encodeTypes(op.getDuration());
             }
-            IntEncoding.encodeTypes(op.getPreconditions());
-            IntEncoding.encodeTypes(op.getEffects());
+            this.encodeTypes(op.getPreconditions());
+            this.encodeTypes(op.getEffects());
         }
         // Collect the types from the constraints declaration of the problem
         if (problem.getConstraints() != null) {
-            IntEncoding.encodeTypes(problem.getConstraints());
+            this.encodeTypes(problem.getConstraints());
         }
         // Collect the types from the goal declaration of the problem
-        IntEncoding.encodeTypes(problem.getGoal());
+        this.encodeTypes(problem.getGoal());
 
     }
 
@@ -107,14 +120,14 @@ final class IntEncoding implements Serializable {
      *
      * @param domain the domain.
      */
-    static void encodeTypes(final Domain domain) {
+    void encodeTypes(final Domain domain) {
         final List<TypedSymbol> types = domain.getTypes();
         final int nbTypes = types.size();
-        Encoder.tableOfTypes = new ArrayList<>(nbTypes);
-        Encoder.tableOfDomains = new ArrayList<>(nbTypes);
+        this.context.tableOfTypes = new ArrayList<>(nbTypes);
+        this.context.tableOfDomains = new ArrayList<>(nbTypes);
         for (TypedSymbol type : types) {
-            Encoder.tableOfTypes.add(type.getImage());
-            Encoder.tableOfDomains.add(new LinkedHashSet<>());
+            this.context.tableOfTypes.add(type.getImage());
+            this.context.tableOfDomains.add(new LinkedHashSet<>());
         }
     }
 
@@ -123,7 +136,7 @@ final class IntEncoding implements Serializable {
      *
      * @param list the list of typed symbol.
      */
-    private static void encodeTypes(final List<TypedSymbol> list) {
+    private void encodeTypes(final List<TypedSymbol> list) {
         for (TypedSymbol elt : list) {
             final List<Symbol> types = elt.getTypes();
             if (types.size() > 1) {
@@ -135,15 +148,15 @@ final class IntEncoding implements Serializable {
                     final String image = type.getImage();
                     buf.append("~");
                     buf.append(image);
-                    int typeIndex = Encoder.tableOfTypes.indexOf(image);
-                    final Set<Integer> typeDomain = Encoder.tableOfDomains.get(typeIndex);
+                    int typeIndex = this.context.tableOfTypes.indexOf(image);
+                    final Set<Integer> typeDomain = this.context.tableOfDomains.get(typeIndex);
                     newTypeDomain.addAll(typeDomain);
                 }
                 newType = buf.toString();
-                int index = Encoder.tableOfTypes.indexOf(newType);
+                int index = this.context.tableOfTypes.indexOf(newType);
                 if (index == -1) {
-                    Encoder.tableOfDomains.add(new LinkedHashSet<>(newTypeDomain));
-                    Encoder.tableOfTypes.add(newType);
+                    this.context.tableOfDomains.add(new LinkedHashSet<>(newTypeDomain));
+                    this.context.tableOfTypes.add(newType);
                 }
             }
         }
@@ -154,20 +167,20 @@ final class IntEncoding implements Serializable {
      *
      * @param exp the expression.
      */
-    private static void encodeTypes(final Exp exp) {
+    private void encodeTypes(final Exp exp) {
         switch (exp.getConnective()) {
             case AND:
             case OR:
-                exp.getChildren().forEach(IntEncoding::encodeTypes);
+                exp.getChildren().forEach(this::encodeTypes);
                 break;
             case FORALL:
             case EXISTS:
-                IntEncoding.encodeTypes(exp.getVariables());
-                IntEncoding.encodeTypes(exp.getChildren().get(0));
+                this.encodeTypes(exp.getVariables());
+                this.encodeTypes(exp.getChildren().get(0));
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    IntEncoding.encodeTypes(exp.getChildren().get(0));
+                    this.encodeTypes(exp.getChildren().get(0));
                 }
                 break;
             case EQUAL:
@@ -187,8 +200,8 @@ final class IntEncoding implements Serializable {
             case DECREASE:
             case SCALE_UP:
             case SCALE_DOWN:
-                IntEncoding.encodeTypes(exp.getChildren().get(0));
-                IntEncoding.encodeTypes(exp.getChildren().get(1));
+                this.encodeTypes(exp.getChildren().get(0));
+                this.encodeTypes(exp.getChildren().get(1));
                 break;
             case AT_START:
             case AT_END:
@@ -201,18 +214,18 @@ final class IntEncoding implements Serializable {
             case SOMETIME:
             case AT_MOST_ONCE:
             case F_EXP:
-                IntEncoding.encodeTypes(exp.getChildren().get(0));
+                this.encodeTypes(exp.getChildren().get(0));
                 break;
             case HOLD_AFTER:
             case WITHIN:
-                IntEncoding.encodeTypes(exp.getChildren().get(1));
+                this.encodeTypes(exp.getChildren().get(1));
                 break;
             case ALWAYS_WITHIN:
-                IntEncoding.encodeTypes(exp.getChildren().get(1));
-                IntEncoding.encodeTypes(exp.getChildren().get(2));
+                this.encodeTypes(exp.getChildren().get(1));
+                this.encodeTypes(exp.getChildren().get(2));
                 break;
             case HOLD_DURING:
-                IntEncoding.encodeTypes(exp.getChildren().get(2));
+                this.encodeTypes(exp.getChildren().get(2));
                 break;
             case IS_VIOLATED:
             case NUMBER:
@@ -230,22 +243,26 @@ final class IntEncoding implements Serializable {
      * @param domain  the domain.
      * @param problem the problem.
      */
-    static void encodeConstants(final Domain domain, final Problem problem) {
-        final List<TypedSymbol> constants = domain.getConstants();
-        Encoder.tableOfConstants = new ArrayList<>(domain.getConstants().size());
+    void encodeConstants(final Domain domain, final Problem problem) {
+        final List<TypedSymbol> constants = new ArrayList<>(domain.getConstants().size()
+            + problem.getObjects().size());
+        constants.addAll(domain.getConstants());
         constants.addAll(problem.getObjects());
+        this.context.tableOfConstants = new ArrayList<>(constants.size());
+        this.indexOfConstants = new HashMap<>();
         for (TypedSymbol constant : constants) {
-            int ic = Encoder.tableOfConstants.indexOf(constant.getImage());
+            int ic = this.indexOfConstant(constant.getImage());
             if (ic == -1) {
-                ic = Encoder.tableOfConstants.size();
-                Encoder.tableOfConstants.add(constant.getImage());
+                ic = this.context.tableOfConstants.size();
+                this.context.tableOfConstants.add(constant.getImage());
+                this.indexOfConstants.put(constant.getImage(), ic);
             }
             final LinkedList<Symbol> types = new LinkedList<>(constant.getTypes());
             while (!types.isEmpty()) {
                 Symbol type = types.poll();
-                final int it = Encoder.tableOfTypes.indexOf(type.getImage());
+                final int it = this.context.tableOfTypes.indexOf(type.getImage());
                 types.addAll(domain.getType(type).getTypes());
-                Encoder.tableOfDomains.get(it).add(ic);
+                this.context.tableOfDomains.get(it).add(ic);
             }
         }
     }
@@ -255,13 +272,13 @@ final class IntEncoding implements Serializable {
      *
      * @param domain the domain.
      */
-    static void encodePredicates(final Domain domain) {
+    void encodePredicates(final Domain domain) {
         final List<NamedTypedList> predicates = domain.getPredicates();
         final int nbPredicates = predicates.size();
-        Encoder.tableOfPredicates = new ArrayList<>(nbPredicates);
-        Encoder.tableOfTypedPredicates = new ArrayList<>(nbPredicates);
+        this.context.tableOfPredicates = new ArrayList<>(nbPredicates);
+        this.context.tableOfTypedPredicates = new ArrayList<>(nbPredicates);
         for (NamedTypedList predicate : predicates) {
-            Encoder.tableOfPredicates.add(predicate.getName().getImage());
+            this.context.tableOfPredicates.add(predicate.getName().getImage());
             final List<TypedSymbol> arguments = predicate.getArguments();
             final List<Integer> argType = new ArrayList<>(arguments.size());
             for (TypedSymbol arg : arguments) {
@@ -272,12 +289,12 @@ final class IntEncoding implements Serializable {
                         image.append("~");
                         image.append(type.getImage());
                     }
-                    argType.add(Encoder.tableOfTypes.indexOf(image.toString()));
+                    argType.add(this.context.tableOfTypes.indexOf(image.toString()));
                 } else {
-                    argType.add(Encoder.tableOfTypes.indexOf(types.get(0).getImage()));
+                    argType.add(this.context.tableOfTypes.indexOf(types.get(0).getImage()));
                 }
             }
-            Encoder.tableOfTypedPredicates.add(argType);
+            this.context.tableOfTypedPredicates.add(argType);
         }
     }
 
@@ -286,12 +303,12 @@ final class IntEncoding implements Serializable {
      *
      * @param domain the domain.
      */
-    static void encodeFunctions(final Domain domain) {
+    void encodeFunctions(final Domain domain) {
         final List<NamedTypedList> functions = domain.getFunctions();
-        Encoder.tableOfFunctions = new ArrayList<>(functions.size());
-        Encoder.tableOfTypedFunctions = new ArrayList<>(functions.size());
+        this.context.tableOfFunctions = new ArrayList<>(functions.size());
+        this.context.tableOfTypedFunctions = new ArrayList<>(functions.size());
         for (NamedTypedList function : functions) {
-            Encoder.tableOfFunctions.add(function.getName().getImage());
+            this.context.tableOfFunctions.add(function.getName().getImage());
             List<TypedSymbol> arguments = function.getArguments();
             List<Integer> argType = new ArrayList<>(arguments.size());
             for (TypedSymbol argument : arguments) {
@@ -301,12 +318,12 @@ final class IntEncoding implements Serializable {
                     for (Symbol type1 : types) {
                         type.append("~").append(type1.getImage());
                     }
-                    argType.add(Encoder.tableOfTypes.indexOf(type.toString()));
+                    argType.add(this.context.tableOfTypes.indexOf(type.toString()));
                 } else {
-                    argType.add(Encoder.tableOfTypes.indexOf(types.get(0).getImage()));
+                    argType.add(this.context.tableOfTypes.indexOf(types.get(0).getImage()));
                 }
             }
-            Encoder.tableOfTypedFunctions.add(argType);
+            this.context.tableOfTypedFunctions.add(argType);
 
         }
     }
@@ -317,8 +334,8 @@ final class IntEncoding implements Serializable {
      * @param ops the list of operators to encode.
      * @return encoded the list of operators encoded.
      */
-    static List<IntOp> encodeOperators(final List<Op> ops) {
-        return ops.stream().map(IntEncoding::encodeOperator).collect(Collectors.toList());
+    List<IntOp> encodeOperators(final List<Op> ops) {
+        return ops.stream().map(this::encodeOperator).collect(Collectors.toList());
     }
 
     /**
@@ -327,8 +344,19 @@ final class IntEncoding implements Serializable {
      * @param init the initial state to encode.
      * @return the initial state encoded.
      */
-    static Set<IntExp> encodeInit(final List<Exp> init) {
-        return init.stream().map(IntEncoding::encodeExp).collect(Collectors.toCollection(LinkedHashSet::new));
+    Set<IntExp> encodeInit(final List<Exp> init) {
+        return init.stream().map(this::encodeExp).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Encodes an initial fact into its integer representation. The constants, the predicates and
+     * the functions of the domain and the problem must be encoded before.
+     *
+     * @param fact the initial fact to encode.
+     * @return the integer representation of the initial fact.
+     */
+    IntExp encodeInitialFact(final Exp fact) {
+        return this.encodeExp(fact);
     }
 
     /**
@@ -337,16 +365,16 @@ final class IntEncoding implements Serializable {
      * @param init the initial state encoded.
      * @return the encoded functions and costs from initial state.
      */
-    static Map<IntExp, Double> encodeFunctionCostInit(final Set<IntExp> init) {
+    Map<IntExp, Double> encodeFunctionCostInit(final Set<IntExp> init) {
         Map<IntExp, Double> intFunctionCost = new HashMap<>();
         for (IntExp intExp : init) {
             if (intExp.getConnective().getImage().equals("=")) {
                 intFunctionCost.put(intExp.getChildren().get(0),
                     Double.parseDouble(StringEncoder.toString(intExp.getChildren().get(1),
-                        Encoder.tableOfConstants,
-                        Encoder.tableOfTypes,
-                        Encoder.tableOfPredicates,
-                        Encoder.tableOfFunctions, "")));
+                        this.context.tableOfConstants,
+                        this.context.tableOfTypes,
+                        this.context.tableOfPredicates,
+                        this.context.tableOfFunctions, "")));
             }
         }
         return intFunctionCost;
@@ -361,7 +389,7 @@ final class IntEncoding implements Serializable {
      * @param init the initial state to encode.
      * @return the initial state encoded without functions and costs.
      */
-    static Set<IntExp> removeFunctionCost(final Set<IntExp> init) {
+    Set<IntExp> removeFunctionCost(final Set<IntExp> init) {
         return init.stream().filter(x -> !x.getConnective().getImage().equals("="))
             .collect(Collectors.toCollection(LinkedHashSet::new));
     }
@@ -372,8 +400,8 @@ final class IntEncoding implements Serializable {
      * @param goal the goal to encode.
      * @return the goal encoded.
      */
-    static IntExp encodeGoal(final Exp goal) {
-        return IntEncoding.encodeExp(goal);
+    IntExp encodeGoal(final Exp goal) {
+        return this.encodeExp(goal);
     }
 
 
@@ -383,22 +411,22 @@ final class IntEncoding implements Serializable {
      * @param op the operator to encode.
      * @return encoded operator.
      */
-    private static IntOp encodeOperator(final Op op) {
+    private IntOp encodeOperator(final Op op) {
         final IntOp intOp = new IntOp(op.getName().getImage(), op.getArity());
         // Encode the parameters of the operator
         final List<String> variables = new ArrayList<>(op.getArity());
         for (int i = 0; i < op.getArity(); i++) {
             final TypedSymbol parameter = op.getParameters().get(i);
-            final String typeImage = IntEncoding.toStringType(parameter.getTypes());
-            final int type = Encoder.tableOfTypes.indexOf(typeImage);
+            final String typeImage = this.toStringType(parameter.getTypes());
+            final int type = this.context.tableOfTypes.indexOf(typeImage);
             intOp.setTypeOfParameter(i, type);
             variables.add(parameter.getImage());
         }
         // Encode the preconditions of the operator
-        final IntExp preconditions = IntEncoding.encodeExp(op.getPreconditions(), variables);
+        final IntExp preconditions = this.encodeExp(op.getPreconditions(), variables);
         intOp.setPreconditions(preconditions);
         // Encode the effects of the operator
-        final IntExp effects = IntEncoding.encodeExp(op.getEffects(), variables);
+        final IntExp effects = this.encodeExp(op.getEffects(), variables);
         intOp.setEffects(effects);
         return intOp;
     }
@@ -409,8 +437,27 @@ final class IntEncoding implements Serializable {
      * @param exp the expression to encode.
      * @return the integer representation of the specified expression.
      */
-    private static IntExp encodeExp(final Exp exp) {
-        return IntEncoding.encodeExp(exp, new ArrayList<>());
+    private IntExp encodeExp(final Exp exp) {
+        return this.encodeExp(exp, new ArrayList<>());
+    }
+
+    /**
+     * Returns the index of a constant in the table of constants of the context. The index of the
+     * constants is rebuilt if the table of constants was replaced or extended since the last call.
+     *
+     * @param constant the constant.
+     * @return the index of the constant or -1 if the constant is not in the table of constants.
+     */
+    private int indexOfConstant(final String constant) {
+        final List<String> constants = this.context.tableOfConstants;
+        if (this.indexOfConstants == null || this.indexOfConstants.size() != constants.size()) {
+            this.indexOfConstants = new HashMap<>(constants.size() * 2);
+            for (int i = 0; i < constants.size(); i++) {
+                this.indexOfConstants.putIfAbsent(constants.get(i), i);
+            }
+        }
+        final Integer index = this.indexOfConstants.get(constant);
+        return index == null ? -1 : index;
     }
 
     /**
@@ -427,7 +474,7 @@ final class IntEncoding implements Serializable {
      * @param variables the list of variable already encoded.
      * @return the integer representation of the specified expression.
      */
-    private static IntExp encodeExp(final Exp exp,
+    private IntExp encodeExp(final Exp exp,
                                     final List<String> variables) {
         final IntExp intExp = new IntExp(exp.getConnective());
         switch (exp.getConnective()) {
@@ -439,35 +486,35 @@ final class IntEncoding implements Serializable {
                     if (argument.getKind().equals(Symbol.Kind.VARIABLE)) {
                         args[i] = -variables.indexOf(argument.getImage()) - 1;
                     } else {
-                        args[i] = Encoder.tableOfConstants.indexOf(argument.getImage());
+                        args[i] = this.indexOfConstant(argument.getImage());
                     }
                 }
                 intExp.setArguments(args);
                 break;
             case FN_HEAD:
                 final String functor = exp.getAtom().get(0).getImage();
-                intExp.setPredicate(Encoder.tableOfFunctions.indexOf(functor));
+                intExp.setPredicate(this.context.tableOfFunctions.indexOf(functor));
                 args = new int[exp.getAtom().size() - 1];
                 for (int i = 1; i < exp.getAtom().size(); i++) {
                     final Symbol argument = exp.getAtom().get(i);
                     if (argument.getKind().equals(Symbol.Kind.VARIABLE)) {
                         args[i - 1] = -variables.indexOf(argument.getImage()) - 1;
                     } else {
-                        args[i - 1] = Encoder.tableOfConstants.indexOf(argument.getImage());
+                        args[i - 1] = this.indexOfConstant(argument.getImage());
                     }
                 }
                 intExp.setArguments(args);
                 break;
             case ATOM:
                 final String predicate = exp.getAtom().get(0).getImage();
-                intExp.setPredicate(Encoder.tableOfPredicates.indexOf(predicate));
+                intExp.setPredicate(this.context.tableOfPredicates.indexOf(predicate));
                 args = new int[exp.getAtom().size() - 1];
                 for (int i = 1; i < exp.getAtom().size(); i++) {
                     final Symbol argument = exp.getAtom().get(i);
                     if (argument.getKind().equals(Symbol.Kind.VARIABLE)) {
                         args[i - 1] = -variables.indexOf(argument.getImage()) - 1;
                     } else {
-                        args[i - 1] = Encoder.tableOfConstants.indexOf(argument.getImage());
+                        args[i - 1] = this.indexOfConstant(argument.getImage());
                     }
                 }
                 intExp.setArguments(args);
@@ -475,28 +522,28 @@ final class IntEncoding implements Serializable {
             case AND:
             case OR:
                 for (int i = 0; i < exp.getChildren().size(); i++) {
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(i), variables));
+                    intExp.getChildren().add(this.encodeExp(exp.getChildren().get(i), variables));
                 }
                 break;
             case FORALL:
             case EXISTS:
                 final List<String> newVariables = new ArrayList<>(variables);
                 final List<TypedSymbol> qvar = exp.getVariables();
-                final String type = IntEncoding.toStringType(qvar.get(0).getTypes());
-                int typeIndex = Encoder.tableOfTypes.indexOf(type);
+                final String type = this.toStringType(qvar.get(0).getTypes());
+                int typeIndex = this.context.tableOfTypes.indexOf(type);
                 intExp.setType(typeIndex);
                 intExp.setVariable(-variables.size() - 1);
                 newVariables.add(qvar.get(0).getImage());
                 if (qvar.size() == 1) {
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), newVariables));
+                    intExp.getChildren().add(this.encodeExp(exp.getChildren().get(0), newVariables));
                 } else {
                     qvar.remove(0);
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp, newVariables));
+                    intExp.getChildren().add(this.encodeExp(exp, newVariables));
                 }
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
+                    intExp.getChildren().add(this.encodeExp(exp.getChildren().get(0), variables));
                 }
                 break;
             case FN_ATOM:
@@ -520,8 +567,8 @@ final class IntEncoding implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(1), variables));
+                intExp.getChildren().add(this.encodeExp(exp.getChildren().get(0), variables));
+                intExp.getChildren().add(this.encodeExp(exp.getChildren().get(1), variables));
                 break;
             case AT_START:
             case AT_END:
@@ -534,16 +581,16 @@ final class IntEncoding implements Serializable {
             case SOMETIME:
             case AT_MOST_ONCE:
             case F_EXP:
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
+                intExp.getChildren().add(this.encodeExp(exp.getChildren().get(0), variables));
                 break;
             case NUMBER:
                 intExp.setValue(exp.getValue());
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(0), variables));
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(1), variables));
-                intExp.getChildren().add(IntEncoding.encodeExp(exp.getChildren().get(2), variables));
+                intExp.getChildren().add(this.encodeExp(exp.getChildren().get(0), variables));
+                intExp.getChildren().add(this.encodeExp(exp.getChildren().get(1), variables));
+                intExp.getChildren().add(this.encodeExp(exp.getChildren().get(2), variables));
                 break;
             case TIME_VAR:
             case IS_VIOLATED:
@@ -561,7 +608,7 @@ final class IntEncoding implements Serializable {
      * @param types the list of types.
      * @return the string representation of this type.
      */
-    private static String toStringType(final List<Symbol> types) {
+    private String toStringType(final List<Symbol> types) {
         final StringBuilder str = new StringBuilder();
         if (types.size() > 1) {
             str.append("either");
@@ -23,9 +23,15 @@ import java.io.Serializable;
 
 /**
  * This class implements a matrix at n-dimension. This class is used to store the predicates tables.
+ * <p>
+ * The matrix is sparse: only the indexes that were put or incremented are stored in an open addressing hash table
+ * where the index of each entry is packed in a single array of integers. Hence, the memory used by the matrix grows
+ * with the number of entries stored rather than with <code>size<sup>dimension</sup></code>. The value of the
+ * indexes never stored is 0.
+ * </p>
  *
  * @author D. Pellier
- * @version 1.0 - 07.04.2010
+ * @version 1.1 - 10.04.2019
  */
 final class IntMatrix implements Serializable {
 
@@ -35,9 +41,30 @@ final class IntMatrix implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The integer array used to store the matrix.
+     * The default capacity of the hash table.
      */
-    private int[] matrix;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The packed indexes of the entries: the index of the entry stored in the slot <code>i</code> is stored from
+     * <code>keys[i * dimension]</code> to <code>keys[(i + 1) * dimension - 1]</code>.
+     */
+    private int[] keys;
+
+    /**
+     * The values of the entries.
+     */
+    private int[] values;
+
+    /**
+     * The flags used to indicate if a slot of the hash table is used.
+     */
+    private boolean[] used;
+
+    /**
+     * The number of entries stored in the matrix.
+     */
+    private int entries;
 
     /**
      * The dimension of the matrix.
@@ -60,22 +87,23 @@ final class IntMatrix implements Serializable {
         if (size < 0) {
             throw new IllegalArgumentException("size <= 0");
         }
-        this.matrix = new int[(int) Math.pow(size, dimension)];
         this.dimension = dimension;
         this.size = size;
+        this.allocate(IntMatrix.DEFAULT_CAPACITY);
     }
 
     /**
      * Get the integer at the specified index.
      *
      * @param index the index.
-     * @return the integer contained in the matrix at the specified index or null if no element is
-     *          at the specified index.
+     * @return the integer contained in the matrix at the specified index or 0 if no element is at the specified
+     *          index.
      * @throws ArrayIndexOutOfBoundsException if index.length != dimension and for all i 0 <=
      *                                        index[i] < size does not hold.
      */
     public final int get(final int[] index) {
-        return this.matrix[index(index)];
+        final int slot = this.slot(index);
+        return this.used[slot] ? this.values[slot] : 0;
     }
 
     /**
@@ -87,7 +115,8 @@ final class IntMatrix implements Serializable {
      *                                        index[i] < size does not hold.
      */
     public final void put(final int[] index, final int value) {
-        this.matrix[index(index)] = value;
+        final int slot = this.insert(index);
+        this.values[slot] = value;
     }
 
     /**
@@ -98,16 +127,15 @@ final class IntMatrix implements Serializable {
      *                                        index[i] < size does not hold.
      */
     public final void increment(final int[] index) {
-        this.matrix[index(index)]++;
+        final int slot = this.insert(index);
+        this.values[slot]++;
     }
 
     /**
      * Set all the value of the matrix to 0.
      */
     public final void zero() {
-        for (int i = this.matrix.length - 1; i >= 0; i--) {
-            this.matrix[i] = 0;
-        }
+        this.allocate(IntMatrix.DEFAULT_CAPACITY);
     }
 
     /**
@@ -129,27 +157,118 @@ final class IntMatrix implements Serializable {
     }
 
     /**
-     * Return from the a specified index the index in the internal representation.
+     * Returns the number of entries stored in the matrix, i.e., the number of indexes that were put or incremented
+     * since the creation of the matrix or the last call to <code>zero()</code>.
      *
-     * @param index the index to convert.
-     * @return the index in the internal representation.
+     * @return the number of entries stored in the matrix.
+     */
+    public final int entries() {
+        return this.entries;
+    }
+
+    /**
+     * Allocates an empty hash table with a specified capacity.
+     *
+     * @param capacity the capacity of the hash table. The capacity must be a power of 2.
+     */
+    private void allocate(final int capacity) {
+        this.keys = new int[capacity * this.dimension];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.entries = 0;
+    }
+
+    /**
+     * Returns the slot of the hash table used to store a specified index. The slot is inserted if it does not
+     * already exist.
+     *
+     * @param index the index.
+     * @return the slot of the hash table used to store the index.
      * @throws ArrayIndexOutOfBoundsException if index.length != dimension and for all i 0 <=
      *                                        index[i] < size does not hold.
      */
-    private final int index(final int[] index) {
+    private int insert(final int[] index) {
+        int slot = this.slot(index);
+        if (!this.used[slot]) {
+            // The load factor of the hash table is kept under 0.5
+            if ((this.entries + 1) * 2 > this.used.length) {
+                this.rehash(this.used.length * 2);
+                slot = this.slot(index);
+            }
+            this.used[slot] = true;
+            System.arraycopy(index, 0, this.keys, slot * this.dimension, this.dimension);
+            this.entries++;
+        }
+        return slot;
+    }
+
+    /**
+     * Moves the entries of the matrix in a new hash table with a specified capacity.
+     *
+     * @param capacity the capacity of the new hash table. The capacity must be a power of 2.
+     */
+    private void rehash(final int capacity) {
+        final int[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+        final boolean[] oldUsed = this.used;
+        this.allocate(capacity);
+        final int[] index = new int[this.dimension];
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                System.arraycopy(oldKeys, i * this.dimension, index, 0, this.dimension);
+                final int slot = this.slot(index);
+                this.used[slot] = true;
+                System.arraycopy(index, 0, this.keys, slot * this.dimension, this.dimension);
+                this.values[slot] = oldValues[i];
+                this.entries++;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot of the hash table where a specified index is stored or must be stored, i.e., the first slot
+     * either empty or containing the index when probing linearly from the hash code of the index.
+     *
+     * @param index the index.
+     * @return the slot of the index.
+     * @throws ArrayIndexOutOfBoundsException if index.length != dimension and for all i 0 <=
+     *                                        index[i] < size does not hold.
+     */
+    private int slot(final int[] index) {
         if (index.length != this.dimension) {
             throw new ArrayIndexOutOfBoundsException();
         }
-        for (int i = 0; i < dimension; i++) {
-            if ((index[i] < 0) || (index[i] > size)) {
+        int hash = 1;
+        for (int i = 0; i < this.dimension; i++) {
+            if ((index[i] < 0) || (index[i] > this.size)) {
                 throw new ArrayIndexOutOfBoundsException();
             }
+            hash = 31 * hash + index[i];
+        }
+        // Spread the bits of the hash code as in java.util.HashMap
+        hash ^= hash >>> 16;
+        final int mask = this.used.length - 1;
+        int slot = hash & mask;
+        while (this.used[slot] && !this.matches(slot, index)) {
+            slot = (slot + 1) & mask;
         }
-        // conversion E(i * t^r)
-        int acces = 0;
-        for (int i = index.length; i > 0; i--) {
-            acces += index[i - 1] * (int) Math.pow(size, (double) dimension - i);
+        return slot;
+    }
+
+    /**
+     * Returns if the entry stored in a specified slot has a specified index.
+     *
+     * @param slot  the slot.
+     * @param index the index.
+     * @return <code>true</code> if the entry stored in the slot has the index, <code>false</code> otherwise.
+     */
+    private boolean matches(final int slot, final int[] index) {
+        final int offset = slot * this.dimension;
+        for (int i = 0; i < this.dimension; i++) {
+            if (this.keys[offset + i] != index[i]) {
+                return false;
+            }
         }
-        return acces;
+        return true;
     }
 }
@@ -65,9 +65,17 @@ final class PostInstantiation implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The default constructor with a private access to prevent instance creation.
+     * The context of the encoding.
      */
-    private PostInstantiation() {
+    private final EncodingContext context;
+
+    /**
+     * Creates a new instance working on a specified encoding context.
+     *
+     * @param context the context of the encoding.
+     */
+    PostInstantiation(final EncodingContext context) {
+        this.context = context;
     }
 
     /**
@@ -81,16 +89,16 @@ final class PostInstantiation implements Serializable {
      * @param operators the list of operators.
      * @param init      the initial state.
      */
-    static void extractRelevantFacts(final List<IntOp> operators, final Set<IntExp> init) {
+    void extractRelevantFacts(final List<IntOp> operators, final Set<IntExp> init) {
         final Set<IntExp> relevants = new LinkedHashSet<>(10000);
         for (IntOp op : operators) {
-            PostInstantiation.extractRelevantFacts(op.getPreconditions(), relevants, init);
-            PostInstantiation.extractRelevantFacts(op.getEffects(), relevants, init);
+            this.extractRelevantFacts(op.getPreconditions(), relevants, init);
+            this.extractRelevantFacts(op.getEffects(), relevants, init);
         }
-        Encoder.tableOfRelevantFacts = new ArrayList<>(relevants.size());
+        this.context.tableOfRelevantFacts = new ArrayList<>(relevants.size());
         for (IntExp exp : relevants) {
             final IntExp relevant = new IntExp(exp);
-            Encoder.tableOfRelevantFacts.add(relevant);
+            this.context.tableOfRelevantFacts.add(relevant);
         }
     }
 
@@ -106,7 +114,7 @@ final class PostInstantiation implements Serializable {
      * @param relevants the set of relevant facts.
      * @param init      the initial state.
      */
-    private static void extractRelevantFacts(final IntExp exp, final Set<IntExp> relevants,
+    private void extractRelevantFacts(final IntExp exp, final Set<IntExp> relevants,
                                              final Set<IntExp> init) {
         switch (exp.getConnective()) {
             case ATOM:
@@ -119,7 +127,7 @@ final class PostInstantiation implements Serializable {
             case AND:
             case OR:
                 for (IntExp e : exp.getChildren()) {
-                    PostInstantiation.extractRelevantFacts(e, relevants, init);
+                    this.extractRelevantFacts(e, relevants, init);
                 }
                 break;
             case FORALL:
@@ -132,7 +140,7 @@ final class PostInstantiation implements Serializable {
             case SOMETIME:
             case AT_MOST_ONCE:
             case NOT:
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
+                this.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
                 break;
             case WHEN:
             case LESS:
@@ -154,19 +162,19 @@ final class PostInstantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(1), relevants, init);
+                this.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
+                this.extractRelevantFacts(exp.getChildren().get(1), relevants, init);
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
+                    this.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(1), relevants, init);
-                PostInstantiation.extractRelevantFacts(exp.getChildren().get(3), relevants, init);
+                this.extractRelevantFacts(exp.getChildren().get(0), relevants, init);
+                this.extractRelevantFacts(exp.getChildren().get(1), relevants, init);
+                this.extractRelevantFacts(exp.getChildren().get(3), relevants, init);
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -188,7 +196,7 @@ final class PostInstantiation implements Serializable {
      *
      * @param exp the expression to simplify.
      */
-    private static void simplify(final IntExp exp) {
+    private void simplify(final IntExp exp) {
         switch (exp.getConnective()) {
             case ATOM:
                 break;
@@ -212,7 +220,7 @@ final class PostInstantiation implements Serializable {
                 int i = 0;
                 while (i < exp.getChildren().size() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = exp.getChildren().get(i);
-                    PostInstantiation.simplify(ei);
+                    this.simplify(ei);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
@@ -296,7 +304,7 @@ final class PostInstantiation implements Serializable {
                 i = 0;
                 while (i < exp.getChildren().size() && exp.getConnective().equals(Connective.OR)) {
                     final IntExp ei = exp.getChildren().get(i);
-                    PostInstantiation.simplify(ei);
+                    this.simplify(ei);
                     // If a child expression is TRUE, the whole disjunction is TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -395,11 +403,11 @@ final class PostInstantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                PostInstantiation.simplify(exp.getChildren().get(0));
+                this.simplify(exp.getChildren().get(0));
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
-                PostInstantiation.simplify(neg);
+                this.simplify(neg);
                 if (neg.getConnective().equals(Connective.TRUE)) {
                     exp.setConnective(Connective.FALSE);
                 } else if (neg.getConnective().equals(Connective.FALSE)) {
@@ -426,19 +434,19 @@ final class PostInstantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                PostInstantiation.simplify(exp.getChildren().get(0));
-                PostInstantiation.simplify(exp.getChildren().get(1));
+                this.simplify(exp.getChildren().get(0));
+                this.simplify(exp.getChildren().get(1));
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    PostInstantiation.simplify(exp.getChildren().get(0));
+                    this.simplify(exp.getChildren().get(0));
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                PostInstantiation.simplify(exp.getChildren().get(0));
-                PostInstantiation.simplify(exp.getChildren().get(1));
-                PostInstantiation.simplify(exp.getChildren().get(3));
+                this.simplify(exp.getChildren().get(0));
+                this.simplify(exp.getChildren().get(1));
+                this.simplify(exp.getChildren().get(3));
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -464,16 +472,16 @@ final class PostInstantiation implements Serializable {
      * @param operators the list of operators to simplified.
      * @param init      the initial state.
      */
-    static void simplyOperatorsWithGroundInertia(final List<IntOp> operators, final Set<IntExp> init) {
+    void simplyOperatorsWithGroundInertia(final List<IntOp> operators, final Set<IntExp> init) {
 
         // Then for each instantiated operator try to simplify it.
         final List<IntOp> tmpOps = new ArrayList<>(operators.size());
         for (IntOp op : operators) {
-            PostInstantiation.simplifyWithGroundInertia(op.getPreconditions(), false, init);
-            PostInstantiation.simplify(op.getPreconditions());
+            this.simplifyWithGroundInertia(op.getPreconditions(), false, init);
+            this.simplify(op.getPreconditions());
             if (!op.getPreconditions().getConnective().equals(Connective.FALSE)) {
-                PostInstantiation.simplifyWithGroundInertia(op.getEffects(), true, init);
-                PostInstantiation.simplify(op.getEffects());
+                this.simplifyWithGroundInertia(op.getEffects(), true, init);
+                this.simplify(op.getEffects());
                 if (!op.getEffects().getConnective().equals(Connective.FALSE)
                     && !op.getEffects().getConnective().equals(Connective.TRUE)) {
                     tmpOps.add(op);
@@ -490,9 +498,9 @@ final class PostInstantiation implements Serializable {
      * @param goal the expression to simply.
      * @param init the initial state.
      */
-    static void simplifyGoalWithGroundInertia(final IntExp goal, final Set<IntExp> init) {
-        PostInstantiation.simplifyWithGroundInertia(goal, false, init);
-        PostInstantiation.simplify(goal);
+    void simplifyGoalWithGroundInertia(final IntExp goal, final Set<IntExp> init) {
+        this.simplifyWithGroundInertia(goal, false, init);
+        this.simplify(goal);
     }
 
     /**
@@ -519,11 +527,11 @@ final class PostInstantiation implements Serializable {
      * @param effect a boolean to indicate if the expression is an effect or a precondition.
      * @param init   the initial state.
      */
-    private static void simplifyWithGroundInertia(final IntExp exp, final boolean effect,
+    private void simplifyWithGroundInertia(final IntExp exp, final boolean effect,
                                                   final Set<IntExp> init) {
         switch (exp.getConnective()) {
             case ATOM:
-                Inertia inertia = Encoder.tableOfGroundInertia.get(exp);
+                Inertia inertia = this.context.tableOfGroundInertia.get(exp);
                 if (inertia == null) {
                     inertia = Inertia.INERTIA;
                 }
@@ -547,7 +555,7 @@ final class PostInstantiation implements Serializable {
                 Iterator<IntExp> i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = i.next();
-                    PostInstantiation.simplifyWithGroundInertia(ei, effect, init);
+                    this.simplifyWithGroundInertia(ei, effect, init);
                     // If a child expression is FALSE, the whole conjunction becomes FALSE.
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
@@ -564,7 +572,7 @@ final class PostInstantiation implements Serializable {
                 i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.OR)) {
                     final IntExp ei = i.next();
-                    PostInstantiation.simplifyWithGroundInertia(ei, effect, init);
+                    this.simplifyWithGroundInertia(ei, effect, init);
                     // If a child expression is TRUE, the whole disjunction is TRUE.
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
@@ -586,11 +594,11 @@ final class PostInstantiation implements Serializable {
             case OVER_ALL:
             case SOMETIME:
             case AT_MOST_ONCE:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
-                PostInstantiation.simplifyWithGroundInertia(neg, effect, init);
+                this.simplifyWithGroundInertia(neg, effect, init);
                 if (!effect) {
                     if (neg.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.FALSE);
@@ -600,8 +608,8 @@ final class PostInstantiation implements Serializable {
                 }
                 break;
             case WHEN:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), false, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(1), true, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(0), false, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(1), true, init);
                 break;
             case LESS:
             case LESS_OR_EQUAL:
@@ -622,19 +630,19 @@ final class PostInstantiation implements Serializable {
             case SOMETIME_BEFORE:
             case WITHIN:
             case HOLD_AFTER:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(1), effect, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(1), effect, init);
                 break;
             case F_EXP_T:
                 if (!exp.getChildren().isEmpty()) {
-                    PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
+                    this.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
                 }
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(1), effect, init);
-                PostInstantiation.simplifyWithGroundInertia(exp.getChildren().get(3), effect, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(0), effect, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(1), effect, init);
+                this.simplifyWithGroundInertia(exp.getChildren().get(3), effect, init);
                 break;
             case FN_ATOM:
             case NUMBER:
@@ -657,11 +665,11 @@ final class PostInstantiation implements Serializable {
      *
      * @param operators the list of instantiated operators.
      */
-    static void extractGroundInertia(final List<IntOp> operators) {
-        Encoder.tableOfGroundInertia = new LinkedHashMap<>(
+    void extractGroundInertia(final List<IntOp> operators) {
+        this.context.tableOfGroundInertia = new LinkedHashMap<>(
             Constants.DEFAULT_RELEVANT_FACTS_TABLE);
         for (IntOp op : operators) {
-            PostInstantiation.extractGroundInertia(op.getEffects());
+            this.extractGroundInertia(op.getEffects());
         }
 
     }
@@ -671,19 +679,19 @@ final class PostInstantiation implements Serializable {
      *
      * @param exp the effect.
      */
-    private static void extractGroundInertia(final IntExp exp) {
+    private void extractGroundInertia(final IntExp exp) {
         switch (exp.getConnective()) {
             case ATOM:
-                Inertia inertia = Encoder.tableOfGroundInertia.get(exp);
+                Inertia inertia = this.context.tableOfGroundInertia.get(exp);
                 if (inertia == null) {
                     inertia = Inertia.INERTIA;
                 }
                 switch (inertia) {
                     case INERTIA:
-                        Encoder.tableOfGroundInertia.put(exp, Inertia.NEGATIVE);
+                        this.context.tableOfGroundInertia.put(exp, Inertia.NEGATIVE);
                         break;
                     case POSITIVE:
-                        Encoder.tableOfGroundInertia.put(exp, Inertia.FLUENT);
+                        this.context.tableOfGroundInertia.put(exp, Inertia.FLUENT);
                         break;
                     default:
                         // do nothing
@@ -691,30 +699,30 @@ final class PostInstantiation implements Serializable {
                 break;
             case AND:
             case OR:
-                exp.getChildren().forEach(PostInstantiation::extractGroundInertia);
+                exp.getChildren().forEach(this::extractGroundInertia);
                 break;
             case FORALL:
             case EXISTS:
             case AT_START:
             case AT_END:
-                PostInstantiation.extractGroundInertia(exp.getChildren().get(0));
+                this.extractGroundInertia(exp.getChildren().get(0));
                 break;
             case WHEN:
-                PostInstantiation.extractGroundInertia(exp.getChildren().get(1));
+                this.extractGroundInertia(exp.getChildren().get(1));
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
                 if (neg.getConnective().equals(Connective.ATOM)) {
-                    inertia = Encoder.tableOfGroundInertia.get(neg);
+                    inertia = this.context.tableOfGroundInertia.get(neg);
                     if (inertia == null) {
                         inertia = Inertia.INERTIA;
                     }
                     switch (inertia) {
                         case INERTIA:
-                            Encoder.tableOfGroundInertia.put(neg, Inertia.POSITIVE);
+                            this.context.tableOfGroundInertia.put(neg, Inertia.POSITIVE);
                             break;
                         case NEGATIVE:
-                            Encoder.tableOfGroundInertia.put(neg, Inertia.FLUENT);
+                            this.context.tableOfGroundInertia.put(neg, Inertia.FLUENT);
                             break;
                         default:
                             // do nothing
@@ -769,9 +777,9 @@ final class PostInstantiation implements Serializable {
      * @param operators       the list of operators.
      * @param functionAndCost functions and associed costs
      */
-    static void simplifyIncrease(final List<IntOp> operators, final Map<IntExp, Double> functionAndCost) {
+    void simplifyIncrease(final List<IntOp> operators, final Map<IntExp, Double> functionAndCost) {
         for (IntOp op : operators) {
-            PostInstantiation.simplifyIncreaseAssignCost(op, op.getEffects(), functionAndCost);
+            this.simplifyIncreaseAssignCost(op, op.getEffects(), functionAndCost);
         }
     }
 
@@ -783,7 +791,7 @@ final class PostInstantiation implements Serializable {
      * @param exp             the effect.
      * @param functionAndCost functions and associed costs
      */
-    private static void simplifyIncreaseAssignCost(final IntOp op,
+    private void simplifyIncreaseAssignCost(final IntOp op,
                                                    final IntExp exp,
                                                    final Map<IntExp, Double> functionAndCost) {
         switch (exp.getConnective()) {
@@ -793,7 +801,7 @@ final class PostInstantiation implements Serializable {
                 Iterator<IntExp> i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = i.next();
-                    PostInstantiation.simplifyIncreaseAssignCost(op, ei, functionAndCost);
+                    this.simplifyIncreaseAssignCost(op, ei, functionAndCost);
                     // If a child expression is INCREASE, we remove it
                     if (ei.getConnective().equals(Connective.INCREASE)) {
                         i.remove();
@@ -62,9 +62,17 @@ final class PreInstantiation implements Serializable {
     private static final Logger LOGGER = LogManager.getLogger(PreInstantiation.class);
 
     /**
-     * The default constructor with a private access to prevent instance creation.
+     * The context of the encoding.
      */
-    private PreInstantiation() {
+    private final EncodingContext context;
+
+    /**
+     * Creates a new instance working on a specified encoding context.
+     *
+     * @param context the context of the encoding.
+     */
+    PreInstantiation(final EncodingContext context) {
+        this.context = context;
     }
 
     /**
@@ -92,14 +100,14 @@ final class PreInstantiation implements Serializable {
      *
      * @param operators the list of operators to simplified.
      */
-    static void extractInertia(final List<IntOp> operators) {
-        final int nbPredicates = Encoder.tableOfPredicates.size();
-        Encoder.tableOfInertia = new ArrayList<>(nbPredicates);
+    void extractInertia(final List<IntOp> operators) {
+        final int nbPredicates = this.context.tableOfPredicates.size();
+        this.context.tableOfInertia = new ArrayList<>(nbPredicates);
         for (int i = 0; i < nbPredicates; i++) {
-            Encoder.tableOfInertia.add(Inertia.INERTIA);
+            this.context.tableOfInertia.add(Inertia.INERTIA);
         }
         for (final IntOp op : operators) {
-            PreInstantiation.extract(op.getEffects());
+            this.extract(op.getEffects());
         }
 
     }
@@ -109,16 +117,16 @@ final class PreInstantiation implements Serializable {
      *
      * @param exp the effect.
      */
-    private static void extract(final IntExp exp) {
+    private void extract(final IntExp exp) {
         switch (exp.getConnective()) {
             case ATOM:
                 int predicate = exp.getPredicate();
-                switch (Encoder.tableOfInertia.get(predicate)) {
+                switch (this.context.tableOfInertia.get(predicate)) {
                     case INERTIA:
-                        Encoder.tableOfInertia.set(predicate, Inertia.NEGATIVE);
+                        this.context.tableOfInertia.set(predicate, Inertia.NEGATIVE);
                         break;
                     case POSITIVE:
-                        Encoder.tableOfInertia.set(predicate, Inertia.FLUENT);
+                        this.context.tableOfInertia.set(predicate, Inertia.FLUENT);
                         break;
                     default:
                         // do nothing
@@ -126,27 +134,27 @@ final class PreInstantiation implements Serializable {
                 break;
             case AND:
             case OR:
-                exp.getChildren().forEach(PreInstantiation::extract);
+                exp.getChildren().forEach(this::extract);
                 break;
             case FORALL:
             case EXISTS:
             case AT_START:
             case AT_END:
-                PreInstantiation.extract(exp.getChildren().get(0));
+                this.extract(exp.getChildren().get(0));
                 break;
             case WHEN:
-                PreInstantiation.extract(exp.getChildren().get(1));
+                this.extract(exp.getChildren().get(1));
                 break;
             case NOT:
                 final IntExp neg = exp.getChildren().get(0);
                 if (neg.getConnective().equals(Connective.ATOM)) {
                     predicate = neg.getPredicate();
-                    switch (Encoder.tableOfInertia.get(predicate)) {
+                    switch (this.context.tableOfInertia.get(predicate)) {
                         case INERTIA:
-                            Encoder.tableOfInertia.set(predicate, Inertia.POSITIVE);
+                            this.context.tableOfInertia.set(predicate, Inertia.POSITIVE);
                             break;
                         case NEGATIVE:
-                            Encoder.tableOfInertia.set(predicate, Inertia.FLUENT);
+                            this.context.tableOfInertia.set(predicate, Inertia.FLUENT);
                             break;
                         default:
                             // do nothing
@@ -201,11 +209,11 @@ final class PreInstantiation implements Serializable {
      *
      * @param init the initial state.
      */
-    static void inferTypesFromInertia(final Set<IntExp> init) {
-        Encoder.tableOfInferredDomains = new ArrayList<>(Encoder.tableOfPredicates.size());
-        for (int i = 0; i < Encoder.tableOfPredicates.size(); i++) {
-            if (Encoder.tableOfTypedPredicates.get(i).size() == 1
-                && Encoder.tableOfInertia.get(i).equals(Inertia.INERTIA)) {
+    void inferTypesFromInertia(final Set<IntExp> init) {
+        this.context.tableOfInferredDomains = new ArrayList<>(this.context.tableOfPredicates.size());
+        for (int i = 0; i < this.context.tableOfPredicates.size(); i++) {
+            if (this.context.tableOfTypedPredicates.get(i).size() == 1
+                && this.context.tableOfInertia.get(i).equals(Inertia.INERTIA)) {
                 final Set<Integer> newTypeDomain = new LinkedHashSet<>();
                 for (IntExp fact : init) {
                     if (fact.getConnective().equals(Connective.NOT)) {
@@ -215,9 +223,9 @@ final class PreInstantiation implements Serializable {
                         newTypeDomain.add(fact.getArguments()[0]);
                     }
                 }
-                Encoder.tableOfInferredDomains.add(newTypeDomain);
+                this.context.tableOfInferredDomains.add(newTypeDomain);
             } else {
-                Encoder.tableOfInferredDomains.add(null);
+                this.context.tableOfInferredDomains.add(null);
             }
         }
     }
@@ -227,11 +235,11 @@ final class PreInstantiation implements Serializable {
      *
      * @param init the initial state.
      */
-    static void createPredicatesTables(final Set<IntExp> init) {
-        final int tableSize = Encoder.tableOfConstants.size();
-        final int nbPredicate = Encoder.tableOfPredicates.size();
-        Encoder.predicatesTables = new ArrayList<>(nbPredicate);
-        for (final List<Integer> arguments : Encoder.tableOfTypedPredicates) {
+    void createPredicatesTables(final Set<IntExp> init) {
+        final int tableSize = this.context.tableOfConstants.size();
+        final int nbPredicate = this.context.tableOfPredicates.size();
+        this.context.predicatesTables = new ArrayList<>(nbPredicate);
+        for (final List<Integer> arguments : this.context.tableOfTypedPredicates) {
             final int arity = arguments.size();
             final int nbTables = (int) Math.pow(2, arity);
             final List<IntMatrix> pTables = new ArrayList<>(nbTables);
@@ -239,15 +247,15 @@ final class PreInstantiation implements Serializable {
                 final int dimension = Integer.bitCount(j);
                 pTables.add(new IntMatrix(tableSize, dimension));
             }
-            Encoder.predicatesTables.add(pTables);
+            this.context.predicatesTables.add(pTables);
         }
 
         for (IntExp fact : init) {
             if (fact.getConnective().equals(Connective.NOT)) {
                 fact = fact.getChildren().get(0);
             }
-            final int arity = Encoder.tableOfTypedPredicates.get(fact.getPredicate()).size();
-            final List<IntMatrix> pTables = Encoder.predicatesTables.get(fact.getPredicate());
+            final int arity = this.context.tableOfTypedPredicates.get(fact.getPredicate()).size();
+            final List<IntMatrix> pTables = this.context.predicatesTables.get(fact.getPredicate());
             final int[] set = new int[arity];
             final int[] args = fact.getArguments();
             for (final IntMatrix intMatrix : pTables) {
@@ -314,7 +322,7 @@ final class PreInstantiation implements Serializable {
         LOGGER.trace("tables of predicates:");
         for (int predicate = 0; predicate < tables.size(); predicate++) {
             final List<IntMatrix> pTables = tables.get(predicate);
-            final int arity = Encoder.tableOfTypedPredicates.get(predicate).size();
+            final int arity = this.context.tableOfTypedPredicates.get(predicate).size();
             final int[] mask = new int[arity];
             for (int i = 0; i < pTables.size(); i++) {
                 this.print(predicate, arity, mask, new int[0], tables);
@@ -337,7 +345,7 @@ final class PreInstantiation implements Serializable {
         if (index.length == arity) {
             final StringBuilder str = new StringBuilder();
             str.append("(");
-            str.append(Encoder.tableOfPredicates.get(predicate));
+            str.append(this.context.tableOfPredicates.get(predicate));
             int var = 0;
             int realIndexSize = 0;
             for (int anIndex : index) {
@@ -346,7 +354,7 @@ final class PreInstantiation implements Serializable {
                     var++;
                 } else {
                     realIndexSize++;
-                    str.append(" ").append(Encoder.tableOfConstants.get(anIndex));
+                    str.append(" ").append(this.context.tableOfConstants.get(anIndex));
                 }
             }
             str.append(")");
@@ -369,7 +377,7 @@ final class PreInstantiation implements Serializable {
             newIndex[index.length] = -1;
             this.print(predicate, arity, mask, newIndex, tables);
         } else {
-            for (int i = 0; i < Encoder.tableOfConstants.size(); i++) {
+            for (int i = 0; i < this.context.tableOfConstants.size(); i++) {
                 final int[] newIndex = new int[index.length + 1];
                 System.arraycopy(index, 0, newIndex, 0, index.length);
                 newIndex[index.length] = i;
@@ -383,18 +391,18 @@ final class PreInstantiation implements Serializable {
      *
      * @return the list of simplified operators.
      */
-    static List<IntOp> simplifyOperatorsWithInferedTypes(final List<IntOp> operators) {
+    List<IntOp> simplifyOperatorsWithInferedTypes(final List<IntOp> operators) {
         final List<IntOp> ops = new LinkedList<>();
         for (final IntOp op : operators) {
-            ops.addAll(PreInstantiation.simplifyOperatorsWithInferedTypes(op));
+            ops.addAll(this.simplifyOperatorsWithInferedTypes(op));
         }
         return ops;
     }
 
-    private static List<IntOp> simplifyOperatorsWithInferedTypes(final IntOp op) {
+    private List<IntOp> simplifyOperatorsWithInferedTypes(final IntOp op) {
         final List<IntExp> unaryInertia = new ArrayList<>();
-        unaryInertia.addAll(PreInstantiation.collectUnaryInertia(op.getPreconditions()));
-        unaryInertia.addAll(PreInstantiation.collectUnaryInertia(op.getEffects()));
+        unaryInertia.addAll(this.collectUnaryInertia(op.getPreconditions()));
+        unaryInertia.addAll(this.collectUnaryInertia(op.getEffects()));
 
         List<IntOp> operators = new LinkedList<>();
         operators.add(op);
@@ -413,35 +421,35 @@ final class PreInstantiation implements Serializable {
                     final int dtIndex = op.getTypeOfParameters(index);
 
                     // Compute the
-                    final String declaredType = Encoder.tableOfTypes.get(dtIndex);
+                    final String declaredType = this.context.tableOfTypes.get(dtIndex);
                     final int itIndex = inertia.getPredicate();
-                    final String inertiaType = Encoder.tableOfPredicates.get(itIndex);
+                    final String inertiaType = this.context.tableOfPredicates.get(itIndex);
 
                     final String sti = declaredType + "^" + inertiaType;
-                    int ti = Encoder.tableOfTypes.indexOf(sti);
+                    int ti = this.context.tableOfTypes.indexOf(sti);
                     if (ti == -1) {
-                        ti = Encoder.tableOfTypes.size();
-                        Encoder.tableOfTypes.add(sti);
-                        final Set<Integer> dt1 = new LinkedHashSet<>(Encoder.tableOfDomains.get(dtIndex));
-                        dt1.retainAll(Encoder.tableOfInferredDomains.get(itIndex));
-                        Encoder.tableOfDomains.add(dt1);
+                        ti = this.context.tableOfTypes.size();
+                        this.context.tableOfTypes.add(sti);
+                        final Set<Integer> dt1 = new LinkedHashSet<>(this.context.tableOfDomains.get(dtIndex));
+                        dt1.retainAll(this.context.tableOfInferredDomains.get(itIndex));
+                        this.context.tableOfDomains.add(dt1);
                     }
 
                     final String sts = declaredType + "\\" + inertiaType;
-                    int ts = Encoder.tableOfTypes.indexOf(sts);
+                    int ts = this.context.tableOfTypes.indexOf(sts);
                     if (ts == -1) {
-                        ts = Encoder.tableOfTypes.size();
-                        Encoder.tableOfTypes.add(sts);
-                        final Set<Integer> dt2 = new LinkedHashSet<>(Encoder.tableOfDomains.get(dtIndex));
-                        dt2.removeAll(Encoder.tableOfInferredDomains.get(itIndex));
-                        Encoder.tableOfDomains.add(dt2);
+                        ts = this.context.tableOfTypes.size();
+                        this.context.tableOfTypes.add(sts);
+                        final Set<Integer> dt2 = new LinkedHashSet<>(this.context.tableOfDomains.get(dtIndex));
+                        dt2.removeAll(this.context.tableOfInferredDomains.get(itIndex));
+                        this.context.tableOfDomains.add(dt2);
                     }
 
 
                     final IntOp op1 = new IntOp(o);
                     op1.setTypeOfParameter(index, ti);
-                    PreInstantiation.replace(op1.getPreconditions(), inertia, Connective.TRUE, ti, ts);
-                    PreInstantiation.replace(op1.getEffects(), inertia, Connective.TRUE, ti, ts);
+                    this.replace(op1.getPreconditions(), inertia, Connective.TRUE, ti, ts);
+                    this.replace(op1.getEffects(), inertia, Connective.TRUE, ti, ts);
                     if (!op1.getPreconditions().getConnective().equals(Connective.FALSE)
                         && !op1.getEffects().getConnective().equals(Connective.FALSE)) {
                         newOperators.add(op1);
@@ -451,8 +459,8 @@ final class PreInstantiation implements Serializable {
 
 
                     op2.setTypeOfParameter(index, ts);
-                    PreInstantiation.replace(op2.getPreconditions(), inertia, Connective.FALSE, ti, ts);
-                    PreInstantiation.replace(op2.getEffects(), inertia, Connective.FALSE, ti, ts);
+                    this.replace(op2.getPreconditions(), inertia, Connective.FALSE, ti, ts);
+                    this.replace(op2.getEffects(), inertia, Connective.FALSE, ti, ts);
 
                     if (!op2.getPreconditions().getConnective().equals(Connective.FALSE)
                         && !op2.getEffects().getConnective().equals(Connective.FALSE)) {
@@ -477,7 +485,7 @@ final class PreInstantiation implements Serializable {
      * @param ti         the type intersection.
      * @param ts         the type substract.
      */
-    private static void replace(final IntExp exp, final IntExp inertia, final Connective connective, final int ti,
+    private void replace(final IntExp exp, final IntExp inertia, final Connective connective, final int ti,
                                 final int ts) {
         switch (exp.getConnective()) {
             case ATOM:
@@ -489,7 +497,7 @@ final class PreInstantiation implements Serializable {
                 Iterator<IntExp> i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.AND)) {
                     final IntExp ei = i.next();
-                    PreInstantiation.replace(ei, inertia, connective, ti, ts);
+                    this.replace(ei, inertia, connective, ti, ts);
                     if (ei.getConnective().equals(Connective.FALSE)) {
                         exp.setConnective(Connective.FALSE);
                     } else if (ei.getConnective().equals(Connective.TRUE)) {
@@ -501,7 +509,7 @@ final class PreInstantiation implements Serializable {
                 i = exp.getChildren().iterator();
                 while (i.hasNext() && exp.getConnective().equals(Connective.OR)) {
                     final IntExp ei = i.next();
-                    PreInstantiation.replace(ei, inertia, connective, ti, ts);
+                    this.replace(ei, inertia, connective, ti, ts);
                     if (ei.getConnective().equals(Connective.TRUE)) {
                         exp.setConnective(Connective.TRUE);
                     } else if (ei.getConnective().equals(Connective.FALSE)) {
@@ -514,10 +522,10 @@ final class PreInstantiation implements Serializable {
                 if (inertia.getArguments()[0] == exp.getVariable()) {
                     final IntExp ei = new IntExp(exp);
                     ei.setType(ti);
-                    PreInstantiation.replace(ei, inertia, Connective.TRUE, ti, ts);
+                    this.replace(ei, inertia, Connective.TRUE, ti, ts);
                     final IntExp es = new IntExp(exp);
                     es.setType(ts);
-                    PreInstantiation.replace(es, inertia, Connective.FALSE, ti, ts);
+                    this.replace(es, inertia, Connective.FALSE, ti, ts);
                     exp.getChildren().clear();
                     if (exp.getConnective().equals(Connective.FORALL)) {
                         exp.setConnective(Connective.AND);
@@ -527,7 +535,7 @@ final class PreInstantiation implements Serializable {
                     exp.getChildren().add(ei);
                     exp.getChildren().add(es);
                 } else {
-                    PreInstantiation.replace(exp.getChildren().get(0), inertia, connective, ti, ts);
+                    this.replace(exp.getChildren().get(0), inertia, connective, ti, ts);
                 }
                 break;
             case AT_START:
@@ -542,13 +550,13 @@ final class PreInstantiation implements Serializable {
             case WITHIN:
             case HOLD_AFTER:
             case WHEN:
-                PreInstantiation.replace(exp.getChildren().get(0), inertia, connective, ti, ts);
+                this.replace(exp.getChildren().get(0), inertia, connective, ti, ts);
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                PreInstantiation.replace(exp.getChildren().get(0), inertia, connective, ti, ts);
-                PreInstantiation.replace(exp.getChildren().get(1), inertia, connective, ti, ts);
-                PreInstantiation.replace(exp.getChildren().get(3), inertia, connective, ti, ts);
+                this.replace(exp.getChildren().get(0), inertia, connective, ti, ts);
+                this.replace(exp.getChildren().get(1), inertia, connective, ti, ts);
+                this.replace(exp.getChildren().get(3), inertia, connective, ti, ts);
                 break;
             case EQUAL_ATOM:
             case FN_HEAD:
@@ -589,24 +597,24 @@ final class PreInstantiation implements Serializable {
      * @param exp the expression.
      * @return the list of unary inertia expression collected.
      */
-    private static List<IntExp> collectUnaryInertia(final IntExp exp) {
+    private List<IntExp> collectUnaryInertia(final IntExp exp) {
         final List<IntExp> unaryInertia = new ArrayList<>();
         switch (exp.getConnective()) {
             case ATOM:
-                if (Encoder.tableOfInferredDomains.get(exp.getPredicate()) != null) {
+                if (this.context.tableOfInferredDomains.get(exp.getPredicate()) != null) {
                     unaryInertia.add(exp);
                 }
                 break;
             case AND:
             case OR:
                 for (final IntExp ei : exp.getChildren()) {
-                    unaryInertia.addAll(PreInstantiation.collectUnaryInertia(ei));
+                    unaryInertia.addAll(this.collectUnaryInertia(ei));
                 }
                 break;
             case FORALL:
             case EXISTS:
                 final IntExp qExp = exp.getChildren().get(0);
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(qExp));
+                unaryInertia.addAll(this.collectUnaryInertia(qExp));
                 break;
             case AT_START:
             case AT_END:
@@ -620,13 +628,13 @@ final class PreInstantiation implements Serializable {
             case WITHIN:
             case HOLD_AFTER:
             case WHEN:
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(0)));
+                unaryInertia.addAll(this.collectUnaryInertia(exp.getChildren().get(0)));
                 break;
             case ALWAYS_WITHIN:
             case HOLD_DURING:
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(0)));
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(1)));
-                unaryInertia.addAll(PreInstantiation.collectUnaryInertia(exp.getChildren().get(3)));
+                unaryInertia.addAll(this.collectUnaryInertia(exp.getChildren().get(0)));
+                unaryInertia.addAll(this.collectUnaryInertia(exp.getChildren().get(1)));
+                unaryInertia.addAll(this.collectUnaryInertia(exp.getChildren().get(3)));
                 break;
             case EQUAL_ATOM:
             case FN_HEAD:
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import fr.uga.pddl4j.parser.Exp;
+import fr.uga.pddl4j.parser.InitialFactListener;
+import fr.uga.pddl4j.parser.Parser;
+import fr.uga.pddl4j.util.IntExp;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * This class implements an initial state encoded in its integer representation while the problem
+ * is parsed. It is used as the initial fact listener of the parser: each initial fact is encoded as
+ * soon as it is parsed and checked, so that the initial facts of the problem are never stored as
+ * expressions. The initial state is then passed to the encoder with the domain and the problem.
+ * <p>
+ * The integer representation of the facts depends only on the constants, the predicates and the
+ * functions of the domain and the objects of the problem, which are all declared before the
+ * initial facts. The tables used to encode the facts are built when the first fact is parsed.
+ * </p>
+ * <pre>
+ * Parser parser = new Parser();
+ * parser.parseDomain(domain);
+ * StreamedInitialState init = new StreamedInitialState(parser);
+ * parser.setInitialFactListener(init);
+ * parser.parseProblem(problem);
+ * CodedProblem pb = Encoder.encode(parser.getDomain(), parser.getProblem(), init);
+ * </pre>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 13.04.2019
+ * @see Parser#setInitialFactListener(InitialFactListener)
+ * @see Encoder#encode(fr.uga.pddl4j.parser.Domain, fr.uga.pddl4j.parser.Problem, StreamedInitialState)
+ * @since 3.8.3
+ */
+public final class StreamedInitialState implements InitialFactListener {
+
+    /**
+     * The parser that streams the initial facts.
+     */
+    private final Parser parser;
+
+    /**
+     * The context that contains the tables used to encode the initial facts.
+     */
+    private EncodingContext context;
+
+    /**
+     * The integer encoding used to encode the initial facts.
+     */
+    private IntEncoding intEncoding;
+
+    /**
+     * The initial facts encoded.
+     */
+    private final Set<IntExp> facts;
+
+    /**
+     * Creates a new empty initial state streamed from a specified parser.
+     *
+     * @param parser the parser that streams the initial facts.
+     */
+    public StreamedInitialState(final Parser parser) {
+        super();
+        this.parser = parser;
+        this.context = null;
+        this.intEncoding = null;
+        this.facts = new LinkedHashSet<>();
+    }
+
+    /**
+     * Encodes an initial fact parsed and adds it to the initial state.
+     *
+     * @param fact the initial fact parsed.
+     */
+    @Override
+    public void parsed(final Exp fact) {
+        if (this.context == null) {
+            this.context = new EncodingContext(0);
+            this.intEncoding = new IntEncoding(this.context);
+            this.intEncoding.encodeTypes(this.parser.getDomain());
+            this.intEncoding.encodeConstants(this.parser.getDomain(), this.parser.getProblem());
+            this.intEncoding.encodePredicates(this.parser.getDomain());
+            this.intEncoding.encodeFunctions(this.parser.getDomain());
+            this.context.tableOfDomains = null;
+        }
+        this.facts.add(this.intEncoding.encodeInitialFact(fact));
+    }
+
+    /**
+     * Returns the number of initial facts encoded.
+     *
+     * @return the number of initial facts encoded.
+     */
+    public int size() {
+        return this.facts.size();
+    }
+
+    /**
+     * Returns the initial facts encoded.
+     *
+     * @return the initial facts encoded.
+     */
+    Set<IntExp> getFacts() {
+        return this.facts;
+    }
+
+    /**
+     * Returns if the initial facts were encoded with the same constants, predicates and functions
+     * as a specified encoding context. This is always the case if no fact was encoded.
+     *
+     * @param context the encoding context.
+     * @return <code>true</code> if the initial facts were encoded with the same tables as the
+     *          specified context; <code>false</code> otherwise.
+     */
+    boolean isEncodedWith(final EncodingContext context) {
+        return this.context == null
+            || (this.context.tableOfConstants.equals(context.tableOfConstants)
+            && this.context.tableOfPredicates.equals(context.tableOfPredicates)
+            && this.context.tableOfFunctions.equals(context.tableOfFunctions));
+    }
+}
@@ -22,9 +22,11 @@ package fr.uga.pddl4j.heuristics.relaxation;
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.util.BitExp;
 import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.CancellationToken;
 import fr.uga.pddl4j.util.IntExp;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * This abstract class implements the basic methods of all heuristics.
@@ -34,6 +36,12 @@ import java.util.List;
  */
 public abstract class AbstractHeuristic implements Heuristic {
 
+    /**
+     * The number of calls to <code>isCancelled()</code> between two readings of the cancellation
+     * token.
+     */
+    protected static final int CANCELLATION_CHECK_INTERVAL = 256;
+
     /**
      * The goal to reached.
      */
@@ -54,6 +62,22 @@ public abstract class AbstractHeuristic implements Heuristic {
      */
     private boolean isAdmissible;
 
+    /**
+     * The token used to cancel the computation of the heuristic.
+     */
+    private CancellationToken cancellationToken;
+
+    /**
+     * The number of calls to <code>isCancelled()</code> before the next reading of the cancellation
+     * token.
+     */
+    private int cancellationCountdown;
+
+    /**
+     * The flag used to indicate if the cancellation token was found cancelled.
+     */
+    private boolean cancelled;
+
     /**
      * Create a new heuristic for a specified planning problem. By default the heuristic is
      * considered as admissible.
@@ -68,6 +92,7 @@ public abstract class AbstractHeuristic implements Heuristic {
         this.goal = problem.getGoal();
         this.operators = problem.getOperators();
         this.isAdmissible = true;
+        this.cancellationToken = CancellationToken.NONE;
     }
 
     /**
@@ -80,6 +105,47 @@ public abstract class AbstractHeuristic implements Heuristic {
         return this.isAdmissible;
     }
 
+    /**
+     * Returns an estimation of the number of bytes used by the data structures of this heuristic. The goal, the facts
+     * and the operators are shared with the problem and are not counted.
+     *
+     * @return an estimation of the number of bytes used by the data structures of this heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return 0;
+    }
+
+    /**
+     * Sets the token used to cancel the computation of the heuristic.
+     *
+     * @param token the token used to cancel the computation of the heuristic. The token cannot be
+     *              null.
+     */
+    @Override
+    public void setCancellationToken(final CancellationToken token) {
+        this.cancellationToken = Objects.requireNonNull(token);
+        this.cancellationCountdown = 0;
+        this.cancelled = false;
+    }
+
+    /**
+     * Returns if the computation of the heuristic was cancelled. In order to be called in the inner
+     * loops of the heuristics, the token, and so the clock if the token has a deadline, is only
+     * read every <code>CANCELLATION_CHECK_INTERVAL</code> calls. Once the token is found cancelled,
+     * this method always returns <code>true</code> until a new token is set.
+     *
+     * @return <code>true</code> if the computation of the heuristic was cancelled;
+     *          <code>false</code> otherwise.
+     */
+    protected final boolean isCancelled() {
+        if (!this.cancelled && --this.cancellationCountdown <= 0) {
+            this.cancellationCountdown = AbstractHeuristic.CANCELLATION_CHECK_INTERVAL;
+            this.cancelled = this.cancellationToken.isCancelled();
+        }
+        return this.cancelled;
+    }
+
     /**
      * Marks the heuristic as admissible or not.
      *
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.CancellationToken;
+
+import java.util.Objects;
+
+/**
+ * This class implements an heuristic that stores the values of another heuristic in a
+ * <code>HeuristicCache</code>. The values are only stored for the goal of the problem of the cache;
+ * the estimations for another goal are delegated to the heuristic. The values computed after the
+ * cancellation of the heuristic are not stored.
+ * <p>
+ * An instance of this class must be used by a single thread, as the heuristic it wraps, but several
+ * instances can share the same cache.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 25.04.2019
+ * @see HeuristicCache
+ * @since 3.8.3
+ */
+public final class CachedHeuristic implements Heuristic {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The heuristic whose values are stored.
+     */
+    private final Heuristic heuristic;
+
+    /**
+     * The cache where the values are stored.
+     */
+    private final HeuristicCache cache;
+
+    /**
+     * The token used to cancel the computation of the heuristic.
+     */
+    private CancellationToken cancellationToken;
+
+    /**
+     * Creates a new cached heuristic.
+     *
+     * @param heuristic the heuristic whose values are stored. The heuristic must be of the type and
+     *                  for the problem of the cache.
+     * @param cache     the cache where the values are stored.
+     * @throws NullPointerException if <code>heuristic == null || cache == null</code>.
+     */
+    public CachedHeuristic(final Heuristic heuristic, final HeuristicCache cache) {
+        Objects.requireNonNull(heuristic);
+        Objects.requireNonNull(cache);
+        this.heuristic = heuristic;
+        this.cache = cache;
+        this.cancellationToken = CancellationToken.NONE;
+    }
+
+    /**
+     * Returns the heuristic whose values are stored.
+     *
+     * @return the heuristic whose values are stored.
+     */
+    public Heuristic getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Returns the cache where the values are stored.
+     *
+     * @return the cache where the values are stored.
+     */
+    public HeuristicCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. The value is read from
+     * the cache if the state was already evaluated for the goal of the cache.
+     *
+     * @param state the state from which the distance to the goal must be estimated.
+     * @param goal  the goal expression.
+     * @return the distance to the goal state from the specified state.
+     */
+    @Override
+    public int estimate(final BitState state, final BitExp goal) {
+        if (!this.isCachedGoal(goal)) {
+            return this.heuristic.estimate(state, goal);
+        }
+        final long hash = state.getZobristHash();
+        int value = this.cache.getStateEstimation(hash);
+        if (value == Integer.MIN_VALUE) {
+            value = this.heuristic.estimate(state, goal);
+            if (!this.cancellationToken.isCancelled()) {
+                this.cache.putStateEstimation(hash, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. The value is read from
+     * the cache if the state of the node was already evaluated for the goal of the cache and the
+     * estimations of the heuristic only depend on the state of the nodes.
+     *
+     * @param node the node from which the distance to the goal must be estimated.
+     * @param goal the goal expression.
+     * @return the distance to the goal state from the specified state.
+     */
+    @Override
+    public double estimate(final Node node, final BitExp goal) {
+        if (!this.cache.isNodeEstimationCacheable() || !this.isCachedGoal(goal)) {
+            return this.heuristic.estimate(node, goal);
+        }
+        final long hash = node.getZobristHash();
+        double value = this.cache.getNodeEstimation(hash);
+        if (Double.isNaN(value)) {
+            value = this.heuristic.estimate(node, goal);
+            if (!this.cancellationToken.isCancelled()) {
+                this.cache.putNodeEstimation(hash, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns <code>true</code> if the values of a specified goal are stored in the cache.
+     *
+     * @param goal the goal.
+     * @return <code>true</code> if the values of the goal are stored in the cache; <code>false</code>
+     *          otherwise.
+     */
+    private boolean isCachedGoal(final BitExp goal) {
+        final BitExp cachedGoal = this.cache.getGoal();
+        return goal == cachedGoal || goal.equals(cachedGoal);
+    }
+
+    @Override
+    public boolean isAdmissible() {
+        return this.heuristic.isAdmissible();
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by the data structures of the heuristic and
+     * of the cache.
+     *
+     * @return an estimation of the number of bytes used by the data structures of this heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return this.heuristic.getMemoryUsed() + this.cache.getMemoryUsed();
+    }
+
+    @Override
+    public void setCancellationToken(final CancellationToken token) {
+        Objects.requireNonNull(token);
+        this.cancellationToken = token;
+        this.heuristic.setCancellationToken(token);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitState;
+
+/**
+ * This class implements the relaxed plan heuristic of the fast forward planner with the costs of
+ * the operators. The costs of the atoms are computed as by the <code>SumCost</code> heuristic and
+ * the relaxed plan is extracted backward from the goal by selecting for each atom the operator that
+ * achieves it with the lowest cost (for more details see E. Keyder and H. Geffner, Heuristics for
+ * Planning with Action Costs Revisited, ECAI 2008). The heuristic value is the sum of the costs of
+ * the operators of the relaxed plan extracted.
+ * <p>
+ * Unlike the <code>FastForward</code> heuristic, which extracts the relaxed plan from the levels
+ * of the relaxed planning graph and counts its actions, the relaxed plan prefers cheap operators,
+ * so that the heuristic gives a better guidance for domains with action costs.
+ * </p>
+ * <b>Warning:</b> The relaxed plan cost heuristic is not admissible.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 24.04.2019
+ * @see RelaxedCostHeuristic
+ * @since 3.8.3
+ */
+public final class FastForwardCost extends RelaxedCostHeuristic {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new <code>FAST_FORWARD_COST</code> heuristic for a specified planning problem.
+     *
+     * @param problem the planning problem.
+     * @throws NullPointerException if <code>problem == null</code>.
+     */
+    public FastForwardCost(final CodedProblem problem) {
+        super(problem, true);
+        super.setAdmissible(false);
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. If the return value is
+     * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
+     * state. The value is the cost computed rounded down.
+     *
+     * @param state the state from which the distance to the goal must be estimated.
+     * @param goal  the goal expression.
+     * @return the distance to the goal state from the specified state.
+     * @throws NullPointerException if <code>state == null &#38;&#38; goal == null</code>.
+     */
+    @Override
+    public int estimate(final BitState state, final BitExp goal) {
+        super.setGoal(goal);
+        return super.propagateCosts(state) ? RelaxedCostHeuristic.toInt(super.getRelaxedPlanCost()) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. If the return value is
+     * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
+     * state.
+     *
+     * @param node the state from which the distance to the goal must be estimated.
+     * @param goal the goal expression.
+     * @return the distance to the goal state from the specified state.
+     */
+    @Override
+    public double estimate(final Node node, final BitExp goal) {
+        super.setGoal(goal);
+        return super.propagateCosts(node) ? super.getRelaxedPlanCost() : Integer.MAX_VALUE;
+    }
+
+}
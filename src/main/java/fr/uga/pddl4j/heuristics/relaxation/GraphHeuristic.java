@@ -27,11 +27,11 @@ import fr.uga.pddl4j.util.BitState;
 import fr.uga.pddl4j.util.BitVector;
 import fr.uga.pddl4j.util.CondBitExp;
 import fr.uga.pddl4j.util.IntExp;
+import fr.uga.pddl4j.util.MemoryAccounting;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -70,17 +70,32 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     private BitVector[] effects;
 
     /**
-     * The dependences between the actions.
+     * The operators that have a proposition in their preconditions or their effects indexed by
+     * proposition.
      */
-    private BitMatrix operatorsDependences;
+    private int[][] operatorsByProposition;
 
     /**
-     * The list of operators mutual exclusions of the planning graph stored by level.
+     * The operators whose preconditions or effects contain a proposition and its negation. These
+     * operators are dependent with all the other operators.
+     */
+    private BitVector inconsistentOperators;
+
+    /**
+     * The dependences between the operators. The dependences of an operator are computed from the
+     * operators indexed by proposition the first time they are needed.
+     */
+    private BitVector[] operatorsDependences;
+
+    /**
+     * The list of operators mutual exclusions of the planning graph stored by level. The matrices
+     * are reused from an expansion of the planning graph to the next one.
      */
     private List<BitMatrix> operatorsMutex;
 
     /**
-     * The list of propositions mutual exclusions of the planning graph stored by level.
+     * The list of propositions mutual exclusions of the planning graph stored by level. The matrices
+     * are reused from an expansion of the planning graph to the next one.
      */
     private List<BitMatrix> propositionsMutex;
 
@@ -122,9 +137,10 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     private boolean levelOff;
 
     /**
-     * The list that contains for each level and for each proposition which operators produce it.
+     * The array that contains for each proposition the operators that produce it. The achievers of
+     * a proposition at a level of the planning graph are its achievers in the operators layer.
      */
-    private List<BitMatrix> achievers;
+    private int[][] achievers;
 
     /**
      * The number of propositions of the problem.
@@ -146,6 +162,11 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      */
     private BitVector newOperators;
 
+    /**
+     * The bit vector used to store the new propositions during the planning graph expansion.
+     */
+    private BitVector newPropositions;
+
     /**
      * The flag used to debug.
      */
@@ -264,16 +285,63 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
             this.bvgoal.set(p + this.negOffset);
         }
 
-        // Compute static dependence between operators
-        this.operatorsDependences = new BitMatrix(this.nbOperators);
-        for (int i = 0; i < this.nbOperators; i++) {
-            for (int j = 0; j < this.nbOperators; j++) {
-                if (i > j && this.areDependent(i, j)) {
-                    this.operatorsDependences.set(i, j);
-                    this.operatorsDependences.set(j, i);
+        // Index the operators by the propositions of their preconditions and their effects
+        final int[] nbOperatorsByProposition = new int[this.nbPropositions];
+        this.inconsistentOperators = new BitVector();
+        for (int op = 0; op < this.nbOperators; op++) {
+            final BitVector pre = this.preconditions[op];
+            final BitVector eff = this.effects[op];
+            for (int p = pre.nextSetBit(0); p >= 0; p = pre.nextSetBit(p + 1)) {
+                nbOperatorsByProposition[p]++;
+            }
+            for (int p = eff.nextSetBit(0); p >= 0; p = eff.nextSetBit(p + 1)) {
+                if (!pre.get(p)) {
+                    nbOperatorsByProposition[p]++;
+                }
+            }
+            if (!this.isConsistent(pre) || !this.isConsistent(eff)) {
+                this.inconsistentOperators.set(op);
+            }
+        }
+        this.operatorsByProposition = new int[this.nbPropositions][];
+        for (int p = 0; p < this.nbPropositions; p++) {
+            this.operatorsByProposition[p] = new int[nbOperatorsByProposition[p]];
+            nbOperatorsByProposition[p] = 0;
+        }
+        for (int op = 0; op < this.nbOperators; op++) {
+            final BitVector pre = this.preconditions[op];
+            final BitVector eff = this.effects[op];
+            for (int p = pre.nextSetBit(0); p >= 0; p = pre.nextSetBit(p + 1)) {
+                this.operatorsByProposition[p][nbOperatorsByProposition[p]++] = op;
+            }
+            for (int p = eff.nextSetBit(0); p >= 0; p = eff.nextSetBit(p + 1)) {
+                if (!pre.get(p)) {
+                    this.operatorsByProposition[p][nbOperatorsByProposition[p]++] = op;
                 }
             }
         }
+        // The dependences between operators are computed on demand
+        this.operatorsDependences = new BitVector[this.nbOperators];
+
+        // Index the operators, including the NOOP operators, by the propositions of their effects
+        final int[] nbAchievers = new int[this.nbPropositions];
+        for (int op = 0; op < this.nbOperators; op++) {
+            final BitVector eff = this.effects[op];
+            for (int p = eff.nextSetBit(0); p >= 0; p = eff.nextSetBit(p + 1)) {
+                nbAchievers[p]++;
+            }
+        }
+        this.achievers = new int[this.nbPropositions][];
+        for (int p = 0; p < this.nbPropositions; p++) {
+            this.achievers[p] = new int[nbAchievers[p]];
+            nbAchievers[p] = 0;
+        }
+        for (int op = 0; op < this.nbOperators; op++) {
+            final BitVector eff = this.effects[op];
+            for (int p = eff.nextSetBit(0); p >= 0; p = eff.nextSetBit(p + 1)) {
+                this.achievers[p][nbAchievers[p]++] = op;
+            }
+        }
 
         // Initialize the array that must contain the level of the positive propsLayer
         this.propositionsLevel = new int[this.nbPropositions];
@@ -281,10 +349,37 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
         this.propositionsMutex = new ArrayList<>();
         // Initialize the array that must contain operators mutex
         this.operatorsMutex = new ArrayList<>();
-        // Initialize the array that must contain achievers
-        this.achievers = new ArrayList<>();
+        // The bit vectors that are used to store the propositions and the operators layers
+        this.propsLayer = new BitVector();
+        this.opsLayer = new BitVector();
         // The bit vector that is used to store the new operators during expansion
         this.newOperators = new BitVector();
+        // The bit vector that is used to store the new propositions during expansion
+        this.newPropositions = new BitVector();
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by the planning graph of this heuristic.
+     *
+     * @return an estimation of the number of bytes used by the planning graph of this heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return super.getMemoryUsed()
+            + MemoryAccounting.sizeOf(this.propositionsLevel)
+            + MemoryAccounting.sizeOf(this.preconditions)
+            + MemoryAccounting.sizeOf(this.effects)
+            + MemoryAccounting.sizeOf(this.operatorsByProposition)
+            + MemoryAccounting.sizeOf(this.inconsistentOperators)
+            + MemoryAccounting.sizeOf(this.operatorsDependences)
+            + MemoryAccounting.sizeOf(this.operatorsMutex)
+            + MemoryAccounting.sizeOf(this.propositionsMutex)
+            + MemoryAccounting.sizeOf(this.achievers)
+            + MemoryAccounting.sizeOf(this.bvgoal)
+            + MemoryAccounting.sizeOf(this.propsLayer)
+            + MemoryAccounting.sizeOf(this.opsLayer)
+            + MemoryAccounting.sizeOf(this.newOperators)
+            + MemoryAccounting.sizeOf(this.newPropositions);
     }
 
     /**
@@ -316,7 +411,7 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
         Arrays.fill(this.propositionsLevel, Integer.MAX_VALUE);
 
         // Initialize the initial propsLayer level of the planning graph
-        this.propsLayer = new BitVector();
+        this.propsLayer.clear();
         this.propsLayer.or(state);
 
         // Initialize the first proposition level with the specified state
@@ -329,35 +424,29 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
         }
 
         // Initialize the initial actions level of the planning graph
-        this.opsLayer = new BitVector();
+        this.opsLayer.clear();
 
         // The current level of the planning graph (the first level is 0)
         int k = 0;
         // Initialize the propositions mutex at level with an empty bit matrix
-        this.propositionsMutex.add(new BitMatrix(this.nbPropositions));
+        GraphHeuristic.getLayer(this.propositionsMutex, k, this.nbPropositions);
 
         // Initialize the boolean flag used to indicate if the goal is reached to false
         this.goalReached = false;
         // Initialize the boolean flag used to indicate if level of the graph is off to false
         this.levelOff = false;
 
-        // Start the expansion of the planning graph
-        while (!this.goalReached && !this.levelOff) {
+        // Start the expansion of the planning graph until the goal is reached, the graph levels off or the
+        // computation is cancelled
+        while (!this.goalReached && !this.levelOff && !this.isCancelled()) {
             this.levelOff = true;
-            // Update the achiever of the level by adding achiever at previous level
-            final BitMatrix lAchievers = new BitMatrix(this.nbPropositions, this.nbOperators);
-            this.achievers.add(lAchievers);
-            if (k > 0) {
-                final BitMatrix ak1 = this.achievers.get(k - 1);
-                for (int p = 0; p < this.nbPropositions; p++) {
-                    lAchievers.getRow(p).or(ak1.getRow(p));
-                }
-            }
             // Clear the bit vector that will contain the operator to add at the next level
             this.newOperators.clear();
-            // Initialize the bit vector that will contain the propositions to add at the next level
-            final BitVector newPropositions = new BitVector();
-            // Add the NOOP operators
+            // Clear the bit vector that will contain the propositions to add at the next level
+            this.newPropositions.clear();
+            // Add the NOOP operators of the propositions that are new in the propositions layer
+            this.newOperators.or(this.propsLayer);
+            this.newOperators.andNot(this.opsLayer);
             this.opsLayer.or(this.propsLayer);
             // try only the operator not already in the planning graph
             for (int op = this.opsLayer.nextClearBit(this.nbPropositions); op > 0
@@ -365,22 +454,17 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
                 if (this.propsLayer.include(this.preconditions[op])
                     && this.isMutexFree(this.preconditions[op], k)) {
                     this.opsLayer.set(op);
-                    newOperators.set(op);
-                    final BitVector effs = this.effects[op];
-                    newPropositions.or(effs);
-                    // Update the achiever to speed up the mutex computation
-                    for (int p = effs.nextSetBit(0); p >= 0; p = effs.nextSetBit(p + 1)) {
-                        lAchievers.set(p, op);
-                    }
+                    this.newOperators.set(op);
+                    this.newPropositions.or(this.effects[op]);
                     // If an operator is added so the graph is not level off
                     this.levelOff = false;
                 }
             }
 
             // Add the new effects of the applicable operator to the propositions layer
-            this.propsLayer.or(newPropositions);
+            this.propsLayer.or(this.newPropositions);
             // Update the level of the new propositions
-            for (int p = newPropositions.nextSetBit(0); p >= 0; p = newPropositions
+            for (int p = this.newPropositions.nextSetBit(0); p >= 0; p = this.newPropositions
                 .nextSetBit(p + 1)) {
                 if (this.propositionsLevel[p] == Integer.MAX_VALUE) {
                     this.propositionsLevel[p] = k;
@@ -404,10 +488,8 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      * @param lev the level.
      */
     private void updatePropositionsMutex(final int lev) {
-        this.propositionsMutex.add(new BitMatrix(this.nbPropositions));
-        final BitMatrix pmK = new BitMatrix(nbPropositions);
+        final BitMatrix pmK = GraphHeuristic.getLayer(this.propositionsMutex, lev, this.nbPropositions);
         final BitMatrix pmk1 = this.propositionsMutex.get(lev - 1);
-        this.propositionsMutex.add(pmK);
         for (int pi = this.propsLayer.nextSetBit(0); pi >= 0; pi = this.propsLayer
             .nextSetBit(pi + 1)) {
             for (int pj = this.propsLayer.nextSetBit(0); pj >= 0; pj = this.propsLayer
@@ -418,7 +500,8 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
                 }
             }
         }
-        this.levelOff = pmK.equals(pmk1);
+        // The graph levels off when no operator was added and the mutexes did not change
+        this.levelOff = this.levelOff && pmK.equals(pmk1);
     }
 
     /**
@@ -429,8 +512,7 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     private void updateOperatorsMutex(final int lev) {
         if (lev > 1) {
             // Update the old mutex first
-            final BitMatrix omk = new BitMatrix(this.nbOperators);
-            this.operatorsMutex.add(omk);
+            final BitMatrix omk = GraphHeuristic.getLayer(this.operatorsMutex, lev, this.nbOperators);
             final BitMatrix omk1 = this.operatorsMutex.get(lev - 1);
             for (int oi = this.opsLayer.nextSetBit(0); oi >= 0; oi = this.opsLayer
                 .nextSetBit(oi + 1)) {
@@ -439,8 +521,6 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
                     if (oi > oj && omk1.get(oi, oj) && this.areOperatorsMutex(oi, oj, lev)) {
                         omk.set(oi, oj);
                         omk.set(oj, oi);
-                    } else {
-                        this.levelOff = false;
                     }
                 }
             }
@@ -449,16 +529,15 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
                 .nextSetBit(oi + 1)) {
                 for (int oj = this.opsLayer.nextSetBit(0); oj >= 0; oj = this.opsLayer
                     .nextSetBit(oj + 1)) {
-                    if (oi > oj && this.areOperatorsMutex(oi, oj, lev)) {
+                    // The pairs of new operators are tested once, the pairs with an old operator always
+                    if ((oi > oj || !this.newOperators.get(oj)) && this.areOperatorsMutex(oi, oj, lev)) {
                         omk.set(oi, oj);
                         omk.set(oj, oi);
-                        this.levelOff = false;
                     }
                 }
             }
         } else { // Special case of the level lev
-            final BitMatrix omk = new BitMatrix(this.nbOperators);
-            this.operatorsMutex.add(omk);
+            final BitMatrix omk = GraphHeuristic.getLayer(this.operatorsMutex, lev, this.nbOperators);
             for (int oi = this.opsLayer.nextSetBit(0); oi >= 0; oi = this.opsLayer
                 .nextSetBit(oi + 1)) {
                 for (int oj = this.opsLayer.nextSetBit(0); oj >= 0; oj = this.opsLayer
@@ -466,13 +545,34 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
                     if (oi > oj && this.areOperatorsMutex(oi, oj, lev)) {
                         omk.set(oi, oj);
                         omk.set(oj, oi);
-                        this.levelOff = false;
                     }
                 }
             }
         }
     }
 
+    /**
+     * Returns the matrix of a specified level of a list of layers. The matrix already stored at
+     * this level by a previous expansion of the planning graph is cleared and reused; otherwise a new
+     * matrix is created and added to the list.
+     *
+     * @param layers the list of layers.
+     * @param level  the level of the layer. The level is at most the number of layers of the list.
+     * @param size   the size of the squared matrix of the layer.
+     * @return the empty matrix of the layer.
+     */
+    private static BitMatrix getLayer(final List<BitMatrix> layers, final int level, final int size) {
+        final BitMatrix layer;
+        if (level < layers.size()) {
+            layer = layers.get(level);
+            layer.clear();
+        } else {
+            layer = new BitMatrix(size);
+            layers.add(layer);
+        }
+        return layer;
+    }
+
     /**
      * Computes the sum heuristic.
      *
@@ -498,10 +598,11 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
      * <code>false</code> otherwise.
      */
     private boolean areOperatorsMutex(final int oi, final int oj, final int lev) {
+        final boolean dependent = this.getDependences(oi).get(oj);
         if (lev == 0) {
-            return this.operatorsDependences.get(oi, oj);
+            return dependent;
         }
-        if (!this.operatorsDependences.get(oi, oj)) {
+        if (!dependent) {
             boolean mutex = false;
             final BitVector ppi = this.preconditions[oi];
             final BitVector ppj = this.preconditions[oj];
@@ -518,7 +619,9 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
 
     /**
      * Returns <code>true</code> if two facts are mutex at a specified level. Two facts are mutex
-     * if at least one operator that produce the facts are mutex in the previous level lev - 1.
+     * if at least one operator that produce the facts are mutex in the previous level lev - 1. The
+     * achievers of the facts at level lev - 1 are the operators of the operators layer, so the
+     * test must be done just after the expansion of this level.
      *
      * @param pi  the first fact.
      * @param pj  the second fact.
@@ -529,23 +632,24 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     private boolean arePropositionsMutex(final int pi, final int pj, final int lev) {
         boolean mutex = pj == (pi + super.getRevelantFacts().size());
         if (!mutex && lev > 0) {
-            final BitMatrix ak = this.achievers.get(lev - 1);
-            final BitSet rak = ak.getRow(pi);
-            final BitSet rbk = ak.getRow(pj);
+            final int[] rak = this.achievers[pi];
+            final int[] rbk = this.achievers[pj];
             // Test if there is one operator that produce pi and pj
-            if (rak.intersects(rbk)) {
-                return false;
+            for (int ra : rak) {
+                if (this.opsLayer.get(ra) && this.effects[ra].get(pj)) {
+                    return false;
+                }
             }
             final BitMatrix mak = this.operatorsMutex.get(lev - 1);
             mutex = true;
-            int ra = rak.nextSetBit(0);
-            while (ra >= 0 && mutex) {
-                int rb = rbk.nextSetBit(0);
-                while (rb >= 0 && mutex) {
-                    mutex = mak.get(ra, rb);
-                    rb = rbk.nextSetBit(rb + 1);
+            for (int i = 0; i < rak.length && mutex; i++) {
+                if (this.opsLayer.get(rak[i])) {
+                    for (int j = 0; j < rbk.length && mutex; j++) {
+                        if (this.opsLayer.get(rbk[j])) {
+                            mutex = mak.get(rak[i], rbk[j]);
+                        }
+                    }
                 }
-                ra = rak.nextSetBit(ra + 1);
             }
         }
         return mutex;
@@ -572,37 +676,57 @@ public abstract class GraphHeuristic extends AbstractHeuristic {
     }
 
     /**
-     * Returns <code>true</code> if two opsLayer are dependent, i.e, if an operator delete an
-     * precondition or an add effect of the other.
+     * Returns the operators dependent with a specified operator. Two operators are dependent if the
+     * union of their effects, of the effects of one and the preconditions of the other, or of their
+     * preconditions contains a proposition and its negation. The dependences of the operator are
+     * computed and stored the first time they are requested.
      *
-     * @param oi The first operator.
-     * @param oj The second operator
-     * @return <code>true</code> if two opsLayer are dependent, <code>false</code> otherwise.
-     */
-    private boolean areDependent(final int oi, final int oj) {
-        final BitVector effOi = this.effects[oi];
-        final BitVector effOj = this.effects[oj];
-        final BitVector preOi = this.preconditions[oi];
-        final BitVector preOj = this.preconditions[oj];
-        return !this.areConsistantStates(effOi, effOj)
-            || !this.areConsistantStates(effOi, preOj)
-            || !this.areConsistantStates(effOj, preOi)
-            || !this.areConsistantStates(preOi, preOj);
+     * @param op the operator.
+     * @return the operators dependent with the specified operator.
+     */
+    private BitVector getDependences(final int op) {
+        BitVector dependences = this.operatorsDependences[op];
+        if (dependences == null) {
+            dependences = new BitVector();
+            if (this.inconsistentOperators.get(op)) {
+                dependences.set(0, this.nbOperators);
+            } else {
+                dependences.or(this.inconsistentOperators);
+                this.addDependences(this.preconditions[op], dependences);
+                this.addDependences(this.effects[op], dependences);
+            }
+            dependences.clear(op);
+            this.operatorsDependences[op] = dependences;
+        }
+        return dependences;
     }
 
     /**
-     * Returns <code>true</code> if two states are consistent.
+     * Adds to a bit vector the operators that have the negation of a proposition of a specified set
+     * in their preconditions or their effects.
      *
-     * @param s1 The first state.
-     * @param s2 The second state.
-     * @return <code>true</code> if two states are consistent; <code>false</code> otherwise.
-     */
-    private boolean areConsistantStates(BitVector s1, BitVector s2) {
-        final BitVector state = new BitVector(s1);
-        state.or(s2);
-        final int offset = super.getRevelantFacts().size();
-        for (int p = state.nextSetBit(0); p >= 0 && p < offset; p = state.nextSetBit(p + 1)) {
-            if (state.get(p + offset)) {
+     * @param propositions the set of propositions.
+     * @param dependences  the bit vector where the operators are added.
+     */
+    private void addDependences(final BitVector propositions, final BitVector dependences) {
+        for (int p = propositions.nextSetBit(0); p >= 0; p = propositions.nextSetBit(p + 1)) {
+            final int negation = p < this.negOffset ? p + this.negOffset : p - this.negOffset;
+            for (int op : this.operatorsByProposition[negation]) {
+                dependences.set(op);
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if a set of propositions is consistent, i.e., if it does not contain
+     * a proposition and its negation.
+     *
+     * @param propositions the set of propositions.
+     * @return <code>true</code> if the set of propositions is consistent; <code>false</code> otherwise.
+     */
+    private boolean isConsistent(final BitVector propositions) {
+        for (int p = propositions.nextSetBit(0); p >= 0 && p < this.negOffset; p = propositions.nextSetBit(p + 1)) {
+            if (propositions.get(p + this.negOffset)) {
                 return false;
             }
         }
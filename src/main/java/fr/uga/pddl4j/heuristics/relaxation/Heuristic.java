@@ -22,6 +22,7 @@ package fr.uga.pddl4j.heuristics.relaxation;
 import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
 import fr.uga.pddl4j.util.BitExp;
 import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.CancellationToken;
 
 import java.io.Serializable;
 
@@ -71,6 +72,25 @@ public interface Heuristic extends Serializable {
      */
     boolean isAdmissible();
 
+    /**
+     * Returns an estimation of the number of bytes used by the data structures of this heuristic. The estimation is
+     * computed in constant time with respect to the number of states evaluated.
+     *
+     * @return an estimation of the number of bytes used by the data structures of this heuristic.
+     * @see fr.uga.pddl4j.util.MemoryAccounting
+     */
+    long getMemoryUsed();
+
+    /**
+     * Sets the token used to cancel the computation of the heuristic. Once the token is cancelled,
+     * the heuristic stops its computation as soon as possible and returns an estimation meaning
+     * that the goal is unreachable.
+     *
+     * @param token the token used to cancel the computation of the heuristic. The token cannot be
+     *              null.
+     */
+    void setCancellationToken(final CancellationToken token);
+
     /**
      * The type of heuristic implemented.
      *
@@ -119,6 +139,18 @@ public interface Heuristic extends Serializable {
          * The type for the <code>SumMutex</code> heuristic.
          */
         SUM_MUTEX,
+        /**
+         * The type for the <code>MaxCost</code> heuristic.
+         */
+        MAX_COST,
+        /**
+         * The type for the <code>SumCost</code> heuristic.
+         */
+        SUM_COST,
+        /**
+         * The type for the <code>FastForwardCost</code> heuristic.
+         */
+        FAST_FORWARD_COST,
 
     }
 
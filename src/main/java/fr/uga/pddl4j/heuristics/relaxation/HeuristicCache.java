@@ -0,0 +1,457 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.MemoryAccounting;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * This class implements a bounded cache of the values of an heuristic for the goal of a problem.
+ * The values are indexed by the Zobrist hash of the states evaluated, so that a state already
+ * evaluated, for instance after a restart of a hill climbing or by the second strategy of a
+ * planner, is not evaluated again. The cache can be shared by the strategies and the threads that
+ * search the same problem with the same type of heuristic (see <code>CachedHeuristic</code>).
+ * <p>
+ * The cache is an open addressing table made of primitive arrays. A state is stored in one of the
+ * <code>PROBES</code> slots that follow the slot given by its hash. When all these slots are used,
+ * the entry replaced is chosen with the clock algorithm: each slot has a reference bit set when the
+ * entry is read and the first slot whose bit is not set is replaced, the bits of the slots skipped
+ * being cleared. The lookups use an optimistic read and do not block the other lookups; the
+ * insertions are serialized. Two states with the same 64 bits hash share the same entry: the
+ * probability of such a collision is negligible for the number of states stored.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 25.04.2019
+ * @see CachedHeuristic
+ * @since 3.8.3
+ */
+public final class HeuristicCache implements Serializable {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default number of entries of the cache.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The number of slots where an entry can be stored.
+     */
+    private static final int PROBES = 8;
+
+    /**
+     * The value used to indicate that the estimation of a state is not stored.
+     */
+    private static final int NO_ESTIMATION = Integer.MIN_VALUE;
+
+    /**
+     * The problem for which the values are stored.
+     */
+    private final CodedProblem problem;
+
+    /**
+     * The type of the heuristic whose values are stored.
+     */
+    private final Heuristic.Type type;
+
+    /**
+     * The mask used to compute the first slot of a hash.
+     */
+    private final int mask;
+
+    /**
+     * The hash of the state stored in each slot.
+     */
+    private final long[] keys;
+
+    /**
+     * The flag used to indicate if a slot is used.
+     */
+    private final boolean[] used;
+
+    /**
+     * The reference bit of each slot used by the clock algorithm.
+     */
+    private final boolean[] referenced;
+
+    /**
+     * The estimation of the state stored in each slot returned by
+     * <code>Heuristic.estimate(BitState, BitExp)</code> or <code>NO_ESTIMATION</code>.
+     */
+    private final int[] stateValues;
+
+    /**
+     * The estimation of the state stored in each slot returned by
+     * <code>Heuristic.estimate(Node, BitExp)</code> or <code>NaN</code>.
+     */
+    private final double[] nodeValues;
+
+    /**
+     * The lock used to protect the lookups from the insertions.
+     */
+    private final StampedLock lock;
+
+    /**
+     * The number of lookups that found a value.
+     */
+    private final LongAdder hits;
+
+    /**
+     * The number of lookups that did not find a value.
+     */
+    private final LongAdder misses;
+
+    /**
+     * The number of entries replaced.
+     */
+    private final LongAdder evictions;
+
+    /**
+     * Creates a new cache with a default capacity.
+     *
+     * @param problem the problem for which the values are stored.
+     * @param type    the type of the heuristic whose values are stored.
+     * @throws NullPointerException if <code>problem == null || type == null</code>.
+     */
+    public HeuristicCache(final CodedProblem problem, final Heuristic.Type type) {
+        this(problem, type, HeuristicCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new cache. The capacity is rounded to the next power of two.
+     *
+     * @param problem  the problem for which the values are stored.
+     * @param type     the type of the heuristic whose values are stored.
+     * @param capacity the maximum number of entries of the cache.
+     * @throws NullPointerException if <code>problem == null || type == null</code>.
+     * @throws IllegalArgumentException if <code>capacity &lt; 1 || capacity &gt; 2^30</code>.
+     */
+    public HeuristicCache(final CodedProblem problem, final Heuristic.Type type, final int capacity) {
+        Objects.requireNonNull(problem);
+        Objects.requireNonNull(type);
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity out of range: " + capacity);
+        }
+        this.problem = problem;
+        this.type = type;
+        final int size = Math.max(HeuristicCache.PROBES, Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = size - 1;
+        this.keys = new long[size];
+        this.used = new boolean[size];
+        this.referenced = new boolean[size];
+        this.stateValues = new int[size];
+        this.nodeValues = new double[size];
+        this.lock = new StampedLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Returns the problem for which the values are stored.
+     *
+     * @return the problem for which the values are stored.
+     */
+    public CodedProblem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the type of the heuristic whose values are stored.
+     *
+     * @return the type of the heuristic whose values are stored.
+     */
+    public Heuristic.Type getHeuristicType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the goal for which the values are stored, i.e., the goal of the problem.
+     *
+     * @return the goal for which the values are stored.
+     */
+    public BitExp getGoal() {
+        return this.problem.getGoal();
+    }
+
+    /**
+     * Returns <code>true</code> if the values stored can be used for a specified problem and type
+     * of heuristic.
+     *
+     * @param problem the problem.
+     * @param type    the type of heuristic.
+     * @return <code>true</code> if the values stored can be used for the problem and the type of
+     *          heuristic; <code>false</code> otherwise.
+     */
+    public boolean isCompatible(final CodedProblem problem, final Heuristic.Type type) {
+        return this.problem == problem && this.type.equals(type);
+    }
+
+    /**
+     * Returns <code>true</code> if the values returned by <code>Heuristic.estimate(Node, BitExp)</code>
+     * can be stored, i.e., if they only depend on the state of the node. This is not the case for the
+     * <code>MinCost</code> heuristic which takes into account the cost of the node.
+     *
+     * @return <code>true</code> if the estimations of the nodes can be stored; <code>false</code>
+     *          otherwise.
+     */
+    public boolean isNodeEstimationCacheable() {
+        return !this.type.equals(Heuristic.Type.MIN_COST);
+    }
+
+    /**
+     * Returns the maximum number of entries of the cache.
+     *
+     * @return the maximum number of entries of the cache.
+     */
+    public int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the estimation returned by <code>Heuristic.estimate(BitState, BitExp)</code> for the
+     * state with a specified hash.
+     *
+     * @param hash the Zobrist hash of the state.
+     * @return the estimation of the state or <code>Integer.MIN_VALUE</code> if the estimation is not
+     *          stored.
+     */
+    public int getStateEstimation(final long hash) {
+        long stamp = this.lock.tryOptimisticRead();
+        int slot = this.find(hash);
+        int value = slot == -1 ? HeuristicCache.NO_ESTIMATION : this.stateValues[slot];
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                slot = this.find(hash);
+                value = slot == -1 ? HeuristicCache.NO_ESTIMATION : this.stateValues[slot];
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        if (value == HeuristicCache.NO_ESTIMATION) {
+            this.misses.increment();
+        } else {
+            this.referenced[slot] = true;
+            this.hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the estimation returned by <code>Heuristic.estimate(Node, BitExp)</code> for the
+     * state with a specified hash.
+     *
+     * @param hash the Zobrist hash of the state.
+     * @return the estimation of the state or <code>NaN</code> if the estimation is not stored.
+     */
+    public double getNodeEstimation(final long hash) {
+        long stamp = this.lock.tryOptimisticRead();
+        int slot = this.find(hash);
+        double value = slot == -1 ? Double.NaN : this.nodeValues[slot];
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                slot = this.find(hash);
+                value = slot == -1 ? Double.NaN : this.nodeValues[slot];
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        if (Double.isNaN(value)) {
+            this.misses.increment();
+        } else {
+            this.referenced[slot] = true;
+            this.hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Stores the estimation returned by <code>Heuristic.estimate(BitState, BitExp)</code> for the
+     * state with a specified hash.
+     *
+     * @param hash  the Zobrist hash of the state.
+     * @param value the estimation of the state.
+     */
+    public void putStateEstimation(final long hash, final int value) {
+        final long stamp = this.lock.writeLock();
+        try {
+            this.stateValues[this.insert(hash)] = value;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stores the estimation returned by <code>Heuristic.estimate(Node, BitExp)</code> for the
+     * state with a specified hash.
+     *
+     * @param hash  the Zobrist hash of the state.
+     * @param value the estimation of the state.
+     */
+    public void putNodeEstimation(final long hash, final double value) {
+        final long stamp = this.lock.writeLock();
+        try {
+            this.nodeValues[this.insert(hash)] = value;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all the entries of the cache. The counters are not reset.
+     */
+    public void clear() {
+        final long stamp = this.lock.writeLock();
+        try {
+            Arrays.fill(this.used, false);
+            Arrays.fill(this.referenced, false);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a value.
+     *
+     * @return the number of lookups that found a value.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a value.
+     *
+     * @return the number of lookups that did not find a value.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of entries replaced because the cache was full.
+     *
+     * @return the number of entries replaced.
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by the cache.
+     *
+     * @return an estimation of the number of bytes used by the cache.
+     */
+    public long getMemoryUsed() {
+        return MemoryAccounting.OBJECT_HEADER + 5 * MemoryAccounting.ARRAY_HEADER
+            + (long) this.keys.length * (Long.BYTES + 2 + Integer.BYTES + Double.BYTES);
+    }
+
+    /**
+     * Returns the slot of the state with a specified hash.
+     *
+     * @param hash the Zobrist hash of the state.
+     * @return the slot of the state or -1 if the state is not stored.
+     */
+    private int find(final long hash) {
+        int slot = HeuristicCache.index(hash) & this.mask;
+        for (int i = 0; i < HeuristicCache.PROBES; i++) {
+            if (!this.used[slot]) {
+                return -1;
+            } else if (this.keys[slot] == hash) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of the state with a specified hash. If the state is not stored, a new entry
+     * is created, if necessary by replacing the entry chosen by the clock algorithm. This method
+     * must be called with the write lock.
+     *
+     * @param hash the Zobrist hash of the state.
+     * @return the slot of the state.
+     */
+    private int insert(final long hash) {
+        final int first = HeuristicCache.index(hash) & this.mask;
+        int slot = first;
+        for (int i = 0; i < HeuristicCache.PROBES; i++) {
+            if (!this.used[slot]) {
+                return this.create(slot, hash);
+            } else if (this.keys[slot] == hash) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        int victim = first;
+        slot = first;
+        for (int i = 0; i < HeuristicCache.PROBES; i++) {
+            if (!this.referenced[slot]) {
+                victim = slot;
+                break;
+            }
+            this.referenced[slot] = false;
+            slot = (slot + 1) & this.mask;
+        }
+        this.evictions.increment();
+        return this.create(victim, hash);
+    }
+
+    /**
+     * Creates a new entry with no estimation in a specified slot.
+     *
+     * @param slot the slot.
+     * @param hash the Zobrist hash of the state.
+     * @return the slot.
+     */
+    private int create(final int slot, final long hash) {
+        this.keys[slot] = hash;
+        this.stateValues[slot] = HeuristicCache.NO_ESTIMATION;
+        this.nodeValues[slot] = Double.NaN;
+        this.referenced[slot] = false;
+        this.used[slot] = true;
+        return slot;
+    }
+
+    /**
+     * Returns the index of a hash in the table before masking.
+     *
+     * @param hash the hash.
+     * @return the index of the hash.
+     */
+    private static int index(final long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -73,8 +73,35 @@ public final class HeuristicToolKit implements Serializable {
             heuristic = new MinCost(problem);
         } else if (type.equals(Heuristic.Type.SET_LEVEL)) {
             heuristic = new SetLevel(problem);
+        } else if (type.equals(Heuristic.Type.MAX_COST)) {
+            heuristic = new MaxCost(problem);
+        } else if (type.equals(Heuristic.Type.SUM_COST)) {
+            heuristic = new SumCost(problem);
+        } else if (type.equals(Heuristic.Type.FAST_FORWARD_COST)) {
+            heuristic = new FastForwardCost(problem);
         }
         return heuristic;
     }
 
+    /**
+     * Create an heuristic of a specified type whose values are stored in a specified cache. If the
+     * cache is null or was created for another problem or type of heuristic, the heuristic created is
+     * not cached.
+     *
+     * @param type    the type of the heuristic to create.
+     * @param problem the problem for which the heuristic is created.
+     * @param cache   the cache where the values of the heuristic are stored or null.
+     * @return the heuristic created.
+     * @throws NullPointerException if <code>type == null || problem == null</code>.
+     * @see HeuristicCache#isCompatible(CodedProblem, Heuristic.Type)
+     */
+    public static Heuristic createHeuristic(final Heuristic.Type type, final CodedProblem problem,
+                                            final HeuristicCache cache) {
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(type, problem);
+        if (cache == null || !cache.isCompatible(problem, type)) {
+            return heuristic;
+        }
+        return new CachedHeuristic(heuristic, cache);
+    }
+
 }
@@ -24,8 +24,8 @@ import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
 import fr.uga.pddl4j.util.BitExp;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-
-import java.util.LinkedList;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 
 /**
  * <b>Warning:</b> The Min Cost heuristic is not admissible.
@@ -40,6 +40,11 @@ public class MinCost extends AbstractHeuristic {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The successor generator used to enumerate the applicable operators.
+     */
+    private final SuccessorGenerator generator;
+
     /**
      * Creates a new <code>Min Cost</code> heuristic for a specified planning problem.
      *
@@ -49,6 +54,7 @@ public class MinCost extends AbstractHeuristic {
     public MinCost(final CodedProblem problem) {
         super(problem);
         super.setAdmissible(false);
+        this.generator = problem.getSuccessorGenerator();
     }
 
     /**
@@ -90,51 +96,35 @@ public class MinCost extends AbstractHeuristic {
      * @return the distance to the goal state from the specified node.
      */
     public double estimateCost(final Node node, final BitExp goal) {
-        final LinkedList<Node> openList = new LinkedList<>();
-
-        openList.add(node);
-        Node solution = null;
-
-        while (solution == null) {
-
-            final Node current = openList.pop();
-            openList.remove(current);
-
-            int index = 0;
-            Node nextNode = null;
+        // The states of the rollout are computed alternately in two states
+        BitState current = new BitState(node);
+        BitState next = new BitState();
+        final BitVector applicable = new BitVector(this.getOperators().size());
+        double total = node.getCost();
+        while (!this.isCancelled()) {
+            int best = -1;
             double cost = Double.MAX_VALUE;
-
-            for (BitOp op : getOperators()) {
-                if (op.isApplicable(current)) {
-                    if (op.getCost() <= cost) { //TODO take into account = or not
-                        final BitState nextState = new BitState(current);
-                        nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                        nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                        final Node successor = new Node(nextState);
-                        successor.setCost(current.getCost() + op.getCost());
-                        successor.setParent(current);
-                        successor.setOperator(index);
-                        successor.setDepth(current.getDepth() + 1);
-
-                        cost = op.getCost();
-                        nextNode = successor;
-                    }
+            this.generator.getApplicableOperators(current, applicable);
+            for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+                final BitOp op = getOperators().get(index);
+                if (op.getCost() <= cost) { //TODO take into account = or not
+                    cost = op.getCost();
+                    best = index;
                 }
-                index++;
             }
-
-            if (nextNode != null) {
-                if (nextNode.satisfy(goal)) {
-                    solution = nextNode;
-                } else {
-                    openList.add(nextNode);
-                }
-            } else {
+            if (best == -1) {
                 return Double.MAX_VALUE;
             }
+            getOperators().get(best).apply(current, next);
+            total += cost;
+            if (next.satisfy(goal)) {
+                return total;
+            }
+            final BitState swap = current;
+            current = next;
+            next = swap;
         }
-        return solution.getCost();
+        return Double.MAX_VALUE;
     }
 
 }
@@ -0,0 +1,576 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
+import fr.uga.pddl4j.util.UnconditionalOperators;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This abstract class implements the basic methods used by the heuristics that propagate the costs
+ * of the operators in the relaxed problem ignoring negative effects. Unlike the relaxed planning
+ * graph, which is expanded level by level and counts one unit per level, the costs of the facts
+ * are computed with a generalized Dijkstra algorithm that takes into account the cost of the
+ * operators: the facts are extracted from a priority queue by increasing cost and the cost of an
+ * operator is computed as soon as all its preconditions are extracted. The cost of an operator is
+ * the sum or the max of the costs of its preconditions plus its own cost (for more details see
+ * B. Bonet and H. Geffner, Planning as Heuristic Search, Artificial Intelligence 129, 2001 and
+ * E. Keyder and H. Geffner, Heuristics for Planning with Action Costs Revisited, ECAI 2008).
+ * <p>
+ * When the costs of the operators are integers, the priority queue is a bucket queue and the
+ * propagation is linear in the size of the problem. Otherwise a binary heap is used. The
+ * propagation stops as soon as the costs of all the goal facts are known.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 24.04.2019
+ * @see UnconditionalOperators
+ * @since 3.8.3
+ */
+public abstract class RelaxedCostHeuristic extends AbstractHeuristic {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The value used to indicate that a fact has no supporter.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The unconditional operators of the problem shared by the heuristics of the problem.
+     */
+    private final UnconditionalOperators unconditionalOperators;
+
+    /**
+     * The flag used to indicate if the cost of a set of facts is the sum of the costs of the facts
+     * or their max.
+     */
+    private final boolean additive;
+
+    /**
+     * The number of facts of the problem. The literal <code>p</code> denotes the positive fact
+     * <code>p</code> and the literal <code>nbFacts + p</code> the negative fact <code>p</code>.
+     */
+    private final int nbFacts;
+
+    /**
+     * The number of preconditions of each unconditional operator.
+     */
+    private final int[] precondCardinality;
+
+    /**
+     * The unconditional operators without precondition.
+     */
+    private final int[] noPrecondOperators;
+
+    /**
+     * The array used to store the cost of the literals.
+     */
+    private final double[] literalsCost;
+
+    /**
+     * The array used to store the cost of the preconditions of the unconditional operators.
+     */
+    private final double[] operatorsCost;
+
+    /**
+     * The array used to store the number of preconditions not yet extracted of each unconditional
+     * operator.
+     */
+    private final int[] precondCounters;
+
+    /**
+     * The array used to store the unconditional operator that produces each literal with the
+     * lowest cost.
+     */
+    private final int[] supporters;
+
+    /**
+     * The bit vector used to store the literals extracted from the queue.
+     */
+    private final BitVector closed;
+
+    /**
+     * The literals of the goal.
+     */
+    private final BitVector goalLiterals;
+
+    /**
+     * The priority queue of the literals.
+     */
+    private final LiteralQueue queue;
+
+    /**
+     * The array used as stack to extract the relaxed plan.
+     */
+    private final int[] stack;
+
+    /**
+     * The bit vector used to store the unconditional operators of the relaxed plan.
+     */
+    private final BitVector relaxedPlan;
+
+    /**
+     * Creates a new cost heuristic for a specified planning problem.
+     *
+     * @param problem  the planning problem.
+     * @param additive <code>true</code> if the cost of a set of facts is the sum of the costs of the
+     *                 facts; <code>false</code> if it is the max.
+     * @throws NullPointerException if <code>problem == null</code>.
+     */
+    protected RelaxedCostHeuristic(final CodedProblem problem, final boolean additive) {
+        super(problem);
+        this.additive = additive;
+        this.unconditionalOperators = problem.getUnconditionalOperators();
+        this.nbFacts = this.unconditionalOperators.getNumberOfFacts();
+        final int nbUncondOperators = this.unconditionalOperators.size();
+        final int[] preconditionsIndex = this.unconditionalOperators.getPreconditionsIndex();
+        this.precondCardinality = new int[nbUncondOperators];
+        int nbNoPrecondOperators = 0;
+        boolean integerCosts = true;
+        for (int o = 0; o < nbUncondOperators; o++) {
+            this.precondCardinality[o] = preconditionsIndex[o + 1] - preconditionsIndex[o];
+            if (this.precondCardinality[o] == 0) {
+                nbNoPrecondOperators++;
+            }
+            final double cost = this.unconditionalOperators.getCost(o);
+            integerCosts &= cost >= 0 && cost == Math.rint(cost) && cost < Integer.MAX_VALUE;
+        }
+        this.noPrecondOperators = new int[nbNoPrecondOperators];
+        nbNoPrecondOperators = 0;
+        for (int o = 0; o < nbUncondOperators; o++) {
+            if (this.precondCardinality[o] == 0) {
+                this.noPrecondOperators[nbNoPrecondOperators++] = o;
+            }
+        }
+        this.literalsCost = new double[2 * this.nbFacts];
+        this.operatorsCost = new double[nbUncondOperators];
+        this.precondCounters = new int[nbUncondOperators];
+        this.supporters = new int[2 * this.nbFacts];
+        this.closed = new BitVector(2 * this.nbFacts);
+        this.goalLiterals = new BitVector(2 * this.nbFacts);
+        this.queue = integerCosts ? new BucketQueue() : new HeapQueue();
+        this.stack = new int[2 * this.nbFacts];
+        this.relaxedPlan = new BitVector(nbUncondOperators);
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by the data structures of this heuristic.
+     *
+     * @return an estimation of the number of bytes used by the data structures of this heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return super.getMemoryUsed()
+            + MemoryAccounting.sizeOf(this.precondCardinality)
+            + MemoryAccounting.sizeOf(this.noPrecondOperators)
+            + 2 * MemoryAccounting.ARRAY_HEADER
+            + (long) (this.literalsCost.length + this.operatorsCost.length) * Double.BYTES
+            + MemoryAccounting.sizeOf(this.precondCounters)
+            + MemoryAccounting.sizeOf(this.supporters)
+            + MemoryAccounting.sizeOf(this.closed)
+            + MemoryAccounting.sizeOf(this.goalLiterals)
+            + this.queue.getMemoryUsed()
+            + MemoryAccounting.sizeOf(this.stack)
+            + MemoryAccounting.sizeOf(this.relaxedPlan);
+    }
+
+    /**
+     * Propagates the costs of the operators from a specified state until the costs of all the goal
+     * facts are known or the queue is empty. The goal used is the last goal set.
+     *
+     * @param state the state from which the costs are propagated.
+     * @return <code>true</code> if all the goal facts are reachable from the state;
+     *          <code>false</code> otherwise.
+     */
+    protected final boolean propagateCosts(final BitState state) {
+        Arrays.fill(this.literalsCost, Double.MAX_VALUE);
+        Arrays.fill(this.supporters, RelaxedCostHeuristic.NONE);
+        Arrays.fill(this.operatorsCost, 0.0);
+        System.arraycopy(this.precondCardinality, 0, this.precondCounters, 0, this.precondCardinality.length);
+        this.closed.clear();
+        this.queue.clear();
+
+        // Compute the literals of the goal
+        this.goalLiterals.clear();
+        this.goalLiterals.or(super.getGoal().getPositive());
+        final BitVector nGoal = super.getGoal().getNegative();
+        for (int p = nGoal.nextSetBit(0); p >= 0; p = nGoal.nextSetBit(p + 1)) {
+            this.goalLiterals.set(this.nbFacts + p);
+        }
+        int goalCounter = this.goalLiterals.cardinality();
+
+        // The literals of the state cost nothing
+        for (int p = 0; p < this.nbFacts; p++) {
+            final int literal = state.get(p) ? p : this.nbFacts + p;
+            this.literalsCost[literal] = 0.0;
+            this.queue.push(literal, 0.0);
+        }
+        // The operators without precondition can be applied whatever the state
+        for (int o : this.noPrecondOperators) {
+            this.applyOperator(o);
+        }
+
+        final int[] consumersIndex = this.unconditionalOperators.getConsumersIndex();
+        final int[] consumers = this.unconditionalOperators.getConsumers();
+        while (goalCounter > 0 && !this.queue.isEmpty() && !this.isCancelled()) {
+            final int literal = this.queue.pop();
+            if (this.closed.get(literal)) {
+                continue;
+            }
+            this.closed.set(literal);
+            if (this.goalLiterals.get(literal)) {
+                goalCounter--;
+            }
+            final double cost = this.literalsCost[literal];
+            for (int i = consumersIndex[literal]; i < consumersIndex[literal + 1]; i++) {
+                final int o = consumers[i];
+                if (this.additive) {
+                    this.operatorsCost[o] += cost;
+                } else if (cost > this.operatorsCost[o]) {
+                    this.operatorsCost[o] = cost;
+                }
+                this.precondCounters[o]--;
+                if (this.precondCounters[o] == 0) {
+                    this.applyOperator(o);
+                }
+            }
+        }
+        return goalCounter == 0 && !this.isCancelled();
+    }
+
+    /**
+     * Updates the costs of the effects of an unconditional operator whose preconditions are all
+     * reached.
+     *
+     * @param op the unconditional operator.
+     */
+    private void applyOperator(final int op) {
+        final double cost = this.operatorsCost[op] + this.unconditionalOperators.getCost(op);
+        final int[] effectsIndex = this.unconditionalOperators.getEffectsIndex();
+        final int[] effectLiterals = this.unconditionalOperators.getEffectLiterals();
+        for (int i = effectsIndex[op]; i < effectsIndex[op + 1]; i++) {
+            final int literal = effectLiterals[i];
+            if (cost < this.literalsCost[literal]) {
+                this.literalsCost[literal] = cost;
+                this.supporters[literal] = op;
+                this.queue.push(literal, cost);
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the costs of the goal facts computed by the last propagation.
+     *
+     * @return the sum of the costs of the goal facts.
+     */
+    protected final double getSumCost() {
+        double value = 0.0;
+        for (int l = this.goalLiterals.nextSetBit(0); l >= 0; l = this.goalLiterals.nextSetBit(l + 1)) {
+            value += this.literalsCost[l];
+        }
+        return value;
+    }
+
+    /**
+     * Returns the max of the costs of the goal facts computed by the last propagation.
+     *
+     * @return the max of the costs of the goal facts.
+     */
+    protected final double getMaxCost() {
+        double value = 0.0;
+        for (int l = this.goalLiterals.nextSetBit(0); l >= 0; l = this.goalLiterals.nextSetBit(l + 1)) {
+            value = Math.max(value, this.literalsCost[l]);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cost of a relaxed plan extracted from the last propagation. The relaxed plan is
+     * built backward from the goal facts by selecting for each fact the operator that produces it
+     * with the lowest cost. The cost of the relaxed plan is the sum of the costs of its unconditional
+     * operators, each unconditional operator being counted once.
+     *
+     * @return the cost of the relaxed plan.
+     */
+    protected final double getRelaxedPlanCost() {
+        this.relaxedPlan.clear();
+        // The closed literals are reused to mark the literals already pushed in the stack
+        this.closed.clear();
+        int top = 0;
+        for (int l = this.goalLiterals.nextSetBit(0); l >= 0; l = this.goalLiterals.nextSetBit(l + 1)) {
+            this.closed.set(l);
+            this.stack[top++] = l;
+        }
+        final int[] preconditionsIndex = this.unconditionalOperators.getPreconditionsIndex();
+        final int[] preconditionLiterals = this.unconditionalOperators.getPreconditionLiterals();
+        double value = 0.0;
+        while (top > 0) {
+            final int o = this.supporters[this.stack[--top]];
+            if (o != RelaxedCostHeuristic.NONE && !this.relaxedPlan.get(o)) {
+                this.relaxedPlan.set(o);
+                value += this.unconditionalOperators.getCost(o);
+                for (int i = preconditionsIndex[o]; i < preconditionsIndex[o + 1]; i++) {
+                    final int literal = preconditionLiterals[i];
+                    if (!this.closed.get(literal)) {
+                        this.closed.set(literal);
+                        this.stack[top++] = literal;
+                    }
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Converts a cost into an integer heuristic value. The cost is rounded down so that an
+     * admissible cost gives an admissible value.
+     *
+     * @param cost the cost.
+     * @return the integer heuristic value.
+     */
+    protected static int toInt(final double cost) {
+        return cost >= Integer.MAX_VALUE ? Integer.MAX_VALUE - 1 : (int) cost;
+    }
+
+    /**
+     * The priority queue of literals used to propagate the costs. A literal can be pushed several
+     * times with decreasing costs; the copies extracted after the first one must be ignored.
+     */
+    private interface LiteralQueue extends Serializable {
+
+        /**
+         * Removes all the literals of the queue.
+         */
+        void clear();
+
+        /**
+         * Returns <code>true</code> if the queue is empty.
+         *
+         * @return <code>true</code> if the queue is empty; <code>false</code> otherwise.
+         */
+        boolean isEmpty();
+
+        /**
+         * Pushes a literal with a specified cost.
+         *
+         * @param literal the literal.
+         * @param cost    the cost of the literal.
+         */
+        void push(final int literal, final double cost);
+
+        /**
+         * Removes and returns a literal with the lowest cost of the queue.
+         *
+         * @return a literal with the lowest cost of the queue.
+         */
+        int pop();
+
+        /**
+         * Returns an estimation of the number of bytes used by the queue.
+         *
+         * @return an estimation of the number of bytes used by the queue.
+         */
+        long getMemoryUsed();
+    }
+
+    /**
+     * The bucket queue used when the costs of the operators are integers. The bucket of a literal is
+     * its cost and the buckets are extracted in increasing order.
+     */
+    private static final class BucketQueue implements LiteralQueue {
+
+        /**
+         * The serial version id of the class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The literals of each bucket.
+         */
+        private int[][] buckets = new int[16][];
+
+        /**
+         * The number of literals of each bucket.
+         */
+        private int[] sizes = new int[16];
+
+        /**
+         * The lowest bucket that may contain literals.
+         */
+        private int current;
+
+        /**
+         * The highest bucket used since the last clear.
+         */
+        private int highest;
+
+        /**
+         * The number of literals of the queue.
+         */
+        private int size;
+
+        @Override
+        public void clear() {
+            Arrays.fill(this.sizes, 0, this.highest + 1, 0);
+            this.current = 0;
+            this.highest = 0;
+            this.size = 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        @Override
+        public void push(final int literal, final double cost) {
+            final int bucket = (int) cost;
+            if (bucket >= this.sizes.length) {
+                final int length = Math.max(bucket + 1, 2 * this.sizes.length);
+                this.buckets = Arrays.copyOf(this.buckets, length);
+                this.sizes = Arrays.copyOf(this.sizes, length);
+            }
+            if (this.buckets[bucket] == null) {
+                this.buckets[bucket] = new int[4];
+            } else if (this.sizes[bucket] == this.buckets[bucket].length) {
+                this.buckets[bucket] = Arrays.copyOf(this.buckets[bucket], 2 * this.sizes[bucket]);
+            }
+            this.buckets[bucket][this.sizes[bucket]++] = literal;
+            this.current = Math.min(this.current, bucket);
+            this.highest = Math.max(this.highest, bucket);
+            this.size++;
+        }
+
+        @Override
+        public int pop() {
+            while (this.sizes[this.current] == 0) {
+                this.current++;
+            }
+            this.size--;
+            return this.buckets[this.current][--this.sizes[this.current]];
+        }
+
+        @Override
+        public long getMemoryUsed() {
+            long memory = MemoryAccounting.sizeOf(this.sizes)
+                + MemoryAccounting.ARRAY_HEADER + this.buckets.length * MemoryAccounting.REFERENCE;
+            for (int[] bucket : this.buckets) {
+                memory += MemoryAccounting.sizeOf(bucket);
+            }
+            return memory;
+        }
+    }
+
+    /**
+     * The binary heap used when the costs of the operators are not integers.
+     */
+    private static final class HeapQueue implements LiteralQueue {
+
+        /**
+         * The serial version id of the class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The costs of the elements of the heap.
+         */
+        private double[] costs = new double[16];
+
+        /**
+         * The literals of the elements of the heap.
+         */
+        private int[] literals = new int[16];
+
+        /**
+         * The number of elements of the heap.
+         */
+        private int size;
+
+        @Override
+        public void clear() {
+            this.size = 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        @Override
+        public void push(final int literal, final double cost) {
+            if (this.size == this.costs.length) {
+                this.costs = Arrays.copyOf(this.costs, 2 * this.size);
+                this.literals = Arrays.copyOf(this.literals, 2 * this.size);
+            }
+            int i = this.size++;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (this.costs[parent] <= cost) {
+                    break;
+                }
+                this.costs[i] = this.costs[parent];
+                this.literals[i] = this.literals[parent];
+                i = parent;
+            }
+            this.costs[i] = cost;
+            this.literals[i] = literal;
+        }
+
+        @Override
+        public int pop() {
+            final int first = this.literals[0];
+            this.size--;
+            final double cost = this.costs[this.size];
+            final int literal = this.literals[this.size];
+            int i = 0;
+            int child = 1;
+            while (child < this.size) {
+                if (child + 1 < this.size && this.costs[child + 1] < this.costs[child]) {
+                    child++;
+                }
+                if (cost <= this.costs[child]) {
+                    break;
+                }
+                this.costs[i] = this.costs[child];
+                this.literals[i] = this.literals[child];
+                i = child;
+                child = 2 * i + 1;
+            }
+            this.costs[i] = cost;
+            this.literals[i] = literal;
+            return first;
+        }
+
+        @Override
+        public long getMemoryUsed() {
+            return MemoryAccounting.ARRAY_HEADER + (long) this.costs.length * Double.BYTES
+                + MemoryAccounting.sizeOf(this.literals);
+        }
+    }
+}
@@ -21,13 +21,12 @@ package fr.uga.pddl4j.heuristics.relaxation;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.util.BitExp;
-import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
 import fr.uga.pddl4j.util.BitVector;
-import fr.uga.pddl4j.util.CondBitExp;
+import fr.uga.pddl4j.util.MemoryAccounting;
+import fr.uga.pddl4j.util.UnconditionalOperators;
 
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * This abstract class implements the basic methods used by all heuristics based on the computation
@@ -48,14 +47,9 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
     private static final long serialVersionUID = 1L;
 
     /**
-     * The array of unconditional operators of the problem.
+     * The unconditional operators of the problem shared by the heuristics of the problem.
      */
-    private int[][] unconditionalOperators;
-
-    /**
-     * The array used to store for each operator its number of preconditions.
-     */
-    private int[] precondCardinality;
+    private UnconditionalOperators unconditionalOperators;
 
     /**
      * The array used to store the first level of apparition of an operator.
@@ -82,31 +76,6 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
      */
     private int[] nPropLevel;
 
-    /**
-     * The array used to store the preconditions' edges for each operator.
-     */
-    private BitExp[] precondEdges;
-
-    /**
-     * The array used to store the effects' edges for each operator.
-     */
-    private BitExp[] effectsEdges;
-
-    /**
-     * The array used to store the preconditions of the operators.
-     */
-    private BitExp[] preconditions;
-
-    /**
-     * The array used to store the effects of the operators.
-     */
-    private BitExp[] effects;
-
-    /**
-     * The array used to store the unconditional effect of the operators.
-     */
-    private BitExp[] unconditionalEffects;
-
     /**
      * The counter used to count the number of goal propositions reached.
      */
@@ -122,6 +91,11 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
      */
     private int level;
 
+    /**
+     * The helpful actions of the last state evaluated.
+     */
+    private BitVector helpfulActions;
+
     /**
      * Creates a new RelaxedGraphHeuristic heuristic.
      *
@@ -131,14 +105,9 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         super(problem);
         // Get the number of relevant facts of the problem
         final int nbRelevantFacts = super.getRevelantFacts().size();
-        // Get the number of operators of the problem
-        final int nbOperators = super.getOperators().size();
-        // Compute the number of unconditional operators
-        int nbUncondOperators = 0;
-        final List<BitOp> operators = problem.getOperators();
-        for (BitOp op : operators) {
-            nbUncondOperators += op.getCondEffects().size();
-        }
+        // Get the unconditional operators shared by the heuristics of the problem
+        this.unconditionalOperators = problem.getUnconditionalOperators();
+        final int nbUncondOperators = this.unconditionalOperators.size();
         // Initialize the array that must contain the level of the positive propositions
         this.pPropLevel = new int[nbRelevantFacts];
         // Initialize the array that must contain the level of the negative propositions
@@ -150,102 +119,41 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         // Initialize the array that must contain for each operator the number of its precondition
         // reached
         this.precondCounters = new int[nbUncondOperators];
-        // Initialize the array that must contain for each operator its preconditions
-        this.preconditions = new BitExp[nbUncondOperators];
-        // Initialize the array that must contain for each operator its effects
-        this.effects = new BitExp[nbUncondOperators];
-        // Initialize the array that must contain for each operator its unconditional effects
-        this.unconditionalEffects = new BitExp[nbOperators];
-        for (int i = 0; i < this.unconditionalEffects.length; i++) {
-            this.unconditionalEffects[i] = new BitExp();
-        }
-        // The array that contains for each proposition the list of its unconditional operators
-        this.unconditionalOperators = new int[nbUncondOperators][];
-        // Initialize the array that must contain for each operator its preconditions' edges
-        this.precondEdges = new BitExp[nbRelevantFacts];
-        for (int i = 0; i < this.precondEdges.length; i++) {
-            this.precondEdges[i] = new BitExp();
-        }
-        // Initialize the array that must contain for each operator its effects' edges
-        this.effectsEdges = new BitExp[nbRelevantFacts];
-        for (int i = 0; i < this.effectsEdges.length; i++) {
-            this.effectsEdges[i] = new BitExp();
-        }
+        // Initialize the set of helpful actions
+        this.helpfulActions = new BitVector(super.getOperators().size());
         // Initialize the number of proposition of the goal
         this.goalCardinality = super.getGoal().cardinality();
-        // The array that contains for each operator the number of propositions of its preconditions
-        this.precondCardinality = new int[nbUncondOperators];
-
-        // The index of the unconditional operators
-        int uncondOpIndex = 0;
-
-        // Start enumerating the unconditional operators
-        for (int opIndex = 0; opIndex < operators.size(); opIndex++) {
-            final BitOp op = operators.get(opIndex);
-            final List<CondBitExp> condEffects = op.getCondEffects();
-
-            // For each conditional effect we create a new operator
-            for (int ceIndex = 0; ceIndex < condEffects.size(); ceIndex++) {
-                final CondBitExp cEffect = condEffects.get(ceIndex);
-                final int[] eff = {opIndex, ceIndex};
-                this.unconditionalOperators[uncondOpIndex] = eff;
-
-                // We pre-compute the preconditions' edges
-                final BitExp pre = new BitExp(op.getPreconditions());
-                final BitVector pPre = pre.getPositive();
-                final BitVector nPre = pre.getNegative();
-                pPre.or(cEffect.getCondition().getPositive());
-                nPre.or(cEffect.getCondition().getNegative());
-                for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
-                    this.precondEdges[p].getPositive().set(uncondOpIndex);
-                }
-                for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
-                    this.precondEdges[p].getNegative().set(uncondOpIndex);
-                }
-
-                // We set the preconditions of the unconditional operator
-                this.preconditions[uncondOpIndex] = pre;
-
-                // We pre-compute the effects' edges
-                final BitExp effect = cEffect.getEffects();
-                final BitVector pEff = effect.getPositive();
-                final BitVector nEff = effect.getNegative();
-                for (int p = pEff.nextSetBit(0); p >= 0; p = pEff.nextSetBit(p + 1)) {
-                    this.effectsEdges[p].getPositive().set(uncondOpIndex);
-                }
-                for (int p = nEff.nextSetBit(0); p >= 0; p = nEff.nextSetBit(p + 1)) {
-                    this.effectsEdges[p].getNegative().set(uncondOpIndex);
-                }
-
-                // We set the effects of the unconditional operator
-                this.effects[uncondOpIndex] = effect;
-
-                // We initialize the number of precondition of the unconditional operator
-                this.precondCardinality[uncondOpIndex] = pre.cardinality();
-
-                // We initialize the unconditional effects of the operator
-                if (cEffect.getCondition().isEmpty()) {
-                    final BitExp uncondEff = this.unconditionalEffects[opIndex];
-                    final BitExp condEff = cEffect.getEffects();
-                    uncondEff.getPositive().or(condEff.getPositive());
-                    uncondEff.getNegative().or(condEff.getNegative());
-                }
-
-                // We increment the counter of unconditional operator
-                uncondOpIndex++;
-            }
-        }
+    }
 
-        // A hack for the operator without precondition
-        for (int i = 0; i < nbUncondOperators; i++) {
-            if (this.preconditions[i].isEmpty()) {
-                for (BitExp pEdge : precondEdges) {
-                    pEdge.getPositive().set(i);
-                    pEdge.getNegative().set(i);
-                }
-            }
-        }
+    /**
+     * Returns an estimation of the number of bytes used by the relaxed planning graph of this heuristic.
+     *
+     * @return an estimation of the number of bytes used by the relaxed planning graph of this heuristic.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return super.getMemoryUsed()
+            + MemoryAccounting.sizeOf(this.operatorsLevel)
+            + MemoryAccounting.sizeOf(this.precondCounters)
+            + MemoryAccounting.sizeOf(this.operatorsDifficulty)
+            + MemoryAccounting.sizeOf(this.pPropLevel)
+            + MemoryAccounting.sizeOf(this.nPropLevel)
+            + MemoryAccounting.sizeOf(this.helpfulActions);
+    }
 
+    /**
+     * Returns the helpful actions of the last state evaluated. The helpful actions are the operators
+     * applicable in the state that achieve a goal of the first level of the relaxed plan extracted, as
+     * defined by the fast forward planner. They are only computed by the heuristics that extract a
+     * relaxed plan, e.g., <code>FastForward</code>, and the set is empty if the goal is unreachable
+     * or satisfied by the state. The set returned is updated at each evaluation and must not be
+     * modified.
+     *
+     * @return the indexes of the helpful actions of the last state evaluated.
+     * @see FastForward
+     */
+    public final BitVector getHelpfulActions() {
+        return this.helpfulActions;
     }
 
     /**
@@ -267,7 +175,7 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
      * @return the level of the graph built.
      */
     protected final int expandRelaxedPlanningGraph(final BitState state) {
-
+        this.helpfulActions.clear();
         Arrays.fill(this.operatorsLevel, Integer.MAX_VALUE);
         // The array that contains the level of the positive proposition apparition
         Arrays.fill(this.pPropLevel, Integer.MAX_VALUE);
@@ -314,25 +222,27 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         final BitVector nAcc = new BitVector();
 
         // We start building the relaxed planning graph
-        // The graph is expanded until the goal and the fixed point of the graph is not reached
-        while (this.goalCounter != this.goalCardinality && (!ppk.isEmpty() || !npk.isEmpty())) {
+        // The graph is expanded until the goal and the fixed point of the graph is not reached or the
+        // computation is cancelled
+        while (this.goalCounter != this.goalCardinality && (!ppk.isEmpty() || !npk.isEmpty())
+            && !this.isCancelled()) {
             // A bit vector used to store the new operator to add
             final BitVector newOps = new BitVector();
             // For each positive proposition of the proposition layer
             for (int p = ppk.nextSetBit(0); p >= 0; p = ppk.nextSetBit(p + 1)) {
                 // We getActionSet the operator that have this positive proposition as precondition
-                final BitVector pEdges = this.precondEdges[p].getPositive();
+                final BitVector pEdges = this.unconditionalOperators.getPreconditionEdges(p).getPositive();
                 // We mark the positive proposition p has explored
                 pAcc.set(p);
                 // We update the counter associated to the operator precondition
                 for (int pe = pEdges.nextSetBit(0); pe >= 0; pe = pEdges.nextSetBit(pe + 1)) {
                     // If the operator has a no-empty set of preconditions we increment its counter
-                    if (this.precondCardinality[pe] != 0) {
+                    if (this.unconditionalOperators.getPreconditionsCardinality(pe) != 0) {
                         this.precondCounters[pe]++;
                     }
                     // Finally, if the all the preconditions of an operator hold we mark the
                     // operator has new operator for the level
-                    if (this.precondCounters[pe] == this.precondCardinality[pe]) {
+                    if (this.precondCounters[pe] == this.unconditionalOperators.getPreconditionsCardinality(pe)) {
                         newOps.set(pe);
                     }
                 }
@@ -340,18 +250,18 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
             // For each negative proposition of the proposition layer
             for (int p = npk.nextSetBit(0); p >= 0; p = npk.nextSetBit(p + 1)) {
                 // We getActionSet the operator that have this positive proposition as precondition
-                final BitVector nEdges = this.precondEdges[p].getNegative();
+                final BitVector nEdges = this.unconditionalOperators.getPreconditionEdges(p).getNegative();
                 // We mark the negative proposition p has explored
                 nAcc.set(p);
                 // We update the counter associated to the operator precondition
                 for (int pe = nEdges.nextSetBit(0); pe >= 0; pe = nEdges.nextSetBit(pe + 1)) {
                     // If the operator has a no-empty set of preconditions we increment its counter
-                    if (this.precondCardinality[pe] != 0) {
+                    if (this.unconditionalOperators.getPreconditionsCardinality(pe) != 0) {
                         this.precondCounters[pe]++;
                     }
                     // Finally, if the all the preconditions of an operator hold we mark the
                     // operator has new operator for the level
-                    if (this.precondCounters[pe] == this.precondCardinality[pe]) {
+                    if (this.precondCounters[pe] == this.unconditionalOperators.getPreconditionsCardinality(pe)) {
                         newOps.set(pe);
                     }
                 }
@@ -365,19 +275,19 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
                 // We mark o as appearing at the level k
                 this.operatorsLevel[o] = this.level;
                 // We accumulate the positive effects of o for the next proposition level k
-                pNewProps.or(this.effects[o].getPositive());
+                pNewProps.or(this.unconditionalOperators.getEffects(o).getPositive());
                 // We accumulate the negative effects of o for the next proposition level k
-                nNewProps.or(this.effects[o].getNegative());
+                nNewProps.or(this.unconditionalOperators.getEffects(o).getNegative());
                 // Then we compute the difficulty of operator as the sum of the level of their
                 // preconditions
                 this.operatorsDifficulty[o] = 0;
                 // First the sum of the positive preconditions
-                final BitVector pPre = this.preconditions[o].getPositive();
+                final BitVector pPre = this.unconditionalOperators.getPreconditions(o).getPositive();
                 for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
                     this.operatorsDifficulty[o] += this.pPropLevel[p];
                 }
                 // First the sum of the negative preconditions
-                final BitVector nPre = this.preconditions[o].getNegative();
+                final BitVector nPre = this.unconditionalOperators.getPreconditions(o).getNegative();
                 for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
                     this.operatorsDifficulty[o] += this.nPropLevel[p];
                 }
@@ -489,6 +399,8 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
         for (int g = nGoal.nextSetBit(0); g >= 0; g = nGoal.nextSetBit(g + 1)) {
             goals[this.nPropLevel[g]].getNegative().set(g);
         }
+        // The goals inserted at level 1, including those marked true afterwards, define the helpful actions
+        final BitExp firstGoals = this.level > 0 ? new BitExp(goals[1]) : null;
 
         // We start the extraction of the relaxed plan
         for (int k = level; k > 0; k--) {
@@ -503,14 +415,17 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
             // Each positive goal at level k we need to find a resolver to support it
             for (int pg = pGk.nextSetBit(0); pg >= 0; pg = pGk.nextSetBit(pg + 1)) {
                 // Select the best resolver according to the difficulty heuristic
-                final int resolverIndex = this.select(this.effectsEdges[pg].getPositive(), k);
+                final int resolverIndex = this.select(this.unconditionalOperators.getEffectEdges(pg).getPositive(), k);
                 if (resolverIndex != -1) {
-                    final BitExp pre = this.preconditions[resolverIndex];
+                    final BitExp pre = this.unconditionalOperators.getPreconditions(resolverIndex);
                     final BitVector pPre = pre.getPositive();
                     for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
                         final int pLevel = this.pPropLevel[p];
                         if (pLevel != 0 && !pGk1.get(p)) {
                             goals[pLevel].getPositive().set(p);
+                            if (pLevel == 1) {
+                                firstGoals.getPositive().set(p);
+                            }
                         }
                     }
                     final BitVector nPre = pre.getNegative();
@@ -518,10 +433,13 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
                         final int pLevel = this.nPropLevel[p];
                         if (pLevel != 0 && !nGk1.get(p)) {
                             goals[pLevel].getNegative().set(p);
+                            if (pLevel == 1) {
+                                firstGoals.getNegative().set(p);
+                            }
                         }
                     }
                     // Get the effects of the operator marked them as true
-                    final BitExp effect = this.effects[resolverIndex];
+                    final BitExp effect = this.unconditionalOperators.getEffects(resolverIndex);
                     final BitVector pEffect = effect.getPositive();
                     final BitVector nEffect = effect.getNegative();
                     pGk1.andNot(pEffect);
@@ -529,7 +447,7 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
                     pGk.andNot(pEffect);
                     nGk.andNot(nEffect);
                     // We increment the number of action of the relaxed plan
-                    value += this.getOperators().get(resolverIndex).getCost();
+                    value += this.unconditionalOperators.getCost(resolverIndex);
                 } else { // NOOP case
                     pGk1.clear(pg);
                     pGk.clear(pg);
@@ -537,14 +455,17 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
             }
             // Each negative goal at level k we need to find a resolver to support it
             for (int ng = nGk.nextSetBit(0); ng >= 0; ng = nGk.nextSetBit(ng + 1)) {
-                final int resolverIndex = this.select(this.effectsEdges[ng].getNegative(), k);
+                final int resolverIndex = this.select(this.unconditionalOperators.getEffectEdges(ng).getNegative(), k);
                 if (resolverIndex != -1) {
-                    final BitExp pre = this.preconditions[resolverIndex];
+                    final BitExp pre = this.unconditionalOperators.getPreconditions(resolverIndex);
                     final BitVector pPre = pre.getPositive();
                     for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
                         final int pLevel = this.pPropLevel[p];
                         if (pLevel != 0 && !pGk1.get(p)) {
                             goals[pLevel].getPositive().set(p);
+                            if (pLevel == 1) {
+                                firstGoals.getPositive().set(p);
+                            }
                         }
                     }
                     final BitVector nPre = pre.getNegative();
@@ -552,10 +473,13 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
                         final int pLevel = this.nPropLevel[p];
                         if (pLevel != 0 && !nGk1.get(p)) {
                             goals[pLevel].getNegative().set(p);
+                            if (pLevel == 1) {
+                                firstGoals.getNegative().set(p);
+                            }
                         }
                     }
                     // Get the effects of the operator marked them as true
-                    final BitExp effect = this.effects[resolverIndex];
+                    final BitExp effect = this.unconditionalOperators.getEffects(resolverIndex);
                     final BitVector pEffect = effect.getPositive();
                     final BitVector nEffect = effect.getNegative();
                     pGk1.andNot(pEffect);
@@ -563,16 +487,46 @@ public abstract class RelaxedGraphHeuristic extends AbstractHeuristic {
                     pGk.andNot(pEffect);
                     nGk.andNot(nEffect);
                     // We increment the number of action of the relaxed plan
-                    value += this.getOperators().get(resolverIndex).getCost();
+                    value += this.unconditionalOperators.getCost(resolverIndex);
                 } else { // NOOP case
                     nGk1.set(ng);
                     nGk.clear(ng);
                 }
             }
         }
+        if (firstGoals != null) {
+            this.addHelpfulActions(firstGoals.getPositive(), firstGoals.getNegative());
+        }
         return value;
     }
 
+    /**
+     * Adds to the helpful actions the operators applicable in the state evaluated that achieve a
+     * specified goal. An unconditional operator is applicable if its preconditions are at level 0 of
+     * the graph.
+     *
+     * @param pGoal the positive goal.
+     * @param nGoal the negative goal.
+     */
+    private void addHelpfulActions(final BitVector pGoal, final BitVector nGoal) {
+        for (int g = pGoal.nextSetBit(0); g >= 0; g = pGoal.nextSetBit(g + 1)) {
+            final BitVector achievers = this.unconditionalOperators.getEffectEdges(g).getPositive();
+            for (int o = achievers.nextSetBit(0); o >= 0; o = achievers.nextSetBit(o + 1)) {
+                if (this.operatorsLevel[o] == 0 || this.unconditionalOperators.getPreconditionsCardinality(o) == 0) {
+                    this.helpfulActions.set(this.unconditionalOperators.getOperator(o));
+                }
+            }
+        }
+        for (int g = nGoal.nextSetBit(0); g >= 0; g = nGoal.nextSetBit(g + 1)) {
+            final BitVector achievers = this.unconditionalOperators.getEffectEdges(g).getNegative();
+            for (int o = achievers.nextSetBit(0); o >= 0; o = achievers.nextSetBit(o + 1)) {
+                if (this.operatorsLevel[o] == 0 || this.unconditionalOperators.getPreconditionsCardinality(o) == 0) {
+                    this.helpfulActions.set(this.unconditionalOperators.getOperator(o));
+                }
+            }
+        }
+    }
+
     /**
      * Select an effect according to the unconditional operators difficulty heuristic. The question
      * is, which achiever should be choose when no NOOP is available ? It is certainly a good idea
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.relaxation;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitState;
+
+/**
+ * This class implements the SUM heuristic with the costs of the operators, i.e., the cost of
+ * achieving an atom <i>p</i> from a state <i>s</i> is defined recursively as:
+ * <ul>
+ * <li> <i>gs(p)</i> = 0, if <i>p</i> is in <i>s</i>,
+ * <li> <i>gs(p)</i> = min[cost(op) + <i>gs(Prec(op))]</i> for each <i>op</i> in <i>O(p)</i>,
+ * otherwise
+ * </ul>
+ * <p>
+ * where the cost <i>gs(C)</i> of a set of atoms is the sum of the costs of its atoms. Unlike the
+ * <code>Sum</code> heuristic, which sums the levels of the relaxed planning graph, the value is
+ * computed with the costs of the operators, so that it is meaningful for domains with action costs.
+ * </p>
+ * <b>Warning:</b> The sum cost heuristic is not admissible.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 24.04.2019
+ * @see RelaxedCostHeuristic
+ * @since 3.8.3
+ */
+public final class SumCost extends RelaxedCostHeuristic {
+
+    /**
+     * The serial version id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new <code>SUM_COST</code> heuristic for a specified planning problem.
+     *
+     * @param problem the planning problem.
+     * @throws NullPointerException if <code>problem == null</code>.
+     */
+    public SumCost(final CodedProblem problem) {
+        super(problem, true);
+        super.setAdmissible(false);
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. If the return value is
+     * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
+     * state. The value is the cost computed rounded down.
+     *
+     * @param state the state from which the distance to the goal must be estimated.
+     * @param goal  the goal expression.
+     * @return the distance to the goal state from the specified state.
+     * @throws NullPointerException if <code>state == null &#38;&#38; goal == null</code>.
+     */
+    @Override
+    public int estimate(final BitState state, final BitExp goal) {
+        super.setGoal(goal);
+        return super.propagateCosts(state) ? RelaxedCostHeuristic.toInt(super.getSumCost()) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Return the estimated distance to the goal to reach the specified state. If the return value is
+     * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
+     * state.
+     *
+     * @param node the state from which the distance to the goal must be estimated.
+     * @param goal the goal expression.
+     * @return the distance to the goal state from the specified state.
+     */
+    @Override
+    public double estimate(final Node node, final BitExp goal) {
+        super.setGoal(goal);
+        return super.propagateCosts(node) ? super.getSumCost() : Integer.MAX_VALUE;
+    }
+
+}
@@ -55,22 +55,22 @@ public class Domain implements Serializable {
     /**
      * The list of types declared in the domain.
      */
-    private List<TypedSymbol> types;
+    private IndexedList<TypedSymbol> types;
 
     /**
      * The list of constants declared in the domain.
      */
-    private List<TypedSymbol> constants;
+    private IndexedList<TypedSymbol> constants;
 
     /**
      * The list of predicates used in the domain and the problem.
      */
-    private List<NamedTypedList> predicates;
+    private IndexedList<NamedTypedList> predicates;
 
     /**
      * The list of functions used in the domain and the problem.
      */
-    private List<NamedTypedList> functions;
+    private IndexedList<NamedTypedList> functions;
 
     /**
      * The constraints declared in the domain.
@@ -110,11 +110,11 @@ public class Domain implements Serializable {
         }
         this.name = name;
         this.requirements = new LinkedHashSet<>();
-        this.types = new ArrayList<>();
+        this.types = new IndexedList<>(s -> s);
         this.types.add(new TypedSymbol(Parser.OBJECT));
-        this.constants = new ArrayList<>();
-        this.predicates = new ArrayList<>();
-        this.functions = new ArrayList<>();
+        this.constants = new IndexedList<>(s -> s);
+        this.predicates = new IndexedList<>(NamedTypedList::getName);
+        this.functions = new IndexedList<>(NamedTypedList::getName);
         this.constraints = null;
         this.ops = new ArrayList<>();
         this.meths = new ArrayList<>();
@@ -352,7 +352,7 @@ public class Domain implements Serializable {
      * @return <code>true</code> if the specified symbol is a declared type; <code>false</code> otherwise.
      */
     public boolean isDeclaredType(final Symbol type) {
-        return this.types.contains(type);
+        return this.types.indexOfKey(type) != -1;
     }
 
     /**
@@ -362,7 +362,7 @@ public class Domain implements Serializable {
      * @return the type from a specified symbol or <code>null</code> if no type with this symbol was declared.
      */
     public TypedSymbol getType(Symbol symbol) {
-        int index = this.types.indexOf(symbol);
+        int index = this.types.indexOfKey(symbol);
         return (index == -1) ? null : this.types.get(index);
     }
 
@@ -373,7 +373,7 @@ public class Domain implements Serializable {
      * @return <code>true</code> if the specified symbol is a declared constant; <code>false</code> otherwise.
      */
     public boolean isDeclaredConstant(final Symbol constant) {
-        return this.types.contains(constant);
+        return this.constants.indexOfKey(constant) != -1;
     }
 
     /**
@@ -384,10 +384,32 @@ public class Domain implements Serializable {
      *          symbol was declared.
      */
     public TypedSymbol getConstant(Symbol symbol) {
-        int index = this.constants.indexOf(symbol);
+        int index = this.constants.indexOfKey(symbol);
         return (index == -1) ? null : this.constants.get(index);
     }
 
+    /**
+     * Returns the predicates declared in the domain with a specified name.
+     *
+     * @param name the name of the predicates.
+     * @return the predicates declared in the domain with the specified name in their order of
+     *          declaration.
+     */
+    public List<NamedTypedList> getPredicates(final Symbol name) {
+        return this.predicates.getAllByKey(name);
+    }
+
+    /**
+     * Returns the functions declared in the domain with a specified name.
+     *
+     * @param name the name of the functions.
+     * @return the functions declared in the domain with the specified name in their order of
+     *          declaration.
+     */
+    public List<NamedTypedList> getFunctions(final Symbol name) {
+        return this.functions.getAllByKey(name);
+    }
+
     /**
      * Return if this domain is equal to another specified object.
      *
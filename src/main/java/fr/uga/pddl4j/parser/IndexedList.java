@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.parser;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class implements an array list that maintains a hash index from a key of its elements to
+ * their positions in the list. The index is updated when an element is appended with
+ * <code>add()</code> and rebuilt lazily after any other modification of the list, so that the
+ * list can still be modified directly through the <code>List</code> interface.
+ *
+ * @param <E> the type of the elements of the list.
+ * @author D. Pellier
+ * @version 1.0 - 11.04.2019
+ * @since 3.8.3
+ */
+final class IndexedList<E> extends ArrayList<E> {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The function used to compute the key of an element.
+     */
+    private final Key<? super E> key;
+
+    /**
+     * The index from the keys of the elements to their positions in the list.
+     */
+    private transient Map<Object, List<Integer>> index;
+
+    /**
+     * The modification count of the list when the index was last synchronized.
+     */
+    private transient int indexedModCount;
+
+    /**
+     * Creates a new empty indexed list.
+     *
+     * @param key the function used to compute the key of an element.
+     */
+    IndexedList(final Key<? super E> key) {
+        super();
+        this.key = key;
+        this.index = null;
+    }
+
+    /**
+     * Appends an element at the end of the list and updates the index.
+     *
+     * @param element the element to add.
+     * @return <code>true</code>.
+     */
+    @Override
+    public boolean add(final E element) {
+        final boolean synchronizedIndex = this.index != null && this.indexedModCount == this.modCount;
+        final boolean added = super.add(element);
+        if (synchronizedIndex) {
+            this.index.computeIfAbsent(this.key.apply(element), k -> new ArrayList<>(1)).add(this.size() - 1);
+            this.indexedModCount = this.modCount;
+        }
+        return added;
+    }
+
+    /**
+     * Replaces the element at the specified position in this list. The index is invalidated.
+     *
+     * @param position the position of the element to replace.
+     * @param element the new element.
+     * @return the element previously at the specified position.
+     */
+    @Override
+    public E set(final int position, final E element) {
+        this.index = null;
+        return super.set(position, element);
+    }
+
+    /**
+     * Returns a shallow copy of this list. The copy does not share the index of this list.
+     *
+     * @return a shallow copy of this list.
+     */
+    @Override
+    public Object clone() {
+        @SuppressWarnings("unchecked")
+        final IndexedList<E> copy = (IndexedList<E>) super.clone();
+        copy.index = null;
+        return copy;
+    }
+
+    /**
+     * Returns the position of the first element of the list with the specified key.
+     *
+     * @param key the key.
+     * @return the position of the first element with the specified key or -1 if there is no such
+     *          element in the list.
+     */
+    int indexOfKey(final Object key) {
+        final List<Integer> positions = this.getIndex().get(key);
+        return positions == null ? -1 : positions.get(0);
+    }
+
+    /**
+     * Returns the elements of the list with the specified key in the order of the list.
+     *
+     * @param key the key.
+     * @return the elements of the list with the specified key.
+     */
+    List<E> getAllByKey(final Object key) {
+        final List<Integer> positions = this.getIndex().get(key);
+        if (positions == null) {
+            return Collections.emptyList();
+        }
+        final List<E> elements = new ArrayList<>(positions.size());
+        for (Integer position : positions) {
+            elements.add(this.get(position));
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the index of the list. The index is rebuilt if the list was modified since its last
+     * synchronization.
+     *
+     * @return the index of the list.
+     */
+    private Map<Object, List<Integer>> getIndex() {
+        if (this.index == null || this.indexedModCount != this.modCount) {
+            this.index = new HashMap<>();
+            for (int i = 0; i < this.size(); i++) {
+                this.index.computeIfAbsent(this.key.apply(this.get(i)), k -> new ArrayList<>(1)).add(i);
+            }
+            this.indexedModCount = this.modCount;
+        }
+        return this.index;
+    }
+
+    /**
+     * The serializable function used to compute the key of the elements of an indexed list.
+     *
+     * @param <T> the type of the elements.
+     */
+    @FunctionalInterface
+    interface Key<T> extends Function<T, Object>, Serializable {
+    }
+}
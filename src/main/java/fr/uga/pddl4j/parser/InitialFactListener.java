@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.parser;
+
+/**
+ * This interface defines a listener notified of the initial facts of a problem as soon as they are
+ * parsed. When a listener is set on the parser, the initial facts are streamed to the listener and
+ * are not stored in the problem.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 13.04.2019
+ * @since 3.8.3
+ * @see Parser#setInitialFactListener(InitialFactListener)
+ */
+@FunctionalInterface
+public interface InitialFactListener {
+
+    /**
+     * Called when an initial fact of the problem was parsed.
+     *
+     * @param fact the initial fact parsed.
+     */
+    void parsed(Exp fact);
+
+}
@@ -138,6 +138,12 @@ public final class Parser {
      */
     private Problem problem;
 
+    /**
+     * The listener to which the initial facts are streamed or <code>null</code> if the initial
+     * facts are stored in the problem.
+     */
+    private InitialFactListener initialFactListener;
+
     /**
      * Create a new <tt>Parser</tt>.
      */
@@ -173,6 +179,7 @@ public final class Parser {
                 this.lexer = new Lexer(inputStream);
             } else {
                 this.lexer.ReInit(inputStream);
+                this.lexer.setSymbolTable(new SymbolTable());
             }
             lexer.setErrorManager(this.mgr);
             lexer.setFile(domain);
@@ -228,6 +235,7 @@ public final class Parser {
                 this.lexer.ReInit(inputStream);
             }
             this.lexer.setFile(problem);
+            this.lexer.setInitialFactListener(this.initialFactListener == null ? null : this::streamInitialFact);
             this.lexer.problem();
             this.problem = this.lexer.getProblem();
             try {
@@ -273,6 +281,8 @@ public final class Parser {
             this.lexer = new Lexer(new FileInputStream(domainAndProblem));
             lexer.setErrorManager(this.mgr);
             lexer.setFile(domainAndProblem);
+            this.lexer.setInitialFactListener(this.initialFactListener == null ? null : this::streamInitialFact);
+            this.domain = null;
             this.lexer.domain_and_problem();
             this.domain = this.lexer.getDomain();
             this.problem = this.lexer.getProblem();
@@ -451,6 +461,46 @@ public final class Parser {
         return this.problem;
     }
 
+    /**
+     * Returns the listener to which the initial facts of the problems parsed are streamed.
+     *
+     * @return the listener to which the initial facts are streamed or <code>null</code> if the
+     *          initial facts are stored in the problem.
+     */
+    public final InitialFactListener getInitialFactListener() {
+        return this.initialFactListener;
+    }
+
+    /**
+     * Sets the listener to which the initial facts of the problems parsed are streamed. When a
+     * listener is set, each initial fact is checked as soon as it is parsed and only the well
+     * formed facts are passed to the listener. The initial facts are not stored in the problem,
+     * which saves memory for problems with a very large initial state. The objects of the problem
+     * must be declared before its initial facts. Set the listener to <code>null</code> to store
+     * the initial facts in the problem again.
+     *
+     * @param listener the listener to which the initial facts are streamed.
+     */
+    public final void setInitialFactListener(final InitialFactListener listener) {
+        this.initialFactListener = listener;
+    }
+
+    /**
+     * Checks an initial fact as soon as it is parsed and passes it to the initial fact listener
+     * if it is well formed.
+     *
+     * @param fact the initial fact parsed.
+     */
+    private void streamInitialFact(final Exp fact) {
+        this.problem = this.lexer.getProblem();
+        if (this.domain == null) {
+            this.domain = this.lexer.getDomain();
+        }
+        if (this.checkInitialFact(fact)) {
+            this.initialFactListener.parsed(fact);
+        }
+    }
+
     /**
      * Check if the metric declared in the domain is well formed.
      *
@@ -614,9 +664,23 @@ public final class Parser {
      * @return <code>true</code> if the initial facts are well formed; <code>false</code> otherwise.
      */
     private boolean checkInitialFacts() {
+        boolean checked = true;
+        for (Exp fact : this.problem.getInit()) {
+            checked &= this.checkInitialFact(fact);
+        }
+        return checked;
+    }
+
+    /**
+     * Check an initial fact of the problem.
+     *
+     * @param fact the initial fact to check.
+     * @return <code>true</code> if the initial fact is well formed; <code>false</code> otherwise.
+     */
+    private boolean checkInitialFact(final Exp fact) {
         boolean checked = true;
         LinkedList<Exp> stackGD = new LinkedList<>();
-        stackGD.addAll(this.problem.getInit());
+        stackGD.add(fact);
         while (!stackGD.isEmpty()) {
             Exp gd = stackGD.poll();
             switch (gd.getConnective()) {
@@ -1094,12 +1158,12 @@ public final class Parser {
      * @return <code>true</code> if this predicate was previously declared; <code>false</code> otherwise.
      */
     private boolean isDeclaredPredicate(NamedTypedList predicate) {
+        final List<NamedTypedList> candidates = this.domain.getPredicates(predicate.getName());
         boolean checked = false;
         int i = 0;
-        while (i < this.domain.getPredicates().size() && !checked) {
-            NamedTypedList p = this.domain.getPredicates().get(i);
-            if (predicate.getName().equals(p.getName())
-                && predicate.getArguments().size() == p.getArguments().size()) {
+        while (i < candidates.size() && !checked) {
+            NamedTypedList p = candidates.get(i);
+            if (predicate.getArguments().size() == p.getArguments().size()) {
                 int j = 0;
                 checked = true;
                 while (j < predicate.getArguments().size() && checked) {
@@ -1121,12 +1185,12 @@ public final class Parser {
      * @return <code>true</code> if this function was previously declared; <code>false</code> otherwise.
      */
     private boolean isDeclaredFunction(NamedTypedList function) {
+        final List<NamedTypedList> candidates = this.domain.getFunctions(function.getName());
         boolean checked = false;
         int i = 0;
-        while (i < this.domain.getFunctions().size() && !checked) {
-            NamedTypedList p = this.domain.getFunctions().get(i);
-            if (function.getName().equals(p.getName())
-                && function.getArguments().size() == p.getArguments().size()) {
+        while (i < candidates.size() && !checked) {
+            NamedTypedList p = candidates.get(i);
+            if (function.getArguments().size() == p.getArguments().size()) {
                 int j = 0;
                 checked = true;
                 while (j < function.getArguments().size() && checked) {
@@ -58,7 +58,7 @@ public class Problem implements Serializable {
     /**
      * The list of objects declared in the problem.
      */
-    private List<TypedSymbol> objects;
+    private IndexedList<TypedSymbol> objects;
 
     /**
      * The list of initial facts declared in the problem.
@@ -98,7 +98,7 @@ public class Problem implements Serializable {
         }
         this.name = name;
         this.requirements = new LinkedHashSet<>();
-        this.objects = new ArrayList<>();
+        this.objects = new IndexedList<>(s -> s);
         this.initialFacts = new ArrayList<>();
         this.goal = null;
         this.constraints = null;
@@ -277,7 +277,7 @@ public class Problem implements Serializable {
      * @return the object from a specified symbol or <code>null</code> if no object with this symbol was declared.
      */
     public final TypedSymbol getObject(final Symbol symbol) {
-        final int index = this.objects.indexOf(symbol);
+        final int index = this.objects.indexOfKey(symbol);
         return (index == -1) ? null : this.objects.get(index);
     }
 
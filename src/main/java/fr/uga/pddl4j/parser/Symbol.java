@@ -45,6 +45,17 @@ public class Symbol implements Serializable {
      */
     public static final String DEFAULT_VARIABLE_SYMBOL = "?X";
 
+    /**
+     * The images of the first renamed variables shared by all the symbols renamed.
+     */
+    private static final String[] VARIABLE_IMAGES = new String[64];
+
+    static {
+        for (int i = 0; i < Symbol.VARIABLE_IMAGES.length; i++) {
+            Symbol.VARIABLE_IMAGES[i] = Symbol.DEFAULT_VARIABLE_SYMBOL + i;
+        }
+    }
+
     /**
      * The enumeration used to specified the different types of the symbol.
      */
@@ -310,7 +321,8 @@ public class Symbol implements Serializable {
         String img = null;
         if (this.getKind().equals(Symbol.Kind.VARIABLE)) {
             img = this.getImage();
-            this.setImage(Symbol.DEFAULT_VARIABLE_SYMBOL + index);
+            this.setImage(index < Symbol.VARIABLE_IMAGES.length ? Symbol.VARIABLE_IMAGES[index]
+                : Symbol.DEFAULT_VARIABLE_SYMBOL + index);
         }
         return img;
     }
@@ -348,6 +360,9 @@ public class Symbol implements Serializable {
      */
     @Override
     public boolean equals(final Object object) {
+        if (object == this) {
+            return true;
+        }
         if (object != null && object instanceof Symbol) {
             Symbol other = (Symbol) object;
             return other.getImage().equals(this.getImage());
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.parser;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class implements the table used to deduplicate the images of the symbols read by the lexer.
+ * All the symbols with the same image parsed with the same table share a single canonical string,
+ * so that the memory used by the images is proportional to the number of distinct symbols and not
+ * to the number of tokens of the files parsed.
+ * <p>
+ * Only the images are shared: the symbols keep their own instance, with their source positions,
+ * and their equality is still based on their image.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 14.04.2019
+ * @since 3.8.3
+ */
+public final class SymbolTable implements Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The map from the images to their canonical representation.
+     */
+    private final Map<String, String> images;
+
+    /**
+     * Creates a new empty symbol table.
+     */
+    public SymbolTable() {
+        super();
+        this.images = new HashMap<>();
+    }
+
+    /**
+     * Returns the canonical representation of an image. If the image was not interned before, the
+     * specified image becomes the canonical representation.
+     *
+     * @param image the image to intern.
+     * @return the canonical representation of the image.
+     * @throws NullPointerException if the specified image is <code>null</code>.
+     */
+    public String intern(final String image) {
+        if (image == null) {
+            throw new NullPointerException("image == null");
+        }
+        final String canonical = this.images.putIfAbsent(image, image);
+        return canonical == null ? image : canonical;
+    }
+
+    /**
+     * Returns the number of images interned.
+     *
+     * @return the number of images interned.
+     */
+    public int size() {
+        return this.images.size();
+    }
+}
@@ -16,7 +16,9 @@
 package fr.uga.pddl4j.planners;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.CodedProblemFile;
 import fr.uga.pddl4j.encoding.Encoder;
+import fr.uga.pddl4j.encoding.StreamedInitialState;
 import fr.uga.pddl4j.parser.Domain;
 import fr.uga.pddl4j.parser.ErrorManager;
 import fr.uga.pddl4j.parser.Parser;
@@ -27,6 +29,7 @@ import org.apache.logging.log4j.Logger;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * This class defines the main methods of to create planning problem.
@@ -53,11 +56,22 @@ public class ProblemFactory {
      */
     private Parser parser;
 
+    /**
+     * The initial state streamed by the parser during the last parsing or <code>null</code> if the
+     * initial state was stored in the problem.
+     */
+    private StreamedInitialState streamedInit;
+
     /**
      * The trace level.
      */
     private int traceLevel;
 
+    /**
+     * The mode of instantiation of the operators used to encode the problems.
+     */
+    private Encoder.InstantiationMode instantiationMode;
+
     /**
      * The default trace level.
      */
@@ -69,7 +83,9 @@ public class ProblemFactory {
     public ProblemFactory() {
         super();
         this.parser = new Parser();
+        this.streamedInit = null;
         this.traceLevel = ProblemFactory.DEFAULT_TRACE_LEVEL;
+        this.instantiationMode = Encoder.InstantiationMode.SEQUENTIAL;
     }
 
     /**
@@ -91,6 +107,7 @@ public class ProblemFactory {
      * @throws IOException           if an error occur during parsing.
      */
     public ErrorManager parse(final File domain, final File problem) throws IOException {
+        this.streamedInit = null;
         this.parser.parse(domain, problem);
         return parser.getErrorManager();
     }
@@ -105,6 +122,7 @@ public class ProblemFactory {
      * @throws IOException           if an error occur during parsing.
      */
     public ErrorManager parse(final String domain, final String problem) throws IOException {
+        this.streamedInit = null;
         this.parser.parse(domain, problem);
         return parser.getErrorManager();
     }
@@ -118,10 +136,35 @@ public class ProblemFactory {
      * @throws IOException if an error occur during parsing
      */
     public ErrorManager parseFromString(final String domain, final String problem) throws IOException {
+        this.streamedInit = null;
         this.parser.parseFromString(domain, problem);
         return parser.getErrorManager();
     }
 
+    /**
+     * Parses the domain and the problem description in streaming mode. The initial facts of the
+     * problem are checked and encoded as soon as they are parsed instead of being stored in the
+     * problem. This mode reduces the memory needed to parse problems with a very large initial
+     * state. The problem parsed is encoded as usual with the method <code>encode()</code>.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file
+     * @return the error manager of the parser used to parse.
+     * @throws FileNotFoundException if the domain or the problem file was not found.
+     * @throws IOException           if an error occur during parsing.
+     * @see StreamedInitialState
+     */
+    public ErrorManager parseStreaming(final File domain, final File problem) throws IOException {
+        this.streamedInit = new StreamedInitialState(this.parser);
+        this.parser.setInitialFactListener(this.streamedInit);
+        try {
+            this.parser.parse(domain, problem);
+        } finally {
+            this.parser.setInitialFactListener(null);
+        }
+        return parser.getErrorManager();
+    }
+
     /**
      * Encodes and instantiates the planning problem.
      *
@@ -133,15 +176,42 @@ public class ProblemFactory {
         }
         final Domain domain = this.parser.getDomain();
         final Problem problem = this.parser.getProblem();
-        Encoder.setLogLevel(this.getTraceLevel());
         try {
-            return Encoder.encode(domain, problem);
+            return Encoder.encode(domain, problem, this.streamedInit, this.getTraceLevel(),
+                this.instantiationMode);
         } catch (IllegalArgumentException ilException) {
             LOGGER.error("the problem to encode is not ADL, \":requirements\" not supported at this time\n");
             return null;
         }
     }
 
+    /**
+     * Saves an encoded planning problem in a specified file in the binary format of <code>CodedProblemFile</code>.
+     * The problem saved can be loaded with the method <code>load()</code> without parsing and encoding again its
+     * domain and its problem.
+     *
+     * @param problem the encoded planning problem to save.
+     * @param file    the file.
+     * @throws IOException if an error occurs while writing the file.
+     * @see CodedProblemFile
+     */
+    public void save(final CodedProblem problem, final File file) throws IOException {
+        CodedProblemFile.save(problem, file);
+    }
+
+    /**
+     * Loads an encoded planning problem previously saved with the method <code>save()</code>. The operators of the
+     * problem are decoded from the file only when they are accessed.
+     *
+     * @param file the file.
+     * @return the encoded planning problem loaded.
+     * @throws IOException if an error occurs while reading the file or if the file is not a valid problem file.
+     * @see CodedProblemFile
+     */
+    public CodedProblem load(final File file) throws IOException {
+        return CodedProblemFile.load(file);
+    }
+
     /**
      * Sets the trace level. The levels are defined as follows:
      * <ol>
@@ -169,4 +239,25 @@ public class ProblemFactory {
         return this.traceLevel;
     }
 
+    /**
+     * Returns the mode of instantiation of the operators used to encode the problems.
+     *
+     * @return the mode of instantiation of the operators.
+     */
+    public final Encoder.InstantiationMode getInstantiationMode() {
+        return this.instantiationMode;
+    }
+
+    /**
+     * Sets the mode of instantiation of the operators used to encode the problems. The mode only applies to the
+     * problems encoded by this factory. By default, the operators are instantiated sequentially.
+     *
+     * @param mode the mode of instantiation of the operators. The mode cannot be null.
+     * @see Encoder.InstantiationMode
+     */
+    public final void setInstantiationMode(final Encoder.InstantiationMode mode) {
+        Objects.requireNonNull(mode);
+        this.instantiationMode = mode;
+    }
+
 }
@@ -57,6 +57,16 @@ public interface StateSpacePlanner extends Planner {
      */
     double DEFAULT_WEIGHT = 1.0;
 
+    /**
+     * The number of threads key for properties.
+     */
+    String THREADS = "THREADS";
+
+    /**
+     * The default number of threads used by the search.
+     */
+    int DEFAULT_THREADS = 1;
+
     /**
      * The default anytime value.
      */
@@ -102,6 +112,7 @@ public interface StateSpacePlanner extends Planner {
         options.put(StateSpacePlanner.PLANNER, StateSpacePlanner.DEFAULT_STATE_SPACE_PLANNER);
         options.put(StateSpacePlanner.HEURISTIC, StateSpacePlanner.DEFAULT_HEURISTIC);
         options.put(StateSpacePlanner.WEIGHT, StateSpacePlanner.DEFAULT_WEIGHT);
+        options.put(StateSpacePlanner.THREADS, StateSpacePlanner.DEFAULT_THREADS);
         return options;
     }
 }
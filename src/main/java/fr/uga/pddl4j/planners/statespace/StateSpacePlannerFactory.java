@@ -166,10 +166,32 @@ public class StateSpacePlannerFactory implements Serializable {
     public AbstractStateSpacePlanner getPlanner(final Planner.Name name, final int timeout,
                                                 final Heuristic.Type heuristicType, final double weight,
                                                 final boolean statisticState, final int traceLevel) {
+        return this.getPlanner(name, timeout, heuristicType, weight, StateSpacePlanner.DEFAULT_THREADS,
+            statisticState, traceLevel);
+    }
+
+    /**
+     * Returns an instance of the specified state based planner. The number of threads is only used by
+     * the HSP planner: with more than one thread, HSP uses the hash distributed A* search.
+     *
+     * @param name           the name of the state based planner.
+     * @param timeout        the time out of the planner.
+     * @param heuristicType  the heuristicType to use to solve the planning problem.
+     * @param weight         the weight set to the heuristic.
+     * @param threads        the number of threads used by the search.
+     * @param statisticState the statistics generation value.
+     * @param traceLevel     the trace level of the planner.
+     * @return an instance of the specified planner.
+     * @see fr.uga.pddl4j.planners.Planner.Name
+     */
+    public AbstractStateSpacePlanner getPlanner(final Planner.Name name, final int timeout,
+                                                final Heuristic.Type heuristicType, final double weight,
+                                                final int threads, final boolean statisticState,
+                                                final int traceLevel) {
         AbstractStateSpacePlanner planner = null;
         switch (name) {
             case HSP:
-                planner = new HSP(timeout, heuristicType, weight, statisticState, traceLevel);
+                planner = new HSP(timeout, heuristicType, weight, threads, statisticState, traceLevel);
                 break;
 
             case FF:
@@ -208,6 +230,7 @@ public class StateSpacePlannerFactory implements Serializable {
             .append("     0      HSP planner\n")
             .append("     1      FF planner\n")
             .append("     2      FF Anytime planner\n")
+            .append("-n <num>    specifies the number of threads used by the HSP planner (preset: 1)\n")
             .append("-u <num>    specifies the heuristic to used (preset: 0)\n")
             .append("     0      ff heuristic\n")
             .append("     1      sum heuristic\n")
@@ -219,6 +242,9 @@ public class StateSpacePlannerFactory implements Serializable {
             .append("     7      max heuristic\n")
             .append("     8      set-level heuristic\n")
             .append("     9      min cost heuristic\n")
+            .append("     10     max heuristic with action costs\n")
+            .append("     11     sum heuristic with action costs\n")
+            .append("     12     ff heuristic with action costs\n")
             .append("-i <num>    run-time information level (preset: 1)\n")
             .append("     0      nothing\n")
             .append("     1      info on action number, search and search\n")
@@ -292,7 +318,7 @@ public class StateSpacePlannerFactory implements Serializable {
                     arguments.put(AbstractStateSpacePlanner.TIMEOUT, cpu);
                 } else if ("-u".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
                     final int heuristic = Integer.parseInt(args[i + 1]);
-                    if (heuristic < 0 || heuristic > 9) {
+                    if (heuristic < 0 || heuristic > 12) {
                         LOGGER.trace(StateSpacePlannerFactory.printUsage());
                     }
                     if (heuristic == 0) {
@@ -322,10 +348,26 @@ public class StateSpacePlannerFactory implements Serializable {
                     } else if (heuristic == 8) {
                         arguments.put(AbstractStateSpacePlanner.HEURISTIC,
                             Heuristic.Type.SET_LEVEL);
+                    } else if (heuristic == 10) {
+                        arguments.put(AbstractStateSpacePlanner.HEURISTIC,
+                            Heuristic.Type.MAX_COST);
+                    } else if (heuristic == 11) {
+                        arguments.put(AbstractStateSpacePlanner.HEURISTIC,
+                            Heuristic.Type.SUM_COST);
+                    } else if (heuristic == 12) {
+                        arguments.put(AbstractStateSpacePlanner.HEURISTIC,
+                            Heuristic.Type.FAST_FORWARD_COST);
                     } else {
                         arguments.put(AbstractStateSpacePlanner.HEURISTIC,
                             Heuristic.Type.MIN_COST);
                     }
+                } else if ("-n".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                    final int threads = Integer.parseInt(args[i + 1]);
+                    if (threads < 1) {
+                        LOGGER.trace(StateSpacePlannerFactory.printUsage());
+                        throw new RuntimeException("Wrong number of threads argument");
+                    }
+                    arguments.put(StateSpacePlanner.THREADS, threads);
                 } else if ("-w".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
                     final double weight = Double.parseDouble(args[i + 1]);
                     if (weight < 0) {
@@ -390,6 +432,9 @@ public class StateSpacePlannerFactory implements Serializable {
      *      7      max heuristic
      *      8      set-level heuristic
      *      9      min cost heuristic
+     *      10     max heuristic with action costs
+     *      11     sum heuristic with action costs
+     *      12     ff heuristic with action costs
      * -i <i>num</i>   run-time information level (preset: 1)
      *      0      nothing
      *      1      info on action number, search and search
@@ -434,11 +479,12 @@ public class StateSpacePlannerFactory implements Serializable {
             final int timeout = (Integer) arguments.get(AbstractStateSpacePlanner.TIMEOUT);
             final Heuristic.Type heuristicType = (Heuristic.Type) arguments.get(AbstractStateSpacePlanner.HEURISTIC);
             final double weight = (Double) arguments.get(AbstractStateSpacePlanner.WEIGHT);
+            final int threads = (Integer) arguments.get(StateSpacePlanner.THREADS);
             final boolean saveStats = (Boolean) arguments.get(AbstractStateSpacePlanner.STATISTICS);
 
             // Creates the planner
             final AbstractStateSpacePlanner planner = stateSpacePlannerFactory.getPlanner(plannerName, timeout,
-                heuristicType, weight, saveStats, traceLevel);
+                heuristicType, weight, threads, saveStats, traceLevel);
 
             // Creates the problem factory
             final ProblemFactory factory = ProblemFactory.getInstance();
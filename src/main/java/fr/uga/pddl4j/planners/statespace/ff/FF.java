@@ -21,6 +21,7 @@ package fr.uga.pddl4j.planners.statespace.ff;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicCache;
 import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
 import fr.uga.pddl4j.planners.statespace.search.strategy.EnforcedHillClimbing;
 import fr.uga.pddl4j.planners.statespace.search.strategy.GreedyBestFirstSearch;
@@ -114,8 +115,35 @@ public final class FF extends AbstractStateSpacePlanner {
      */
     @Override
     public SequentialPlan search(final CodedProblem pb) {
-        final Logger logger = this.getLogger();
         Objects.requireNonNull(pb);
+        // The greedy best first search evaluates again the states explored by the enforced hill
+        // climbing: unless a cache is already set, the two strategies share a cache during the search
+        final boolean shared = this.enforcedHillClimbing.getHeuristicCache() == null
+            && this.greedyBestFirstSearch.getHeuristicCache() == null;
+        if (shared) {
+            final HeuristicCache cache = new HeuristicCache(pb, this.enforcedHillClimbing.getHeuristicType());
+            this.enforcedHillClimbing.setHeuristicCache(cache);
+            this.greedyBestFirstSearch.setHeuristicCache(cache);
+        }
+        try {
+            return this.searchWithFallback(pb);
+        } finally {
+            if (shared) {
+                this.enforcedHillClimbing.setHeuristicCache(null);
+                this.greedyBestFirstSearch.setHeuristicCache(null);
+            }
+        }
+    }
+
+    /**
+     * Search a solution plan with the Enforced Hill Climbing and, if it fails, with the Greedy Best
+     * First Search.
+     *
+     * @param pb the problem to solve.
+     * @return the solution plan or null.
+     */
+    private SequentialPlan searchWithFallback(final CodedProblem pb) {
+        final Logger logger = this.getLogger();
 
         logger.trace("* starting enforced hill climbing\n");
         Node solutionNode = enforcedHillClimbing.searchSolutionNode(pb);
@@ -23,6 +23,7 @@ import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
 import fr.uga.pddl4j.planners.statespace.search.strategy.AStar;
+import fr.uga.pddl4j.planners.statespace.search.strategy.HDAStar;
 import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
 import fr.uga.pddl4j.util.SequentialPlan;
@@ -31,7 +32,8 @@ import org.apache.logging.log4j.Logger;
 import java.util.Objects;
 
 /**
- * This class implements a simple forward planner based on A* algorithm.
+ * This class implements a simple forward planner based on A* algorithm. When the planner is created
+ * with more than one thread, the search uses the hash distributed A* algorithm (HDA*).
  *
  * @author D. Pellier
  * @version 1.0 - 14.06.2010
@@ -86,6 +88,33 @@ public final class HSP extends AbstractStateSpacePlanner {
         this.getStateSpaceStrategies().add(astar);
     }
 
+    /**
+     * Creates a new planner. If the number of threads is greater than 1, the planner uses the hash
+     * distributed A* algorithm instead of A*.
+     *
+     * @param timeout        the time out of the planner.
+     * @param heuristicType  the heuristicType to use to solve the planning problem.
+     * @param weight         the weight set to the heuristic.
+     * @param threads        the number of threads used by the search.
+     * @param statisticState the statistics generation value.
+     * @param traceLevel     the trace level of the planner.
+     * @throws IllegalArgumentException if <code>threads &#60; 1</code>.
+     */
+    public HSP(final int timeout, final Heuristic.Type heuristicType, final double weight, final int threads,
+               final boolean statisticState, final int traceLevel) {
+        super(statisticState, traceLevel);
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        if (threads == 1) {
+            astar = new AStar(timeout, heuristicType, weight);
+        } else {
+            astar = new HDAStar(timeout, heuristicType, weight, threads);
+        }
+        this.getStateSpaceStrategies().add(astar);
+    }
+
     /**
      * Solves the planning problem and returns the first solution search found.
      *
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.portfolio;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.Statistics;
+import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
+import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
+import fr.uga.pddl4j.util.CancellationToken;
+import fr.uga.pddl4j.util.SequentialPlan;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements a portfolio planner. The planner runs a set of search strategies, for
+ * instance with different heuristics or weights, concurrently on a thread pool against the same
+ * coded problem. Depending on its mode, the planner returns the first plan found or the best plan
+ * found before its time out. The strategies still running are then cancelled cooperatively with
+ * a shared cancellation token. The statistics of each strategy are available once the search is
+ * over.
+ * <p>
+ * Each strategy of the portfolio must be a different instance, because a strategy stores the
+ * statistics of its last search.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 15.04.2019
+ * @see CancellationToken
+ * @since 3.8.3
+ */
+public final class PortfolioPlanner extends AbstractStateSpacePlanner {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The enumeration of the modes of the portfolio planner.
+     */
+    public enum Mode {
+        /**
+         * The planner returns the first plan found.
+         */
+        FIRST,
+        /**
+         * The planner returns the plan with the lowest cost found before its time out.
+         */
+        BEST
+    }
+
+    /**
+     * The default mode of the planner.
+     */
+    public static final Mode DEFAULT_MODE = Mode.FIRST;
+
+    /**
+     * The mode of the planner.
+     */
+    private Mode mode;
+
+    /**
+     * The time out of the planner in milliseconds.
+     */
+    private int timeout;
+
+    /**
+     * The number of threads used to run the strategies.
+     */
+    private int threads;
+
+    /**
+     * The statistics of the strategies of the portfolio during the last search.
+     */
+    private List<Statistics> strategiesStatistics;
+
+    /**
+     * The strategy that found the plan returned by the last search.
+     */
+    private StateSpaceStrategy winner;
+
+    /**
+     * Creates a new portfolio planner with default parameters.
+     *
+     * @param strategies the search strategies of the portfolio.
+     */
+    public PortfolioPlanner(final StateSpaceStrategy... strategies) {
+        super();
+        this.init(strategies);
+    }
+
+    /**
+     * Creates a new portfolio planner.
+     *
+     * @param statisticState the statistics generation value.
+     * @param traceLevel     the trace level of the planner.
+     * @param strategies     the search strategies of the portfolio.
+     */
+    public PortfolioPlanner(final boolean statisticState, final int traceLevel,
+                            final StateSpaceStrategy... strategies) {
+        super(statisticState, traceLevel);
+        this.init(strategies);
+    }
+
+    /**
+     * Initializes the planner with a set of strategies.
+     *
+     * @param strategies the search strategies of the portfolio.
+     */
+    private void init(final StateSpaceStrategy... strategies) {
+        Objects.requireNonNull(strategies);
+        Arrays.stream(strategies).forEach(Objects::requireNonNull);
+        this.getStateSpaceStrategies().addAll(Arrays.asList(strategies));
+        this.mode = PortfolioPlanner.DEFAULT_MODE;
+        this.timeout = Planner.DEFAULT_TIMEOUT * 1000;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.strategiesStatistics = new ArrayList<>();
+        this.winner = null;
+    }
+
+    /**
+     * Returns the mode of the planner.
+     *
+     * @return the mode of the planner.
+     */
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Sets the mode of the planner.
+     *
+     * @param mode the mode of the planner. The mode cannot be null.
+     */
+    public void setMode(final Mode mode) {
+        Objects.requireNonNull(mode);
+        this.mode = mode;
+    }
+
+    /**
+     * Returns the time out of the planner in milliseconds.
+     *
+     * @return the time out of the planner in milliseconds.
+     */
+    public int getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Sets the time out of the planner in milliseconds. In mode <code>BEST</code>, the planner
+     * returns the best plan found when the time out is reached. The strategies still running when
+     * the time out is reached are cancelled in both modes.
+     *
+     * @param timeout the time out of the planner in milliseconds.
+     * @throws IllegalArgumentException if <code>timeout &#60; 0</code>.
+     */
+    public void setTimeout(final int timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout < 0");
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the maximum number of threads used to run the strategies.
+     *
+     * @return the maximum number of threads used to run the strategies.
+     */
+    public int getNumberOfThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Sets the maximum number of threads used to run the strategies. By default, the planner uses
+     * one thread per available processor.
+     *
+     * @param threads the maximum number of threads used to run the strategies.
+     * @throws IllegalArgumentException if <code>threads &#60; 1</code>.
+     */
+    public void setNumberOfThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the statistics of the strategies of the portfolio during the last search. The
+     * statistics are given in the order of the strategies.
+     *
+     * @return the statistics of the strategies of the portfolio during the last search.
+     */
+    public List<Statistics> getStrategiesStatistics() {
+        return this.strategiesStatistics;
+    }
+
+    /**
+     * Returns the strategy that found the plan returned by the last search.
+     *
+     * @return the strategy that found the plan returned by the last search or <code>null</code> if
+     *          no plan was found.
+     */
+    public StateSpaceStrategy getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Solves the planning problem by running the strategies of the portfolio concurrently and
+     * returns the first plan found or the best plan found before the time out depending on the
+     * mode of the planner.
+     *
+     * @param problem the problem to be solved.
+     * @return the solution plan or null if no plan was found.
+     */
+    @Override
+    public SequentialPlan search(final CodedProblem problem) {
+        final Logger logger = this.getLogger();
+        Objects.requireNonNull(problem);
+
+        final List<StateSpaceStrategy> strategies = this.getStateSpaceStrategies();
+        final int size = strategies.size();
+        final CancellationToken token = new CancellationToken(this.timeout);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(size, this.threads)));
+        final CompletionService<Node> completion = new ExecutorCompletionService<>(executor);
+        final Map<Future<Node>, Integer> members = new HashMap<>();
+        final long begin = System.currentTimeMillis();
+
+        logger.trace("* starting portfolio of " + size + " strategies\n");
+        for (int i = 0; i < size; i++) {
+            final StateSpaceStrategy strategy = strategies.get(i);
+            members.put(completion.submit(() -> strategy.searchSolutionNode(problem, token)), i);
+        }
+
+        SequentialPlan plan = null;
+        this.winner = null;
+        try {
+            int done = 0;
+            while (done < size && (plan == null || this.mode == Mode.BEST)) {
+                final Future<Node> future;
+                if (this.mode == Mode.BEST) {
+                    final long remaining = this.timeout - (System.currentTimeMillis() - begin);
+                    future = remaining > 0 ? completion.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                    if (future == null) {
+                        break;
+                    }
+                } else {
+                    future = completion.take();
+                }
+                done++;
+                final StateSpaceStrategy strategy = strategies.get(members.get(future));
+                try {
+                    final Node solution = future.get();
+                    if (solution != null) {
+                        final SequentialPlan candidate = (SequentialPlan) strategy.extractPlan(solution, problem);
+                        if (plan == null || candidate.cost() < plan.cost()) {
+                            plan = candidate;
+                            this.winner = strategy;
+                        }
+                    }
+                } catch (ExecutionException exception) {
+                    logger.error("* strategy " + members.get(future) + " failed\n", exception.getCause());
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Cancel the strategies still running and wait for them to stop
+            token.cancel();
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    logger.trace("* waiting for the cancelled strategies\n");
+                }
+            } catch (InterruptedException exception) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        final long searchingTime = System.currentTimeMillis() - begin;
+
+        this.strategiesStatistics = new ArrayList<>(size);
+        long memoryUsed = 0;
+        for (StateSpaceStrategy strategy : strategies) {
+            final Statistics statistics = new Statistics();
+            statistics.setNumberOfActions(problem.getOperators().size());
+            statistics.setNumberOfRelevantFluents(problem.getRelevantFacts().size());
+            statistics.setTimeToSearch(strategy.getSearchingTime());
+            statistics.setMemoryUsedToSearch(strategy.getMemoryUsed());
+            this.strategiesStatistics.add(statistics);
+            memoryUsed += strategy.getMemoryUsed();
+        }
+        if (isSaveState()) {
+            this.getStatistics().setTimeToSearch(searchingTime);
+            this.getStatistics().setMemoryUsedToSearch(memoryUsed);
+        }
+        if (plan != null) {
+            logger.trace("* portfolio succeeded\n");
+        } else {
+            logger.trace("* portfolio failed\n");
+        }
+        return plan;
+    }
+}
@@ -20,13 +20,12 @@ import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.SolutionEvent;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
 
 /**
  * This class implements A* search strategy.
@@ -69,93 +68,77 @@ public final class AStar extends AbstractStateSpaceStrategy {
     public Node search(final CodedProblem codedProblem) {
         Objects.requireNonNull(codedProblem);
         final long begin = System.currentTimeMillis();
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem,
+            this.getHeuristicCache());
+        this.startSearch(begin, heuristic);
         // Get the initial state from the planning problem
         final BitState init = new BitState(codedProblem.getInit());
-        // Initialize the closed list of nodes (store the nodes explored)
-        final Map<BitState, Node> closeSet = new HashMap<>();
-        final Map<BitState, Node> openSet = new HashMap<>();
+        // Initialize the registry of the states (store the states generated and their search information)
+        final StateRegistry registry = new StateRegistry(codedProblem.getRelevantFacts().size());
+        // Initialize the closed set of states (store the identifiers of the states explored)
+        final BitVector closeSet = new BitVector();
         // Initialize the opened list (store the pending node)
         final double currWeight = getWeight();
-        // The list stores the node ordered according to the A* (getFValue = g + h) function
-        final PriorityQueue<Node> open = new PriorityQueue<>(100, new NodeComparator(currWeight));
-        // Creates the root node of the tree search
-        final Node root = new Node(init, null, -1, 0,
-            heuristic.estimate(init, codedProblem.getGoal()));
-        // Adds the root to the list of pending nodes
-        open.add(root);
-        openSet.put(init, root);
+        // The list stores the states ordered according to the A* (getFValue = g + h) function
+        final OpenList open = this.createOpenList();
+        // Creates the root state of the tree search
+        final int root = registry.add(init, StateRegistry.NONE, -1, 0,
+            heuristic.estimate(init, codedProblem.getGoal()), 0);
+        // Adds the root to the list of pending states
+        open.push(root, registry.getValueF(root, currWeight));
 
         this.resetNodesStatistics();
         Node solution = null;
-        final int timeout = getTimeout();
-        long time = 0;
+        // The successor generator used to enumerate the applicable operators of each node
+        final SuccessorGenerator generator = codedProblem.getSuccessorGenerator();
+        final BitVector applicable = new BitVector(codedProblem.getOperators().size());
+        // The states used to unpack the current state and to compute its successors
+        final BitState current = new BitState();
+        final BitState successor = new BitState();
         // Start of the search
-        while (!open.isEmpty() && solution == null && time < timeout) {
-            // Pop the first node in the pending list open
-            final Node current = open.poll();
-            openSet.remove(current);
-            closeSet.put(current, current);
-            // If the goal is satisfy in the current node then extract the search and return it
+        while (!open.isEmpty() && solution == null && !this.checkInterrupted()) {
+            // Pop the first state in the pending list open
+            final int id = open.poll();
+            closeSet.set(id);
+            registry.getState(id, current);
+            // If the goal is satisfy in the current state then extract the search and return it
             if (current.satisfy(codedProblem.getGoal())) {
-                solution = current;
+                solution = registry.toNode(id);
                 fireSolution(new SolutionEvent(this, solution, codedProblem));
             } else {
-                // Try to apply the operators of the problem to this node
-                int index = 0;
-                for (BitOp op : codedProblem.getOperators()) {
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        Node state = new Node(current);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        // Apply the effect of the applicable operator
-                        // Test if the condition of the effect is satisfied in the current state
-                        // Apply the effect to the successor node
-                        op.getCondEffects().stream().filter(ce -> current.satisfy(ce.getCondition())).forEach(ce ->
-                            // Apply the effect to the successor node
-                            state.apply(ce.getEffects())
-                        );
-                        final double g = current.getCost() + op.getCost();
-                        Node result = openSet.get(state);
-                        if (result == null) {
-                            result = closeSet.get(state);
-                            if (result != null) {
-                                if (g < result.getCost()) {
-                                    result.setCost(g);
-                                    result.setParent(current);
-                                    result.setOperator(index);
-                                    result.setDepth(current.getDepth() + 1);
-                                    open.add(result);
-                                    openSet.put(result, result);
-                                    closeSet.remove(result);
-                                }
-                            } else {
-                                state.setCost(g);
-                                state.setParent(current);
-                                state.setOperator(index);
-                                state.setHeuristic(heuristic.estimate(state, codedProblem.getGoal()));
-                                state.setDepth(current.getDepth() + 1);
-                                open.add(state);
-                                openSet.put(state, state);
-                            }
-                        } else if (g < result.getCost()) {
-                            result.setCost(g);
-                            result.setParent(current);
-                            result.setOperator(index);
-                            result.setDepth(current.getDepth() + 1);
-                        }
-
+                // Try to apply the operators of the problem applicable in this state
+                generator.getApplicableOperators(current, applicable);
+                for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+                    final BitOp op = codedProblem.getOperators().get(index);
+                    // Apply the effect of the applicable operator
+                    op.apply(current, successor);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    final double g = registry.getCost(id) + op.getCost();
+                    final int depth = registry.getDepth(id) + 1;
+                    final int result = registry.lookup(successor);
+                    if (result == StateRegistry.NONE) {
+                        final int next = registry.add(successor, id, index, g,
+                            heuristic.estimate(successor, codedProblem.getGoal()), depth);
+                        open.push(next, registry.getValueF(next, currWeight));
+                    } else if (g < registry.getCost(result)) {
+                        registry.setCost(result, g);
+                        registry.setParent(result, id);
+                        registry.setOperator(result, index);
+                        registry.setDepth(result, depth);
+                        // The state is reopened if it was explored or its priority is decreased if it is pending
+                        closeSet.clear(result);
+                        open.push(result, registry.getValueF(result, currWeight));
                     }
-                    index++;
                 }
             }
-            // Compute the searching time
-            time = System.currentTimeMillis() - begin;
         }
+        // Compute the searching time
+        final long time = System.currentTimeMillis() - begin;
 
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet));
+        this.setExploredNodes(closeSet.cardinality());
+        this.setPendingNodes(open.size());
+        this.setMemoryUsed(this.computeMemoryUsed(registry.getMemoryUsed() + open.getMemoryUsed()
+            + MemoryAccounting.sizeOf(closeSet) + heuristic.getMemoryUsed(), registry, open, closeSet, heuristic));
         this.setSearchingTime(time);
 
         // return the search computed or null if no search was found
@@ -21,15 +21,14 @@ import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
 import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.Plan;
 import fr.uga.pddl4j.util.SolutionEvent;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
 
 /**
  * This class implements A* Anytime Search strategy.
@@ -122,43 +121,47 @@ public final class AStarAnytime extends AbstractStateSpaceStrategyAnytime {
         Objects.requireNonNull(problem);
 
         final long begin = System.currentTimeMillis();
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(this.getHeuristicType(), problem);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(this.getHeuristicType(), problem,
+            this.getHeuristicCache());
+        this.startSearch(begin, heuristic);
         // Get the initial state from the planning problem
         final BitState init = new BitState(problem.getInit());
-        // Initialize the closed list of nodes (store the nodes explored)
-        final Map<BitState, Node> closeSet = new HashMap<>();
-        // Initialize the opened list (store the pending node)
-        final Map<BitState, Node> openSet = new HashMap<>();
+        // Initialize the registry of the states (store the states generated and their search information)
+        final StateRegistry registry = new StateRegistry(problem.getRelevantFacts().size());
+        // Initialize the closed list of states (store the identifiers of the states explored)
+        final BitVector closeSet = new BitVector();
         // Initialize the weight to use
         final double currWeight = this.getWeight();
-        // Initialize the node comparator
-        NodeComparator nodeComparator = new NodeComparator(currWeight);
-        // The list stores the node ordered according to the A* (getFValue = g + h) function
-        final PriorityQueue<Node> open = new PriorityQueue<>(100, nodeComparator);
-        // Creates the root node of the tree search
-        final Node root = new Node(init, null, -1, 0.0, 0, heuristic.estimate(init, problem.getGoal()));
-        // Adds the root to the list of pending nodes
-        open.add(root);
-        openSet.put(init, root);
+        // The list stores the states ordered according to the A* (getFValue = g + h) function
+        final OpenList open = this.createOpenList();
+        // Creates the root state of the tree search
+        final int root = registry.add(init, StateRegistry.NONE, -1, 0.0,
+            heuristic.estimate(init, problem.getGoal()), 0);
+        // Adds the root to the list of pending states
+        open.push(root, registry.getValueF(root, currWeight));
 
         this.resetNodesStatistics();
         this.clearResults();
         Node solution = null;
 
-        final int timeout = this.getTimeout();
-        long searchingTime = 0;
+        // The successor generator used to enumerate the applicable operators of each node
+        final SuccessorGenerator generator = problem.getSuccessorGenerator();
+        final BitVector applicable = new BitVector(problem.getOperators().size());
+        // The states used to unpack the current state and to compute its successors
+        final BitState current = new BitState();
+        final BitState successor = new BitState();
         // Start of the search
-        while (!openSet.isEmpty() && searchingTime < timeout) {
+        while (!open.isEmpty() && !this.checkInterrupted()) {
 
-            // Pop the first node in the pending list open
-            final Node current = open.poll();
-            openSet.remove(current);
-            closeSet.put(current, current);
+            // Pop the first state in the pending list open
+            final int id = open.poll();
+            closeSet.set(id);
+            registry.getState(id, current);
 
             if (current.satisfy(problem.getGoal())) {
-                this.getSolutionNodes().add(new Node(current, current.getParent(), 0,
-                    current.getCost(), current.getDepth(), current.getHeuristic()));
-                solution = current;
+                solution = registry.toNode(id);
+                this.getSolutionNodes().add(new Node(solution, solution.getParent(), 0,
+                    solution.getCost(), solution.getDepth(), solution.getHeuristic()));
                 fireSolution(new SolutionEvent(this, solution, problem));
 
                 final Plan p = extractPlan(solution, problem);
@@ -168,67 +171,44 @@ public final class AStarAnytime extends AbstractStateSpaceStrategyAnytime {
                 logger.trace("* " + this.getSolutionNodes().size() + " solution(s) found. Best cost: "
                     + boundCost + "\n");
             } else {
-                // Try to apply the operators of the problem to this node
-                int index = 0;
-                for (BitOp op : problem.getOperators()) {
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        Node state = new Node(current);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        // Apply the effect of the applicable operator
-                        // Test if the condition of the effect is satisfied in the current state
-                        // Apply the effect to the successor node
-                        op.getCondEffects().stream().filter(ce -> current.satisfy(ce.getCondition())).forEach(ce ->
-                            // Apply the effect to the successor node
-                            state.apply(ce.getEffects())
-                        );
-                        final double g = current.getCost() + op.getCost();
-                        Node result = openSet.get(state);
-                        if (result == null) {
-                            result = closeSet.get(state);
-                            if (result != null) {
-                                if (g < result.getCost()) {
-                                    result.setCost(g);
-                                    result.setParent(current);
-                                    result.setOperator(index);
-                                    result.setDepth(current.getDepth() + 1);
-                                    if (result.getCost() < boundCost && result.getDepth() <= boundDepth) {
-                                        open.add(result);
-                                        openSet.put(result, result);
-                                        closeSet.remove(result);
-                                    }
-                                }
-                            } else {
-                                state.setCost(g);
-                                state.setParent(current);
-                                state.setOperator(index);
-                                state.setHeuristic(heuristic.estimate(state, problem.getGoal()));
-                                state.setDepth(current.getDepth() + 1);
-                                if (state.getCost() < boundCost && state.getDepth() <= boundDepth) {
-                                    open.add(state);
-                                    openSet.put(state, state);
-                                }
-                            }
-                        } else if (g < result.getCost()) {
-                            result.setCost(g);
-                            result.setParent(current);
-                            result.setOperator(index);
-                            result.setDepth(current.getDepth() + 1);
+                // Try to apply the operators of the problem applicable in this state
+                generator.getApplicableOperators(current, applicable);
+                for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+                    final BitOp op = problem.getOperators().get(index);
+                    // Apply the effect of the applicable operator
+                    op.apply(current, successor);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    final double g = registry.getCost(id) + op.getCost();
+                    final int depth = registry.getDepth(id) + 1;
+                    final int result = registry.lookup(successor);
+                    if (result == StateRegistry.NONE) {
+                        final int next = registry.add(successor, id, index, g,
+                            heuristic.estimate(successor, problem.getGoal()), depth);
+                        if (g < boundCost && depth <= boundDepth) {
+                            open.push(next, registry.getValueF(next, currWeight));
+                        }
+                    } else if (g < registry.getCost(result)) {
+                        registry.setCost(result, g);
+                        registry.setParent(result, id);
+                        registry.setOperator(result, index);
+                        registry.setDepth(result, depth);
+                        // The priority of the state is updated if it is pending or the state is reopened if it is
+                        // in the bounds
+                        if (open.contains(result) || g < boundCost && depth <= boundDepth) {
+                            closeSet.clear(result);
+                            open.push(result, registry.getValueF(result, currWeight));
                         }
-
                     }
-                    index++;
                 }
             }
-
-            // Take time to compute the searching time
-            searchingTime = System.currentTimeMillis() - begin;
         }
+        // Take time to compute the searching time
+        final long searchingTime = System.currentTimeMillis() - begin;
 
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet)
-            + MemoryAgent.getDeepSizeOf(heuristic));
+        this.setExploredNodes(closeSet.cardinality());
+        this.setPendingNodes(open.size());
+        this.setMemoryUsed(this.computeMemoryUsed(registry.getMemoryUsed() + open.getMemoryUsed()
+            + MemoryAccounting.sizeOf(closeSet) + heuristic.getMemoryUsed(), registry, open, closeSet, heuristic));
         this.setSearchingTime(searchingTime);
 
         this.clearBounds();
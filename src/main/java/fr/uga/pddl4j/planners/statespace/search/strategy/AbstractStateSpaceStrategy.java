@@ -17,8 +17,12 @@ package fr.uga.pddl4j.planners.statespace.search.strategy;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicCache;
 import fr.uga.pddl4j.planners.statespace.StateSpacePlanner;
 import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CancellationToken;
+import fr.uga.pddl4j.util.MemoryAgent;
 import fr.uga.pddl4j.util.Plan;
 import fr.uga.pddl4j.util.SequentialPlan;
 import fr.uga.pddl4j.util.SolutionEvent;
@@ -41,11 +45,22 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The number of calls to <code>checkInterrupted()</code> between two readings of the clock and
+     * of the cancellation token.
+     */
+    protected static final int INTERRUPTION_CHECK_INTERVAL = 64;
+
     /**
      * The heuristic of the planner.
      */
     private Heuristic.Type heuristic;
 
+    /**
+     * The cache where the values of the heuristic are stored.
+     */
+    private HeuristicCache heuristicCache;
+
     /**
      * The heuristic weight.
      */
@@ -81,6 +96,42 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
      */
     private int createdNodes;
 
+    /**
+     * The type of open list used by the strategies that order their pending states.
+     */
+    private OpenList.Type openListType;
+
+    /**
+     * The flag used to indicate if the memory used for the search is computed with the <code>MemoryAgent</code>.
+     */
+    private boolean deepMemoryAccounting;
+
+    /**
+     * The token used to cancel the current search.
+     */
+    private CancellationToken cancellationToken;
+
+    /**
+     * The time at which the current search must stop because of the time out.
+     */
+    private long deadline;
+
+    /**
+     * The token passed to the heuristics of the current search. It is cancelled when the token of
+     * the search is cancelled or the time out of the search is reached.
+     */
+    private CancellationToken heuristicToken;
+
+    /**
+     * The number of calls to <code>checkInterrupted()</code> before the next reading of the clock.
+     */
+    private int interruptionCountdown;
+
+    /**
+     * The flag used to indicate if the last search was interrupted.
+     */
+    private boolean interrupted;
+
     /**
      * Returns the heuristicType to use to solve the planning problem.
      *
@@ -102,6 +153,29 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         this.heuristic = heuristicType;
     }
 
+    /**
+     * Returns the cache where the values of the heuristic are stored or null if the values are not
+     * cached.
+     *
+     * @return the cache where the values of the heuristic are stored or null.
+     */
+    @Override
+    public final HeuristicCache getHeuristicCache() {
+        return this.heuristicCache;
+    }
+
+    /**
+     * Sets the cache where the values of the heuristic are stored. The cache is ignored when another
+     * problem is solved or another type of heuristic is used.
+     *
+     * @param cache the cache where the values of the heuristic are stored or null to disable the
+     *              cache.
+     */
+    @Override
+    public final void setHeuristicCache(final HeuristicCache cache) {
+        this.heuristicCache = cache;
+    }
+
     /**
      * Returns the weight set to the heuristic.
      *
@@ -242,6 +316,100 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         this.createdNodes = createdNodes;
     }
 
+    /**
+     * Returns the type of open list used by the strategies that order their pending states.
+     *
+     * @return the type of open list.
+     */
+    public final OpenList.Type getOpenListType() {
+        return this.openListType;
+    }
+
+    /**
+     * Sets the type of open list used by the strategies that order their pending states. The open list
+     * <code>OpenList.Type.BUCKET</code> can only be used when the priorities of the states are non negative integer
+     * values.
+     *
+     * @param openListType the type of open list. The type cannot be null.
+     */
+    public final void setOpenListType(final OpenList.Type openListType) {
+        Objects.requireNonNull(openListType);
+        this.openListType = openListType;
+    }
+
+    /**
+     * Creates a new empty open list of the type used by this strategy.
+     *
+     * @return a new empty open list.
+     */
+    protected final OpenList createOpenList() {
+        switch (this.openListType) {
+            case BUCKET:
+                return new BucketOpenList();
+            default:
+                return new HeapOpenList();
+        }
+    }
+
+    /**
+     * Returns if the memory used for the search is computed by walking the data structures of the search with the
+     * <code>MemoryAgent</code> instead of being estimated analytically.
+     *
+     * @return <code>true</code> if the memory used is computed with the <code>MemoryAgent</code>, <code>false</code>
+     *          otherwise.
+     */
+    public final boolean isDeepMemoryAccounting() {
+        return this.deepMemoryAccounting;
+    }
+
+    /**
+     * Sets if the memory used for the search is computed by walking the data structures of the search with the
+     * <code>MemoryAgent</code>. This option is intended for debugging: the walk can take several seconds and
+     * requires a memory proportional to the size of the search. By default, the memory used is estimated
+     * analytically.
+     *
+     * @param deepMemoryAccounting the flag used to enable the <code>MemoryAgent</code>.
+     * @see MemoryAgent
+     */
+    public final void setDeepMemoryAccounting(final boolean deepMemoryAccounting) {
+        this.deepMemoryAccounting = deepMemoryAccounting;
+    }
+
+    /**
+     * Returns the memory used by the data structures of a search. The memory used is the analytic estimation given
+     * in parameter unless the deep memory accounting is enabled.
+     *
+     * @param estimation the analytic estimation of the memory used.
+     * @param structures the data structures of the search.
+     * @return the memory used by the data structures of the search.
+     * @see #setDeepMemoryAccounting(boolean)
+     */
+    protected final long computeMemoryUsed(final long estimation, final Object... structures) {
+        if (!this.deepMemoryAccounting) {
+            return estimation;
+        }
+        long memory = 0;
+        for (Object structure : structures) {
+            memory += MemoryAgent.getDeepSizeOf(structure);
+        }
+        return memory;
+    }
+
+    /**
+     * Returns the indexes of the operators of a set of helpful actions.
+     *
+     * @param helpful the helpful actions.
+     * @return the indexes of the helpful actions.
+     */
+    protected static int[] toArray(final BitVector helpful) {
+        final int[] actions = new int[helpful.cardinality()];
+        int i = 0;
+        for (int index = helpful.nextSetBit(0); index >= 0; index = helpful.nextSetBit(index + 1)) {
+            actions[i++] = index;
+        }
+        return actions;
+    }
+
     /**
      * Create a new search strategy.
      */
@@ -252,6 +420,10 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         this.timeout = StateSpacePlanner.DEFAULT_TIMEOUT;
         this.searchingTime = 0;
         this.memoryUsed = 0;
+        this.openListType = OpenList.Type.HEAP;
+        this.deepMemoryAccounting = false;
+        this.cancellationToken = CancellationToken.NONE;
+        this.interrupted = false;
         resetNodesStatistics();
     }
 
@@ -267,6 +439,10 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         this.timeout = timeout;
         this.searchingTime = 0;
         this.memoryUsed = 0;
+        this.openListType = OpenList.Type.HEAP;
+        this.deepMemoryAccounting = false;
+        this.cancellationToken = CancellationToken.NONE;
+        this.interrupted = false;
         resetNodesStatistics();
     }
 
@@ -284,6 +460,10 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         this.weight = weight;
         this.searchingTime = 0;
         this.memoryUsed = 0;
+        this.openListType = OpenList.Type.HEAP;
+        this.deepMemoryAccounting = false;
+        this.cancellationToken = CancellationToken.NONE;
+        this.interrupted = false;
         resetNodesStatistics();
     }
 
@@ -299,6 +479,94 @@ public abstract class AbstractStateSpaceStrategy implements StateSpaceStrategy {
         return search(codedProblem);
     }
 
+    /**
+     * Search a solution node to a specified domain and problem. The search can be cancelled
+     * cooperatively with the specified token.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param token        the token used to cancel the search. The token cannot be null.
+     * @return the solution node or null.
+     */
+    @Override
+    public Node searchSolutionNode(final CodedProblem codedProblem, final CancellationToken token) {
+        Objects.requireNonNull(codedProblem);
+        Objects.requireNonNull(token);
+        this.cancellationToken = token;
+        try {
+            return search(codedProblem);
+        } finally {
+            this.cancellationToken = CancellationToken.NONE;
+        }
+    }
+
+    /**
+     * Returns if the last search was interrupted because its time out was reached or it was
+     * cancelled. The statistics of an interrupted search are those of the search space explored
+     * before the interruption.
+     *
+     * @return <code>true</code> if the last search was interrupted; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isInterrupted() {
+        return this.interrupted;
+    }
+
+    /**
+     * Returns the token used to cancel the current search.
+     *
+     * @return the token used to cancel the current search.
+     */
+    protected final CancellationToken getCancellationToken() {
+        return this.cancellationToken;
+    }
+
+    /**
+     * Returns the token passed to the heuristics of the current search. The token is cancelled when
+     * the token of the search is cancelled or the time out of the search is reached.
+     *
+     * @return the token passed to the heuristics of the current search.
+     * @see #startSearch(long, Heuristic)
+     */
+    protected final CancellationToken getHeuristicCancellationToken() {
+        return this.heuristicToken;
+    }
+
+    /**
+     * Starts the clock of a new search. The deadline of the search is computed from the time out
+     * of the strategy. The heuristic used by the search, if any, receives a token cancelled at the
+     * earliest of the deadline of the search and of the cancellation of the token of the search,
+     * so that its computation is also bounded by the time out of the strategy.
+     *
+     * @param begin     the time at which the search started.
+     * @param heuristic the heuristic used by the search or null.
+     */
+    protected final void startSearch(final long begin, final Heuristic heuristic) {
+        this.deadline = begin + this.getTimeout();
+        this.interruptionCountdown = 0;
+        this.interrupted = false;
+        this.heuristicToken = new CancellationToken(this.cancellationToken, this.deadline);
+        if (heuristic != null) {
+            heuristic.setCancellationToken(this.heuristicToken);
+        }
+    }
+
+    /**
+     * Checks if the current search must be interrupted because its time out was reached or its
+     * cancellation token was cancelled. In order to be called once per expansion, the clock and
+     * the token are only read every <code>INTERRUPTION_CHECK_INTERVAL</code> calls. Once the search
+     * is interrupted, this method always returns <code>true</code> until the next search starts.
+     *
+     * @return <code>true</code> if the current search must be interrupted; <code>false</code>
+     *          otherwise.
+     */
+    protected final boolean checkInterrupted() {
+        if (!this.interrupted && --this.interruptionCountdown <= 0) {
+            this.interruptionCountdown = AbstractStateSpaceStrategy.INTERRUPTION_CHECK_INTERVAL;
+            this.interrupted = System.currentTimeMillis() >= this.deadline || this.cancellationToken.isCancelled();
+        }
+        return this.interrupted;
+    }
+
     /**
      * Search a solution plan to a specified domain and problem.
      *
@@ -18,8 +18,10 @@ package fr.uga.pddl4j.planners.statespace.search.strategy;
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.SolutionEvent;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 
 import java.util.LinkedList;
 import java.util.Objects;
@@ -63,10 +65,15 @@ public final class BreadthFirstSearch extends AbstractStateSpaceStrategy {
     public Node search(final CodedProblem codedProblem) {
         Objects.requireNonNull(codedProblem);
         final long begin = System.currentTimeMillis();
+        this.startSearch(begin, null);
 
         final LinkedList<Node> closeSet = new LinkedList<>();
         final LinkedList<Node> openSet = new LinkedList<>();
-        final int timeout = getTimeout();
+        // The successor generator used to enumerate the applicable operators of each node
+        final SuccessorGenerator generator = codedProblem.getSuccessorGenerator();
+        final BitVector applicable = new BitVector(codedProblem.getOperators().size());
+        // The state used to compute the successors of the nodes
+        final BitState nextState = new BitState();
 
         BitState init = new BitState(codedProblem.getInit());
         Node root = new Node(init, null, 0, 0, 0);
@@ -75,8 +82,7 @@ public final class BreadthFirstSearch extends AbstractStateSpaceStrategy {
 
         this.resetNodesStatistics();
         Node solution = null;
-        long searchingTime = 0;
-        while (!openSet.isEmpty() && solution == null && searchingTime < timeout) {
+        while (!openSet.isEmpty() && solution == null && !this.checkInterrupted()) {
             // Pop the first node in the pending list open
             final Node current = openSet.pollFirst();
 
@@ -85,39 +91,34 @@ public final class BreadthFirstSearch extends AbstractStateSpaceStrategy {
                 fireSolution(new SolutionEvent(this, solution, codedProblem));
             } else {
                 closeSet.add(current);
-                int index = 0;
-                for (BitOp op : codedProblem.getOperators()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final BitState nextState = new BitState(current);
-                        nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                        nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                        // Apply the effect of the applicable operator
+                // Enumerate the operators applicable in the current state
+                generator.getApplicableOperators(current, applicable);
+                for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+                    final BitOp op = codedProblem.getOperators().get(index);
+                    // Apply the effect of the applicable operator
+                    op.apply(current, nextState);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+
+                    // The successor node is only created if the state is new
+                    if (!closeSet.contains(nextState) && !openSet.contains(nextState)) {
                         final Node successor = new Node(nextState);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
                         successor.setCost(current.getCost() + op.getCost());
                         successor.setHeuristic(0);
                         successor.setParent(current);
                         successor.setOperator(index);
                         successor.setDepth(current.getDepth() + 1);
-
-                        if (!closeSet.contains(successor) && !openSet.contains(successor)) {
-                            openSet.addLast(successor);
-                        }
+                        openSet.addLast(successor);
                     }
-                    index++;
                 }
             }
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
         }
+        // Take time to compute the searching time
+        final long searchingTime = System.currentTimeMillis() - begin;
 
         this.setExploredNodes(closeSet.size());
         this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet));
+        this.setMemoryUsed(this.computeMemoryUsed((closeSet.size() + openSet.size())
+            * MemoryAccounting.sizeOfNode(codedProblem.getRelevantFacts().size()), closeSet, openSet));
         this.setSearchingTime(searchingTime);
 
         return solution;
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.util.MemoryAccounting;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an open list as an array of buckets indexed by priority. The priorities of the states must
+ * be non negative integer values, e.g., the f values of A* when the costs of the operators and the heuristic values
+ * are integers. Adding a state and changing its priority are done in constant time. The bucket of the lowest priority
+ * is found by scanning the buckets from the last one emptied. The states with the same priority are returned in the
+ * reverse order of their addition.
+ * <p>
+ * When the priority of a pending state is changed, the state is added to its new bucket and its previous entry is
+ * discarded when it is reached.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 05.04.2019
+ * @since 3.8.3
+ */
+public final class BucketOpenList implements OpenList {
+
+    /**
+     * The value of the priority of the states that are not pending.
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * The default initial capacity of the open list.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The default initial capacity of the buckets.
+     */
+    private static final int DEFAULT_BUCKET_CAPACITY = 16;
+
+    /**
+     * The buckets of the state identifiers indexed by priority.
+     */
+    private int[][] buckets;
+
+    /**
+     * The number of entries of the buckets.
+     */
+    private int[] sizes;
+
+    /**
+     * The priority of the states indexed by state identifier or <code>ABSENT</code>.
+     */
+    private int[] priorities;
+
+    /**
+     * The number of states pending.
+     */
+    private int size;
+
+    /**
+     * The lowest priority of the non empty buckets.
+     */
+    private int min;
+
+    /**
+     * The number of bytes used by the buckets.
+     */
+    private long bucketsMemory;
+
+    /**
+     * Creates a new empty open list.
+     */
+    public BucketOpenList() {
+        this.buckets = new int[BucketOpenList.DEFAULT_BUCKET_CAPACITY][];
+        this.sizes = new int[BucketOpenList.DEFAULT_BUCKET_CAPACITY];
+        this.priorities = new int[BucketOpenList.DEFAULT_CAPACITY];
+        Arrays.fill(this.priorities, BucketOpenList.ABSENT);
+        this.size = 0;
+        this.min = 0;
+        this.bucketsMemory = 0;
+    }
+
+    /**
+     * Returns if the open list is empty.
+     *
+     * @return <code>true</code> if the open list is empty, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of states pending in the open list.
+     *
+     * @return the number of states pending in the open list.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns if a specified state is pending in the open list.
+     *
+     * @param id the identifier of the state.
+     * @return <code>true</code> if the state is pending in the open list, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean contains(final int id) {
+        return id < this.priorities.length && this.priorities[id] != BucketOpenList.ABSENT;
+    }
+
+    /**
+     * Adds a state to the open list with a specified priority. If the state is already pending in the open list,
+     * its priority is updated.
+     *
+     * @param id       the identifier of the state. The identifier must be positive.
+     * @param priority the priority of the state.
+     * @throws IllegalArgumentException if the priority is not a non negative integer value.
+     */
+    @Override
+    public void push(final int id, final double priority) {
+        final int key = (int) priority;
+        if (key != priority || key < 0) {
+            throw new IllegalArgumentException("priority " + priority + " is not a non negative integer value");
+        }
+        if (id >= this.priorities.length) {
+            final int length = this.priorities.length;
+            final int capacity = Math.max(id + 1, length << 1);
+            this.priorities = Arrays.copyOf(this.priorities, capacity);
+            Arrays.fill(this.priorities, length, capacity, BucketOpenList.ABSENT);
+        }
+        final int old = this.priorities[id];
+        if (old == key) {
+            return;
+        } else if (old == BucketOpenList.ABSENT) {
+            this.size++;
+        }
+        this.priorities[id] = key;
+        if (key >= this.buckets.length) {
+            final int capacity = Math.max(key + 1, this.buckets.length << 1);
+            this.buckets = Arrays.copyOf(this.buckets, capacity);
+            this.sizes = Arrays.copyOf(this.sizes, capacity);
+        }
+        int[] bucket = this.buckets[key];
+        if (bucket == null) {
+            bucket = new int[BucketOpenList.DEFAULT_BUCKET_CAPACITY];
+            this.buckets[key] = bucket;
+            this.bucketsMemory += MemoryAccounting.sizeOf(bucket);
+        } else if (this.sizes[key] == bucket.length) {
+            this.bucketsMemory += (long) bucket.length * Integer.BYTES;
+            bucket = Arrays.copyOf(bucket, bucket.length << 1);
+            this.buckets[key] = bucket;
+        }
+        bucket[this.sizes[key]++] = id;
+        if (key < this.min) {
+            this.min = key;
+        }
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by the open list. The memory used by the buckets is counted
+     * when they are allocated.
+     *
+     * @return an estimation of the number of bytes used by the open list.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return this.bucketsMemory + MemoryAccounting.ARRAY_HEADER + this.buckets.length * MemoryAccounting.REFERENCE
+            + MemoryAccounting.sizeOf(this.sizes) + MemoryAccounting.sizeOf(this.priorities);
+    }
+
+    /**
+     * Removes and returns the pending state with the lowest priority.
+     *
+     * @return the identifier of the state with the lowest priority.
+     * @throws NoSuchElementException if the open list is empty.
+     */
+    @Override
+    public int poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        while (true) {
+            while (this.sizes[this.min] == 0) {
+                this.min++;
+            }
+            final int id = this.buckets[this.min][--this.sizes[this.min]];
+            // The entries left in the previous bucket of a state whose priority changed are discarded
+            if (this.priorities[id] == this.min) {
+                this.priorities[id] = BucketOpenList.ABSENT;
+                this.size--;
+                return id;
+            }
+        }
+    }
+}
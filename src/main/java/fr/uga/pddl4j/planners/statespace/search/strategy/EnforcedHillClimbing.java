@@ -21,21 +21,35 @@ package fr.uga.pddl4j.planners.statespace.search.strategy;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicCache;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.heuristics.relaxation.RelaxedGraphHeuristic;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.SolutionEvent;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 
 import java.util.LinkedList;
 import java.util.Objects;
 
 /**
  * This class implements Enforced Hill Climbing search strategy.
+ * <p>
+ * When the helpful actions pruning is enabled, only the successors obtained by applying a helpful
+ * action of the state expanded are generated and evaluated, as in the fast forward planner. All the
+ * successors are generated if the state has no helpful action. The pruning makes the search
+ * incomplete: if the search fails, it is done again without pruning. The helpful actions are
+ * computed by the heuristics that extract a relaxed plan, e.g., <code>FastForward</code>, and the
+ * pruning has no effect with the other heuristics. The helpful actions of each pending node are
+ * stored when the node is evaluated, so that the node is not evaluated again when it is expanded.
+ * </p>
  *
  * @author Samuel Aaron Boyd
  * @author E. Hermellin
- * @version 2.0 - 24.01.2018
+ * @version 2.1 - 18.04.2019
+ * @see RelaxedGraphHeuristic#getHelpfulActions()
  */
 public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
 
@@ -44,12 +58,18 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The flag used to indicate if the successors are pruned with the helpful actions.
+     */
+    private boolean helpfulActionsPruning;
+
     /**
      * Creates a new Enforced Hill Climbing search strategy with default parameters.
      *
      */
     public EnforcedHillClimbing() {
         super();
+        this.helpfulActionsPruning = false;
     }
 
     /**
@@ -61,6 +81,27 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
      */
     public EnforcedHillClimbing(int timeout, Heuristic.Type heuristic, double weight) {
         super(timeout, heuristic, weight);
+        this.helpfulActionsPruning = false;
+    }
+
+    /**
+     * Returns if the successors are pruned with the helpful actions.
+     *
+     * @return <code>true</code> if the helpful actions pruning is enabled, <code>false</code> otherwise.
+     */
+    public boolean isHelpfulActionsPruning() {
+        return this.helpfulActionsPruning;
+    }
+
+    /**
+     * Sets if the successors are pruned with the helpful actions. By default, all the successors
+     * are generated. When the pruning is enabled, the heuristic cache of the strategy is not used.
+     *
+     * @param helpfulActionsPruning <code>true</code> to enable the helpful actions pruning,
+     *                              <code>false</code> otherwise.
+     */
+    public void setHelpfulActionsPruning(final boolean helpfulActionsPruning) {
+        this.helpfulActionsPruning = helpfulActionsPruning;
     }
 
     /**
@@ -73,85 +114,120 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceStrategy {
         Objects.requireNonNull(codedProblem);
         final long begin = System.currentTimeMillis();
 
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
+        // The helpful actions are computed with the estimation of the state: the values cannot be read from a cache
+        final HeuristicCache cache = this.helpfulActionsPruning ? null : this.getHeuristicCache();
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem, cache);
+        this.startSearch(begin, heuristic);
         final LinkedList<Node> openList = new LinkedList<>();
-        final int timeout = getTimeout();
+        final LinkedList<int[]> pendingHelpful = new LinkedList<>();
+        final RelaxedGraphHeuristic relaxed = this.helpfulActionsPruning && heuristic instanceof RelaxedGraphHeuristic
+            ? (RelaxedGraphHeuristic) heuristic : null;
 
+        this.resetNodesStatistics();
+        Node solution = this.climb(codedProblem, heuristic, relaxed, openList, pendingHelpful);
+        // The search with the helpful actions pruning failed: the search is done again with all the successors
+        if (solution == null && relaxed != null && !this.isInterrupted()) {
+            openList.clear();
+            pendingHelpful.clear();
+            solution = this.climb(codedProblem, heuristic, null, openList, pendingHelpful);
+        }
+        // Take time to compute the searching time
+        final long searchingTime = System.currentTimeMillis() - begin;
+
+        long helpfulMemory = 0;
+        for (int[] actions : pendingHelpful) {
+            helpfulMemory += MemoryAccounting.REFERENCE + MemoryAccounting.sizeOf(actions);
+        }
+        this.setMemoryUsed(this.computeMemoryUsed(openList.size()
+            * MemoryAccounting.sizeOfNode(codedProblem.getRelevantFacts().size()) + helpfulMemory
+            + heuristic.getMemoryUsed(), openList, pendingHelpful, heuristic));
+        this.setSearchingTime(searchingTime);
+
+        return solution;
+    }
+
+    /**
+     * Climbs from the initial state of the problem to a solution.
+     *
+     * @param codedProblem   the problem to be solved.
+     * @param heuristic      the heuristic used.
+     * @param relaxed        the heuristic used to compute the helpful actions or null to generate all the
+     *                       successors.
+     * @param openList       the list of the pending nodes.
+     * @param pendingHelpful the helpful actions of the pending nodes in the same order as the nodes. The list
+     *                       is not used when the successors are not pruned.
+     * @return the solution node or null.
+     */
+    private Node climb(final CodedProblem codedProblem, final Heuristic heuristic,
+                       final RelaxedGraphHeuristic relaxed, final LinkedList<Node> openList,
+                       final LinkedList<int[]> pendingHelpful) {
         BitState init = new BitState(codedProblem.getInit());
         Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
         openList.add(root);
+        if (relaxed != null) {
+            pendingHelpful.add(EnforcedHillClimbing.toArray(relaxed.getHelpfulActions()));
+        }
 
         double bestHeuristic = root.getHeuristic();
 
         Node solution = null;
         boolean deadEndFree = true;
-
-        this.resetNodesStatistics();
-        long searchingTime = 0;
-        while (!openList.isEmpty() && solution == null && deadEndFree && searchingTime < timeout) {
+        // The successor generator used to enumerate the applicable operators of each node
+        final SuccessorGenerator generator = codedProblem.getSuccessorGenerator();
+        final BitVector applicable = new BitVector(codedProblem.getOperators().size());
+        // The helpful actions of the node expanded
+        final BitVector helpful = new BitVector(codedProblem.getOperators().size());
+        // The state used to compute the successors of the nodes
+        final BitState nextState = new BitState();
+
+        while (!openList.isEmpty() && solution == null && deadEndFree && !this.checkInterrupted()) {
             final Node currentState = openList.pop();
-            final LinkedList<Node> successors = getSuccessors(currentState, codedProblem, heuristic);
-            deadEndFree = !successors.isEmpty();
-
-            while (!successors.isEmpty() && solution == null) {
-                final Node successor = successors.pop();
+            generator.getApplicableOperators(currentState, applicable);
+            deadEndFree = !applicable.isEmpty();
+            if (relaxed != null) {
+                // The successors are restricted to the helpful actions unless there is no helpful action
+                helpful.clear();
+                for (int index : pendingHelpful.pop()) {
+                    helpful.set(index);
+                }
+                if (applicable.intersects(helpful)) {
+                    applicable.and(helpful);
+                }
+            }
+            // The successors are generated and evaluated in turn until one of them improves the best
+            // heuristic value: the remaining successors would be discarded
+            for (int index = applicable.nextSetBit(0); index >= 0 && solution == null;
+                 index = applicable.nextSetBit(index + 1)) {
+                final BitOp op = codedProblem.getOperators().get(index);
+                // Apply the effect of the applicable operator
+                op.apply(currentState, nextState);
+                this.setCreatedNodes(this.getCreatedNodes() + 1);
                 this.setExploredNodes(this.getExploredNodes() + 1);
-                final double heuristicSuccessor = successor.getHeuristic();
+                final double heuristicSuccessor = heuristic.estimate(nextState, codedProblem.getGoal());
+                final Node successor = new Node(nextState, currentState, index, currentState.getCost() + op.getCost(),
+                    currentState.getDepth() + 1, heuristicSuccessor);
+                final int[] successorHelpful = relaxed != null
+                    ? EnforcedHillClimbing.toArray(relaxed.getHelpfulActions()) : null;
                 if (heuristicSuccessor == 0.0) {
                     solution = successor;
                     fireSolution(new SolutionEvent(this, solution, codedProblem));
                 }
                 if (heuristicSuccessor < bestHeuristic) {
-                    successors.clear();
                     openList.clear();
+                    openList.addLast(successor);
+                    if (relaxed != null) {
+                        pendingHelpful.clear();
+                        pendingHelpful.addLast(successorHelpful);
+                    }
                     bestHeuristic = heuristicSuccessor;
+                    break;
                 }
                 openList.addLast(successor);
+                if (relaxed != null) {
+                    pendingHelpful.addLast(successorHelpful);
+                }
             }
-
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
         }
-
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(openList) + MemoryAgent.getDeepSizeOf(heuristic));
-        this.setSearchingTime(searchingTime);
-
         return solution;
     }
-
-    /**
-     * Get the successors from a node.
-     *
-     * @param parent    the parent node.
-     * @param problem   the coded problem to solve.
-     * @param heuristic the heuristic used.
-     * @return the list of successors from the parent node.
-     */
-    private LinkedList<Node> getSuccessors(Node parent, CodedProblem problem, Heuristic heuristic) {
-        final LinkedList<Node> successors = new LinkedList<>();
-
-        int index = 0;
-        for (BitOp op : problem.getOperators()) {
-            // Test if a specified operator is applicable in the current state
-            if (op.isApplicable(parent)) {
-                final BitState nextState = new BitState(parent);
-                nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                // Apply the effect of the applicable operator
-                final Node successor = new Node(nextState);
-                this.setCreatedNodes(this.getCreatedNodes() + 1);
-                successor.setCost(parent.getCost() + op.getCost());
-                successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
-                successor.setParent(parent);
-                successor.setOperator(index);
-                successor.setDepth(parent.getDepth() + 1);
-                successors.add(successor);
-            }
-            index++;
-        }
-
-        return successors;
-    }
 }
@@ -17,23 +17,42 @@ package fr.uga.pddl4j.planners.statespace.search.strategy;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicCache;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.heuristics.relaxation.RelaxedGraphHeuristic;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.SolutionEvent;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * This class implements Greedy Best First Search strategy.
+ * <p>
+ * By default, the heuristic value of each successor is computed when the successor is generated.
+ * In lazy evaluation mode, the successors are pushed in the open list with the heuristic value of
+ * their parent and their heuristic value is only computed when they are expanded. Most of the
+ * successors generated are never expanded, so that the number of heuristic evaluations is reduced
+ * by the branching factor of the problem at the price of a less informed open list.
+ * </p>
+ * <p>
+ * When the preferred operators are used, the successors obtained by applying a helpful action of
+ * their parent are also pushed in a second open list and the search alternates between the two
+ * open lists. The helpful actions are computed by the heuristics that extract a relaxed plan, e.g.,
+ * <code>FastForward</code>. In eager evaluation mode, the helpful actions of each state are
+ * stored when the state is evaluated, so that the state is not evaluated again when it is
+ * expanded. See S. Richter and M. Helmert. "Preferred Operators and Deferred Evaluation in
+ * Satisficing Planning", ICAPS 2009.
+ * </p>
  *
  * @author E. Hermellin
- * @version 1.0 - 01.06.2018
+ * @version 1.1 - 18.04.2019
+ * @see RelaxedGraphHeuristic#getHelpfulActions()
  */
 public final class GreedyBestFirstSearch extends AbstractStateSpaceStrategy {
 
@@ -42,12 +61,25 @@ public final class GreedyBestFirstSearch extends AbstractStateSpaceStrategy {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The flag used to indicate if the heuristic values of the states are computed when they are
+     * expanded.
+     */
+    private boolean lazyEvaluation;
+
+    /**
+     * The flag used to indicate if the successors reached by a helpful action are preferred.
+     */
+    private boolean preferredOperators;
+
     /**
      * Creates a new Greedy best First Search search strategy with default parameters.
      *
      */
     public GreedyBestFirstSearch() {
         super();
+        this.lazyEvaluation = false;
+        this.preferredOperators = false;
     }
 
     /**
@@ -59,11 +91,54 @@ public final class GreedyBestFirstSearch extends AbstractStateSpaceStrategy {
      */
     public GreedyBestFirstSearch(int timeout, Heuristic.Type heuristic, double weight) {
         super(timeout, heuristic, weight);
+        this.lazyEvaluation = false;
+        this.preferredOperators = false;
+    }
+
+    /**
+     * Returns if the heuristic values of the states are computed when they are expanded.
+     *
+     * @return <code>true</code> if the lazy evaluation mode is used, <code>false</code> otherwise.
+     */
+    public boolean isLazyEvaluation() {
+        return this.lazyEvaluation;
+    }
+
+    /**
+     * Sets if the heuristic values of the states are computed when they are expanded rather than
+     * when they are generated. By default, the states are evaluated when they are generated.
+     *
+     * @param lazyEvaluation <code>true</code> to use the lazy evaluation mode, <code>false</code>
+     *                       otherwise.
+     */
+    public void setLazyEvaluation(final boolean lazyEvaluation) {
+        this.lazyEvaluation = lazyEvaluation;
+    }
+
+    /**
+     * Returns if the successors reached by a helpful action are preferred.
+     *
+     * @return <code>true</code> if the preferred operators are used, <code>false</code> otherwise.
+     */
+    public boolean isPreferredOperators() {
+        return this.preferredOperators;
+    }
+
+    /**
+     * Sets if the successors reached by a helpful action are preferred. The preferred operators
+     * have no effect if the heuristic used does not compute helpful actions. When the preferred
+     * operators are used, the heuristic cache of the strategy is not used in both evaluation modes.
+     * By default, the preferred operators are not used.
+     *
+     * @param preferredOperators <code>true</code> to use the preferred operators, <code>false</code>
+     *                           otherwise.
+     */
+    public void setPreferredOperators(final boolean preferredOperators) {
+        this.preferredOperators = preferredOperators;
     }
 
     /**
      * The greedy best first search algorithm. Solves the planning problem and returns the first solution plan found.
-     * This method must be completed.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
      * @return a solution plan or null if it does not exist.
@@ -72,83 +147,137 @@ public final class GreedyBestFirstSearch extends AbstractStateSpaceStrategy {
         Objects.requireNonNull(codedProblem);
         final long begin = System.currentTimeMillis();
 
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
-        final Set<Node> closeSet = new HashSet<>();
-        final Set<Node> openSet = new HashSet<>();
-        final int timeout = getTimeout();
+        // The helpful actions are computed with the estimation of the state: the values cannot be read from a cache
+        final HeuristicCache cache = this.preferredOperators ? null : this.getHeuristicCache();
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem, cache);
+        this.startSearch(begin, heuristic);
+        // The registry of the states (store the states generated and their search information)
+        final StateRegistry registry = new StateRegistry(codedProblem.getRelevantFacts().size());
+        // The list stores the pending states ordered according to their heuristic value
+        final OpenList open = this.createOpenList();
+        // The list stores the pending states reached by a helpful action if the preferred operators are used
+        final OpenList preferred = this.preferredOperators && heuristic instanceof RelaxedGraphHeuristic
+            ? this.createOpenList() : null;
+        // The helpful actions of the last state evaluated and of the state expanded
+        final BitVector helpful = preferred != null ? ((RelaxedGraphHeuristic) heuristic).getHelpfulActions() : null;
+        final BitVector preferredOps = new BitVector(codedProblem.getOperators().size());
+        // The helpful actions of the pending states in eager evaluation mode indexed by state identifiers
+        final List<int[]> pendingHelpful = preferred != null && !this.lazyEvaluation ? new ArrayList<>() : null;
+        // The states already expanded, a state can be pending in both open lists
+        final BitVector closed = new BitVector();
+        // The successor generator used to enumerate the applicable operators of each node
+        final SuccessorGenerator generator = codedProblem.getSuccessorGenerator();
+        final BitVector applicable = new BitVector(codedProblem.getOperators().size());
 
         BitState init = new BitState(codedProblem.getInit());
-        Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
-        root.setDepth(0);
-        openSet.add(root);
+        final int root = registry.add(init, StateRegistry.NONE, 0, 0,
+            heuristic.estimate(init, codedProblem.getGoal()), 0);
+        open.push(root, registry.getHeuristic(root));
+        if (pendingHelpful != null) {
+            pendingHelpful.add(GreedyBestFirstSearch.toArray(helpful));
+        }
 
         this.resetNodesStatistics();
         Node solution = null;
-        long searchingTime = 0;
-        while (!openSet.isEmpty() && solution == null && searchingTime < timeout) {
-            // Pop the first node in the pending list open
-            final Node current = popPriorityNode(openSet);
+        // The states used to unpack the current state and to compute its successors
+        final BitState current = new BitState();
+        final BitState nextState = new BitState();
+        int explored = 0;
+        int turn = 0;
+        while ((!open.isEmpty() || (preferred != null && !preferred.isEmpty())) && solution == null
+            && !this.checkInterrupted()) {
+            // Pop the first state of the pending lists open and preferred in turn
+            final int id = GreedyBestFirstSearch.poll(open, preferred, turn++);
+            if (closed.get(id)) {
+                continue;
+            }
+            closed.set(id);
+            registry.getState(id, current);
 
             if (current.satisfy(codedProblem.getGoal())) {
-                solution = current;
+                solution = registry.toNode(id);
                 fireSolution(new SolutionEvent(this, solution, codedProblem));
             } else {
-                closeSet.add(current);
-                int index = 0;
-                for (BitOp op : codedProblem.getOperators()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final BitState nextState = new BitState(current);
-                        nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                        nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                        // Apply the effect of the applicable operator
-                        final Node successor = new Node(nextState);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        successor.setCost(current.getCost() + op.getCost());
-                        successor.setHeuristic(heuristic.estimate(nextState, codedProblem.getGoal()));
-                        successor.setParent(current);
-                        successor.setOperator(index);
-                        successor.setDepth(current.getDepth() + 1);
-                        openSet.add(successor);
+                // The root state is the last state evaluated
+                if (id != root && this.lazyEvaluation) {
+                    final int value = heuristic.estimate(current, codedProblem.getGoal());
+                    registry.setHeuristic(id, value);
+                    // The goal cannot be reached from the state
+                    if (value == Integer.MAX_VALUE) {
+                        continue;
+                    }
+                }
+                if (pendingHelpful != null) {
+                    preferredOps.clear();
+                    for (int index : pendingHelpful.get(id)) {
+                        preferredOps.set(index);
+                    }
+                    pendingHelpful.set(id, null);
+                } else if (preferred != null) {
+                    preferredOps.clear();
+                    preferredOps.or(helpful);
+                }
+                explored++;
+                // Enumerate the operators applicable in the current state
+                generator.getApplicableOperators(current, applicable);
+                for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+                    final BitOp op = codedProblem.getOperators().get(index);
+                    op.apply(current, nextState);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+
+                    // The states already generated are not added again to the pending list
+                    if (registry.lookup(nextState) == StateRegistry.NONE) {
+                        final double value = this.lazyEvaluation
+                            ? registry.getHeuristic(id)
+                            : heuristic.estimate(nextState, codedProblem.getGoal());
+                        final int successor = registry.add(nextState, id, index, registry.getCost(id) + op.getCost(),
+                            value, registry.getDepth(id) + 1);
+                        open.push(successor, value);
+                        if (pendingHelpful != null) {
+                            pendingHelpful.add(GreedyBestFirstSearch.toArray(helpful));
+                        }
+                        if (preferred != null && preferredOps.get(index)) {
+                            preferred.push(successor, value);
+                        }
                     }
-                    index++;
                 }
             }
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
         }
+        // Take time to compute the searching time
+        final long searchingTime = System.currentTimeMillis() - begin;
 
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet)
-            + MemoryAgent.getDeepSizeOf(heuristic));
+        long preferredMemory = preferred != null ? preferred.getMemoryUsed() : 0;
+        if (pendingHelpful != null) {
+            for (int[] actions : pendingHelpful) {
+                preferredMemory += MemoryAccounting.REFERENCE + MemoryAccounting.sizeOf(actions);
+            }
+        }
+        this.setExploredNodes(explored);
+        this.setPendingNodes(open.size() + (preferred != null ? preferred.size() : 0));
+        this.setMemoryUsed(this.computeMemoryUsed(registry.getMemoryUsed() + open.getMemoryUsed()
+            + preferredMemory + MemoryAccounting.sizeOf(closed) + heuristic.getMemoryUsed(), registry, open,
+            preferred, pendingHelpful, closed, heuristic));
         this.setSearchingTime(searchingTime);
 
         return solution;
     }
 
     /**
-     * Get a node from a list of nodes.
+     * Removes and returns a pending state from the open lists. The preferred open list is polled
+     * every other turn when it is not empty.
      *
-     * @param states the list of nodes (successors).
-     * @return the node from the list.
+     * @param open      the open list of all the pending states.
+     * @param preferred the open list of the pending states reached by a helpful action or null.
+     * @param turn      the number of states polled so far.
+     * @return the identifier of the state polled.
      */
-    private Node popPriorityNode(Collection<Node> states) {
-        Node state = null;
-        if (!states.isEmpty()) {
-            final Iterator<Node> i = states.iterator();
-            state = i.next();
-            while (i.hasNext()) {
-                final Node next = i.next();
-                if (next.getHeuristic() < state.getHeuristic()) {
-                    state = next;
-                }
-            }
-            states.remove(state);
+    private static int poll(final OpenList open, final OpenList preferred, final int turn) {
+        if (preferred == null || preferred.isEmpty()) {
+            return open.poll();
+        } else if (open.isEmpty() || (turn & 1) == 1) {
+            return preferred.poll();
+        } else {
+            return open.poll();
         }
-        return state;
     }
 }
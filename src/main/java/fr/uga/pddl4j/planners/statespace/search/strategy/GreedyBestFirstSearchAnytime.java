@@ -21,9 +21,11 @@ import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
 import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.Plan;
 import fr.uga.pddl4j.util.SolutionEvent;
+import fr.uga.pddl4j.util.SuccessorGenerator;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
@@ -124,10 +126,16 @@ public final class GreedyBestFirstSearchAnytime extends AbstractStateSpaceStrate
 
         final long begin = System.currentTimeMillis();
 
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), problem);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), problem,
+            this.getHeuristicCache());
+        this.startSearch(begin, heuristic);
         final Set<Node> closeSet = new HashSet<>();
         final Set<Node> openSet = new HashSet<>();
-        final int timeout = getTimeout();
+        // The successor generator used to enumerate the applicable operators of each node
+        final SuccessorGenerator generator = problem.getSuccessorGenerator();
+        final BitVector applicable = new BitVector(problem.getOperators().size());
+        // The state used to compute the successors of the nodes
+        final BitState nextState = new BitState();
 
         BitState init = new BitState(problem.getInit());
         Node root = new Node(init, null, 0, 0, heuristic.estimate(init, problem.getGoal()));
@@ -137,9 +145,7 @@ public final class GreedyBestFirstSearchAnytime extends AbstractStateSpaceStrate
         this.resetNodesStatistics();
         this.clearResults();
         Node solution = null;
-        long searchingTime = 0;
-
-        while (!openSet.isEmpty() && searchingTime < timeout) {
+        while (!openSet.isEmpty() && !this.checkInterrupted()) {
             // Pop the first node in the pending list open
             final Node current = popPriorityNode(openSet);
 
@@ -157,39 +163,36 @@ public final class GreedyBestFirstSearchAnytime extends AbstractStateSpaceStrate
                     + boundCost + "\n");
             } else {
                 closeSet.add(current);
-                int index = 0;
-                for (BitOp op : problem.getOperators()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final BitState nextState = new BitState(current);
-                        nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                        nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                        // Apply the effect of the applicable operator
+                // Enumerate the operators applicable in the current state
+                generator.getApplicableOperators(current, applicable);
+                for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+                    final BitOp op = problem.getOperators().get(index);
+                    // Apply the effect of the applicable operator
+                    op.apply(current, nextState);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    final double cost = current.getCost() + op.getCost();
+                    final int depth = current.getDepth() + 1;
+                    // The successor node is only created if it is within the bounds
+                    if (cost < boundCost && depth <= boundDepth) {
                         final Node successor = new Node(nextState);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        successor.setCost(current.getCost() + op.getCost());
+                        successor.setCost(cost);
                         successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
                         successor.setParent(current);
                         successor.setOperator(index);
-                        successor.setDepth(current.getDepth() + 1);
-                        if (successor.getCost() < boundCost && successor.getDepth() <= boundDepth) {
-                            openSet.add(successor);
-                        }
+                        successor.setDepth(depth);
+                        openSet.add(successor);
                     }
-                    index++;
                 }
             }
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
         }
+        // Take time to compute the searching time
+        final long searchingTime = System.currentTimeMillis() - begin;
 
         this.setExploredNodes(closeSet.size());
         this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(closeSet) + MemoryAgent.getDeepSizeOf(openSet)
-            + MemoryAgent.getDeepSizeOf(heuristic));
+        this.setMemoryUsed(this.computeMemoryUsed((closeSet.size() + openSet.size())
+            * MemoryAccounting.sizeOfNode(problem.getRelevantFacts().size()) + heuristic.getMemoryUsed(),
+            closeSet, openSet, heuristic));
         this.setSearchingTime(searchingTime);
 
         this.clearBounds();
@@ -0,0 +1,627 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.SolutionEvent;
+import fr.uga.pddl4j.util.SuccessorGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class implements the hash distributed A* search strategy (HDA*). The states are partitioned
+ * between several workers by the Zobrist hash of their facts maintained by <code>BitState</code>.
+ * Each worker runs on its own thread and owns the registry, the open list and the heuristic used
+ * for the states it is assigned. The successors of a state expanded by a worker are sent to their
+ * owners through lock-free queues.
+ * <p>
+ * The first solution found is not necessarily optimal. A solution is kept as incumbent and the
+ * states whose value <code>g + h</code> is not lower than the cost of the incumbent are pruned. The
+ * search stops when all the workers are idle and no state is in transit between workers. This is
+ * detected with a single counter of the active workers and of the states in transit: a worker
+ * that receives a state becomes active before the state is counted as delivered, so that the
+ * counter reaches zero only once. With an admissible heuristic and a weight of 1, the solution
+ * returned is optimal as with <code>AStar</code>.
+ * </p>
+ * <p>
+ * See A. Kishimoto, A. Fukunaga and A. Botea. "Evaluation of a simple, scalable, parallel best-first
+ * search strategy", Artificial Intelligence, 195, 2013.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.04.2019
+ * @since 3.8.3
+ */
+public final class HDAStar extends AbstractStateSpaceStrategy {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The time in nanoseconds an idle worker waits before polling its queue again.
+     */
+    private static final long IDLE_WAIT = 50_000L;
+
+    /**
+     * The number of workers.
+     */
+    private int threads;
+
+    /**
+     * Creates a new HDA* search strategy with default parameters. The number of workers is the
+     * number of processors available.
+     */
+    public HDAStar() {
+        super();
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates a new HDA* search strategy. The number of workers is the number of processors
+     * available.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristicType to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     */
+    public HDAStar(int timeout, Heuristic.Type heuristic, double weight) {
+        this(timeout, heuristic, weight, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new HDA* search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristicType to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     * @param threads   the number of workers.
+     * @throws IllegalArgumentException if <code>threads &#60; 1</code>.
+     */
+    public HDAStar(int timeout, Heuristic.Type heuristic, double weight, int threads) {
+        super(timeout, heuristic, weight);
+        this.setNumberOfThreads(threads);
+    }
+
+    /**
+     * Returns the number of workers of the search.
+     *
+     * @return the number of workers of the search.
+     */
+    public int getNumberOfThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Sets the number of workers of the search. Each worker runs on its own thread.
+     *
+     * @param threads the number of workers.
+     * @throws IllegalArgumentException if <code>threads &#60; 1</code>.
+     */
+    public void setNumberOfThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Solves the planning problem and returns the best solution found.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return a solution search or null if it does not exist.
+     */
+    public Node search(final CodedProblem codedProblem) {
+        Objects.requireNonNull(codedProblem);
+        final long begin = System.currentTimeMillis();
+        this.startSearch(begin, null);
+        this.resetNodesStatistics();
+
+        // Creates the workers: each worker needs its own heuristic because heuristics are not synchronized
+        final Search search = new Search(codedProblem, this.threads);
+        for (int i = 0; i < this.threads; i++) {
+            final Heuristic heuristic = HeuristicToolKit.createHeuristic(this.getHeuristicType(), codedProblem,
+                this.getHeuristicCache());
+            heuristic.setCancellationToken(this.getHeuristicCancellationToken());
+            search.workers[i] = new Worker(search, i, heuristic);
+        }
+        // Sends the initial state to its owner
+        final BitState init = new BitState(codedProblem.getInit());
+        search.send(search.owner(init), new Message(init, StateRegistry.NONE, -1, 0.0, 0));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+        for (Worker worker : search.workers) {
+            executor.execute(worker);
+        }
+        try {
+            while (!search.done.await(1, TimeUnit.MILLISECONDS) && !this.checkInterrupted()) {
+                // Wait for the termination of the workers or the interruption of the search
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            search.stop = true;
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    // Wait for the workers to stop
+                }
+            } catch (InterruptedException exception) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (search.failure != null) {
+            if (search.failure instanceof Error) {
+                throw (Error) search.failure;
+            }
+            throw (RuntimeException) search.failure;
+        }
+        // Compute the searching time
+        final long time = System.currentTimeMillis() - begin;
+
+        final Node solution = search.solutionWorker == -1 ? null
+            : this.toNode(search, search.solutionWorker, search.solutionId);
+        if (solution != null) {
+            fireSolution(new SolutionEvent(this, solution, codedProblem));
+        }
+
+        int explored = 0;
+        int created = 0;
+        int pending = 0;
+        long memory = 0;
+        final List<Object> structures = new ArrayList<>();
+        for (Worker worker : search.workers) {
+            explored += worker.explored;
+            created += worker.created;
+            pending += worker.open.size();
+            memory += worker.registry.getMemoryUsed() + worker.open.getMemoryUsed() + worker.heuristic.getMemoryUsed();
+            structures.add(worker.registry);
+            structures.add(worker.open);
+            structures.add(worker.heuristic);
+        }
+        this.setExploredNodes(explored);
+        this.setCreatedNodes(created);
+        this.setPendingNodes(pending);
+        this.setMemoryUsed(this.computeMemoryUsed(memory, structures.toArray()));
+        this.setSearchingTime(time);
+
+        // return the search computed or null if no search was found
+        return solution;
+    }
+
+    /**
+     * Creates the node of the search tree that corresponds to a state registered by a specified
+     * worker. The parents of the node are created by following the parents of the state across the
+     * registries of the workers.
+     *
+     * @param search the search.
+     * @param worker the index of the worker that registered the state.
+     * @param id     the identifier of the state in the registry of the worker.
+     * @return the node of the state.
+     */
+    private Node toNode(final Search search, final int worker, final int id) {
+        final List<int[]> path = new ArrayList<>();
+        int w = worker;
+        int i = id;
+        while (i != StateRegistry.NONE) {
+            path.add(new int[] {w, i});
+            final int parent = search.workers[w].registry.getParent(i);
+            if (parent == StateRegistry.NONE) {
+                i = StateRegistry.NONE;
+            } else {
+                w = parent % search.workers.length;
+                i = parent / search.workers.length;
+            }
+        }
+        Node node = null;
+        for (int k = path.size() - 1; k >= 0; k--) {
+            final StateRegistry registry = search.workers[path.get(k)[0]].registry;
+            final int s = path.get(k)[1];
+            node = new Node(registry.getState(s), node, registry.getOperator(s), registry.getCost(s),
+                registry.getDepth(s), registry.getHeuristic(s));
+        }
+        return node;
+    }
+
+    /**
+     * This class contains the data shared by the workers of a search.
+     */
+    private static final class Search {
+
+        /**
+         * The problem to solve.
+         */
+        private final CodedProblem problem;
+
+        /**
+         * The workers of the search.
+         */
+        private final Worker[] workers;
+
+        /**
+         * The number of active workers plus the number of states in transit between workers.
+         */
+        private final AtomicLong activity;
+
+        /**
+         * The latch released when the search is over.
+         */
+        private final CountDownLatch done;
+
+        /**
+         * The flag used to stop the workers.
+         */
+        private volatile boolean stop;
+
+        /**
+         * The cost of the best solution found or <code>Double.POSITIVE_INFINITY</code>.
+         */
+        private volatile double bound;
+
+        /**
+         * The index of the worker that registered the best solution found or -1.
+         */
+        private int solutionWorker;
+
+        /**
+         * The identifier of the best solution found in the registry of its worker.
+         */
+        private int solutionId;
+
+        /**
+         * The error thrown by a worker or null.
+         */
+        private volatile Throwable failure;
+
+        /**
+         * Creates the shared data of a new search. All the workers are initially active.
+         *
+         * @param problem the problem to solve.
+         * @param threads the number of workers.
+         */
+        private Search(final CodedProblem problem, final int threads) {
+            this.problem = problem;
+            this.workers = new Worker[threads];
+            this.activity = new AtomicLong(threads);
+            this.done = new CountDownLatch(1);
+            this.stop = false;
+            this.bound = Double.POSITIVE_INFINITY;
+            this.solutionWorker = -1;
+            this.solutionId = StateRegistry.NONE;
+            this.failure = null;
+        }
+
+        /**
+         * Returns the index of the worker that owns a specified state.
+         *
+         * @param state the state.
+         * @return the index of the worker that owns the state.
+         */
+        private int owner(final BitState state) {
+            return (int) ((state.getZobristHash() >>> 1) % this.workers.length);
+        }
+
+        /**
+         * Sends a state to a worker. The state is counted as in transit until the worker receives it.
+         *
+         * @param worker  the index of the worker.
+         * @param message the message that contains the state.
+         */
+        private void send(final int worker, final Message message) {
+            this.activity.incrementAndGet();
+            this.workers[worker].inbox.add(message);
+        }
+
+        /**
+         * Records a new solution if its cost is lower than the cost of the best solution found.
+         *
+         * @param worker the index of the worker that registered the solution.
+         * @param id     the identifier of the solution in the registry of the worker.
+         * @param cost   the cost of the solution.
+         */
+        private synchronized void improve(final int worker, final int id, final double cost) {
+            if (cost < this.bound) {
+                this.bound = cost;
+                this.solutionWorker = worker;
+                this.solutionId = id;
+            }
+        }
+
+        /**
+         * Stops the search because all the workers are idle and no state is in transit.
+         */
+        private void terminate() {
+            this.stop = true;
+            this.done.countDown();
+        }
+
+        /**
+         * Stops the search because a worker failed.
+         *
+         * @param failure the error thrown by the worker.
+         */
+        private void fail(final Throwable failure) {
+            this.failure = failure;
+            this.stop = true;
+            this.done.countDown();
+        }
+    }
+
+    /**
+     * This class implements a state sent to its owner.
+     */
+    private static final class Message {
+
+        /**
+         * The state.
+         */
+        private final BitState state;
+
+        /**
+         * The parent of the state encoded with the index of the worker that registered it.
+         */
+        private final int parent;
+
+        /**
+         * The operator applied to the parent to reach the state.
+         */
+        private final int operator;
+
+        /**
+         * The cost of the state from the initial state.
+         */
+        private final double cost;
+
+        /**
+         * The depth of the state.
+         */
+        private final int depth;
+
+        /**
+         * Creates a new message.
+         *
+         * @param state    the state.
+         * @param parent   the parent of the state.
+         * @param operator the operator applied to the parent to reach the state.
+         * @param cost     the cost of the state from the initial state.
+         * @param depth    the depth of the state.
+         */
+        private Message(final BitState state, final int parent, final int operator, final double cost,
+                        final int depth) {
+            this.state = state;
+            this.parent = parent;
+            this.operator = operator;
+            this.cost = cost;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * This class implements a worker of the search. A worker is not synchronized: only its queue is
+     * accessed by the other workers.
+     */
+    private final class Worker implements Runnable {
+
+        /**
+         * The shared data of the search.
+         */
+        private final Search search;
+
+        /**
+         * The index of the worker.
+         */
+        private final int index;
+
+        /**
+         * The queue of the states sent to the worker.
+         */
+        private final Queue<Message> inbox;
+
+        /**
+         * The registry of the states owned by the worker.
+         */
+        private final StateRegistry registry;
+
+        /**
+         * The open list of the worker.
+         */
+        private final OpenList open;
+
+        /**
+         * The heuristic of the worker.
+         */
+        private final Heuristic heuristic;
+
+        /**
+         * The successor generator used to enumerate the applicable operators of each state.
+         */
+        private final SuccessorGenerator generator;
+
+        /**
+         * The bit vector used to store the operators applicable in the state expanded.
+         */
+        private final BitVector applicable;
+
+        /**
+         * The state expanded.
+         */
+        private final BitState current;
+
+        /**
+         * The successor of the state expanded.
+         */
+        private final BitState successor;
+
+        /**
+         * The flag used to indicate if the worker is counted as active.
+         */
+        private boolean active;
+
+        /**
+         * The number of states explored by the worker.
+         */
+        private int explored;
+
+        /**
+         * The number of states created by the worker.
+         */
+        private int created;
+
+        /**
+         * Creates a new active worker.
+         *
+         * @param search    the shared data of the search.
+         * @param index     the index of the worker.
+         * @param heuristic the heuristic of the worker.
+         */
+        private Worker(final Search search, final int index, final Heuristic heuristic) {
+            this.search = search;
+            this.index = index;
+            this.inbox = new ConcurrentLinkedQueue<>();
+            this.registry = new StateRegistry(search.problem.getRelevantFacts().size());
+            this.open = HDAStar.this.createOpenList();
+            this.heuristic = heuristic;
+            this.generator = search.problem.getSuccessorGenerator();
+            this.applicable = new BitVector(search.problem.getOperators().size());
+            this.current = new BitState();
+            this.successor = new BitState();
+            this.active = true;
+            this.explored = 0;
+            this.created = 0;
+        }
+
+        /**
+         * Runs the worker until the search is stopped.
+         */
+        @Override
+        public void run() {
+            try {
+                while (!this.search.stop) {
+                    final Message message = this.inbox.poll();
+                    if (message != null) {
+                        // The worker must be active before the state is counted as delivered
+                        if (!this.active) {
+                            this.active = true;
+                            this.search.activity.incrementAndGet();
+                        }
+                        this.receive(message.state, message.parent, message.operator, message.cost, message.depth);
+                        this.search.activity.decrementAndGet();
+                    } else if (!this.open.isEmpty()) {
+                        this.expand(this.open.poll());
+                    } else if (this.active) {
+                        this.active = false;
+                        if (this.search.activity.decrementAndGet() == 0) {
+                            this.search.terminate();
+                        }
+                    } else {
+                        LockSupport.parkNanos(HDAStar.IDLE_WAIT);
+                    }
+                }
+            } catch (RuntimeException | Error exception) {
+                this.search.fail(exception);
+            }
+        }
+
+        /**
+         * Expands a state owned by the worker.
+         *
+         * @param id the identifier of the state.
+         */
+        private void expand(final int id) {
+            // The states that cannot lead to a better solution than the best one found are pruned
+            if (this.registry.getValueF(id, 1.0) >= this.search.bound) {
+                return;
+            }
+            this.explored++;
+            this.registry.getState(id, this.current);
+            final double cost = this.registry.getCost(id);
+            if (this.current.satisfy(this.search.problem.getGoal())) {
+                this.search.improve(this.index, id, cost);
+                return;
+            }
+            final int depth = this.registry.getDepth(id) + 1;
+            final int parent = Math.addExact(Math.multiplyExact(id, this.search.workers.length), this.index);
+            final List<BitOp> operators = this.search.problem.getOperators();
+            this.generator.getApplicableOperators(this.current, this.applicable);
+            for (int op = this.applicable.nextSetBit(0); op >= 0; op = this.applicable.nextSetBit(op + 1)) {
+                final BitOp operator = operators.get(op);
+                operator.apply(this.current, this.successor);
+                this.created++;
+                final double g = cost + operator.getCost();
+                if (g >= this.search.bound) {
+                    continue;
+                }
+                final int owner = this.search.owner(this.successor);
+                if (owner == this.index) {
+                    this.receive(this.successor, parent, op, g, depth);
+                } else {
+                    this.search.send(owner, new Message(new BitState(this.successor), parent, op, g, depth));
+                }
+            }
+        }
+
+        /**
+         * Receives a state owned by the worker. The state is registered if it is new and pushed in the
+         * open list if it is new or reached with a lower cost.
+         *
+         * @param state    the state.
+         * @param parent   the parent of the state.
+         * @param operator the operator applied to the parent to reach the state.
+         * @param cost     the cost of the state from the initial state.
+         * @param depth    the depth of the state.
+         */
+        private void receive(final BitState state, final int parent, final int operator, final double cost,
+                             final int depth) {
+            final double weight = HDAStar.this.getWeight();
+            final int result = this.registry.lookup(state);
+            if (result == StateRegistry.NONE) {
+                final BitExp goal = this.search.problem.getGoal();
+                final int h = this.heuristic.estimate(state, goal);
+                final int id = this.registry.add(state, parent, operator, cost, h, depth);
+                // The dead ends detected by the heuristic are registered but never expanded
+                if (h != Integer.MAX_VALUE) {
+                    this.open.push(id, this.registry.getValueF(id, weight));
+                }
+            } else if (cost < this.registry.getCost(result)) {
+                this.registry.setCost(result, cost);
+                this.registry.setParent(result, parent);
+                this.registry.setOperator(result, operator);
+                this.registry.setDepth(result, depth);
+                if (this.registry.getHeuristic(result) != Integer.MAX_VALUE) {
+                    this.open.push(result, this.registry.getValueF(result, weight));
+                }
+            }
+        }
+    }
+}
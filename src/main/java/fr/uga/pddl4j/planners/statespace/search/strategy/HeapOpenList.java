@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.util.MemoryAccounting;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an open list as an indexed binary heap of state identifiers. The position of each state in
+ * the heap is recorded so that the priority of a pending state can be decreased or increased in
+ * <code>O(log(n))</code>. The states with the same priority are returned in increasing order of identifier.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 05.04.2019
+ * @since 3.8.3
+ */
+public final class HeapOpenList implements OpenList {
+
+    /**
+     * The value of the position of the states that are not in the heap.
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * The default initial capacity of the open list.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The heap of the state identifiers.
+     */
+    private int[] heap;
+
+    /**
+     * The number of states in the heap.
+     */
+    private int size;
+
+    /**
+     * The position of the states in the heap indexed by state identifier or <code>ABSENT</code>.
+     */
+    private int[] positions;
+
+    /**
+     * The priority of the states indexed by state identifier.
+     */
+    private double[] priorities;
+
+    /**
+     * Creates a new empty open list.
+     */
+    public HeapOpenList() {
+        this.heap = new int[HeapOpenList.DEFAULT_CAPACITY];
+        this.size = 0;
+        this.positions = new int[HeapOpenList.DEFAULT_CAPACITY];
+        Arrays.fill(this.positions, HeapOpenList.ABSENT);
+        this.priorities = new double[HeapOpenList.DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Returns if the open list is empty.
+     *
+     * @return <code>true</code> if the open list is empty, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the number of states pending in the open list.
+     *
+     * @return the number of states pending in the open list.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns if a specified state is pending in the open list.
+     *
+     * @param id the identifier of the state.
+     * @return <code>true</code> if the state is pending in the open list, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean contains(final int id) {
+        return id < this.positions.length && this.positions[id] != HeapOpenList.ABSENT;
+    }
+
+    /**
+     * Adds a state to the open list with a specified priority. If the state is already pending in the open list,
+     * its priority is updated.
+     *
+     * @param id       the identifier of the state. The identifier must be positive.
+     * @param priority the priority of the state.
+     */
+    @Override
+    public void push(final int id, final double priority) {
+        if (id >= this.positions.length) {
+            final int length = this.positions.length;
+            final int capacity = Math.max(id + 1, length << 1);
+            this.positions = Arrays.copyOf(this.positions, capacity);
+            Arrays.fill(this.positions, length, capacity, HeapOpenList.ABSENT);
+            this.priorities = Arrays.copyOf(this.priorities, capacity);
+        }
+        final int position = this.positions[id];
+        if (position == HeapOpenList.ABSENT) {
+            if (this.size == this.heap.length) {
+                this.heap = Arrays.copyOf(this.heap, this.size << 1);
+            }
+            this.priorities[id] = priority;
+            this.siftUp(this.size++, id);
+        } else {
+            final double old = this.priorities[id];
+            this.priorities[id] = priority;
+            if (priority < old) {
+                this.siftUp(position, id);
+            } else if (priority > old) {
+                this.siftDown(position, id);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the pending state with the lowest priority.
+     *
+     * @return the identifier of the state with the lowest priority.
+     * @throws NoSuchElementException if the open list is empty.
+     */
+    @Override
+    public int poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        final int first = this.heap[0];
+        this.positions[first] = HeapOpenList.ABSENT;
+        this.size--;
+        if (this.size > 0) {
+            this.siftDown(0, this.heap[this.size]);
+        }
+        return first;
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by the open list.
+     *
+     * @return an estimation of the number of bytes used by the open list.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return MemoryAccounting.sizeOf(this.heap) + MemoryAccounting.sizeOf(this.positions)
+            + MemoryAccounting.ARRAY_HEADER + (long) this.priorities.length * Double.BYTES;
+    }
+
+    /**
+     * Moves up a state in the heap from a specified position until its parent has a lower priority.
+     *
+     * @param position the position from where the state is moved.
+     * @param id       the identifier of the state.
+     */
+    private void siftUp(final int position, final int id) {
+        int child = position;
+        while (child > 0) {
+            final int parent = (child - 1) >>> 1;
+            final int other = this.heap[parent];
+            if (!this.less(id, other)) {
+                break;
+            }
+            this.heap[child] = other;
+            this.positions[other] = child;
+            child = parent;
+        }
+        this.heap[child] = id;
+        this.positions[id] = child;
+    }
+
+    /**
+     * Moves down a state in the heap from a specified position until its children have a greater priority.
+     *
+     * @param position the position from where the state is moved.
+     * @param id       the identifier of the state.
+     */
+    private void siftDown(final int position, final int id) {
+        int parent = position;
+        final int half = this.size >>> 1;
+        while (parent < half) {
+            int child = (parent << 1) + 1;
+            int other = this.heap[child];
+            final int right = child + 1;
+            if (right < this.size && this.less(this.heap[right], other)) {
+                child = right;
+                other = this.heap[child];
+            }
+            if (!this.less(other, id)) {
+                break;
+            }
+            this.heap[parent] = other;
+            this.positions[other] = parent;
+            parent = child;
+        }
+        this.heap[parent] = id;
+        this.positions[id] = parent;
+    }
+
+    /**
+     * Returns if a state must be returned before an other one.
+     *
+     * @param id1 the identifier of the first state.
+     * @param id2 the identifier of the second state.
+     * @return <code>true</code> if the first state has a lower priority than the second one or the same priority and
+     *          a lower identifier, <code>false</code> otherwise.
+     */
+    private boolean less(final int id1, final int id2) {
+        final int cmp = Double.compare(this.priorities[id1], this.priorities[id2]);
+        return cmp < 0 || cmp == 0 && id1 < id2;
+    }
+}
@@ -20,11 +20,10 @@ import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
 import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.SolutionEvent;
 
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Objects;
 
@@ -69,7 +68,8 @@ public final class HillClimbing extends AbstractStateSpaceStrategy {
     public Node search(final CodedProblem codedProblem) {
         Objects.requireNonNull(codedProblem);
         final LinkedList<Node> openList = new LinkedList<>();
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem);
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(getHeuristicType(), codedProblem,
+            this.getHeuristicCache());
 
         BitState init = new BitState(codedProblem.getInit());
         Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
@@ -78,94 +78,77 @@ public final class HillClimbing extends AbstractStateSpaceStrategy {
         Node solution = null;
         boolean deadEndFree = true;
 
+        // The bit vector used to store the operators applicable in the nodes
+        final BitVector applicable = new BitVector(codedProblem.getOperators().size());
+        // The state used to compute the successors of the nodes
+        final BitState nextState = new BitState();
+
         this.resetNodesStatistics();
-        final int timeout = getTimeout();
         final long begin = System.currentTimeMillis();
-        long searchingTime = 0;
+        this.startSearch(begin, heuristic);
         while (!openList.isEmpty() && solution == null
-            && deadEndFree && searchingTime < timeout) {
+            && deadEndFree && !this.checkInterrupted()) {
 
             final Node currentState = openList.pop();
-            final LinkedList<Node> successors = getSuccessors(currentState, codedProblem, heuristic);
-            deadEndFree = !successors.isEmpty();
+            final Node successor = this.getBestSuccessor(currentState, codedProblem, heuristic, applicable,
+                nextState);
+            deadEndFree = successor != null;
 
             if (deadEndFree) {
-                final Node successor = popBestNode(successors);
                 this.setExploredNodes(this.getExploredNodes() + 1);
                 if (successor.satisfy(codedProblem.getGoal())) {
                     solution = successor;
                     fireSolution(new SolutionEvent(this, solution, codedProblem));
                 } else {
-                    successors.clear();
                     openList.clear();
                     openList.addLast(successor);
                 }
             }
-
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
         }
+        final long searchingTime = System.currentTimeMillis() - begin;
 
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(openList) + MemoryAgent.getDeepSizeOf(heuristic));
+        this.setMemoryUsed(this.computeMemoryUsed(openList.size()
+            * MemoryAccounting.sizeOfNode(codedProblem.getRelevantFacts().size()) + heuristic.getMemoryUsed(),
+            openList, heuristic));
         this.setSearchingTime(searchingTime);
 
         return solution;
     }
 
     /**
-     * Get the successors from a node.
+     * Returns the successor of a node with the best heuristic value. The first successor with the
+     * best heuristic value is returned. The successors are computed in a same state and only the node
+     * of the best successor is created.
      *
-     * @param parent    the parent node.
-     * @param problem   the coded problem to solve.
-     * @param heuristic the heuristic used.
-     * @return the list of successors from the parent node.
+     * @param parent     the parent node.
+     * @param problem    the coded problem to solve.
+     * @param heuristic  the heuristic used.
+     * @param applicable the bit vector used to store the operators applicable in the parent node.
+     * @param nextState  the state used to compute the successors.
+     * @return the best successor of the parent node or null if the parent node has no successor.
      */
-    private LinkedList<Node> getSuccessors(final Node parent, final CodedProblem problem,
-                                           final Heuristic heuristic) {
-        final LinkedList<Node> successors = new LinkedList<>();
-
-        int index = 0;
-        for (BitOp op : problem.getOperators()) {
-            if (op.isApplicable(parent)) {
-                final BitState nextState = new BitState(parent);
-                nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                // Apply the effect of the applicable operator
-                final Node successor = new Node(nextState);
-                this.setCreatedNodes(this.getCreatedNodes() + 1);
-                successor.setCost(parent.getCost() + op.getCost());
-                successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
-                successor.setParent(parent);
-                successor.setOperator(index);
-                successor.setDepth(parent.getDepth() + 1);
-                successors.add(successor);
+    private Node getBestSuccessor(final Node parent, final CodedProblem problem, final Heuristic heuristic,
+                                  final BitVector applicable, final BitState nextState) {
+        int bestOperator = -1;
+        double bestHeuristic = Double.MAX_VALUE;
+        problem.getSuccessorGenerator().getApplicableOperators(parent, applicable);
+        for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+            // Apply the effect of the applicable operator
+            problem.getOperators().get(index).apply(parent, nextState);
+            this.setCreatedNodes(this.getCreatedNodes() + 1);
+            final double value = heuristic.estimate(nextState, problem.getGoal());
+            if (bestOperator == -1 || value < bestHeuristic) {
+                bestOperator = index;
+                bestHeuristic = value;
             }
-            index++;
         }
-
-        return successors;
-    }
-
-    /**
-     * Return the best node from a list according to the heuristic value.
-     *
-     * @param nodes the list containing nodes.
-     * @return the best node from the nodes' list.
-     */
-    private Node popBestNode(Collection<Node> nodes) {
-        Node node = null;
-        if (!nodes.isEmpty()) {
-            final Iterator<Node> i = nodes.iterator();
-            node = i.next();
-            while (i.hasNext()) {
-                final Node next = i.next();
-                if (next.getHeuristic() < node.getHeuristic()) {
-                    node = next;
-                }
-            }
-            nodes.remove(node);
+        if (bestOperator == -1) {
+            return null;
         }
-        return node;
+        // The best successor is computed again to create its node
+        final BitOp op = problem.getOperators().get(bestOperator);
+        op.apply(parent, nextState);
+        return new Node(nextState, parent, bestOperator, parent.getCost() + op.getCost(), parent.getDepth() + 1,
+            bestHeuristic);
     }
 }
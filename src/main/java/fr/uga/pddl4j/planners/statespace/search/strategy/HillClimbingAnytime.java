@@ -21,7 +21,8 @@ import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
 import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.MemoryAgent;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryAccounting;
 import fr.uga.pddl4j.util.SolutionEvent;
 import org.apache.logging.log4j.Logger;
 
@@ -85,7 +86,10 @@ public final class HillClimbingAnytime extends AbstractStateSpaceStrategyAnytime
         final Logger logger = Planner.getLogger();
         Objects.requireNonNull(problem);
 
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(this.getHeuristicType(), problem);
+        final long begin = System.currentTimeMillis();
+        final Heuristic heuristic = HeuristicToolKit.createHeuristic(this.getHeuristicType(), problem,
+            this.getHeuristicCache());
+        this.startSearch(begin, heuristic);
 
         BitState init = new BitState(problem.getInit());
         Node root = new Node(init, null, 0, 0, heuristic.estimate(init, problem.getGoal()));
@@ -94,17 +98,11 @@ public final class HillClimbingAnytime extends AbstractStateSpaceStrategyAnytime
         Node solution = null;
 
         double bound = Double.MAX_VALUE;
-        final int timeout = this.getTimeout();
-        long searchingTime = 0;
-        while (!restartList.isEmpty() && searchingTime < timeout) {
+        while (!restartList.isEmpty() && !this.checkInterrupted()) {
             final Node node = restartList.getFirst();
             restartList.remove(node);
 
-            final long begin = System.currentTimeMillis();
-            final Node returnedSolution = hillClimbingAnytime(problem, node, heuristic, searchingTime);
-            final long end = System.currentTimeMillis();
-
-            searchingTime += (end - begin);
+            final Node returnedSolution = hillClimbingAnytime(problem, node, heuristic);
 
             if (returnedSolution != null && returnedSolution.getCost() < bound) {
                 this.getSolutionNodes().add(new Node(returnedSolution, returnedSolution.getParent(), 0,
@@ -115,10 +113,12 @@ public final class HillClimbingAnytime extends AbstractStateSpaceStrategyAnytime
                 logger.trace("* " + this.getSolutionNodes().size() + " solution(s) found. Best cost: " + bound + "\n");
             }
         }
+        final long searchingTime = System.currentTimeMillis() - begin;
 
         this.setPendingNodes(restartList.size());
-        this.setMemoryUsed(MemoryAgent.getDeepSizeOf(openList) + MemoryAgent.getDeepSizeOf(heuristic)
-            + MemoryAgent.getDeepSizeOf(restartList));
+        this.setMemoryUsed(this.computeMemoryUsed((openList.size() + restartList.size())
+            * MemoryAccounting.sizeOfNode(problem.getRelevantFacts().size()) + heuristic.getMemoryUsed(),
+            openList, heuristic, restartList));
         this.setSearchingTime(searchingTime);
 
         return solution;
@@ -132,7 +132,7 @@ public final class HillClimbingAnytime extends AbstractStateSpaceStrategyAnytime
      * @param heuristic the heuristic used in hill climbing.
      * @return the solution node or null.
      */
-    private Node hillClimbingAnytime(CodedProblem problem, Node node, Heuristic heuristic, long searchingTime) {
+    private Node hillClimbingAnytime(CodedProblem problem, Node node, Heuristic heuristic) {
         openList.clear();
 
         Node root = node;
@@ -148,11 +148,7 @@ public final class HillClimbingAnytime extends AbstractStateSpaceStrategyAnytime
         Node solution = null;
         boolean deadEndFree = true;
 
-        final int timeout = this.getTimeout();
-        final long begin = System.currentTimeMillis();
-        long hillClimbingSearchingTime = 0;
-        while (!openList.isEmpty() && solution == null
-            && deadEndFree && (hillClimbingSearchingTime + searchingTime) < timeout) {
+        while (!openList.isEmpty() && solution == null && deadEndFree && !this.checkInterrupted()) {
 
             final Node currentState = openList.pop();
             final LinkedList<Node> successors = this.getSuccessors(currentState, problem, heuristic);
@@ -170,9 +166,6 @@ public final class HillClimbingAnytime extends AbstractStateSpaceStrategyAnytime
                     openList.addLast(successor);
                 }
             }
-
-            long end = System.currentTimeMillis();
-            hillClimbingSearchingTime = end - begin;
         }
         return solution;
     }
@@ -188,24 +181,21 @@ public final class HillClimbingAnytime extends AbstractStateSpaceStrategyAnytime
     private LinkedList<Node> getSuccessors(Node parent, CodedProblem problem, Heuristic heuristic) {
         final LinkedList<Node> successors = new LinkedList<>();
 
-        int index = 0;
-        for (BitOp op : problem.getOperators()) {
-            if (op.isApplicable(parent)) {
-                final BitState nextState = new BitState(parent);
-                nextState.or(op.getCondEffects().get(0).getEffects().getPositive());
-                nextState.andNot(op.getCondEffects().get(0).getEffects().getNegative());
-
-                // Apply the effect of the applicable operator
-                final Node successor = new Node(nextState);
-                this.setCreatedNodes(this.getCreatedNodes() + 1);
-                successor.setCost(parent.getCost() + op.getCost());
-                successor.setHeuristic(heuristic.estimate(successor, problem.getGoal()));
-                successor.setParent(parent);
-                successor.setOperator(index);
-                successor.setDepth(parent.getDepth() + 1);
-                successors.add(successor);
-            }
-            index++;
+        final BitVector applicable = problem.getSuccessorGenerator().getApplicableOperators(parent);
+        final BitState nextState = new BitState();
+        for (int index = applicable.nextSetBit(0); index >= 0; index = applicable.nextSetBit(index + 1)) {
+            final BitOp op = problem.getOperators().get(index);
+            op.apply(parent, nextState);
+
+            // Apply the effect of the applicable operator
+            final Node successor = new Node(nextState);
+            this.setCreatedNodes(this.getCreatedNodes() + 1);
+            successor.setCost(parent.getCost() + op.getCost());
+            successor.setHeuristic(heuristic.estimate(successor, problem.getGoal()));
+            successor.setParent(parent);
+            successor.setOperator(index);
+            successor.setDepth(parent.getDepth() + 1);
+            successors.add(successor);
         }
 
         return successors;
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+/**
+ * This interface defines the open list of the states pending during a search. The states are identified by the
+ * integer identifiers given by a <code>StateRegistry</code> and the open list always returns the pending state with
+ * the lowest priority.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 05.04.2019
+ * @since 3.8.3
+ * @see StateRegistry
+ */
+public interface OpenList {
+
+    /**
+     * The enumeration of the open lists available.
+     */
+    enum Type {
+
+        /**
+         * The type for the <code>HeapOpenList</code> open list. The priorities can be any double value.
+         */
+        HEAP,
+        /**
+         * The type for the <code>BucketOpenList</code> open list. The priorities must be non negative integer values.
+         */
+        BUCKET,
+    }
+
+    /**
+     * Returns if the open list is empty.
+     *
+     * @return <code>true</code> if the open list is empty, <code>false</code> otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the number of states pending in the open list.
+     *
+     * @return the number of states pending in the open list.
+     */
+    int size();
+
+    /**
+     * Returns if a specified state is pending in the open list.
+     *
+     * @param id the identifier of the state.
+     * @return <code>true</code> if the state is pending in the open list, <code>false</code> otherwise.
+     */
+    boolean contains(int id);
+
+    /**
+     * Adds a state to the open list with a specified priority. If the state is already pending in the open list,
+     * its priority is updated.
+     *
+     * @param id       the identifier of the state. The identifier must be positive.
+     * @param priority the priority of the state.
+     * @throws IllegalArgumentException if the priority is not supported by the open list.
+     */
+    void push(int id, double priority);
+
+    /**
+     * Removes and returns the pending state with the lowest priority.
+     *
+     * @return the identifier of the state with the lowest priority.
+     * @throws java.util.NoSuchElementException if the open list is empty.
+     */
+    int poll();
+
+    /**
+     * Returns an estimation of the number of bytes used by the open list. The estimation is computed in constant
+     * time.
+     *
+     * @return an estimation of the number of bytes used by the open list.
+     */
+    long getMemoryUsed();
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.util.BitState;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a compact registry of the states generated during a search. Each state
+ * registered receives an integer identifier, allocated consecutively from 0. The facts of the states
+ * are packed in a single array of words of fixed width, and the search information attached to the
+ * states (cost, heuristic value, parent, operator and depth) is stored in parallel arrays of
+ * primitive types. The states are indexed by an open addressing hash table with the Zobrist hashes
+ * of the states, which are maintained incrementally by <code>BitState</code>.
+ * <p>
+ * Compared to a map of <code>Node</code>, the registry avoids an object per state and a copy of its
+ * bit set and reduces the memory used per state to a few words. The registry is not synchronized.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 04.04.2019
+ * @since 3.8.3
+ */
+public final class StateRegistry {
+
+    /**
+     * The value returned when a state is not registered. It is also the parent of the root state.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The default initial capacity of the registry.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The number of facts of the states.
+     */
+    private final int nbFacts;
+
+    /**
+     * The number of words used to store a state.
+     */
+    private final int width;
+
+    /**
+     * The number of states registered.
+     */
+    private int size;
+
+    /**
+     * The words of the states, stored state after state.
+     */
+    private long[] states;
+
+    /**
+     * The hashes of the states.
+     */
+    private int[] hashes;
+
+    /**
+     * The cost of the states from the root state.
+     */
+    private double[] costs;
+
+    /**
+     * The heuristic value of the states.
+     */
+    private double[] heuristics;
+
+    /**
+     * The parent of the states.
+     */
+    private int[] parents;
+
+    /**
+     * The operator applied to the parent to reach the states.
+     */
+    private int[] operators;
+
+    /**
+     * The depth of the states.
+     */
+    private int[] depths;
+
+    /**
+     * The hash table that contains the identifiers of the states or <code>NONE</code>. Its length
+     * is a power of 2.
+     */
+    private int[] table;
+
+    /**
+     * The buffer used to pack the states looked up.
+     */
+    private final long[] buffer;
+
+    /**
+     * Creates a new empty registry for states defined over a specified number of facts.
+     *
+     * @param nbFacts the number of facts of the states.
+     * @throws IllegalArgumentException if <code>nbFacts &lt; 0</code>.
+     */
+    public StateRegistry(final int nbFacts) {
+        this(nbFacts, StateRegistry.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty registry for states defined over a specified number of facts.
+     *
+     * @param nbFacts  the number of facts of the states.
+     * @param capacity the initial number of states that the registry can store without resizing.
+     * @throws IllegalArgumentException if <code>nbFacts &lt; 0 || capacity &lt; 1</code>.
+     */
+    public StateRegistry(final int nbFacts, final int capacity) {
+        if (nbFacts < 0 || capacity < 1) {
+            throw new IllegalArgumentException("nbFacts < 0 || capacity < 1");
+        }
+        this.nbFacts = nbFacts;
+        this.width = Math.max(1, (nbFacts + Long.SIZE - 1) >>> 6);
+        this.size = 0;
+        this.states = new long[capacity * this.width];
+        this.hashes = new int[capacity];
+        this.costs = new double[capacity];
+        this.heuristics = new double[capacity];
+        this.parents = new int[capacity];
+        this.operators = new int[capacity];
+        this.depths = new int[capacity];
+        this.table = new int[Integer.highestOneBit(capacity) << 2];
+        Arrays.fill(this.table, StateRegistry.NONE);
+        this.buffer = new long[this.width];
+    }
+
+    /**
+     * Returns the number of facts of the states.
+     *
+     * @return the number of facts of the states.
+     */
+    public int getNumberOfFacts() {
+        return this.nbFacts;
+    }
+
+    /**
+     * Returns the number of states registered.
+     *
+     * @return the number of states registered.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the identifier of a specified state.
+     *
+     * @param state the state.
+     * @return the identifier of the state or <code>NONE</code> if the state is not registered.
+     * @throws NullPointerException     if <code>state == null</code>.
+     * @throws IllegalArgumentException if the state contains a fact out of the range of the registry.
+     */
+    public int lookup(final BitState state) {
+        this.pack(state);
+        final int hash = StateRegistry.hash(state);
+        final int mask = this.table.length - 1;
+        int slot = hash & mask;
+        while (this.table[slot] != StateRegistry.NONE) {
+            final int id = this.table[slot];
+            if (this.hashes[id] == hash && this.equals(id, this.buffer)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return StateRegistry.NONE;
+    }
+
+    /**
+     * Registers a new state and returns its identifier. The state must not be already registered.
+     *
+     * @param state     the state.
+     * @param parent    the identifier of the parent of the state or <code>NONE</code>.
+     * @param operator  the operator applied to the parent to reach the state.
+     * @param cost      the cost of the state from the root state.
+     * @param heuristic the heuristic value of the state.
+     * @param depth     the depth of the state.
+     * @return the identifier of the state.
+     * @throws NullPointerException     if <code>state == null</code>.
+     * @throws IllegalArgumentException if the state contains a fact out of the range of the registry.
+     */
+    public int add(final BitState state, final int parent, final int operator, final double cost,
+                   final double heuristic, final int depth) {
+        this.pack(state);
+        if (this.size == this.hashes.length) {
+            this.grow();
+        }
+        final int id = this.size++;
+        System.arraycopy(this.buffer, 0, this.states, id * this.width, this.width);
+        this.hashes[id] = StateRegistry.hash(state);
+        this.parents[id] = parent;
+        this.operators[id] = operator;
+        this.costs[id] = cost;
+        this.heuristics[id] = heuristic;
+        this.depths[id] = depth;
+        this.insert(id);
+        return id;
+    }
+
+    /**
+     * Copies a specified registered state in a bit state. The bit state is cleared before the copy.
+     *
+     * @param id    the identifier of the state.
+     * @param state the bit state where the state is copied.
+     * @throws NullPointerException if <code>state == null</code>.
+     */
+    public void getState(final int id, final BitState state) {
+        state.clear();
+        final int offset = id * this.width;
+        for (int i = 0; i < this.width; i++) {
+            long word = this.states[offset + i];
+            while (word != 0) {
+                state.set((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns a specified registered state.
+     *
+     * @param id the identifier of the state.
+     * @return the state.
+     */
+    public BitState getState(final int id) {
+        final BitState state = new BitState();
+        this.getState(id, state);
+        return state;
+    }
+
+    /**
+     * Returns the cost of a specified state from the root state.
+     *
+     * @param id the identifier of the state.
+     * @return the cost of the state.
+     */
+    public double getCost(final int id) {
+        return this.costs[id];
+    }
+
+    /**
+     * Sets the cost of a specified state from the root state.
+     *
+     * @param id   the identifier of the state.
+     * @param cost the cost of the state.
+     */
+    public void setCost(final int id, final double cost) {
+        this.costs[id] = cost;
+    }
+
+    /**
+     * Returns the heuristic value of a specified state.
+     *
+     * @param id the identifier of the state.
+     * @return the heuristic value of the state.
+     */
+    public double getHeuristic(final int id) {
+        return this.heuristics[id];
+    }
+
+    /**
+     * Sets the heuristic value of a specified state.
+     *
+     * @param id        the identifier of the state.
+     * @param heuristic the heuristic value of the state.
+     */
+    public void setHeuristic(final int id, final double heuristic) {
+        this.heuristics[id] = heuristic;
+    }
+
+    /**
+     * Returns the value of the function f = weight * h + g of a specified state.
+     *
+     * @param id     the identifier of the state.
+     * @param weight the weight of the heuristic.
+     * @return the value of the function f of the state.
+     */
+    public double getValueF(final int id, final double weight) {
+        return weight * this.heuristics[id] + this.costs[id];
+    }
+
+    /**
+     * Returns the parent of a specified state.
+     *
+     * @param id the identifier of the state.
+     * @return the identifier of the parent of the state or <code>NONE</code> if the state has no
+     *          parent.
+     */
+    public int getParent(final int id) {
+        return this.parents[id];
+    }
+
+    /**
+     * Sets the parent of a specified state.
+     *
+     * @param id     the identifier of the state.
+     * @param parent the identifier of the parent of the state or <code>NONE</code>.
+     */
+    public void setParent(final int id, final int parent) {
+        this.parents[id] = parent;
+    }
+
+    /**
+     * Returns the operator applied to the parent of a specified state to reach it.
+     *
+     * @param id the identifier of the state.
+     * @return the operator of the state.
+     */
+    public int getOperator(final int id) {
+        return this.operators[id];
+    }
+
+    /**
+     * Sets the operator applied to the parent of a specified state to reach it.
+     *
+     * @param id       the identifier of the state.
+     * @param operator the operator of the state.
+     */
+    public void setOperator(final int id, final int operator) {
+        this.operators[id] = operator;
+    }
+
+    /**
+     * Returns the depth of a specified state.
+     *
+     * @param id the identifier of the state.
+     * @return the depth of the state.
+     */
+    public int getDepth(final int id) {
+        return this.depths[id];
+    }
+
+    /**
+     * Sets the depth of a specified state.
+     *
+     * @param id    the identifier of the state.
+     * @param depth the depth of the state.
+     */
+    public void setDepth(final int id, final int depth) {
+        this.depths[id] = depth;
+    }
+
+    /**
+     * Creates the node of the search tree that corresponds to a specified state. The parents of the
+     * node are created from the parents of the state so that the plan leading to the state can be
+     * extracted from the node.
+     *
+     * @param id the identifier of the state.
+     * @return the node of the state.
+     */
+    public Node toNode(final int id) {
+        int length = 0;
+        for (int i = id; i != StateRegistry.NONE; i = this.parents[i]) {
+            length++;
+        }
+        final int[] path = new int[length];
+        for (int i = id; i != StateRegistry.NONE; i = this.parents[i]) {
+            path[--length] = i;
+        }
+        Node node = null;
+        for (int i : path) {
+            node = new Node(this.getState(i), node, this.operators[i], this.costs[i], this.depths[i],
+                this.heuristics[i]);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the number of bytes used by the arrays of the registry.
+     *
+     * @return the number of bytes used by the arrays of the registry.
+     */
+    public long getMemoryUsed() {
+        return (long) this.states.length * Long.BYTES
+            + (long) this.hashes.length * (Integer.BYTES * 4L + Double.BYTES * 2L)
+            + (long) this.table.length * Integer.BYTES
+            + (long) this.buffer.length * Long.BYTES;
+    }
+
+    /**
+     * Packs a specified state in the buffer of the registry.
+     *
+     * @param state the state.
+     * @throws IllegalArgumentException if the state contains a fact out of the range of the registry.
+     */
+    private void pack(final BitState state) {
+        Arrays.fill(this.buffer, 0L);
+        for (int p = state.nextSetBit(0); p >= 0; p = state.nextSetBit(p + 1)) {
+            if (p >= this.nbFacts) {
+                throw new IllegalArgumentException("state contains the fact " + p + " out of range");
+            }
+            this.buffer[p >>> 6] |= 1L << p;
+        }
+    }
+
+    /**
+     * Returns if a registered state is equal to a packed state.
+     *
+     * @param id    the identifier of the registered state.
+     * @param words the words of the packed state.
+     * @return <code>true</code> if the states are equal, <code>false</code> otherwise.
+     */
+    private boolean equals(final int id, final long[] words) {
+        final int offset = id * this.width;
+        for (int i = 0; i < this.width; i++) {
+            if (this.states[offset + i] != words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash of a state used to index it in the hash table, i.e., its Zobrist hash folded
+     * to an integer.
+     *
+     * @param state the state.
+     * @return the hash of the state.
+     */
+    private static int hash(final BitState state) {
+        final long hash = state.getZobristHash();
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Inserts a registered state in the hash table.
+     *
+     * @param id the identifier of the state.
+     */
+    private void insert(final int id) {
+        final int mask = this.table.length - 1;
+        int slot = this.hashes[id] & mask;
+        while (this.table[slot] != StateRegistry.NONE) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = id;
+    }
+
+    /**
+     * Doubles the capacity of the registry and rebuilds the hash table.
+     *
+     * @throws IllegalStateException if the capacity of the registry cannot be increased.
+     */
+    private void grow() {
+        final int capacity = this.hashes.length << 1;
+        if (capacity <= 0 || (long) capacity * this.width > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("the registry cannot store more than " + this.size + " states");
+        }
+        this.states = Arrays.copyOf(this.states, capacity * this.width);
+        this.hashes = Arrays.copyOf(this.hashes, capacity);
+        this.costs = Arrays.copyOf(this.costs, capacity);
+        this.heuristics = Arrays.copyOf(this.heuristics, capacity);
+        this.parents = Arrays.copyOf(this.parents, capacity);
+        this.operators = Arrays.copyOf(this.operators, capacity);
+        this.depths = Arrays.copyOf(this.depths, capacity);
+        // The load factor of the hash table is kept below 1/2
+        if (capacity << 1 > this.table.length) {
+            this.table = new int[this.table.length << 1];
+            Arrays.fill(this.table, StateRegistry.NONE);
+            for (int id = 0; id < this.size; id++) {
+                this.insert(id);
+            }
+        }
+    }
+}
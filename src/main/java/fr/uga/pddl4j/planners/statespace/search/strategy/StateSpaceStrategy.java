@@ -17,6 +17,8 @@ package fr.uga.pddl4j.planners.statespace.search.strategy;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicCache;
+import fr.uga.pddl4j.util.CancellationToken;
 import fr.uga.pddl4j.util.Plan;
 import fr.uga.pddl4j.util.SolutionEvent;
 import fr.uga.pddl4j.util.SolutionListener;
@@ -52,6 +54,24 @@ public interface StateSpaceStrategy extends Serializable {
      */
     void setHeuristicType(final Heuristic.Type heuristicType);
 
+    /**
+     * Returns the cache where the values of the heuristic are stored or null if the values are not
+     * cached.
+     *
+     * @return the cache where the values of the heuristic are stored or null.
+     */
+    HeuristicCache getHeuristicCache();
+
+    /**
+     * Sets the cache where the values of the heuristic are stored. The cache can be shared by the
+     * strategies used to solve the problem of the cache with the type of heuristic of the cache. It
+     * is ignored when another problem is solved or another type of heuristic is used.
+     *
+     * @param cache the cache where the values of the heuristic are stored or null to disable the
+     *              cache.
+     */
+    void setHeuristicCache(final HeuristicCache cache);
+
     /**
      * Returns the weight set to the heuristic.
      *
@@ -166,6 +186,25 @@ public interface StateSpaceStrategy extends Serializable {
      */
     Node searchSolutionNode(final CodedProblem codedProblem);
 
+    /**
+     * Search a solution node to a specified domain and problem. The search can be cancelled
+     * cooperatively with the specified token: the search stops as soon as possible once the token
+     * is cancelled and returns the best solution node found so far or null.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @param token        the token used to cancel the search. The token cannot be null.
+     * @return the solution node or null.
+     */
+    Node searchSolutionNode(final CodedProblem codedProblem, final CancellationToken token);
+
+    /**
+     * Returns if the last search was interrupted because its time out was reached or it was
+     * cancelled.
+     *
+     * @return <code>true</code> if the last search was interrupted; <code>false</code> otherwise.
+     */
+    boolean isInterrupted();
+
     /**
      * Search a solution plan to a specified domain and problem.
      *
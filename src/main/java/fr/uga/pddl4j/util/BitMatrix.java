@@ -95,6 +95,16 @@ public final class BitMatrix implements Serializable {
         this.bitsets[row].clear(col);
     }
 
+    /**
+     * Sets all the bits of the matrix to false. The rows of the matrix keep their capacity so that
+     * the matrix can be reused without allocation.
+     */
+    public void clear() {
+        for (int i = 0; i < this.rows; i++) {
+            this.bitsets[i].clear();
+        }
+    }
+
     /**
      * Returns the ith row of the matrix.
      *
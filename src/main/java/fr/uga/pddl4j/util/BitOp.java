@@ -145,6 +145,27 @@ public class BitOp extends AbstractCodedOp {
         return state.satisfy(this.preconditions);
     }
 
+    /**
+     * Applies this operator to a specified state and stores the resulting state in a specified
+     * successor state. The effects whose condition is satisfied in the state are applied. The
+     * successor is overwritten, so that the same successor state can be reused to generate all the
+     * successors of a search without allocating any object. The preconditions of the operator are
+     * not checked and the successor must not be the state itself.
+     *
+     * @param state     the state.
+     * @param successor the state used to store the successor of the state.
+     */
+    public final void apply(final BitState state, final BitState successor) {
+        successor.clear();
+        successor.or(state);
+        for (int i = 0; i < this.effects.size(); i++) {
+            final CondBitExp cEffect = this.effects.get(i);
+            if (state.satisfy(cEffect.getCondition())) {
+                successor.apply(cEffect.getEffects());
+            }
+        }
+    }
+
     /**
      * Returns the unconditional effects of the operator.
      *
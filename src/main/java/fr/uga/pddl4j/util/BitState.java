@@ -19,11 +19,22 @@
 
 package fr.uga.pddl4j.util;
 
+import java.util.BitSet;
+
 /**
  * This class implements a logical state.
+ * <p>
+ * The state maintains a Zobrist hash of its facts, i.e., the exclusive or of a random key for each
+ * fact of the state. The hash is updated incrementally each time a fact is added or removed, so
+ * that the cost of hashing a successor is proportional to the number of effects applied instead of
+ * the number of facts of the problem. The hash is returned by <code>getZobristHash()</code> and is
+ * used to reject quickly the states that are not equal. The hash code of a state is the one of
+ * <code>BitSet</code>, so that a state and a bit vector with the same bits are equal and have the
+ * same hash code.
+ * </p>
  *
  * @author D. Pellier
- * @version 1.1 - 13.04.2010
+ * @version 1.2 - 17.04.2019
  */
 public class BitState extends BitVector {
 
@@ -32,11 +43,17 @@ public class BitState extends BitVector {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The Zobrist hash of the state.
+     */
+    private long hash;
+
     /**
      * Creates a new state.
      */
     public BitState() {
         super();
+        this.hash = 0L;
     }
 
     /**
@@ -63,7 +80,8 @@ public class BitState extends BitVector {
         if (state == null) {
             throw new NullPointerException("state == null");
         }
-        this.or(state);
+        super.or(state);
+        this.hash = state.hash;
     }
 
     /**
@@ -94,4 +112,203 @@ public class BitState extends BitVector {
 
     }
 
+    /**
+     * Returns the Zobrist hash of this state. The hash depends only on the facts of the state and
+     * can be used to index the states or to partition them, for instance between the threads of a
+     * search, without scanning their facts.
+     *
+     * @return the Zobrist hash of this state.
+     */
+    public final long getZobristHash() {
+        return this.hash;
+    }
+
+    /**
+     * Returns the Zobrist key of a specified fact. The keys are computed with the SplitMix64
+     * generator from the index of the fact, so that they are the same for all the states and need
+     * no table.
+     *
+     * @param fact the index of the fact.
+     * @return the Zobrist key of the fact.
+     */
+    private static long key(final int fact) {
+        long z = (fact + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Sets the fact at the specified index to true.
+     *
+     * @param index the index of the fact.
+     */
+    @Override
+    public void set(final int index) {
+        if (!this.get(index)) {
+            super.set(index);
+            this.hash ^= BitState.key(index);
+        }
+    }
+
+    /**
+     * Sets the facts from the specified <code>from</code> index (inclusive) to the specified
+     * <code>to</code> index (exclusive) to true.
+     *
+     * @param from the index of the first fact to set.
+     * @param to   the index after the last fact to set.
+     */
+    @Override
+    public void set(final int from, final int to) {
+        for (int i = this.nextClearBit(from); i < to; i = this.nextClearBit(i + 1)) {
+            this.hash ^= BitState.key(i);
+        }
+        super.set(from, to);
+    }
+
+    /**
+     * Sets the fact at the specified index to false.
+     *
+     * @param index the index of the fact.
+     */
+    @Override
+    public void clear(final int index) {
+        if (this.get(index)) {
+            super.clear(index);
+            this.hash ^= BitState.key(index);
+        }
+    }
+
+    /**
+     * Sets the facts from the specified <code>from</code> index (inclusive) to the specified
+     * <code>to</code> index (exclusive) to false.
+     *
+     * @param from the index of the first fact to clear.
+     * @param to   the index after the last fact to clear.
+     */
+    @Override
+    public void clear(final int from, final int to) {
+        for (int i = this.nextSetBit(from); i >= 0 && i < to; i = this.nextSetBit(i + 1)) {
+            this.hash ^= BitState.key(i);
+        }
+        super.clear(from, to);
+    }
+
+    /**
+     * Sets all the facts of this state to false.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        this.hash = 0L;
+    }
+
+    /**
+     * Sets the fact at the specified index to the complement of its current value.
+     *
+     * @param index the index of the fact.
+     */
+    @Override
+    public void flip(final int index) {
+        super.flip(index);
+        this.hash ^= BitState.key(index);
+    }
+
+    /**
+     * Sets each fact from the specified <code>from</code> index (inclusive) to the specified
+     * <code>to</code> index (exclusive) to the complement of its current value.
+     *
+     * @param from the index of the first fact to flip.
+     * @param to   the index after the last fact to flip.
+     */
+    @Override
+    public void flip(final int from, final int to) {
+        super.flip(from, to);
+        for (int i = from; i < to; i++) {
+            this.hash ^= BitState.key(i);
+        }
+    }
+
+    /**
+     * Performs a logical and of this state with a specified bit set.
+     *
+     * @param set the bit set.
+     */
+    @Override
+    public void and(final BitSet set) {
+        for (int i = this.nextSetBit(0); i >= 0; i = this.nextSetBit(i + 1)) {
+            if (!set.get(i)) {
+                this.hash ^= BitState.key(i);
+            }
+        }
+        super.and(set);
+    }
+
+    /**
+     * Performs a logical or of this state with a specified bit set. If this state is empty and the
+     * bit set is a state, its hash is copied.
+     *
+     * @param set the bit set.
+     */
+    @Override
+    public void or(final BitSet set) {
+        if (this.isEmpty() && set instanceof BitState) {
+            super.or(set);
+            this.hash = ((BitState) set).hash;
+        } else if (set != this) {
+            for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+                if (!this.get(i)) {
+                    this.hash ^= BitState.key(i);
+                }
+            }
+            super.or(set);
+        }
+    }
+
+    /**
+     * Performs a logical xor of this state with a specified bit set.
+     *
+     * @param set the bit set.
+     */
+    @Override
+    public void xor(final BitSet set) {
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            this.hash ^= BitState.key(i);
+        }
+        super.xor(set);
+    }
+
+    /**
+     * Clears all the facts of this state that are set in a specified bit set.
+     *
+     * @param set the bit set.
+     */
+    @Override
+    public void andNot(final BitSet set) {
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            if (this.get(i)) {
+                this.hash ^= BitState.key(i);
+            }
+        }
+        super.andNot(set);
+    }
+
+    /**
+     * Returns if this state is equal to an other object. The states with different Zobrist hashes
+     * are rejected without comparing their facts.
+     *
+     * @param obj the other object.
+     * @return <code>true</code> if this state is equal to the other object; <code>false</code>
+     *          otherwise.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof BitState && ((BitState) obj).hash != this.hash) {
+            return false;
+        }
+        return super.equals(obj);
+    }
 }
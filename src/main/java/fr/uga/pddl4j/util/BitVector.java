@@ -88,7 +88,12 @@ public class BitVector extends BitSet {
      * <code>BitVector</code>; <code>false</code> otherwise.
      */
     public final boolean include(final BitVector vector) {
-        return this.getIntersection(vector).equals(vector);
+        for (int i = vector.nextSetBit(0); i >= 0; i = vector.nextSetBit(i + 1)) {
+            if (!this.get(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.io.Serializable;
+
+/**
+ * This class implements a token used to cancel cooperatively one or more searches. The token is
+ * shared between the searches and the thread that cancels them: the searches check regularly if
+ * the token was cancelled and stop as soon as possible when it is.
+ * <p>
+ * A token can also have a deadline expressed in milliseconds as returned by
+ * <code>System.currentTimeMillis()</code>. The token is cancelled as soon as its deadline is
+ * passed, so that a search can be bounded in wall-clock time independently of the timeout of the
+ * strategy that runs it.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 15.04.2019
+ * @since 3.8.3
+ */
+public class CancellationToken implements Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The deadline of the tokens that have no deadline.
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * The token that is never cancelled. It is used by the searches started without token.
+     */
+    public static final CancellationToken NONE = new CancellationToken() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void cancel() {
+            throw new UnsupportedOperationException("the default token cannot be cancelled");
+        }
+
+        @Override
+        public void setDeadline(final long deadline) {
+            throw new UnsupportedOperationException("the default token cannot have a deadline");
+        }
+    };
+
+    /**
+     * The flag used to know if the token was cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * The deadline of the token.
+     */
+    private volatile long deadline;
+
+    /**
+     * The token whose cancellation cancels this token or null.
+     */
+    private final CancellationToken parent;
+
+    /**
+     * Creates a new token that is not cancelled and has no deadline.
+     */
+    public CancellationToken() {
+        super();
+        this.cancelled = false;
+        this.deadline = CancellationToken.NO_DEADLINE;
+        this.parent = null;
+    }
+
+    /**
+     * Creates a new token that is cancelled as soon as a specified token is cancelled or a
+     * specified deadline is passed. The deadline of the new token is the earliest of the deadline
+     * of the specified token and of the specified deadline.
+     *
+     * @param parent   the token whose cancellation cancels the new token.
+     * @param deadline the deadline of the new token.
+     * @throws NullPointerException if <code>parent == null</code>.
+     */
+    public CancellationToken(final CancellationToken parent, final long deadline) {
+        super();
+        this.cancelled = false;
+        this.deadline = Math.min(parent.getDeadline(), deadline);
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a new token that is cancelled after a specified delay.
+     *
+     * @param delay the delay in milliseconds before the token is cancelled.
+     */
+    public CancellationToken(final long delay) {
+        this();
+        this.cancelAfter(delay);
+    }
+
+    /**
+     * Cancels the searches that share this token.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Cancels the searches that share this token after a specified delay.
+     *
+     * @param delay the delay in milliseconds before the token is cancelled.
+     */
+    public void cancelAfter(final long delay) {
+        final long now = System.currentTimeMillis();
+        this.setDeadline(delay >= CancellationToken.NO_DEADLINE - now ? CancellationToken.NO_DEADLINE : now + delay);
+    }
+
+    /**
+     * Returns the deadline of the token.
+     *
+     * @return the deadline of the token or <code>NO_DEADLINE</code> if the token has no deadline.
+     */
+    public long getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Sets the deadline of the token.
+     *
+     * @param deadline the deadline of the token or <code>NO_DEADLINE</code> to remove the deadline.
+     */
+    public void setDeadline(final long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns if the token was cancelled. The token is considered as cancelled as soon as its
+     * deadline is passed or the token it was created from is cancelled. The clock is read only if
+     * the token has a deadline and was not cancelled yet.
+     *
+     * @return <code>true</code> if the token was cancelled; <code>false</code> otherwise.
+     */
+    public boolean isCancelled() {
+        if (!this.cancelled && (this.deadline != CancellationToken.NO_DEADLINE
+            && System.currentTimeMillis() >= this.deadline
+            || this.parent != null && this.parent.isCancelled())) {
+            this.cancelled = true;
+        }
+        return this.cancelled;
+    }
+}
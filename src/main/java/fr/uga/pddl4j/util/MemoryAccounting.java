@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class implements the analytic estimation of the memory used by the data structures of the library. Contrary
+ * to the <code>MemoryAgent</code>, the estimations do not walk the object graph: they are computed in constant time
+ * from the length of the arrays and the number of words of the bit sets. The sizes used are the ones of a 64 bits
+ * virtual machine without compressed references, so that the estimations are upper bounds.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 06.04.2019
+ * @since 3.8.3
+ * @see MemoryAgent
+ */
+public final class MemoryAccounting {
+
+    /**
+     * The number of bytes of the header of an object.
+     */
+    public static final long OBJECT_HEADER = 16;
+
+    /**
+     * The number of bytes of the header of an array.
+     */
+    public static final long ARRAY_HEADER = 24;
+
+    /**
+     * The number of bytes of a reference.
+     */
+    public static final long REFERENCE = 8;
+
+    /**
+     * The number of bytes of a <code>BitSet</code> without its array of words.
+     */
+    public static final long BITSET = MemoryAccounting.OBJECT_HEADER + MemoryAccounting.REFERENCE + 8;
+
+    /**
+     * Creates a new <code>MemoryAccounting</code>.
+     */
+    private MemoryAccounting() {
+        super();
+    }
+
+    /**
+     * Returns the number of bytes used by an array of int.
+     *
+     * @param array the array.
+     * @return the number of bytes used by the array or 0 if the array is null.
+     */
+    public static long sizeOf(final int[] array) {
+        return array == null ? 0 : MemoryAccounting.ARRAY_HEADER + (long) array.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns the number of bytes used by an array of arrays of int.
+     *
+     * @param array the array.
+     * @return the number of bytes used by the array and its sub arrays or 0 if the array is null.
+     */
+    public static long sizeOf(final int[][] array) {
+        if (array == null) {
+            return 0;
+        }
+        long size = MemoryAccounting.ARRAY_HEADER + array.length * MemoryAccounting.REFERENCE;
+        for (int[] a : array) {
+            size += MemoryAccounting.sizeOf(a);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes used by a bit set.
+     *
+     * @param bitset the bit set.
+     * @return the number of bytes used by the bit set or 0 if the bit set is null.
+     */
+    public static long sizeOf(final BitSet bitset) {
+        return bitset == null ? 0 : MemoryAccounting.BITSET + MemoryAccounting.ARRAY_HEADER + bitset.size() / Byte.SIZE;
+    }
+
+    /**
+     * Returns the number of bytes used by an array of bit sets.
+     *
+     * @param array the array.
+     * @return the number of bytes used by the array and its bit sets or 0 if the array is null.
+     */
+    public static long sizeOf(final BitSet[] array) {
+        if (array == null) {
+            return 0;
+        }
+        long size = MemoryAccounting.ARRAY_HEADER + array.length * MemoryAccounting.REFERENCE;
+        for (BitSet bitset : array) {
+            size += MemoryAccounting.sizeOf(bitset);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes used by a bit expression.
+     *
+     * @param exp the bit expression.
+     * @return the number of bytes used by the bit expression or 0 if the expression is null.
+     */
+    public static long sizeOf(final BitExp exp) {
+        return exp == null ? 0 : MemoryAccounting.OBJECT_HEADER + 2 * MemoryAccounting.REFERENCE
+            + MemoryAccounting.sizeOf(exp.getPositive()) + MemoryAccounting.sizeOf(exp.getNegative());
+    }
+
+    /**
+     * Returns the number of bytes used by an array of bit expressions.
+     *
+     * @param array the array.
+     * @return the number of bytes used by the array and its expressions or 0 if the array is null.
+     */
+    public static long sizeOf(final BitExp[] array) {
+        if (array == null) {
+            return 0;
+        }
+        long size = MemoryAccounting.ARRAY_HEADER + array.length * MemoryAccounting.REFERENCE;
+        for (BitExp exp : array) {
+            size += MemoryAccounting.sizeOf(exp);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes used by a bit matrix.
+     *
+     * @param matrix the bit matrix.
+     * @return the number of bytes used by the bit matrix or 0 if the matrix is null.
+     */
+    public static long sizeOf(final BitMatrix matrix) {
+        if (matrix == null) {
+            return 0;
+        }
+        long size = MemoryAccounting.OBJECT_HEADER + 8 + MemoryAccounting.REFERENCE
+            + MemoryAccounting.ARRAY_HEADER + matrix.rows() * MemoryAccounting.REFERENCE;
+        for (int i = 0; i < matrix.rows(); i++) {
+            size += MemoryAccounting.sizeOf(matrix.getRow(i));
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes used by a list of bit matrices. The list is assumed to be backed by an array.
+     *
+     * @param matrices the list of bit matrices.
+     * @return the number of bytes used by the list and its matrices or 0 if the list is null.
+     */
+    public static long sizeOf(final List<BitMatrix> matrices) {
+        if (matrices == null) {
+            return 0;
+        }
+        long size = MemoryAccounting.OBJECT_HEADER + MemoryAccounting.ARRAY_HEADER
+            + matrices.size() * MemoryAccounting.REFERENCE;
+        for (BitMatrix matrix : matrices) {
+            size += MemoryAccounting.sizeOf(matrix);
+        }
+        return size;
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by a node of the search whose state is defined over a
+     * specified number of facts, i.e., the node, its bit set and the entry of the collection that stores it.
+     *
+     * @param nbFacts the number of facts.
+     * @return the number of bytes used by a node.
+     */
+    public static long sizeOfNode(final int nbFacts) {
+        final long words = (nbFacts + Long.SIZE - 1) / Long.SIZE;
+        return MemoryAccounting.BITSET + MemoryAccounting.REFERENCE + Integer.BYTES * 2 + Double.BYTES * 2
+            + MemoryAccounting.ARRAY_HEADER + words * Long.BYTES
+            + MemoryAccounting.OBJECT_HEADER + 3 * MemoryAccounting.REFERENCE;
+    }
+}
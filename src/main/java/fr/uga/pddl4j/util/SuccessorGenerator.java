@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class implements a successor generator, i.e., a decision tree built over the preconditions
+ * of the instantiated operators of a problem that enumerates the operators applicable in a state
+ * without testing every operator of the problem. The structure is similar to the one used by the
+ * Fast Downward planner (see M. Helmert, "The Fast Downward Planning System", Journal of Artificial
+ * Intelligence Research 26:191-246, 2006).
+ * <p>
+ * Each inner node of the tree tests a fact and has three children: the operators that require the
+ * fact to be true, the operators that require the fact to be false and the operators that do not
+ * care about the fact. Facts are tested in increasing order along each path and an operator is
+ * stored in the first node where all its preconditions have been tested. Enumerating the
+ * applicable operators of a state is then proportional to the size of the visited part of the tree
+ * and the number of applicable operators rather than to the total number of operators.
+ * </p>
+ * <p>
+ * The tree is stored in flat arrays and is immutable once built. It can be shared by several
+ * threads.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 02.04.2019
+ * @since 3.8.3
+ */
+public final class SuccessorGenerator implements Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The value used to mark a node without test or a missing child.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The fact tested by each node or <code>NONE</code> if the node is a leaf.
+     */
+    private int[] facts;
+
+    /**
+     * The child of each node followed when the tested fact is true.
+     */
+    private int[] trueChildren;
+
+    /**
+     * The child of each node followed when the tested fact is false.
+     */
+    private int[] falseChildren;
+
+    /**
+     * The child of each node always followed whatever the value of the tested fact.
+     */
+    private int[] dontCareChildren;
+
+    /**
+     * The index in <code>operators</code> of the first operator stored in each node.
+     */
+    private int[] firstOperators;
+
+    /**
+     * The index in <code>operators</code> of the last operator (excluded) stored in each node.
+     */
+    private int[] lastOperators;
+
+    /**
+     * The operators stored in the nodes of the tree, contiguously node after node.
+     */
+    private int[] operators;
+
+    /**
+     * The number of nodes of the tree.
+     */
+    private int size;
+
+    /**
+     * The maximum depth of the tree.
+     */
+    private int depth;
+
+    /**
+     * The number of operators indexed by the successor generator.
+     */
+    private int nbOperators;
+
+    /**
+     * Creates a new successor generator for a specified list of operators. The index of an operator
+     * returned by the successor generator is its index in the specified list.
+     *
+     * @param operators the list of operators.
+     * @throws NullPointerException if <code>operators == null</code>.
+     */
+    public SuccessorGenerator(final List<BitOp> operators) {
+        if (operators == null) {
+            throw new NullPointerException("operators == null");
+        }
+        this.nbOperators = operators.size();
+        this.build(operators);
+    }
+
+    /**
+     * Returns the number of operators indexed by the successor generator.
+     *
+     * @return the number of operators indexed by the successor generator.
+     */
+    public int getNumberOfOperators() {
+        return this.nbOperators;
+    }
+
+    /**
+     * Returns the number of nodes of the decision tree.
+     *
+     * @return the number of nodes of the decision tree.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the index of the operators applicable in a specified state. The operators are those
+     * of list used to create the successor generator.
+     *
+     * @param state the state.
+     * @return the bit vector of the index of the applicable operators.
+     * @throws NullPointerException if <code>state == null</code>.
+     */
+    public BitVector getApplicableOperators(final BitState state) {
+        final BitVector applicable = new BitVector(this.nbOperators);
+        this.getApplicableOperators(state, applicable);
+        return applicable;
+    }
+
+    /**
+     * Computes the index of the operators applicable in a specified state and stores them in the
+     * specified bit vector. The bit vector is cleared before computation. This method is useful to
+     * reuse the same bit vector for each expanded state.
+     *
+     * @param state      the state.
+     * @param applicable the bit vector used to store the index of the applicable operators.
+     * @throws NullPointerException if <code>state == null || applicable == null</code>.
+     */
+    public void getApplicableOperators(final BitState state, final BitVector applicable) {
+        if (state == null || applicable == null) {
+            throw new NullPointerException("state == null || applicable == null");
+        }
+        applicable.clear();
+        if (this.size == 0) {
+            return;
+        }
+        // Along a path at most one child per node is pushed in addition to the one popped
+        final int[] stack = new int[this.depth + 2];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int node = stack[--top];
+            for (int i = this.firstOperators[node]; i < this.lastOperators[node]; i++) {
+                applicable.set(this.operators[i]);
+            }
+            final int fact = this.facts[node];
+            if (fact != NONE) {
+                final int child = state.get(fact) ? this.trueChildren[node] : this.falseChildren[node];
+                if (child != NONE) {
+                    stack[top++] = child;
+                }
+                if (this.dontCareChildren[node] != NONE) {
+                    stack[top++] = this.dontCareChildren[node];
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the decision tree from the preconditions of the specified operators. The tree is built
+     * iteratively to avoid stack overflow on problems with many facts.
+     *
+     * @param ops the operators.
+     */
+    private void build(final List<BitOp> ops) {
+        final int capacity = Math.max(16, ops.size());
+        this.facts = new int[capacity];
+        this.trueChildren = new int[capacity];
+        this.falseChildren = new int[capacity];
+        this.dontCareChildren = new int[capacity];
+        this.firstOperators = new int[capacity];
+        this.lastOperators = new int[capacity];
+        this.operators = new int[ops.size()];
+        this.size = 0;
+        this.depth = 0;
+
+        // The operators with inconsistent preconditions are never applicable and are not indexed
+        int nbConsistent = 0;
+        final int[] root = new int[ops.size()];
+        for (int i = 0; i < ops.size(); i++) {
+            final BitExp pre = ops.get(i).getPreconditions();
+            if (!pre.getPositive().intersects(pre.getNegative())) {
+                root[nbConsistent++] = i;
+            }
+        }
+        if (nbConsistent == 0) {
+            return;
+        }
+
+        int nbStored = 0;
+        final Deque<Task> tasks = new ArrayDeque<>();
+        tasks.push(new Task(this.newNode(), Arrays.copyOf(root, nbConsistent), 0, 1));
+        while (!tasks.isEmpty()) {
+            final Task task = tasks.pop();
+            if (task.depth > this.depth) {
+                this.depth = task.depth;
+            }
+            // Look for the smallest fact not yet tested in the preconditions of the operators
+            int fact = Integer.MAX_VALUE;
+            int nbDone = 0;
+            for (int op : task.ops) {
+                final int next = this.nextPrecondition(ops.get(op).getPreconditions(), task.from);
+                if (next == NONE) {
+                    nbDone++;
+                } else if (next < fact) {
+                    fact = next;
+                }
+            }
+            // The operators with all their preconditions tested are stored in the node
+            this.firstOperators[task.node] = nbStored;
+            final int[] pOps = new int[task.ops.length];
+            final int[] nOps = new int[task.ops.length];
+            final int[] dOps = new int[task.ops.length];
+            int nbPos = 0;
+            int nbNeg = 0;
+            int nbDontCare = 0;
+            for (int op : task.ops) {
+                final BitExp pre = ops.get(op).getPreconditions();
+                if (nbDone > 0 && this.nextPrecondition(pre, task.from) == NONE) {
+                    this.operators[nbStored++] = op;
+                } else if (pre.getPositive().get(fact)) {
+                    pOps[nbPos++] = op;
+                } else if (pre.getNegative().get(fact)) {
+                    nOps[nbNeg++] = op;
+                } else {
+                    dOps[nbDontCare++] = op;
+                }
+            }
+            this.lastOperators[task.node] = nbStored;
+            if (nbDone == task.ops.length) {
+                this.facts[task.node] = NONE;
+            } else {
+                this.facts[task.node] = fact;
+                if (nbPos > 0) {
+                    final int child = this.newNode();
+                    this.trueChildren[task.node] = child;
+                    tasks.push(new Task(child, Arrays.copyOf(pOps, nbPos), fact + 1, task.depth + 1));
+                }
+                if (nbNeg > 0) {
+                    final int child = this.newNode();
+                    this.falseChildren[task.node] = child;
+                    tasks.push(new Task(child, Arrays.copyOf(nOps, nbNeg), fact + 1, task.depth + 1));
+                }
+                if (nbDontCare > 0) {
+                    final int child = this.newNode();
+                    this.dontCareChildren[task.node] = child;
+                    tasks.push(new Task(child, Arrays.copyOf(dOps, nbDontCare), fact + 1, task.depth + 1));
+                }
+            }
+        }
+        this.trim();
+    }
+
+    /**
+     * Returns the index of the first fact greater or equal to a specified index that appears in a
+     * specified precondition.
+     *
+     * @param pre  the precondition.
+     * @param from the index from which the facts are searched.
+     * @return the index of the fact or <code>NONE</code> if no fact appears after the index.
+     */
+    private int nextPrecondition(final BitExp pre, final int from) {
+        final int p = pre.getPositive().nextSetBit(from);
+        final int n = pre.getNegative().nextSetBit(from);
+        if (p < 0) {
+            return n < 0 ? NONE : n;
+        } else if (n < 0) {
+            return p;
+        } else {
+            return Math.min(p, n);
+        }
+    }
+
+    /**
+     * Creates a new node without test and children and returns its index.
+     *
+     * @return the index of the new node.
+     */
+    private int newNode() {
+        if (this.size == this.facts.length) {
+            final int capacity = this.facts.length * 2;
+            this.facts = Arrays.copyOf(this.facts, capacity);
+            this.trueChildren = Arrays.copyOf(this.trueChildren, capacity);
+            this.falseChildren = Arrays.copyOf(this.falseChildren, capacity);
+            this.dontCareChildren = Arrays.copyOf(this.dontCareChildren, capacity);
+            this.firstOperators = Arrays.copyOf(this.firstOperators, capacity);
+            this.lastOperators = Arrays.copyOf(this.lastOperators, capacity);
+        }
+        final int node = this.size++;
+        this.facts[node] = NONE;
+        this.trueChildren[node] = NONE;
+        this.falseChildren[node] = NONE;
+        this.dontCareChildren[node] = NONE;
+        return node;
+    }
+
+    /**
+     * Trims the arrays of the tree to its size.
+     */
+    private void trim() {
+        this.facts = Arrays.copyOf(this.facts, this.size);
+        this.trueChildren = Arrays.copyOf(this.trueChildren, this.size);
+        this.falseChildren = Arrays.copyOf(this.falseChildren, this.size);
+        this.dontCareChildren = Arrays.copyOf(this.dontCareChildren, this.size);
+        this.firstOperators = Arrays.copyOf(this.firstOperators, this.size);
+        this.lastOperators = Arrays.copyOf(this.lastOperators, this.size);
+    }
+
+    /**
+     * This class represents a node of the tree that remains to be built.
+     */
+    private static final class Task {
+
+        /**
+         * The index of the node to build.
+         */
+        private final int node;
+
+        /**
+         * The operators to dispatch in the subtree of the node.
+         */
+        private final int[] ops;
+
+        /**
+         * The index of the first fact that remains to be tested.
+         */
+        private final int from;
+
+        /**
+         * The depth of the node in the tree.
+         */
+        private final int depth;
+
+        /**
+         * Creates a new task.
+         *
+         * @param node  the index of the node to build.
+         * @param ops   the operators to dispatch in the subtree of the node.
+         * @param from  the index of the first fact that remains to be tested.
+         * @param depth the depth of the node.
+         */
+        Task(final int node, final int[] ops, final int from, final int depth) {
+            this.node = node;
+            this.ops = ops;
+            this.from = from;
+            this.depth = depth;
+        }
+    }
+}
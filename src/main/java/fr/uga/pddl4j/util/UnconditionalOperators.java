@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * This class implements the unconditional operators of a problem used by the relaxation heuristics.
+ * An unconditional operator is created for each conditional effect of each operator of the problem:
+ * its preconditions are the preconditions of the operator and the condition of the effect, and its
+ * effects are the effects of the conditional effect.
+ * <p>
+ * The unconditional operators are stored in two forms. The first one uses bit expressions indexed
+ * by unconditional operator and by fact. The second one uses compressed arrays over literals: the
+ * literal <code>p</code> denotes the positive fact <code>p</code> and the literal <code>n + p</code>
+ * the negative fact <code>p</code>, where <code>n</code> is the number of facts. The preconditions of
+ * the unconditional operator <code>o</code> are the literals
+ * <code>getPreconditionLiterals()[i]</code> for <code>getPreconditionsIndex()[o] &#60;= i &#60;
+ * getPreconditionsIndex()[o + 1]</code>; the consumers of the literals and the effects of the
+ * unconditional operators are stored in the same way.
+ * </p>
+ * <p>
+ * The unconditional operators are immutable once built. They can be shared by several heuristics
+ * and several threads. The arrays and the bit expressions returned must not be modified.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 23.04.2019
+ * @see fr.uga.pddl4j.encoding.CodedProblem#getUnconditionalOperators()
+ * @since 3.8.3
+ */
+public final class UnconditionalOperators implements Serializable {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of facts of the problem.
+     */
+    private int nbFacts;
+
+    /**
+     * The number of unconditional operators.
+     */
+    private int size;
+
+    /**
+     * The operator of each unconditional operator.
+     */
+    private int[] operators;
+
+    /**
+     * The index of the conditional effect of the operator of each unconditional operator.
+     */
+    private int[] condEffects;
+
+    /**
+     * The cost of each unconditional operator, i.e., the cost of its operator.
+     */
+    private double[] costs;
+
+    /**
+     * The preconditions of each unconditional operator.
+     */
+    private BitExp[] preconditions;
+
+    /**
+     * The effects of each unconditional operator.
+     */
+    private BitExp[] effects;
+
+    /**
+     * The number of preconditions of each unconditional operator.
+     */
+    private int[] precondCardinality;
+
+    /**
+     * The unconditional operators that have each fact as precondition. The unconditional operators
+     * without precondition are added to the edges of every fact.
+     */
+    private BitExp[] precondEdges;
+
+    /**
+     * The unconditional operators that have each fact as effect.
+     */
+    private BitExp[] effectsEdges;
+
+    /**
+     * The index in <code>preconditionLiterals</code> of the first precondition of each unconditional
+     * operator and the number of precondition literals.
+     */
+    private int[] preconditionsIndex;
+
+    /**
+     * The precondition literals of the unconditional operators, contiguously operator after operator.
+     */
+    private int[] preconditionLiterals;
+
+    /**
+     * The index in <code>consumers</code> of the first consumer of each literal and the number of
+     * consumers.
+     */
+    private int[] consumersIndex;
+
+    /**
+     * The unconditional operators that have each literal as precondition, contiguously literal after
+     * literal.
+     */
+    private int[] consumers;
+
+    /**
+     * The index in <code>effectLiterals</code> of the first effect of each unconditional operator
+     * and the number of effect literals.
+     */
+    private int[] effectsIndex;
+
+    /**
+     * The effect literals of the unconditional operators, contiguously operator after operator.
+     */
+    private int[] effectLiterals;
+
+    /**
+     * Creates the unconditional operators of a specified list of operators.
+     *
+     * @param operators the list of operators.
+     * @param nbFacts   the number of facts of the problem.
+     * @throws NullPointerException if <code>operators == null</code>.
+     */
+    public UnconditionalOperators(final List<BitOp> operators, final int nbFacts) {
+        if (operators == null) {
+            throw new NullPointerException("operators == null");
+        }
+        this.nbFacts = nbFacts;
+        this.size = 0;
+        for (BitOp op : operators) {
+            this.size += op.getCondEffects().size();
+        }
+        this.operators = new int[this.size];
+        this.condEffects = new int[this.size];
+        this.costs = new double[this.size];
+        this.preconditions = new BitExp[this.size];
+        this.effects = new BitExp[this.size];
+        this.precondCardinality = new int[this.size];
+        this.precondEdges = new BitExp[nbFacts];
+        this.effectsEdges = new BitExp[nbFacts];
+        for (int p = 0; p < nbFacts; p++) {
+            this.precondEdges[p] = new BitExp();
+            this.effectsEdges[p] = new BitExp();
+        }
+
+        int uncondOpIndex = 0;
+        for (int opIndex = 0; opIndex < operators.size(); opIndex++) {
+            final BitOp op = operators.get(opIndex);
+            final List<CondBitExp> condEffects = op.getCondEffects();
+            for (int ceIndex = 0; ceIndex < condEffects.size(); ceIndex++) {
+                final CondBitExp cEffect = condEffects.get(ceIndex);
+                this.operators[uncondOpIndex] = opIndex;
+                this.condEffects[uncondOpIndex] = ceIndex;
+                this.costs[uncondOpIndex] = op.getCost();
+                final BitExp pre = new BitExp(op.getPreconditions());
+                pre.getPositive().or(cEffect.getCondition().getPositive());
+                pre.getNegative().or(cEffect.getCondition().getNegative());
+                this.preconditions[uncondOpIndex] = pre;
+                this.precondCardinality[uncondOpIndex] = pre.cardinality();
+                this.effects[uncondOpIndex] = cEffect.getEffects();
+                uncondOpIndex++;
+            }
+        }
+
+        // Compute the edges and the compressed arrays of the preconditions and the effects
+        this.preconditionsIndex = new int[this.size + 1];
+        this.effectsIndex = new int[this.size + 1];
+        this.consumersIndex = new int[2 * nbFacts + 1];
+        for (int o = 0; o < this.size; o++) {
+            this.preconditionsIndex[o + 1] = this.preconditionsIndex[o] + this.precondCardinality[o];
+            this.effectsIndex[o + 1] = this.effectsIndex[o] + this.effects[o].cardinality();
+            final BitVector pPre = this.preconditions[o].getPositive();
+            for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
+                this.precondEdges[p].getPositive().set(o);
+                this.consumersIndex[p + 1]++;
+            }
+            final BitVector nPre = this.preconditions[o].getNegative();
+            for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
+                this.precondEdges[p].getNegative().set(o);
+                this.consumersIndex[nbFacts + p + 1]++;
+            }
+            final BitVector pEff = this.effects[o].getPositive();
+            for (int p = pEff.nextSetBit(0); p >= 0; p = pEff.nextSetBit(p + 1)) {
+                this.effectsEdges[p].getPositive().set(o);
+            }
+            final BitVector nEff = this.effects[o].getNegative();
+            for (int p = nEff.nextSetBit(0); p >= 0; p = nEff.nextSetBit(p + 1)) {
+                this.effectsEdges[p].getNegative().set(o);
+            }
+        }
+        for (int l = 0; l < 2 * nbFacts; l++) {
+            this.consumersIndex[l + 1] += this.consumersIndex[l];
+        }
+        this.preconditionLiterals = new int[this.preconditionsIndex[this.size]];
+        this.effectLiterals = new int[this.effectsIndex[this.size]];
+        this.consumers = new int[this.consumersIndex[2 * nbFacts]];
+        final int[] nbConsumers = new int[2 * nbFacts];
+        for (int o = 0; o < this.size; o++) {
+            int i = this.preconditionsIndex[o];
+            final BitVector pPre = this.preconditions[o].getPositive();
+            for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
+                this.preconditionLiterals[i++] = p;
+                this.consumers[this.consumersIndex[p] + nbConsumers[p]++] = o;
+            }
+            final BitVector nPre = this.preconditions[o].getNegative();
+            for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
+                final int l = nbFacts + p;
+                this.preconditionLiterals[i++] = l;
+                this.consumers[this.consumersIndex[l] + nbConsumers[l]++] = o;
+            }
+            i = this.effectsIndex[o];
+            final BitVector pEff = this.effects[o].getPositive();
+            for (int p = pEff.nextSetBit(0); p >= 0; p = pEff.nextSetBit(p + 1)) {
+                this.effectLiterals[i++] = p;
+            }
+            final BitVector nEff = this.effects[o].getNegative();
+            for (int p = nEff.nextSetBit(0); p >= 0; p = nEff.nextSetBit(p + 1)) {
+                this.effectLiterals[i++] = nbFacts + p;
+            }
+        }
+
+        // The unconditional operators without precondition are added to the edges of every fact
+        for (int o = 0; o < this.size; o++) {
+            if (this.precondCardinality[o] == 0) {
+                for (BitExp pEdge : this.precondEdges) {
+                    pEdge.getPositive().set(o);
+                    pEdge.getNegative().set(o);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of unconditional operators.
+     *
+     * @return the number of unconditional operators.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of facts of the problem.
+     *
+     * @return the number of facts of the problem.
+     */
+    public int getNumberOfFacts() {
+        return this.nbFacts;
+    }
+
+    /**
+     * Returns the index of the operator of an unconditional operator.
+     *
+     * @param op the unconditional operator.
+     * @return the index of the operator of the unconditional operator.
+     */
+    public int getOperator(final int op) {
+        return this.operators[op];
+    }
+
+    /**
+     * Returns the index of the conditional effect of the operator of an unconditional operator.
+     *
+     * @param op the unconditional operator.
+     * @return the index of the conditional effect of the unconditional operator.
+     */
+    public int getConditionalEffect(final int op) {
+        return this.condEffects[op];
+    }
+
+    /**
+     * Returns the cost of an unconditional operator, i.e., the cost of its operator.
+     *
+     * @param op the unconditional operator.
+     * @return the cost of the unconditional operator.
+     */
+    public double getCost(final int op) {
+        return this.costs[op];
+    }
+
+    /**
+     * Returns the preconditions of an unconditional operator.
+     *
+     * @param op the unconditional operator.
+     * @return the preconditions of the unconditional operator.
+     */
+    public BitExp getPreconditions(final int op) {
+        return this.preconditions[op];
+    }
+
+    /**
+     * Returns the effects of an unconditional operator.
+     *
+     * @param op the unconditional operator.
+     * @return the effects of the unconditional operator.
+     */
+    public BitExp getEffects(final int op) {
+        return this.effects[op];
+    }
+
+    /**
+     * Returns the number of preconditions of an unconditional operator.
+     *
+     * @param op the unconditional operator.
+     * @return the number of preconditions of the unconditional operator.
+     */
+    public int getPreconditionsCardinality(final int op) {
+        return this.precondCardinality[op];
+    }
+
+    /**
+     * Returns the unconditional operators that have a fact as positive or negative precondition.
+     * The unconditional operators without precondition are included for every fact.
+     *
+     * @param fact the fact.
+     * @return the unconditional operators that have the fact as precondition.
+     */
+    public BitExp getPreconditionEdges(final int fact) {
+        return this.precondEdges[fact];
+    }
+
+    /**
+     * Returns the unconditional operators that have a fact as positive or negative effect.
+     *
+     * @param fact the fact.
+     * @return the unconditional operators that have the fact as effect.
+     */
+    public BitExp getEffectEdges(final int fact) {
+        return this.effectsEdges[fact];
+    }
+
+    /**
+     * Returns the index of the first precondition literal of each unconditional operator. The last
+     * element of the array is the number of precondition literals.
+     *
+     * @return the index of the first precondition literal of each unconditional operator.
+     */
+    public int[] getPreconditionsIndex() {
+        return this.preconditionsIndex;
+    }
+
+    /**
+     * Returns the precondition literals of the unconditional operators.
+     *
+     * @return the precondition literals of the unconditional operators.
+     */
+    public int[] getPreconditionLiterals() {
+        return this.preconditionLiterals;
+    }
+
+    /**
+     * Returns the index of the first consumer of each literal. The last element of the array is the
+     * number of consumers.
+     *
+     * @return the index of the first consumer of each literal.
+     */
+    public int[] getConsumersIndex() {
+        return this.consumersIndex;
+    }
+
+    /**
+     * Returns the unconditional operators that have the literals as precondition. The unconditional
+     * operators without precondition are not consumers of any literal.
+     *
+     * @return the unconditional operators that have the literals as precondition.
+     */
+    public int[] getConsumers() {
+        return this.consumers;
+    }
+
+    /**
+     * Returns the index of the first effect literal of each unconditional operator. The last element
+     * of the array is the number of effect literals.
+     *
+     * @return the index of the first effect literal of each unconditional operator.
+     */
+    public int[] getEffectsIndex() {
+        return this.effectsIndex;
+    }
+
+    /**
+     * Returns the effect literals of the unconditional operators.
+     *
+     * @return the effect literals of the unconditional operators.
+     */
+    public int[] getEffectLiterals() {
+        return this.effectLiterals;
+    }
+
+    /**
+     * Returns an estimation of the number of bytes used by the unconditional operators.
+     *
+     * @return an estimation of the number of bytes used by the unconditional operators.
+     */
+    public long getMemoryUsed() {
+        return MemoryAccounting.sizeOf(this.operators)
+            + MemoryAccounting.sizeOf(this.condEffects)
+            + MemoryAccounting.ARRAY_HEADER + (long) this.costs.length * Double.BYTES
+            + MemoryAccounting.sizeOf(this.preconditions)
+            + MemoryAccounting.sizeOf(this.effects)
+            + MemoryAccounting.sizeOf(this.precondCardinality)
+            + MemoryAccounting.sizeOf(this.precondEdges)
+            + MemoryAccounting.sizeOf(this.effectsEdges)
+            + MemoryAccounting.sizeOf(this.preconditionsIndex)
+            + MemoryAccounting.sizeOf(this.preconditionLiterals)
+            + MemoryAccounting.sizeOf(this.consumersIndex)
+            + MemoryAccounting.sizeOf(this.consumers)
+            + MemoryAccounting.sizeOf(this.effectsIndex)
+            + MemoryAccounting.sizeOf(this.effectLiterals);
+    }
+}
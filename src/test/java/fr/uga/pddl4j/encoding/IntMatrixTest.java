@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.encoding;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>IntMatrixTest</tt> of the PDD4L library. The tests check the sparse matrices used to store the
+ * predicates tables. The class is in the package of <code>IntMatrix</code> because the matrices are not visible
+ * outside of the encoding.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 27.04.2019
+ */
+public class IntMatrixTest {
+
+    /**
+     * The number of random operations applied to the matrices compared with a dense reference.
+     */
+    private static final int OPERATIONS = 20000;
+
+    /**
+     * Method that tests the get, put and increment of a matrix.
+     */
+    @Test
+    public void testGetAndIncrement() {
+        System.out.println("IntMatrixTest: Test get and increment");
+        final IntMatrix matrix = new IntMatrix(10, 2);
+        Assert.assertEquals(2, matrix.getDimension());
+        Assert.assertEquals(10, matrix.getSize());
+        Assert.assertEquals(0, matrix.get(new int[] {3, 4}));
+        Assert.assertEquals(0, matrix.entries());
+        matrix.increment(new int[] {3, 4});
+        matrix.increment(new int[] {3, 4});
+        Assert.assertEquals(2, matrix.get(new int[] {3, 4}));
+        Assert.assertEquals(0, matrix.get(new int[] {4, 3}));
+        matrix.put(new int[] {4, 3}, 7);
+        matrix.increment(new int[] {4, 3});
+        Assert.assertEquals(8, matrix.get(new int[] {4, 3}));
+        Assert.assertEquals(2, matrix.entries());
+        matrix.put(new int[] {3, 4}, 0);
+        Assert.assertEquals(0, matrix.get(new int[] {3, 4}));
+        Assert.assertEquals(2, matrix.entries());
+        matrix.zero();
+        Assert.assertEquals(0, matrix.get(new int[] {4, 3}));
+        Assert.assertEquals(0, matrix.entries());
+    }
+
+    /**
+     * Method that tests that an index with a wrong dimension is rejected.
+     */
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testWrongDimension() {
+        System.out.println("IntMatrixTest: Test wrong dimension");
+        final IntMatrix matrix = new IntMatrix(10, 2);
+        matrix.get(new int[] {1, 2, 3});
+    }
+
+    /**
+     * Method that tests that the entries are kept when the hash table of the matrix grows.
+     */
+    @Test
+    public void testRehash() {
+        System.out.println("IntMatrixTest: Test rehash");
+        final int size = 150;
+        final IntMatrix matrix = new IntMatrix(size, 2);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix.put(new int[] {i, j}, i * size + j + 1);
+                Assert.assertEquals(i * size + j + 1, matrix.entries());
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                Assert.assertEquals(i * size + j + 1, matrix.get(new int[] {i, j}));
+            }
+        }
+    }
+
+    /**
+     * Method that tests a matrix whose indexes have a high dimension and only differ by a few values.
+     */
+    @Test
+    public void testHighArity() {
+        System.out.println("IntMatrixTest: Test high arity");
+        final int dimension = 12;
+        final IntMatrix matrix = new IntMatrix(1000, dimension);
+        final int[] index = new int[dimension];
+        for (int k = 0; k < dimension; k++) {
+            for (int v = 0; v < 1000; v += 7) {
+                index[k] = v;
+                matrix.increment(index);
+                index[k] = 0;
+            }
+        }
+        // The index with all the values equal to 0 is incremented once per dimension
+        Assert.assertEquals(dimension, matrix.get(index));
+        for (int k = 0; k < dimension; k++) {
+            for (int v = 7; v < 1000; v += 7) {
+                index[k] = v;
+                Assert.assertEquals(1, matrix.get(index));
+                index[k] = v + 1;
+                Assert.assertEquals(0, matrix.get(index));
+                index[k] = 0;
+            }
+        }
+        Assert.assertEquals(1 + dimension * (1000 / 7), matrix.entries());
+    }
+
+    /**
+     * Method that tests a matrix against a dense array after random operations.
+     */
+    @Test
+    public void testDenseReference() {
+        System.out.println("IntMatrixTest: Test dense reference");
+        final Random random = new Random(0);
+        final int size = 12;
+        final int dimension = 3;
+        final IntMatrix matrix = new IntMatrix(size, dimension);
+        final int[] dense = new int[size * size * size];
+        final int[] index = new int[dimension];
+        for (int k = 0; k < IntMatrixTest.OPERATIONS; k++) {
+            for (int i = 0; i < dimension; i++) {
+                index[i] = random.nextInt(size);
+            }
+            final int offset = (index[0] * size + index[1]) * size + index[2];
+            switch (random.nextInt(3)) {
+                case 0:
+                    matrix.increment(index);
+                    dense[offset]++;
+                    break;
+                case 1:
+                    final int value = random.nextInt(100);
+                    matrix.put(index, value);
+                    dense[offset] = value;
+                    break;
+                default:
+                    Assert.assertEquals(dense[offset], matrix.get(index));
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                for (int l = 0; l < size; l++) {
+                    Assert.assertEquals(dense[(i * size + j) * size + l], matrix.get(new int[] {i, j, l}));
+                }
+            }
+        }
+    }
+}
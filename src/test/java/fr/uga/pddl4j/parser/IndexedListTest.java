@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Implements the <tt>IndexedListTest</tt> of the PDD4L library. The tests check that the index of the
+ * list stays consistent with its elements. The class is in the package of <code>IndexedList</code>
+ * because the list is not visible outside of the parser.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 27.04.2019
+ */
+public class IndexedListTest {
+
+    /**
+     * Creates a new list of strings indexed by their first character.
+     *
+     * @param elements the elements of the list.
+     * @return the list created.
+     */
+    private static IndexedList<String> createList(final String... elements) {
+        final IndexedList<String> list = new IndexedList<>(s -> s.charAt(0));
+        for (String element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    /**
+     * Method that tests the lookup of the elements by key.
+     */
+    @Test
+    public void testLookup() {
+        System.out.println("IndexedListTest: Test lookup");
+        final IndexedList<String> list = IndexedListTest.createList("apple", "banana", "cherry");
+        Assert.assertEquals(0, list.indexOfKey('a'));
+        Assert.assertEquals(1, list.indexOfKey('b'));
+        Assert.assertEquals(2, list.indexOfKey('c'));
+        Assert.assertEquals(-1, list.indexOfKey('d'));
+        Assert.assertEquals(Collections.singletonList("banana"), list.getAllByKey('b'));
+        Assert.assertTrue(list.getAllByKey('d').isEmpty());
+        // The elements added after the index was built are indexed
+        list.add("date");
+        Assert.assertEquals(3, list.indexOfKey('d'));
+        Assert.assertEquals(Collections.singletonList("date"), list.getAllByKey('d'));
+    }
+
+    /**
+     * Method that tests the elements that share the same key.
+     */
+    @Test
+    public void testDuplicateKeys() {
+        System.out.println("IndexedListTest: Test duplicate keys");
+        final IndexedList<String> list = IndexedListTest.createList("bean", "apple", "banana", "avocado");
+        Assert.assertEquals(0, list.indexOfKey('b'));
+        Assert.assertEquals(1, list.indexOfKey('a'));
+        Assert.assertEquals(Arrays.asList("bean", "banana"), list.getAllByKey('b'));
+        list.add("apricot");
+        list.add("apple");
+        Assert.assertEquals(1, list.indexOfKey('a'));
+        Assert.assertEquals(Arrays.asList("apple", "avocado", "apricot", "apple"), list.getAllByKey('a'));
+    }
+
+    /**
+     * Method that tests that the index follows the modifications of the list made through the
+     * <code>List</code> interface.
+     */
+    @Test
+    public void testModifications() {
+        System.out.println("IndexedListTest: Test modifications");
+        final IndexedList<String> list = IndexedListTest.createList("apple", "banana", "cherry");
+        Assert.assertEquals(2, list.indexOfKey('c'));
+        list.remove(0);
+        Assert.assertEquals(-1, list.indexOfKey('a'));
+        Assert.assertEquals(1, list.indexOfKey('c'));
+        list.add(0, "cranberry");
+        Assert.assertEquals(0, list.indexOfKey('c'));
+        Assert.assertEquals(Arrays.asList("cranberry", "cherry"), list.getAllByKey('c'));
+        list.set(1, "date");
+        Assert.assertEquals(1, list.indexOfKey('d'));
+        Assert.assertEquals(-1, list.indexOfKey('b'));
+        Assert.assertEquals(Arrays.asList("cranberry", "cherry"), list.getAllByKey('c'));
+        Collections.sort(list);
+        Assert.assertEquals(Arrays.asList("cherry", "cranberry", "date"), list);
+        Assert.assertEquals(Arrays.asList("cherry", "cranberry"), list.getAllByKey('c'));
+        Assert.assertEquals(2, list.indexOfKey('d'));
+        final Iterator<String> it = list.iterator();
+        it.next();
+        it.remove();
+        Assert.assertEquals(Collections.singletonList("cranberry"), list.getAllByKey('c'));
+        list.addAll(Arrays.asList("elderberry", "fig"));
+        Assert.assertEquals(3, list.indexOfKey('f'));
+        list.clear();
+        Assert.assertEquals(-1, list.indexOfKey('f'));
+        Assert.assertTrue(list.getAllByKey('c').isEmpty());
+    }
+
+    /**
+     * Method that tests that a copy of the list does not share the index of the list.
+     */
+    @Test
+    public void testClone() {
+        System.out.println("IndexedListTest: Test clone");
+        final IndexedList<String> list = IndexedListTest.createList("apple", "banana");
+        Assert.assertEquals(1, list.indexOfKey('b'));
+        @SuppressWarnings("unchecked")
+        final IndexedList<String> copy = (IndexedList<String>) list.clone();
+        copy.add("cherry");
+        copy.remove(0);
+        Assert.assertEquals(0, copy.indexOfKey('b'));
+        Assert.assertEquals(1, copy.indexOfKey('c'));
+        Assert.assertEquals(0, list.indexOfKey('a'));
+        Assert.assertEquals(-1, list.indexOfKey('c'));
+    }
+
+    /**
+     * Method that tests that the index is rebuilt after the deserialization of the list.
+     *
+     * @throws Exception if something went wrong.
+     */
+    @Test
+    public void testSerialization() throws Exception {
+        System.out.println("IndexedListTest: Test serialization");
+        final IndexedList<String> list = IndexedListTest.createList("apple", "banana", "avocado");
+        Assert.assertEquals(1, list.indexOfKey('b'));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            final IndexedList<String> copy = (IndexedList<String>) in.readObject();
+            Assert.assertEquals(list, copy);
+            Assert.assertEquals(Arrays.asList("apple", "avocado"), copy.getAllByKey('a'));
+            copy.add("banana");
+            Assert.assertEquals(Arrays.asList("banana", "banana"), copy.getAllByKey('b'));
+        }
+    }
+}
@@ -16,14 +16,26 @@
 package fr.uga.pddl4j.test.encoding;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.CodedProblemFile;
 import fr.uga.pddl4j.test.Tools;
 import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
 import fr.uga.pddl4j.util.IntExp;
+import fr.uga.pddl4j.util.UnconditionalOperators;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Implements the <tt>CodedProblemTest</tt> of the PDD4L library.
@@ -149,4 +161,137 @@ public class CodedProblemTest {
             Assert.assertTrue(codedProblem.toString(codedProblem.getInit()).equals(init));
         }
     }
+
+    /**
+     * Method that tests the operators returned by the successor generator of a specified coded problem.
+     */
+    @Test
+    public void testSuccessorGenerator() {
+        System.out.println("CodedProblem: Test the successor generator from a specified coded problem.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        if (codedProblem != null) {
+            final BitState state = new BitState(codedProblem.getInit());
+            final BitVector applicable = codedProblem.getSuccessorGenerator().getApplicableOperators(state);
+            final List<BitOp> operators = codedProblem.getOperators();
+            for (int i = 0; i < operators.size(); i++) {
+                Assert.assertTrue(applicable.get(i) == operators.get(i).isApplicable(state));
+            }
+            Assert.assertTrue(applicable.cardinality() == 4);
+        }
+    }
+
+    /**
+     * Method that tests the unconditional operators of a specified coded problem.
+     */
+    @Test
+    public void testUnconditionalOperators() {
+        System.out.println("CodedProblem: Test the unconditional operators from a specified coded problem.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        if (codedProblem != null) {
+            final UnconditionalOperators unconditional = codedProblem.getUnconditionalOperators();
+            Assert.assertSame(unconditional, codedProblem.getUnconditionalOperators());
+            Assert.assertEquals(codedProblem.getOperators().size(), unconditional.size());
+            final int[] preconditionsIndex = unconditional.getPreconditionsIndex();
+            final int[] literals = unconditional.getPreconditionLiterals();
+            for (int o = 0; o < unconditional.size(); o++) {
+                final BitOp op = codedProblem.getOperators().get(unconditional.getOperator(o));
+                Assert.assertEquals(op.getPreconditions(), unconditional.getPreconditions(o));
+                Assert.assertEquals(op.getPreconditions().cardinality(),
+                    preconditionsIndex[o + 1] - preconditionsIndex[o]);
+                for (int i = preconditionsIndex[o]; i < preconditionsIndex[o + 1]; i++) {
+                    Assert.assertTrue(op.getPreconditions().getPositive().get(literals[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that tests that a coded problem saved in a file and loaded back is identical to the original one.
+     */
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        System.out.println("CodedProblem: Test the save and the load of a specified coded problem.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        if (codedProblem != null) {
+            final File file = File.createTempFile("pddl4j", ".pb");
+            file.deleteOnExit();
+            CodedProblemFile.save(codedProblem, file);
+            final CodedProblem loaded = CodedProblemFile.load(file);
+            Assert.assertEquals(codedProblem.getTypes(), loaded.getTypes());
+            Assert.assertEquals(codedProblem.getConstants(), loaded.getConstants());
+            Assert.assertEquals(codedProblem.getPredicates(), loaded.getPredicates());
+            Assert.assertEquals(codedProblem.getDomains(), loaded.getDomains());
+            Assert.assertEquals(codedProblem.getPredicatesSignatures(), loaded.getPredicatesSignatures());
+            Assert.assertEquals(codedProblem.getInertia(), loaded.getInertia());
+            Assert.assertEquals(codedProblem.getRelevantFacts(), loaded.getRelevantFacts());
+            Assert.assertEquals(codedProblem.getInit(), loaded.getInit());
+            Assert.assertEquals(codedProblem.getGoal(), loaded.getGoal());
+            Assert.assertEquals(codedProblem.getOperators().size(), loaded.getOperators().size());
+            for (int i = 0; i < opList.size(); i++) {
+                final BitOp op = codedProblem.getOperators().get(i);
+                final BitOp other = loaded.getOperators().get(i);
+                Assert.assertEquals(opList.get(i), loaded.toShortString(other));
+                Assert.assertEquals(op.getPreconditions(), other.getPreconditions());
+                Assert.assertEquals(op.getCondEffects(), other.getCondEffects());
+                Assert.assertEquals(op.getCost(), other.getCost(), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Method that tests that a coded problem loaded from a file can be serialized and that its operators decoded
+     * concurrently are the same as the operators of the original problem.
+     *
+     * @throws Exception if something went wrong.
+     */
+    @Test
+    public void testSerializeLoaded() throws Exception {
+        System.out.println("CodedProblem: Test the serialization of a coded problem loaded from a file.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        if (codedProblem != null) {
+            final File file = File.createTempFile("pddl4j", ".pb");
+            file.deleteOnExit();
+            CodedProblemFile.save(codedProblem, file);
+            final CodedProblem loaded = CodedProblemFile.load(file);
+            final List<BitOp> operators = loaded.getOperators();
+            final int nbOperators = operators.size();
+            final boolean same = IntStream.range(0, 4 * nbOperators).parallel().allMatch(i ->
+                operators.get(i % nbOperators).getPreconditions().equals(
+                    codedProblem.getOperators().get(i % nbOperators).getPreconditions()));
+            Assert.assertTrue(same);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(loaded);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                final CodedProblem copy = (CodedProblem) in.readObject();
+                Assert.assertEquals(nbOperators, copy.getOperators().size());
+                for (int i = 0; i < nbOperators; i++) {
+                    Assert.assertEquals(loaded.toShortString(operators.get(i)),
+                        copy.toShortString(copy.getOperators().get(i)));
+                    Assert.assertEquals(operators.get(i).getCondEffects(), copy.getOperators().get(i).getCondEffects());
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that tests that the files larger than 2 GB are rejected.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    @Test(expected = IOException.class)
+    public void testLoadTooLarge() throws IOException {
+        System.out.println("CodedProblem: Test the load of a coded problem file larger than 2 GB.");
+        final File file = File.createTempFile("pddl4j", ".pb");
+        file.deleteOnExit();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(Integer.MAX_VALUE + 1L);
+        }
+        try {
+            CodedProblemFile.load(file);
+        } finally {
+            file.delete();
+        }
+    }
 }
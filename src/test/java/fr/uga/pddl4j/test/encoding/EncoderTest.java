@@ -16,14 +16,23 @@
 package fr.uga.pddl4j.test.encoding;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.Encoder;
 import fr.uga.pddl4j.parser.ErrorManager;
 import fr.uga.pddl4j.planners.ProblemFactory;
 import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.BitOp;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Implements the <tt>EncoderTest</tt> of the PDD4L library.
@@ -744,6 +753,120 @@ public class EncoderTest {
         encodeProblems(localTestPath);
     }
 
+    /**
+     * Method that tests that problems encoded concurrently are identical to the problem encoded sequentially.
+     */
+    @Test
+    public void testEncodeConcurrently() throws Exception {
+        final String domain = "src/test/resources/strategy/domain.pddl";
+        final String problem = "src/test/resources/strategy/p01.pddl";
+        final CodedProblem expected = Tools.generateCodedProblem(domain, problem);
+        Assert.assertNotNull(expected);
+
+        final int nbThreads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            final List<Future<CodedProblem>> results = new ArrayList<>();
+            for (int i = 0; i < nbThreads * 2; i++) {
+                results.add(executor.submit(() -> {
+                    final ProblemFactory factory = new ProblemFactory();
+                    factory.setTraceLevel(TRACE_LEVEL);
+                    Assert.assertTrue(factory.parse(new File(domain), new File(problem)).isEmpty());
+                    return factory.encode();
+                }));
+            }
+            for (Future<CodedProblem> result : results) {
+                final CodedProblem pb = result.get();
+                Assert.assertNotNull(pb);
+                Assert.assertEquals(expected.getRelevantFacts(), pb.getRelevantFacts());
+                Assert.assertEquals(expected.getOperators(), pb.getOperators());
+                Assert.assertEquals(expected.getInit(), pb.getInit());
+                Assert.assertEquals(expected.getGoal(), pb.getGoal());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Method that tests that the operators instantiated in parallel are identical and in the same order as the
+     * operators instantiated sequentially.
+     */
+    @Test
+    public void testEncodeWithParallelInstantiation() throws Exception {
+        final String domain = "src/test/resources/strategy/domain.pddl";
+        final String problem = "src/test/resources/strategy/p01.pddl";
+        final CodedProblem expected = Tools.generateCodedProblem(domain, problem);
+        Assert.assertNotNull(expected);
+
+        final ProblemFactory factory = new ProblemFactory();
+        factory.setTraceLevel(TRACE_LEVEL);
+        factory.setInstantiationMode(Encoder.InstantiationMode.PARALLEL);
+        Assert.assertTrue(factory.parse(new File(domain), new File(problem)).isEmpty());
+        final CodedProblem pb = factory.encode();
+        Assert.assertNotNull(pb);
+        Assert.assertEquals(expected.getRelevantFacts(), pb.getRelevantFacts());
+        Assert.assertEquals(expected.getOperators(), pb.getOperators());
+        Assert.assertEquals(expected.getInit(), pb.getInit());
+        Assert.assertEquals(expected.getGoal(), pb.getGoal());
+    }
+
+    /**
+     * Method that tests that the operators instantiated from the reachable facts are a subset of the operators
+     * instantiated from the cross product of the domains of their parameters.
+     */
+    @Test
+    public void testEncodeWithReachabilityInstantiation() throws Exception {
+        final String domain = "src/test/resources/strategy/domain.pddl";
+        final String problem = "src/test/resources/strategy/p01.pddl";
+        final CodedProblem expected = Tools.generateCodedProblem(domain, problem);
+        Assert.assertNotNull(expected);
+        final Set<String> operators = new HashSet<>();
+        for (BitOp op : expected.getOperators()) {
+            operators.add(expected.toShortString(op));
+        }
+
+        final ProblemFactory factory = new ProblemFactory();
+        factory.setTraceLevel(TRACE_LEVEL);
+        factory.setInstantiationMode(Encoder.InstantiationMode.REACHABILITY);
+        Assert.assertTrue(factory.parse(new File(domain), new File(problem)).isEmpty());
+        final CodedProblem pb = factory.encode();
+        Assert.assertNotNull(pb);
+        Assert.assertFalse(pb.getOperators().isEmpty());
+        Assert.assertTrue(pb.getOperators().size() <= expected.getOperators().size());
+        for (BitOp op : pb.getOperators()) {
+            Assert.assertTrue(operators.contains(pb.toShortString(op)));
+        }
+        // The mode of a factory does not change the mode of the other factories
+        final CodedProblem all = Tools.generateCodedProblem(domain, problem);
+        Assert.assertEquals(expected.getOperators(), all.getOperators());
+    }
+
+    /**
+     * Method that tests the encoding of a problem whose initial state is streamed by the parser.
+     * The problem encoded must be the same as the problem encoded from the initial facts stored
+     * in the problem.
+     *
+     * @throws Exception if something went wrong.
+     */
+    @Test
+    public void testEncodeWithStreamedInitialState() throws Exception {
+        final File domain = new File("src/test/resources/strategy/domain.pddl");
+        final File problem = new File("src/test/resources/strategy/p01.pddl");
+        final CodedProblem expected = Tools.generateCodedProblem(domain.getPath(), problem.getPath());
+        Assert.assertNotNull(expected);
+
+        final ProblemFactory factory = new ProblemFactory();
+        final ErrorManager errorManager = factory.parseStreaming(domain, problem);
+        Assert.assertTrue(errorManager.isEmpty());
+        final CodedProblem pb = factory.encode();
+        Assert.assertNotNull(pb);
+        Assert.assertEquals(expected.getRelevantFacts(), pb.getRelevantFacts());
+        Assert.assertEquals(expected.getOperators(), pb.getOperators());
+        Assert.assertEquals(expected.getInit(), pb.getInit());
+        Assert.assertEquals(expected.getGoal(), pb.getGoal());
+    }
+
 
     /**
      * Encode problems targeted in currentTestPath directory and check if they are solvable.
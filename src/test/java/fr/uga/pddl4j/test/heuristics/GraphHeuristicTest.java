@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.heuristics;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicToolKit;
+import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Implements the <tt>GraphHeuristicTest</tt> of the PDD4L library. The tests check the values of
+ * the heuristics based on a planning graph with mutual exclusions against known values on states
+ * of the benchmarks, with a new heuristic for each state and with a single heuristic reused for all
+ * the states.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 27.04.2019
+ */
+public class GraphHeuristicTest {
+
+    /**
+     * The types of the heuristics tested.
+     */
+    private static final Heuristic.Type[] TYPES = {
+        Heuristic.Type.SET_LEVEL,
+        Heuristic.Type.SUM_MUTEX,
+        Heuristic.Type.AJUSTED_SUM,
+        Heuristic.Type.AJUSTED_SUM2,
+        Heuristic.Type.AJUSTED_SUM2M,
+        Heuristic.Type.COMBO,
+    };
+
+    /**
+     * The number of operators applied from the initial state to build the walk of each problem.
+     */
+    private static final int STEPS = 7;
+
+    /**
+     * The domains and the problems used by the tests.
+     */
+    private static final String[][] PROBLEMS = {
+        {"src/test/resources/strategy/domain.pddl", "src/test/resources/strategy/p01.pddl"},
+        {Tools.BENCH_DIR + "ipc1/gripper/domain.pddl", Tools.BENCH_DIR + "ipc1/gripper/p02.pddl"},
+        {Tools.BENCH_DIR + "ipc1/logistics/domain.pddl", Tools.BENCH_DIR + "ipc1/logistics/p01.pddl"},
+        {Tools.BENCH_DIR + "ipc2/blocksworld/domain.pddl", Tools.BENCH_DIR + "ipc2/blocksworld/p03.pddl"},
+        {Tools.BENCH_DIR + "ipc3/depot/domain.pddl", Tools.BENCH_DIR + "ipc3/depot/p01.pddl"},
+    };
+
+    /**
+     * The values of the heuristics for the states of the walk of each problem: one row per type of
+     * heuristic in the order of <code>TYPES</code> and one column per state of the walk.
+     */
+    private static final int[][][] VALUES = {
+        {
+            {3, 4, 4, 4, 4, 4, 4, 4},
+            {8, 7, 8, 7, 8, 7, 8, 7},
+            {8, 8, 10, 8, 10, 8, 10, 8},
+            {9, 8, 7, 8, 7, 8, 7, 8},
+            {10, 10, 8, 10, 8, 10, 8, 10},
+            {11, 12, 14, 12, 14, 12, 14, 12},
+        },
+        {
+            {3, 4, 4, 4, 4, 4, 5, 4},
+            {12, 11, 14, 11, 14, 11, 15, 15},
+            {12, 12, 16, 12, 16, 12, 16, 15},
+            {13, 12, 12, 12, 12, 12, 12, 11},
+            {14, 14, 13, 14, 13, 14, 14, 12},
+            {15, 16, 20, 16, 20, 16, 21, 19},
+        },
+        {
+            {9, 10, 10, 10, 10, 10, 10, 10},
+            {20, 22, 24, 22, 22, 22, 22, 22},
+            {16, 18, 20, 18, 18, 18, 18, 18},
+            {19, 19, 19, 19, 19, 19, 19, 19},
+            {22, 22, 22, 22, 22, 22, 22, 22},
+            {25, 28, 30, 28, 28, 28, 28, 28},
+        },
+        {
+            {6, 7, 8, 9, 10, 9, 8, 7},
+            {7, 10, 13, 16, 19, 16, 13, 10},
+            {7, 10, 10, 13, 13, 13, 10, 10},
+            {6, 7, 7, 7, 7, 7, 7, 7},
+            {9, 10, 11, 11, 12, 11, 11, 10},
+            {13, 17, 18, 22, 23, 22, 18, 17},
+        },
+        {
+            {5, 5, 5, 5, 5, 5, 5, 5},
+            {8, 8, 7, 7, 8, 8, 7, 8},
+            {8, 8, 7, 7, 8, 8, 7, 8},
+            {10, 10, 9, 9, 9, 10, 10, 9},
+            {11, 11, 10, 10, 10, 11, 11, 10},
+            {13, 13, 12, 12, 13, 13, 12, 13},
+        },
+    };
+
+
+    /**
+     * Method that tests the values of new heuristics on the states of the walks.
+     */
+    @Test
+    public void testFreshHeuristics() {
+        System.out.println("GraphHeuristicTest: Test fresh heuristics");
+        for (int i = 0; i < GraphHeuristicTest.PROBLEMS.length; i++) {
+            final CodedProblem problem = Tools.generateCodedProblem(GraphHeuristicTest.PROBLEMS[i][0],
+                GraphHeuristicTest.PROBLEMS[i][1]);
+            Assert.assertNotNull(problem);
+            final List<BitState> states = GraphHeuristicTest.walk(problem);
+            for (int t = 0; t < GraphHeuristicTest.TYPES.length; t++) {
+                for (int s = 0; s < states.size(); s++) {
+                    final Heuristic heuristic = HeuristicToolKit.createHeuristic(GraphHeuristicTest.TYPES[t],
+                        problem);
+                    Assert.assertEquals(GraphHeuristicTest.PROBLEMS[i][1] + " " + GraphHeuristicTest.TYPES[t]
+                        + " state " + s, GraphHeuristicTest.VALUES[i][t][s],
+                        heuristic.estimate(states.get(s), problem.getGoal()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that tests the values of a heuristic reused for all the states of the walks. The states
+     * are evaluated twice in turn so that each expansion of the planning graph follows an expansion
+     * of another state.
+     */
+    @Test
+    public void testReusedHeuristics() {
+        System.out.println("GraphHeuristicTest: Test reused heuristics");
+        for (int i = 0; i < GraphHeuristicTest.PROBLEMS.length; i++) {
+            final CodedProblem problem = Tools.generateCodedProblem(GraphHeuristicTest.PROBLEMS[i][0],
+                GraphHeuristicTest.PROBLEMS[i][1]);
+            Assert.assertNotNull(problem);
+            final List<BitState> states = GraphHeuristicTest.walk(problem);
+            for (int t = 0; t < GraphHeuristicTest.TYPES.length; t++) {
+                final Heuristic heuristic = HeuristicToolKit.createHeuristic(GraphHeuristicTest.TYPES[t], problem);
+                for (int k = 0; k < 2 * states.size(); k++) {
+                    final int s = k < states.size() ? k : 2 * states.size() - k - 1;
+                    Assert.assertEquals(GraphHeuristicTest.PROBLEMS[i][1] + " " + GraphHeuristicTest.TYPES[t]
+                        + " state " + s, GraphHeuristicTest.VALUES[i][t][s],
+                        heuristic.estimate(states.get(s), problem.getGoal()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that tests that the value of the set level heuristic is at least the value of the max
+     * heuristic on the states of the walks: the mutual exclusions can only delay the level at which
+     * the goal is reached in the relaxed planning graph.
+     */
+    @Test
+    public void testSetLevelBounds() {
+        System.out.println("GraphHeuristicTest: Test set level bounds");
+        for (int i = 0; i < GraphHeuristicTest.PROBLEMS.length; i++) {
+            final CodedProblem problem = Tools.generateCodedProblem(GraphHeuristicTest.PROBLEMS[i][0],
+                GraphHeuristicTest.PROBLEMS[i][1]);
+            Assert.assertNotNull(problem);
+            final Heuristic max = HeuristicToolKit.createHeuristic(Heuristic.Type.MAX, problem);
+            final Heuristic setLevel = HeuristicToolKit.createHeuristic(Heuristic.Type.SET_LEVEL, problem);
+            for (BitState state : GraphHeuristicTest.walk(problem)) {
+                Assert.assertTrue(GraphHeuristicTest.PROBLEMS[i][1],
+                    max.estimate(state, problem.getGoal()) <= setLevel.estimate(state, problem.getGoal()));
+            }
+        }
+    }
+
+    /**
+     * Returns the states of a random walk from the initial state of a problem. The walk is the same
+     * for each call.
+     *
+     * @param problem the problem.
+     * @return the initial state followed by the states of the walk.
+     */
+    private static List<BitState> walk(final CodedProblem problem) {
+        final Random random = new Random(0);
+        final List<BitState> states = new ArrayList<>();
+        BitState state = new BitState(problem.getInit());
+        states.add(state);
+        for (int k = 0; k < GraphHeuristicTest.STEPS; k++) {
+            final List<BitOp> applicable = new ArrayList<>();
+            for (BitOp op : problem.getOperators()) {
+                if (op.isApplicable(state)) {
+                    applicable.add(op);
+                }
+            }
+            final BitState successor = new BitState();
+            applicable.get(random.nextInt(applicable.size())).apply(state, successor);
+            state = successor;
+            states.add(state);
+        }
+        return states;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.parser;
+
+import fr.uga.pddl4j.parser.Domain;
+import fr.uga.pddl4j.parser.Exp;
+import fr.uga.pddl4j.parser.NamedTypedList;
+import fr.uga.pddl4j.parser.Op;
+import fr.uga.pddl4j.parser.Parser;
+import fr.uga.pddl4j.parser.Symbol;
+import fr.uga.pddl4j.parser.SymbolTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Implements the <tt>SymbolTableTest</tt> of the PDD4L library. The tests check that the images of
+ * the symbols are interned by the table and by the parser.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 27.04.2019
+ */
+public class SymbolTableTest {
+
+    /**
+     * The path of the domain used by the tests.
+     */
+    private static final String DOMAIN = "src/test/resources/strategy/domain.pddl";
+
+    /**
+     * The path of the problem used by the tests.
+     */
+    private static final String PROBLEM = "src/test/resources/strategy/p01.pddl";
+
+    /**
+     * Method that tests that the table returns the first image interned for equal images.
+     */
+    @Test
+    public void testIntern() {
+        System.out.println("SymbolTableTest: Test intern");
+        final SymbolTable table = new SymbolTable();
+        Assert.assertEquals(0, table.size());
+        final String first = new String("at-robby");
+        final String second = new String("at-robby");
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first, table.intern(first));
+        Assert.assertSame(first, table.intern(second));
+        Assert.assertEquals(1, table.size());
+        final String other = new String("free");
+        Assert.assertSame(other, table.intern(other));
+        Assert.assertSame(first, table.intern("at-robby"));
+        Assert.assertEquals(2, table.size());
+        // The tables are independent
+        final SymbolTable another = new SymbolTable();
+        Assert.assertSame(second, another.intern(second));
+        Assert.assertSame(first, table.intern(second));
+    }
+
+    /**
+     * Method that tests that a <code>null</code> image is rejected.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testInternNull() {
+        System.out.println("SymbolTableTest: Test intern null");
+        new SymbolTable().intern(null);
+    }
+
+    /**
+     * Method that tests that the symbols of a domain and of its problem with the same image share the
+     * same string.
+     *
+     * @throws Exception if something went wrong.
+     */
+    @Test
+    public void testParserInterning() throws Exception {
+        System.out.println("SymbolTableTest: Test parser interning");
+        final Parser parser = new Parser();
+        parser.parse(new File(SymbolTableTest.DOMAIN), new File(SymbolTableTest.PROBLEM));
+        Assert.assertTrue(parser.getErrorManager().isEmpty());
+        final Domain domain = parser.getDomain();
+        final String atRobby = SymbolTableTest.getPredicateImage(domain, "at-robby");
+        // The precondition of the action move is (at-robby ?from)
+        final Op move = SymbolTableTest.getOperator(domain, "move");
+        Assert.assertSame(atRobby, move.getPreconditions().getAtom().get(0).getImage());
+        // The initial state of the problem contains (at-robby rooma)
+        boolean found = false;
+        for (Exp fact : parser.getProblem().getInit()) {
+            final List<Symbol> atom = fact.getAtom();
+            if (atom != null && atom.get(0).getImage().equals("at-robby")) {
+                Assert.assertSame(atRobby, atom.get(0).getImage());
+                found = true;
+            }
+        }
+        Assert.assertTrue(found);
+
+        // A new domain parsed with the same parser uses a new table
+        parser.parse(new File(SymbolTableTest.DOMAIN), new File(SymbolTableTest.PROBLEM));
+        Assert.assertTrue(parser.getErrorManager().isEmpty());
+        final String other = SymbolTableTest.getPredicateImage(parser.getDomain(), "at-robby");
+        Assert.assertEquals(atRobby, other);
+        Assert.assertNotSame(atRobby, other);
+    }
+
+    /**
+     * Returns the image of the name of a predicate of a domain.
+     *
+     * @param domain the domain.
+     * @param name   the name of the predicate.
+     * @return the image of the name of the predicate.
+     */
+    private static String getPredicateImage(final Domain domain, final String name) {
+        for (NamedTypedList predicate : domain.getPredicates()) {
+            if (predicate.getName().getImage().equals(name)) {
+                return predicate.getName().getImage();
+            }
+        }
+        Assert.fail("predicate " + name + " not found");
+        return null;
+    }
+
+    /**
+     * Returns an operator of a domain.
+     *
+     * @param domain the domain.
+     * @param name   the name of the operator.
+     * @return the operator.
+     */
+    private static Op getOperator(final Domain domain, final String name) {
+        for (Op op : domain.getOperators()) {
+            if (op.getName().getImage().equals(name)) {
+                return op;
+            }
+        }
+        Assert.fail("operator " + name + " not found");
+        return null;
+    }
+}
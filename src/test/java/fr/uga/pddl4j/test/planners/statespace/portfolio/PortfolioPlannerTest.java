@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.portfolio;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.planners.statespace.portfolio.PortfolioPlanner;
+import fr.uga.pddl4j.planners.statespace.search.strategy.AStar;
+import fr.uga.pddl4j.planners.statespace.search.strategy.BreadthFirstSearch;
+import fr.uga.pddl4j.planners.statespace.search.strategy.GreedyBestFirstSearch;
+import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.Plan;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Implements the <tt>PortfolioPlannerTest</tt> of the PDD4L library.
+ * Domain and problem used: Gripper domain and p01 problem.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 14.04.2019
+ */
+public class PortfolioPlannerTest {
+
+    /**
+     * Computation timeout.
+     */
+    private static final int TIMEOUT = 60;
+
+    /**
+     * Default Heuristic Weight.
+     */
+    private static final double HEURISTIC_WEIGHT = 1.0;
+
+    /**
+     * The path to the domain file.
+     */
+    private String domainFile = "src/test/resources/strategy/domain.pddl";
+
+    /**
+     * The path to the problem file.
+     */
+    private String problemFile = "src/test/resources/strategy/p01.pddl";
+
+    /**
+     * The cost of the best solution found by the strategies of the portfolio.
+     */
+    private static final double BEST_SOLUTION_COST = 11.0;
+
+    /**
+     * Creates a portfolio planner running a breadth first search, a greedy best first search and
+     * an A* search.
+     *
+     * @return the portfolio planner.
+     */
+    private PortfolioPlanner createPortfolio() {
+        final PortfolioPlanner planner = new PortfolioPlanner(
+            new BreadthFirstSearch(TIMEOUT * 1000),
+            new GreedyBestFirstSearch(TIMEOUT * 1000, Heuristic.Type.FAST_FORWARD, HEURISTIC_WEIGHT),
+            new AStar(TIMEOUT * 1000, Heuristic.Type.MAX, HEURISTIC_WEIGHT));
+        planner.setNumberOfThreads(3);
+        planner.setTimeout(TIMEOUT * 1000);
+        return planner;
+    }
+
+    /**
+     * Method that tests the first plan returned by the portfolio.
+     */
+    @Test
+    public void testFirstPlan() {
+        System.out.println("PortfolioPlanner: Test first plan.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final PortfolioPlanner planner = this.createPortfolio();
+        planner.setMode(PortfolioPlanner.Mode.FIRST);
+        final Plan plan = planner.search(codedProblem);
+        Assert.assertNotNull(plan);
+        Assert.assertNotNull(planner.getWinner());
+        Assert.assertTrue(planner.getStrategiesStatistics().size() == 3);
+    }
+
+    /**
+     * Method that tests the best plan returned by the portfolio.
+     */
+    @Test
+    public void testBestPlan() {
+        System.out.println("PortfolioPlanner: Test best plan.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final PortfolioPlanner planner = this.createPortfolio();
+        planner.setMode(PortfolioPlanner.Mode.BEST);
+        final Plan plan = planner.search(codedProblem);
+        Assert.assertNotNull(plan);
+        Assert.assertTrue(plan.cost() == BEST_SOLUTION_COST);
+    }
+}
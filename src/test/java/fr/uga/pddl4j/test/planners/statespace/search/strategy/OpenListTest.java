@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.planners.statespace.search.strategy.BucketOpenList;
+import fr.uga.pddl4j.planners.statespace.search.strategy.HeapOpenList;
+import fr.uga.pddl4j.planners.statespace.search.strategy.OpenList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>OpenListTest</tt> of the PDD4L library.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 05.04.2019
+ */
+public class OpenListTest {
+
+    /**
+     * The number of states used in the tests.
+     */
+    private static final int NB_STATES = 5000;
+
+    /**
+     * Checks that an open list returns the states in increasing order of priority when the priorities of some
+     * pending states are changed.
+     *
+     * @param open the open list to test.
+     */
+    private static void checkOrder(final OpenList open) {
+        final Random random = new Random(0);
+        final int[] priorities = new int[NB_STATES];
+        for (int id = 0; id < NB_STATES; id++) {
+            priorities[id] = random.nextInt(100);
+            open.push(id, priorities[id]);
+        }
+        for (int i = 0; i < NB_STATES; i++) {
+            final int id = random.nextInt(NB_STATES);
+            priorities[id] = random.nextInt(100);
+            open.push(id, priorities[id]);
+        }
+        Assert.assertEquals(NB_STATES, open.size());
+        int last = Integer.MIN_VALUE;
+        while (!open.isEmpty()) {
+            final int id = open.poll();
+            Assert.assertFalse(open.contains(id));
+            Assert.assertTrue(last <= priorities[id]);
+            last = priorities[id];
+        }
+    }
+
+    /**
+     * Method that tests the order of the states returned by the open list <code>HeapOpenList</code>.
+     */
+    @Test
+    public void testHeapOpenList() {
+        checkOrder(new HeapOpenList());
+    }
+
+    /**
+     * Method that tests the order of the states returned by the open list <code>BucketOpenList</code>.
+     */
+    @Test
+    public void testBucketOpenList() {
+        checkOrder(new BucketOpenList());
+    }
+
+    /**
+     * Method that tests that the open list <code>BucketOpenList</code> rejects non integer priorities.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBucketOpenListNonIntegerPriority() {
+        new BucketOpenList().push(0, 0.5);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search.strategy;
+
+import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
+import fr.uga.pddl4j.planners.statespace.search.strategy.StateRegistry;
+import fr.uga.pddl4j.util.BitState;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Implements the <tt>StateRegistryTest</tt> of the PDD4L library.
+ *
+ * @author D. Pellier
+ * @version 0.1 - 04.04.2019
+ */
+public class StateRegistryTest {
+
+    /**
+     * The number of facts of the states used in the tests.
+     */
+    private static final int NB_FACTS = 130;
+
+    /**
+     * Creates the state that contains the facts multiple of a specified step.
+     *
+     * @param step the step.
+     * @return the state.
+     */
+    private static BitState createState(final int step) {
+        final BitState state = new BitState();
+        for (int p = 0; p < NB_FACTS; p += step) {
+            state.set(p);
+        }
+        return state;
+    }
+
+    /**
+     * Method that tests the registration and the lookup of the states when the registry grows.
+     */
+    @Test
+    public void testAddAndLookup() {
+        final StateRegistry registry = new StateRegistry(NB_FACTS, 1);
+        for (int step = 1; step < NB_FACTS; step++) {
+            final int id = registry.add(createState(step), step - 2, step, step, 0.0, step - 1);
+            Assert.assertEquals(step - 1, id);
+        }
+        Assert.assertEquals(NB_FACTS - 1, registry.size());
+        for (int step = 1; step < NB_FACTS; step++) {
+            final int id = registry.lookup(createState(step));
+            Assert.assertEquals(step - 1, id);
+            Assert.assertEquals(createState(step), registry.getState(id));
+            Assert.assertEquals(step, registry.getOperator(id));
+        }
+        Assert.assertEquals(StateRegistry.NONE, registry.lookup(new BitState()));
+    }
+
+    /**
+     * Method that tests the creation of the node of a state and of its parents.
+     */
+    @Test
+    public void testToNode() {
+        final StateRegistry registry = new StateRegistry(NB_FACTS);
+        final int root = registry.add(createState(3), StateRegistry.NONE, -1, 0.0, 2.0, 0);
+        final int child = registry.add(createState(5), root, 4, 1.0, 1.0, 1);
+        final int leaf = registry.add(createState(7), child, 6, 2.0, 0.0, 2);
+        registry.setCost(leaf, 1.5);
+        final Node node = registry.toNode(leaf);
+        Assert.assertEquals(createState(7), node);
+        Assert.assertEquals(1.5, node.getCost(), 0.0);
+        Assert.assertEquals(6, node.getOperator());
+        Assert.assertEquals(createState(5), node.getParent());
+        Assert.assertEquals(createState(3), node.getParent().getParent());
+        Assert.assertNull(node.getParent().getParent().getParent());
+    }
+}
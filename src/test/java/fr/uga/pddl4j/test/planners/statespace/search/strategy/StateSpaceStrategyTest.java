@@ -2,6 +2,7 @@ package fr.uga.pddl4j.test.planners.statespace.search.strategy;
 
 import fr.uga.pddl4j.encoding.CodedProblem;
 import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.heuristics.relaxation.HeuristicCache;
 import fr.uga.pddl4j.planners.statespace.search.strategy.AStar;
 import fr.uga.pddl4j.planners.statespace.search.strategy.AStarAnytime;
 import fr.uga.pddl4j.planners.statespace.search.strategy.BreadthFirstSearch;
@@ -9,10 +10,14 @@ import fr.uga.pddl4j.planners.statespace.search.strategy.DepthFirstSearch;
 import fr.uga.pddl4j.planners.statespace.search.strategy.EnforcedHillClimbing;
 import fr.uga.pddl4j.planners.statespace.search.strategy.GreedyBestFirstSearch;
 import fr.uga.pddl4j.planners.statespace.search.strategy.GreedyBestFirstSearchAnytime;
+import fr.uga.pddl4j.planners.statespace.search.strategy.HDAStar;
 import fr.uga.pddl4j.planners.statespace.search.strategy.HillClimbing;
 import fr.uga.pddl4j.planners.statespace.search.strategy.Node;
 import fr.uga.pddl4j.planners.statespace.search.strategy.StateSpaceStrategy;
 import fr.uga.pddl4j.test.Tools;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.CancellationToken;
 import fr.uga.pddl4j.util.Plan;
 import org.junit.Assert;
 import org.junit.Test;
@@ -61,10 +66,20 @@ public class StateSpaceStrategyTest {
      */
     private static final double ASTAR_SOLUTION_COST = 11.0;
 
+    /**
+     * The cost of HDA* solution.
+     */
+    private static final double HDASTAR_SOLUTION_COST = 11.0;
+
+    /**
+     * The number of threads of HDA*.
+     */
+    private static final int HDASTAR_THREADS = 4;
+
     /**
      * The cost of Greedy Best First Search solution.
      */
-    private static final double GREEDY_SOLUTION_COST = 13.0;
+    private static final double GREEDY_SOLUTION_COST = 11.0;
 
     /**
      * The cost of Enforced Hill Climbing solution.
@@ -109,7 +124,7 @@ public class StateSpaceStrategyTest {
     /**
      * The size of Greedy Best First Search solution.
      */
-    private static final  int GREEDY_SOLUTION_SIZE = 13;
+    private static final  int GREEDY_SOLUTION_SIZE = 11;
 
     /**
      * The size of Enforced Hill Climbing solution.
@@ -173,6 +188,63 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.size() == ASTAR_SOLUTION_SIZE);
     }
 
+    /**
+     * Method that tests solution plan (cost and size) for AStar search strategy with the heuristics
+     * computed with the costs of the operators. The max cost heuristic is admissible so that the
+     * solution is optimal.
+     */
+    @Test
+    public void testAstarCostHeuristicsPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from AStar with cost heuristics.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new AStar(TIMEOUT * 1000, Heuristic.Type.MAX_COST, HEURISTIC_WEIGHT);
+        Plan plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == ASTAR_SOLUTION_COST);
+        Assert.assertTrue(plan.size() == ASTAR_SOLUTION_SIZE);
+        stateSpaceStrategy = new AStar(TIMEOUT * 1000, Heuristic.Type.FAST_FORWARD_COST, HEURISTIC_WEIGHT);
+        plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertNotNull(plan);
+        stateSpaceStrategy = new AStar(TIMEOUT * 1000, Heuristic.Type.SUM_COST, HEURISTIC_WEIGHT);
+        plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertNotNull(plan);
+    }
+
+    /**
+     * Method that tests solution plan (cost and size) for AStar search strategy with a heuristic cache.
+     * The second search reads the values of the states already evaluated from the cache.
+     */
+    @Test
+    public void testAstarHeuristicCachePlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from AStar with a heuristic cache.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final HeuristicCache cache = new HeuristicCache(codedProblem, Heuristic.Type.MAX);
+        stateSpaceStrategy = new AStar(TIMEOUT * 1000, Heuristic.Type.MAX, HEURISTIC_WEIGHT);
+        stateSpaceStrategy.setHeuristicCache(cache);
+        Plan plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == ASTAR_SOLUTION_COST);
+        Assert.assertTrue(plan.size() == ASTAR_SOLUTION_SIZE);
+        final long misses = cache.getMisses();
+        Assert.assertTrue(misses > 0);
+        plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == ASTAR_SOLUTION_COST);
+        Assert.assertTrue(cache.getHits() > 0);
+        Assert.assertTrue(cache.getMisses() - misses < misses);
+    }
+
+    /**
+     * Method that tests solution plan (cost and size) for HDA* search strategy. The heuristic used is
+     * admissible so that the solution is optimal.
+     */
+    @Test
+    public void testHDAStarPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from HDA*.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new HDAStar(TIMEOUT * 1000, Heuristic.Type.MAX, HEURISTIC_WEIGHT, HDASTAR_THREADS);
+        final Plan plan = stateSpaceStrategy.searchPlan(codedProblem);
+        Assert.assertTrue(plan.cost() == HDASTAR_SOLUTION_COST);
+        Assert.assertFalse(stateSpaceStrategy.isInterrupted());
+    }
+
     /**
      * Method that tests solution node (cost and size) for Greedy Best First Search search strategy.
      */
@@ -200,6 +272,78 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.size() == GREEDY_SOLUTION_SIZE);
     }
 
+    /**
+     * Method that tests solution plan (validity) for Greedy Best First Search search strategy with lazy
+     * evaluation and preferred operators.
+     */
+    @Test
+    public void testGreedyLazyPreferredPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from lazy Greedy Best First Search.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final GreedyBestFirstSearch greedy = new GreedyBestFirstSearch(TIMEOUT * 1000, HEURISTIC_TYPE,
+            HEURISTIC_WEIGHT);
+        greedy.setLazyEvaluation(true);
+        greedy.setPreferredOperators(true);
+        final Plan plan = greedy.searchPlan(codedProblem);
+        Assert.assertNotNull(plan);
+        Assert.assertTrue(plan.cost() >= ASTAR_SOLUTION_COST);
+        final BitState state = new BitState(codedProblem.getInit());
+        for (BitOp op : plan.actions()) {
+            Assert.assertTrue(state.satisfy(op.getPreconditions()));
+            state.apply(op.getCondEffects().get(0).getEffects());
+        }
+        Assert.assertTrue(state.satisfy(codedProblem.getGoal()));
+    }
+
+    /**
+     * Method that tests solution plan (validity) for Greedy Best First Search search strategy with eager
+     * evaluation and preferred operators.
+     */
+    @Test
+    public void testGreedyPreferredPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from Greedy Best First Search with preferred "
+            + "operators.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final GreedyBestFirstSearch greedy = new GreedyBestFirstSearch(TIMEOUT * 1000, HEURISTIC_TYPE,
+            HEURISTIC_WEIGHT);
+        greedy.setPreferredOperators(true);
+        final Plan plan = greedy.searchPlan(codedProblem);
+        Assert.assertNotNull(plan);
+        Assert.assertTrue(plan.cost() >= ASTAR_SOLUTION_COST);
+        final BitState state = new BitState(codedProblem.getInit());
+        for (BitOp op : plan.actions()) {
+            Assert.assertTrue(state.satisfy(op.getPreconditions()));
+            state.apply(op.getCondEffects().get(0).getEffects());
+        }
+        Assert.assertTrue(state.satisfy(codedProblem.getGoal()));
+    }
+
+    /**
+     * Method that tests that the preferred operators of Greedy Best First Search are used when a
+     * heuristic cache is set: the search is the same as without the cache and the cache is not used.
+     */
+    @Test
+    public void testGreedyPreferredHeuristicCachePlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from Greedy Best First Search with preferred "
+            + "operators and a heuristic cache.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final GreedyBestFirstSearch greedy = new GreedyBestFirstSearch(TIMEOUT * 1000, HEURISTIC_TYPE,
+            HEURISTIC_WEIGHT);
+        greedy.setPreferredOperators(true);
+        final Plan expected = greedy.searchPlan(codedProblem);
+        Assert.assertNotNull(expected);
+        final int explored = greedy.getExploredNodes();
+        final int created = greedy.getCreatedNodes();
+        final HeuristicCache cache = new HeuristicCache(codedProblem, HEURISTIC_TYPE);
+        greedy.setHeuristicCache(cache);
+        final Plan plan = greedy.searchPlan(codedProblem);
+        Assert.assertNotNull(plan);
+        Assert.assertEquals(expected.actions(), plan.actions());
+        Assert.assertEquals(explored, greedy.getExploredNodes());
+        Assert.assertEquals(created, greedy.getCreatedNodes());
+        Assert.assertEquals(0, cache.getHits() + cache.getMisses());
+    }
+
     /**
      * Method that tests solution node (cost and size) for Enforced Hill Climbing search strategy.
      */
@@ -227,6 +371,28 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.size() == ENFORCED_SOLUTION_SIZE);
     }
 
+    /**
+     * Method that tests solution plan (validity) for Enforced Hill Climbing search strategy with the
+     * helpful actions pruning.
+     */
+    @Test
+    public void testEnforcedHelpfulActionsPlan() {
+        System.out.println("StateSpaceStrategy: Test solution plan from Enforced Hill Climbing with helpful actions.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        final EnforcedHillClimbing enforced = new EnforcedHillClimbing(TIMEOUT * 1000, HEURISTIC_TYPE,
+            HEURISTIC_WEIGHT);
+        enforced.setHelpfulActionsPruning(true);
+        final Plan plan = enforced.searchPlan(codedProblem);
+        Assert.assertNotNull(plan);
+        Assert.assertTrue(plan.cost() >= ASTAR_SOLUTION_COST);
+        final BitState state = new BitState(codedProblem.getInit());
+        for (BitOp op : plan.actions()) {
+            Assert.assertTrue(state.satisfy(op.getPreconditions()));
+            state.apply(op.getCondEffects().get(0).getEffects());
+        }
+        Assert.assertTrue(state.satisfy(codedProblem.getGoal()));
+    }
+
     /**
      * Method that tests solution node (cost and size) for Hill Climbing search strategy.
      */
@@ -388,4 +554,49 @@ public class StateSpaceStrategyTest {
         Assert.assertTrue(plan.cost() == HILL_ANYTIME_SOLUTION_COST);
         Assert.assertTrue(plan.size() == HILL_ANYTIME_SOLUTION_SIZE);
     }
+
+    /**
+     * Method that tests that a search strategy returns no solution when it is cancelled.
+     */
+    @Test
+    public void testCancelledSolutionNode() {
+        System.out.println("StateSpaceStrategy: Test cancelled search.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new AStar(TIMEOUT * 1000, HEURISTIC_TYPE, HEURISTIC_WEIGHT);
+        final CancellationToken token = new CancellationToken();
+        token.cancel();
+        Assert.assertNull(stateSpaceStrategy.searchSolutionNode(codedProblem, token));
+        Assert.assertTrue(stateSpaceStrategy.isInterrupted());
+        Assert.assertNotNull(stateSpaceStrategy.searchSolutionNode(codedProblem));
+        Assert.assertFalse(stateSpaceStrategy.isInterrupted());
+    }
+
+    /**
+     * Method that tests that a search strategy returns no solution when the deadline of its token
+     * is passed.
+     */
+    @Test
+    public void testDeadlineSolutionNode() {
+        System.out.println("StateSpaceStrategy: Test search with a passed deadline.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new BreadthFirstSearch(TIMEOUT * 1000);
+        final CancellationToken token = new CancellationToken(0);
+        Assert.assertTrue(token.isCancelled());
+        Assert.assertNull(stateSpaceStrategy.searchSolutionNode(codedProblem, token));
+        Assert.assertTrue(stateSpaceStrategy.isInterrupted());
+    }
+
+    /**
+     * Method that tests that the time out of a search strategy also bounds the computation of its
+     * heuristic. The rollouts of the min cost heuristic never reach the goal of the problem, so that
+     * the first estimation only ends when the time out is reached.
+     */
+    @Test
+    public void testTimeoutHeuristic() {
+        System.out.println("StateSpaceStrategy: Test time out of a heuristic computation.");
+        final CodedProblem codedProblem = Tools.generateCodedProblem(domainFile, problemFile);
+        stateSpaceStrategy = new GreedyBestFirstSearch(1000, Heuristic.Type.MIN_COST, HEURISTIC_WEIGHT);
+        Assert.assertNull(stateSpaceStrategy.searchSolutionNode(codedProblem));
+        Assert.assertTrue(stateSpaceStrategy.isInterrupted());
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>BitOpTest</tt> of the PDD4L library. The tests check the application of the
+ * operators to a state in a successor state.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 27.04.2019
+ */
+public class BitOpTest {
+
+    /**
+     * The number of facts used by the random tests.
+     */
+    private static final int FACTS = 64;
+
+    /**
+     * The number of random operators applied by the random tests.
+     */
+    private static final int OPERATIONS = 2000;
+
+    /**
+     * Creates a new expression.
+     *
+     * @param positive the positive facts of the expression.
+     * @param negative the negative facts of the expression.
+     * @return the expression created.
+     */
+    private static BitExp exp(final int[] positive, final int[] negative) {
+        final BitExp exp = new BitExp();
+        for (int fact : positive) {
+            exp.getPositive().set(fact);
+        }
+        for (int fact : negative) {
+            exp.getNegative().set(fact);
+        }
+        return exp;
+    }
+
+    /**
+     * Creates a new state.
+     *
+     * @param facts the facts of the state.
+     * @return the state created.
+     */
+    private static BitState state(final int... facts) {
+        final BitState state = new BitState();
+        for (int fact : facts) {
+            state.set(fact);
+        }
+        return state;
+    }
+
+    /**
+     * Method that tests the application of an operator with unconditional effects.
+     */
+    @Test
+    public void testApplyUnconditionalEffects() {
+        System.out.println("BitOpTest: Test apply unconditional effects");
+        final BitOp op = new BitOp("op", 0, BitOpTest.exp(new int[] {0}, new int[] {}),
+            BitOpTest.exp(new int[] {2, 3}, new int[] {0}));
+        final BitState state = BitOpTest.state(0, 1);
+        final BitState successor = new BitState();
+        op.apply(state, successor);
+        Assert.assertEquals(BitOpTest.state(1, 2, 3), successor);
+        Assert.assertEquals(BitOpTest.state(1, 2, 3).getZobristHash(), successor.getZobristHash());
+        // The state is not modified
+        Assert.assertEquals(BitOpTest.state(0, 1), state);
+    }
+
+    /**
+     * Method that tests the application of an operator with conditional effects. The conditions are
+     * evaluated in the state and not in the successor being built.
+     */
+    @Test
+    public void testApplyConditionalEffects() {
+        System.out.println("BitOpTest: Test apply conditional effects");
+        final BitOp op = new BitOp("op", 0);
+        // (when (and (f1) (not (f2))) (and (f3) (not (f1))))
+        op.addCondBitEffect(new CondBitExp(BitOpTest.exp(new int[] {1}, new int[] {2}),
+            BitOpTest.exp(new int[] {3}, new int[] {1})));
+        // (when (f3) (f4)): f3 is added by the first effect but does not hold in the state
+        op.addCondBitEffect(new CondBitExp(BitOpTest.exp(new int[] {3}, new int[] {}),
+            BitOpTest.exp(new int[] {4}, new int[] {})));
+        // (when (f1) (f5)): f1 is deleted by the first effect but holds in the state
+        op.addCondBitEffect(new CondBitExp(BitOpTest.exp(new int[] {1}, new int[] {}),
+            BitOpTest.exp(new int[] {5}, new int[] {})));
+        final BitState successor = new BitState();
+
+        op.apply(BitOpTest.state(1), successor);
+        Assert.assertEquals(BitOpTest.state(3, 5), successor);
+
+        op.apply(BitOpTest.state(1, 2), successor);
+        Assert.assertEquals(BitOpTest.state(1, 2, 5), successor);
+
+        op.apply(BitOpTest.state(3), successor);
+        Assert.assertEquals(BitOpTest.state(3, 4), successor);
+
+        op.apply(BitOpTest.state(), successor);
+        Assert.assertEquals(BitOpTest.state(), successor);
+        Assert.assertEquals(BitOpTest.state().getZobristHash(), successor.getZobristHash());
+    }
+
+    /**
+     * Method that tests that a successor state reused for several applications contains only the
+     * facts of the last successor generated.
+     */
+    @Test
+    public void testReuseSuccessor() {
+        System.out.println("BitOpTest: Test reuse successor");
+        final Random random = new Random(0);
+        final BitState successor = new BitState();
+        for (int k = 0; k < BitOpTest.OPERATIONS; k++) {
+            final BitState state = new BitState();
+            for (int i = 0; i < BitOpTest.FACTS; i++) {
+                if (random.nextBoolean()) {
+                    state.set(i);
+                }
+            }
+            final BitOp op = new BitOp("op", 0);
+            final int nbEffects = 1 + random.nextInt(4);
+            for (int e = 0; e < nbEffects; e++) {
+                final BitExp condition = e == 0 ? new BitExp() : BitOpTest.randomExp(random, 2);
+                op.addCondBitEffect(new CondBitExp(condition, BitOpTest.randomExp(random, 4)));
+            }
+            // The expected successor is computed on a copy of the state
+            final BitState expected = new BitState(state);
+            for (CondBitExp effect : op.getCondEffects()) {
+                if (state.satisfy(effect.getCondition())) {
+                    expected.apply(effect.getEffects());
+                }
+            }
+            op.apply(state, successor);
+            Assert.assertEquals(expected, successor);
+            Assert.assertEquals(expected.getZobristHash(), successor.getZobristHash());
+        }
+    }
+
+    /**
+     * Creates a random expression.
+     *
+     * @param random the random generator.
+     * @param size   the maximum number of positive and negative facts of the expression.
+     * @return the expression created.
+     */
+    private static BitExp randomExp(final Random random, final int size) {
+        final BitVector positive = new BitVector();
+        final BitVector negative = new BitVector();
+        for (int i = random.nextInt(size + 1); i > 0; i--) {
+            positive.set(random.nextInt(BitOpTest.FACTS));
+        }
+        for (int i = random.nextInt(size + 1); i > 0; i--) {
+            negative.set(random.nextInt(BitOpTest.FACTS));
+        }
+        return new BitExp(positive, negative);
+    }
+}
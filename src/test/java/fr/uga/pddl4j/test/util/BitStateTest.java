@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>BitStateTest</tt> of the PDD4L library. The tests check that the Zobrist hash
+ * maintained incrementally by the states is the hash of their facts.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 17.04.2019
+ */
+public class BitStateTest {
+
+    /**
+     * The number of facts used by the tests.
+     */
+    private static final int FACTS = 200;
+
+    /**
+     * The number of random operations applied to the state tested.
+     */
+    private static final int OPERATIONS = 10000;
+
+    /**
+     * Method that tests that the incremental hash is the hash of the facts of the state after
+     * random operations.
+     */
+    @Test
+    public void testIncrementalHash() {
+        final Random random = new Random(0);
+        final BitState state = new BitState();
+        for (int k = 0; k < OPERATIONS; k++) {
+            final BitVector vector = new BitVector();
+            for (int i = 0; i < 4; i++) {
+                vector.set(random.nextInt(FACTS));
+            }
+            final int from = random.nextInt(FACTS);
+            final int to = from + random.nextInt(20);
+            switch (random.nextInt(10)) {
+                case 0:
+                    state.set(from);
+                    break;
+                case 1:
+                    state.clear(from);
+                    break;
+                case 2:
+                    state.flip(from);
+                    break;
+                case 3:
+                    state.set(from, to);
+                    break;
+                case 4:
+                    state.clear(from, to);
+                    break;
+                case 5:
+                    state.set(from, random.nextBoolean());
+                    break;
+                case 6:
+                    state.or(vector);
+                    break;
+                case 7:
+                    state.and(vector);
+                    break;
+                case 8:
+                    state.xor(vector);
+                    break;
+                default:
+                    state.andNot(vector);
+                    break;
+            }
+            final BitState copy = new BitState();
+            for (int p = state.nextSetBit(0); p >= 0; p = state.nextSetBit(p + 1)) {
+                copy.set(p);
+            }
+            Assert.assertEquals(copy.getZobristHash(), state.getZobristHash());
+            Assert.assertEquals(copy, state);
+            Assert.assertEquals(copy.hashCode(), state.hashCode());
+        }
+    }
+
+    /**
+     * Method that tests the hash of the states obtained by applying effects and by copy.
+     */
+    @Test
+    public void testApplyHash() {
+        final BitState state = new BitState();
+        state.set(1);
+        state.set(3);
+        final BitExp effects = new BitExp();
+        effects.getPositive().set(2);
+        effects.getNegative().set(3);
+        final BitState successor = new BitState(state);
+        Assert.assertEquals(state.getZobristHash(), successor.getZobristHash());
+        successor.apply(effects);
+        final BitState expected = new BitState();
+        expected.set(1);
+        expected.set(2);
+        Assert.assertEquals(expected.getZobristHash(), successor.getZobristHash());
+        Assert.assertEquals(expected, successor);
+        Assert.assertNotEquals(state, successor);
+        successor.clear();
+        Assert.assertEquals(0L, successor.getZobristHash());
+        successor.or(state);
+        Assert.assertEquals(state.getZobristHash(), successor.getZobristHash());
+    }
+
+    /**
+     * Method that tests that a state and a bit vector with the same bits are equal and have the same
+     * hash code.
+     */
+    @Test
+    public void testEqualsHashCode() {
+        final BitState state = new BitState();
+        state.set(1);
+        state.set(70);
+        final BitVector vector = new BitVector();
+        vector.set(1);
+        vector.set(70);
+        Assert.assertEquals(state, vector);
+        Assert.assertEquals(vector, state);
+        Assert.assertEquals(vector.hashCode(), state.hashCode());
+        vector.set(2);
+        Assert.assertNotEquals(state, vector);
+        Assert.assertNotEquals(vector, state);
+    }
+}
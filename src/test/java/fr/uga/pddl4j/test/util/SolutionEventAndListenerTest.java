@@ -79,7 +79,7 @@ public class SolutionEventAndListenerTest {
     /**
      * The cost of Greedy Best First Search solution.
      */
-    private static final double GREEDY_SOLUTION_COST = 13.0;
+    private static final double GREEDY_SOLUTION_COST = 11.0;
 
     /**
      * The cost of Enforced Hill Climbing solution.
@@ -124,7 +124,7 @@ public class SolutionEventAndListenerTest {
     /**
      * The size of Greedy Best First Search solution.
      */
-    private static final  int GREEDY_SOLUTION_SIZE = 13;
+    private static final  int GREEDY_SOLUTION_SIZE = 11;
 
     /**
      * The size of Enforced Hill Climbing solution.